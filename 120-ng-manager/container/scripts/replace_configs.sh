@@ -517,6 +517,9 @@ replace_key_value eventsFramework.redis.sslConfig.CATrustStorePath $EVENTS_FRAME
 replace_key_value eventsFramework.redis.sslConfig.CATrustStorePassword $EVENTS_FRAMEWORK_REDIS_SSL_CA_TRUST_STORE_PASSWORD
 replace_key_value eventsFramework.redis.retryAttempts $REDIS_RETRY_ATTEMPTS
 replace_key_value eventsFramework.redis.retryInterval $REDIS_RETRY_INTERVAL
+replace_key_value eventsFramework.prefetch.enabled $EVENTS_FRAMEWORK_PREFETCH_ENABLED
+replace_key_value eventsFramework.prefetch.bufferSize $EVENTS_FRAMEWORK_PREFETCH_BUFFER_SIZE
+replace_key_value eventsFramework.prefetch.ackBatchSize $EVENTS_FRAMEWORK_PREFETCH_ACK_BATCH_SIZE
 
 replace_key_value ceAwsSetupConfig.accessKey $CE_AWS_ACCESS_KEY
 
@@ -632,3 +635,5 @@ replace_key_value awsServiceEndpointUrls.ecsEndPointUrl "$AWS_SERVICE_ENDPOINT_U
 replace_key_value awsServiceEndpointUrls.cloudwatchEndPointUrl "$AWS_SERVICE_ENDPOINT_URLS_CLOUDWATCH_ENDPOINT_URL"
 
 replace_key_value enablePaginatedQueryOnTimescale "$ENABLE_PAGINATED_QUERY_ON_TIMESCALE"
+
+replace_key_value enableDashboardRollups "$ENABLE_DASHBOARD_ROLLUPS"
@@ -265,6 +265,7 @@ public class NextGenConfiguration extends Configuration {
   @JsonProperty("timescaledb") @ConfigSecret private TimeScaleDBConfig timeScaleDBConfig;
   @JsonProperty("enableDashboardTimescale") private Boolean enableDashboardTimescale;
   @JsonProperty("enablePaginatedQueryOnTimescale") private Boolean enablePaginatedQueryOnTimescale;
+  @JsonProperty("enableDashboardRollups") private boolean enableDashboardRollups;
   @JsonProperty("distributedLockImplementation") private DistributedLockImplementation distributedLockImplementation;
   @JsonProperty("exportMetricsToStackDriver") private boolean exportMetricsToStackDriver;
   @JsonProperty("signupNotificationConfiguration")
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.ng.core.migration.timescale;
+
+import io.harness.annotations.dev.CodePulse;
+import io.harness.annotations.dev.HarnessModuleComponent;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.annotations.dev.ProductModule;
+import io.harness.migration.timescale.NGAbstractTimeScaleMigration;
+
+@CodePulse(module = ProductModule.CDS, unitCoverageRequired = true, components = {HarnessModuleComponent.CDS_DASHBOARD})
+@OwnedBy(HarnessTeam.CDP)
+public class CreateCDDeploymentDailyRollupTables extends NGAbstractTimeScaleMigration {
+  private static final String CREATE_CD_DEPLOYMENT_DAILY_ROLLUP_TABLES_FILE_NAME =
+      "timescale/create_cd_deployment_daily_rollup_tables.sql";
+
+  @Override
+  public String getFileName() {
+    return CREATE_CD_DEPLOYMENT_DAILY_ROLLUP_TABLES_FILE_NAME;
+  }
+
+  @Override
+  public boolean executeFullScript() {
+    return true;
+  }
+}
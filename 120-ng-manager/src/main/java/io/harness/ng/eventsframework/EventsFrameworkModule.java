@@ -31,12 +31,14 @@ import io.harness.annotations.dev.OwnedBy;
 import io.harness.cache.HarnessCacheManager;
 import io.harness.eventsframework.EventsFrameworkConfiguration;
 import io.harness.eventsframework.EventsFrameworkConstants;
+import io.harness.eventsframework.RedisPrefetchConfig;
 import io.harness.eventsframework.api.Consumer;
 import io.harness.eventsframework.api.Producer;
 import io.harness.eventsframework.impl.noop.NoOpConsumer;
 import io.harness.eventsframework.impl.noop.NoOpProducer;
 import io.harness.eventsframework.impl.redis.GitAwareRedisProducer;
 import io.harness.eventsframework.impl.redis.RedisConsumer;
+import io.harness.eventsframework.impl.redis.RedisPrefetchingConsumer;
 import io.harness.eventsframework.impl.redis.RedisProducer;
 import io.harness.pms.redisConsumer.DebeziumConsumersConfig;
 import io.harness.redis.RedisConfig;
@@ -145,6 +147,7 @@ public class EventsFrameworkModule extends AbstractModule {
               NoOpConsumer.of(EventsFrameworkConstants.DUMMY_TOPIC_NAME, EventsFrameworkConstants.DUMMY_GROUP_NAME));
     } else {
       RedissonClient redissonClient = RedissonClientFactory.getClient(redisConfig);
+      RedisPrefetchConfig prefetchConfig = eventsFrameworkConfiguration.getPrefetchConfig();
       bind(Producer.class)
           .annotatedWith(Names.named(EventsFrameworkConstants.ENTITY_CRUD))
           .toInstance(RedisProducer.of(EventsFrameworkConstants.ENTITY_CRUD, redissonClient,
@@ -152,9 +155,9 @@ public class EventsFrameworkModule extends AbstractModule {
               redisConfig.getEnvNamespace()));
       bind(Consumer.class)
           .annotatedWith(Names.named(EventsFrameworkConstants.ENTITY_CRUD))
-          .toInstance(RedisConsumer.of(EventsFrameworkConstants.ENTITY_CRUD, NG_MANAGER.getServiceId(), redissonClient,
-              EventsFrameworkConstants.ENTITY_CRUD_MAX_PROCESSING_TIME,
-              EventsFrameworkConstants.ENTITY_CRUD_READ_BATCH_SIZE, redisConfig.getEnvNamespace()));
+          .toInstance(RedisPrefetchingConsumer.of(EventsFrameworkConstants.ENTITY_CRUD, NG_MANAGER.getServiceId(),
+              redissonClient, EventsFrameworkConstants.ENTITY_CRUD_MAX_PROCESSING_TIME,
+              EventsFrameworkConstants.ENTITY_CRUD_READ_BATCH_SIZE, redisConfig.getEnvNamespace(), prefetchConfig));
       bind(Consumer.class)
           .annotatedWith(Names.named(EventsFrameworkConstants.NG_ACCOUNT_SETUP))
           .toInstance(RedisConsumer.of(EventsFrameworkConstants.ENTITY_CRUD, "NG_ACCOUNT_SETUP_GROUP", redissonClient,
@@ -280,9 +283,9 @@ public class EventsFrameworkModule extends AbstractModule {
               redisConfig.getEnvNamespace()));
       bind(Consumer.class)
           .annotatedWith(Names.named(CDNG_ORCHESTRATION_EVENT_CONSUMER))
-          .toInstance(RedisConsumer.of(PIPELINE_ORCHESTRATION_EVENT_TOPIC, NG_MANAGER.getServiceId(), redissonClient,
-              java.time.Duration.ofSeconds(MAX_PROCESSING_TIME_SECONDS), PIPELINE_ORCHESTRATION_EVENT_BATCH_SIZE,
-              redisConfig.getEnvNamespace()));
+          .toInstance(RedisPrefetchingConsumer.of(PIPELINE_ORCHESTRATION_EVENT_TOPIC, NG_MANAGER.getServiceId(),
+              redissonClient, java.time.Duration.ofSeconds(MAX_PROCESSING_TIME_SECONDS),
+              PIPELINE_ORCHESTRATION_EVENT_BATCH_SIZE, redisConfig.getEnvNamespace(), prefetchConfig));
     }
   }
 
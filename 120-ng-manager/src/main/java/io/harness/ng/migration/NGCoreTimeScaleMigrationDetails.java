@@ -21,6 +21,7 @@ import io.harness.ng.core.migration.timescale.AddFullyQualifiedIdentifierColumnT
 import io.harness.ng.core.migration.timescale.AddIndexToServiceInfraInfoTable;
 import io.harness.ng.core.migration.timescale.AddModuleTypeSpecificColumnsToModuleLicensesTable;
 import io.harness.ng.core.migration.timescale.AddRollbackDurationToServiceInfraInfoTable;
+import io.harness.ng.core.migration.timescale.CreateCDDeploymentDailyRollupTables;
 import io.harness.ng.core.migration.timescale.CreateCDStageHelmManifestTable;
 import io.harness.ng.core.migration.timescale.CreateCDStageTable;
 import io.harness.ng.core.migration.timescale.CreateConnectorsTable;
@@ -82,6 +83,7 @@ public class NGCoreTimeScaleMigrationDetails implements MigrationDetails {
         .add(Pair.of(25, GetServiceInstancesByDateFunction.class))
         .add(Pair.of(26, AddFullyQualifiedIdentifierColumnToServices.class))
         .add(Pair.of(27, GetActiveServicesByDateFunction.class))
+        .add(Pair.of(28, CreateCDDeploymentDailyRollupTables.class))
         .build();
   }
 }
@@ -20,4 +20,6 @@ import lombok.Value;
 public class TimeAndStatusDeployment {
   private List<Long> time;
   private List<String> status;
+  // Executions of each time and status when read from the daily rollups, null when each entry is one execution
+  private List<Long> count;
 }
@@ -210,6 +210,8 @@ public class CDOverviewDashboardServiceImpl implements CDOverviewDashboardServic
   private String EMPTY_ARTIFACT = "";
   private String CUSTOM_DEPLOYMENT = "CustomDeployment";
   private String tableNameServiceAndInfra = "service_infra_info";
+  private String tableNameCDDailyRollup = "cd_pipeline_execution_daily_rollup";
+  private String tableNameServiceDailyRollup = "cd_service_deployment_daily_rollup";
   private static final String PIPELINE_EXECUTION_SUMMARY_CD_ID = "pipeline_execution_summary_cd_id";
   private static final String EXECUTION_FAILURE_DETAILS = "execution_failure_details";
   public static List<String> activeStatusList = Arrays.asList(ExecutionStatus.RUNNING.name(),
@@ -281,6 +283,58 @@ public class CDOverviewDashboardServiceImpl implements CDOverviewDashboardServic
     return totalBuildSqlBuilder.toString();
   }
 
+  public String queryBuilderSelectStatusTimeRollup(
+      String accountId, String orgId, String projectId, long startInterval, long endInterval) {
+    String selectStatusQuery = "select status,day as startts,deployments from " + tableNameCDDailyRollup + " where ";
+    StringBuilder totalBuildSqlBuilder = new StringBuilder();
+    totalBuildSqlBuilder.append(selectStatusQuery).append(String.format("accountid='%s' and ", accountId));
+
+    if (orgId != null) {
+      totalBuildSqlBuilder.append(String.format("orgidentifier='%s' and ", orgId));
+    }
+
+    if (projectId != null) {
+      totalBuildSqlBuilder.append(String.format("projectidentifier='%s' and ", projectId));
+    }
+
+    totalBuildSqlBuilder.append(String.format("deployments>0 and day>=%s and day<%s;", startInterval, endInterval));
+
+    return totalBuildSqlBuilder.toString();
+  }
+
+  /**
+   * The daily rollups give the same counts as the execution rows when every interval boundary is the start of a UTC
+   * day. They are only read once enabled, after the migration backfilled them.
+   */
+  public boolean isDeploymentRollupQueryable(String accountId, long... intervalBoundaries) {
+    if (!nextGenConfiguration.isEnableDashboardRollups() || accountId == null) {
+      return false;
+    }
+    for (long intervalBoundary : intervalBoundaries) {
+      if (intervalBoundary <= 0 || intervalBoundary % DAY_IN_MS != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads the status and start time of the executions in the interval, per day and status from the rollups when
+   * they are exact for all the given interval boundaries.
+   */
+  private TimeAndStatusDeployment getTimeAndStatusDeployment(String accountId, String orgId, String projectId,
+      long startInterval, long endInterval, long... intervalBoundaries) {
+    if (isDeploymentRollupQueryable(accountId, intervalBoundaries)) {
+      TimeAndStatusDeployment timeAndStatusDeployment = queryCalculatorTimeAndStatusRollup(
+          queryBuilderSelectStatusTimeRollup(accountId, orgId, projectId, startInterval, endInterval));
+      if (timeAndStatusDeployment != null) {
+        return timeAndStatusDeployment;
+      }
+    }
+    return queryCalculatorTimeAndStatus(
+        queryBuilderSelectStatusTime(accountId, orgId, projectId, startInterval, endInterval));
+  }
+
   public String queryBuilderSelectIdCdTable(
       String accountId, String orgId, String projectId, long startInterval, long endInterval) {
     String selectStatusQuery = "select id from " + tableNameCD + " where ";
@@ -607,6 +661,39 @@ public class CDOverviewDashboardServiceImpl implements CDOverviewDashboardServic
     return TimeAndStatusDeployment.builder().status(status).time(time).build();
   }
 
+  /**
+   * Returns null if the rollups could not be read, the caller falls back to the execution rows then.
+   */
+  public TimeAndStatusDeployment queryCalculatorTimeAndStatusRollup(String query) {
+    List<Long> time = new ArrayList<>();
+    List<String> status = new ArrayList<>();
+    List<Long> count = new ArrayList<>();
+
+    int totalTries = 0;
+    while (totalTries <= MAX_RETRY_COUNT) {
+      ResultSet resultSet = null;
+      try (Connection connection = timeScaleDBService.getDBConnection();
+           PreparedStatement statement = connection.prepareStatement(query)) {
+        resultSet = statement.executeQuery();
+        while (resultSet != null && resultSet.next()) {
+          status.add(resultSet.getString("status"));
+          time.add(resultSet.getLong("startts"));
+          count.add(resultSet.getLong("deployments"));
+        }
+        return TimeAndStatusDeployment.builder().status(status).time(time).count(count).build();
+      } catch (SQLException ex) {
+        log.warn("Unable to read deployment rollups after total tries = {}", totalTries, ex);
+        time.clear();
+        status.clear();
+        count.clear();
+        totalTries++;
+      } finally {
+        DBUtils.close(resultSet);
+      }
+    }
+    return null;
+  }
+
   public List<String> queryCalculatorEnvType(String queryEnvironmentType) {
     List<String> envType = new ArrayList<>();
 
@@ -709,15 +796,15 @@ public class CDOverviewDashboardServiceImpl implements CDOverviewDashboardServic
 
   public HealthDeploymentDetails healthDeploymentDashboardHelper(String accountId, String orgId, String projectId,
       long startInterval, long endInterval, long previousStartInterval) {
-    String query = queryBuilderSelectStatusTime(accountId, orgId, projectId, previousStartInterval, endInterval);
-
     List<Long> time = new ArrayList<>();
     List<String> status = new ArrayList<>();
     List<String> envType = new ArrayList<>();
 
-    TimeAndStatusDeployment timeAndStatusDeployment = queryCalculatorTimeAndStatus(query);
+    TimeAndStatusDeployment timeAndStatusDeployment = getTimeAndStatusDeployment(accountId, orgId, projectId,
+        previousStartInterval, endInterval, previousStartInterval, startInterval, endInterval);
     time = timeAndStatusDeployment.getTime();
     status = timeAndStatusDeployment.getStatus();
+    List<Long> count = timeAndStatusDeployment.getCount();
 
     long total = 0;
     long currentSuccess = 0;
@@ -747,28 +834,29 @@ public class CDOverviewDashboardServiceImpl implements CDOverviewDashboardServic
 
     for (int i = 0; i < time.size(); i++) {
       long currentTimeEpoch = time.get(i);
+      int executions = count == null ? 1 : count.get(i).intValue();
       if (currentTimeEpoch >= startInterval && currentTimeEpoch < endInterval) {
         currentTimeEpoch = getStartingDateEpochValue(currentTimeEpoch, startInterval);
-        total++;
-        totalCountMap.put(currentTimeEpoch, totalCountMap.get(currentTimeEpoch) + 1);
+        total += executions;
+        totalCountMap.put(currentTimeEpoch, totalCountMap.get(currentTimeEpoch) + executions);
         if (CDDashboardServiceHelper.successStatusList.contains(status.get(i))) {
-          currentSuccess++;
-          successCountMap.put(currentTimeEpoch, successCountMap.get(currentTimeEpoch) + 1);
+          currentSuccess += executions;
+          successCountMap.put(currentTimeEpoch, successCountMap.get(currentTimeEpoch) + executions);
         } else if (activeStatusList.contains(status.get(i)) || pendingStatusList.contains(status.get(i))) {
-          currentActive++;
-          activeCountMap.put(currentTimeEpoch, activeCountMap.get(currentTimeEpoch) + 1);
+          currentActive += executions;
+          activeCountMap.put(currentTimeEpoch, activeCountMap.get(currentTimeEpoch) + executions);
         } else {
-          currentFailed++;
-          failedCountMap.put(currentTimeEpoch, failedCountMap.get(currentTimeEpoch) + 1);
+          currentFailed += executions;
+          failedCountMap.put(currentTimeEpoch, failedCountMap.get(currentTimeEpoch) + executions);
         }
       } else {
-        previousDeployment++;
+        previousDeployment += executions;
         if (CDDashboardServiceHelper.successStatusList.contains(status.get(i))) {
-          previousSuccess++;
+          previousSuccess += executions;
         } else if (activeStatusList.contains(status.get(i)) || pendingStatusList.contains(status.get(i))) {
-          previousActive++;
+          previousActive += executions;
         } else {
-          previousFailed++;
+          previousFailed += executions;
         }
       }
     }
@@ -917,8 +1005,6 @@ public class CDOverviewDashboardServiceImpl implements CDOverviewDashboardServic
   @Override
   public io.harness.ng.overview.dto.ExecutionDeploymentInfo getExecutionDeploymentDashboard(
       String accountId, String orgId, String projectId, long startInterval, long endInterval) {
-    String query = queryBuilderSelectStatusTime(accountId, orgId, projectId, startInterval, endInterval);
-
     HashMap<Long, Integer> totalCountMap = new HashMap<>();
     HashMap<Long, Integer> successCountMap = new HashMap<>();
     HashMap<Long, Integer> failedCountMap = new HashMap<>();
@@ -934,20 +1020,23 @@ public class CDOverviewDashboardServiceImpl implements CDOverviewDashboardServic
       startDateCopy = startDateCopy + timeUnitPerDay;
     }
 
-    TimeAndStatusDeployment timeAndStatusDeployment = queryCalculatorTimeAndStatus(query);
+    TimeAndStatusDeployment timeAndStatusDeployment = getTimeAndStatusDeployment(
+        accountId, orgId, projectId, startInterval, endInterval, startInterval, endInterval);
     List<Long> time = timeAndStatusDeployment.getTime();
     List<String> status = timeAndStatusDeployment.getStatus();
+    List<Long> count = timeAndStatusDeployment.getCount();
 
     List<ExecutionDeployment> executionDeployments = new ArrayList<>();
 
     for (int i = 0; i < time.size(); i++) {
       long currentTimeEpoch = time.get(i);
+      int executions = count == null ? 1 : count.get(i).intValue();
       currentTimeEpoch = getStartingDateEpochValue(currentTimeEpoch, startInterval);
-      totalCountMap.put(currentTimeEpoch, totalCountMap.get(currentTimeEpoch) + 1);
+      totalCountMap.put(currentTimeEpoch, totalCountMap.get(currentTimeEpoch) + executions);
       if (CDDashboardServiceHelper.successStatusList.contains(status.get(i))) {
-        successCountMap.put(currentTimeEpoch, successCountMap.get(currentTimeEpoch) + 1);
+        successCountMap.put(currentTimeEpoch, successCountMap.get(currentTimeEpoch) + executions);
       } else if (CDDashboardServiceHelper.failedStatusList.contains(status.get(i))) {
-        failedCountMap.put(currentTimeEpoch, failedCountMap.get(currentTimeEpoch) + 1);
+        failedCountMap.put(currentTimeEpoch, failedCountMap.get(currentTimeEpoch) + executions);
       }
     }
 
@@ -1883,8 +1972,11 @@ public class CDOverviewDashboardServiceImpl implements CDOverviewDashboardServic
       String projectIdentifier, long startTime, long endTime, String serviceIdentifier, long bucketSizeInDays) {
     String serviceRef = IdentifierRefHelper.getRefFromIdentifierOrRef(
         accountIdentifier, orgIdentifier, projectIdentifier, serviceIdentifier);
-    String query = queryBuilderServiceDeployments(
-        accountIdentifier, orgIdentifier, projectIdentifier, startTime, endTime, bucketSizeInDays, serviceRef);
+    String query = isDeploymentRollupQueryable(accountIdentifier, startTime, endTime)
+        ? queryBuilderServiceDeploymentsRollup(
+            accountIdentifier, orgIdentifier, projectIdentifier, startTime, endTime, bucketSizeInDays, serviceRef)
+        : queryBuilderServiceDeployments(
+            accountIdentifier, orgIdentifier, projectIdentifier, startTime, endTime, bucketSizeInDays, serviceRef);
 
     /**
      * Map that stores service deployment data for a bucket time - starting time of a
@@ -1933,8 +2025,11 @@ public class CDOverviewDashboardServiceImpl implements CDOverviewDashboardServic
       String projectIdentifier, long startTime, long endTime, String serviceIdentifier, long bucketSizeInDays) {
     String serviceRef = IdentifierRefHelper.getRefFromIdentifierOrRef(
         accountIdentifier, orgIdentifier, projectIdentifier, serviceIdentifier);
-    String query = queryBuilderServiceDeployments(
-        accountIdentifier, orgIdentifier, projectIdentifier, startTime, endTime, bucketSizeInDays, serviceRef);
+    String query = isDeploymentRollupQueryable(accountIdentifier, startTime, endTime)
+        ? queryBuilderServiceDeploymentsRollup(
+            accountIdentifier, orgIdentifier, projectIdentifier, startTime, endTime, bucketSizeInDays, serviceRef)
+        : queryBuilderServiceDeployments(
+            accountIdentifier, orgIdentifier, projectIdentifier, startTime, endTime, bucketSizeInDays, serviceRef);
 
     /**
      * Map that stores service deployment data for a bucket time - starting time of a
@@ -2070,6 +2165,36 @@ public class CDOverviewDashboardServiceImpl implements CDOverviewDashboardServic
     return totalBuildSqlBuilder.toString();
   }
 
+  /*
+   * Same result as queryBuilderServiceDeployments, from the daily rollups. The buckets are whole days, so the bucket
+   * of a day is the bucket of every deployment started in it.
+   */
+  public String queryBuilderServiceDeploymentsRollup(String accountIdentifier, String orgIdentifier,
+      String projectIdentifier, long startTime, long endTime, long bucketSizeInDays, String serviceIdentifier) {
+    long bucketSizeInMS = bucketSizeInDays * DAY_IN_MS;
+    StringBuilder totalBuildSqlBuilder = new StringBuilder();
+    totalBuildSqlBuilder.append(String.format(
+        "select status, harness_date_bin_ng_mgr(%s, day) as time_entity, SUM(deployments) as numberOfRecords from %s where accountid='%s'",
+        bucketSizeInMS, tableNameServiceDailyRollup, accountIdentifier));
+
+    if (orgIdentifier != null) {
+      totalBuildSqlBuilder.append(String.format(" and orgidentifier='%s'", orgIdentifier));
+    }
+
+    if (projectIdentifier != null) {
+      totalBuildSqlBuilder.append(String.format(" and projectidentifier='%s'", projectIdentifier));
+    }
+
+    if (serviceIdentifier != null) {
+      totalBuildSqlBuilder.append(String.format(" and service_id='%s'", serviceIdentifier));
+    }
+
+    totalBuildSqlBuilder.append(
+        String.format(" and deployments>0 and day>=%s and day<%s group by status, time_entity;", startTime, endTime));
+
+    return totalBuildSqlBuilder.toString();
+  }
+
   private static void validateBucketSize(long numberOfDays, long bucketSizeInDays) throws Exception {
     if (numberOfDays < bucketSizeInDays) {
       throw new Exception("Bucket size should be less than the number of days in the selected time range");
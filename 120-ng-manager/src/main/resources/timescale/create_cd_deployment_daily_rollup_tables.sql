@@ -0,0 +1,138 @@
+-- Copyright 2023 Harness Inc. All rights reserved.
+-- Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+-- that can be found in the licenses directory at the root of this repository, also available at
+-- https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+
+-- Per day deployment counts for the CD overview dashboards. The change data capture handlers upsert the raw
+-- execution rows, triggers on those rows keep the counts current. Days are UTC days as epoch millis.
+
+---------- CD_PIPELINE_EXECUTION_DAILY_ROLLUP TABLE START ------------
+BEGIN;
+CREATE TABLE IF NOT EXISTS cd_pipeline_execution_daily_rollup (
+    accountid text NOT NULL,
+    orgidentifier text NOT NULL,
+    projectidentifier text NOT NULL,
+    day bigint NOT NULL,
+    status text NOT NULL,
+    deployments bigint NOT NULL DEFAULT 0,
+    PRIMARY KEY (accountid, orgidentifier, projectidentifier, day, status)
+);
+CREATE INDEX IF NOT EXISTS cd_pipeline_execution_daily_rollup_account_day_idx ON cd_pipeline_execution_daily_rollup(accountid, day DESC);
+COMMIT;
+
+CREATE OR REPLACE FUNCTION cd_pipeline_execution_daily_rollup_update()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.accountid IS NOT DISTINCT FROM NEW.accountid
+        AND OLD.orgidentifier IS NOT DISTINCT FROM NEW.orgidentifier
+        AND OLD.projectidentifier IS NOT DISTINCT FROM NEW.projectidentifier
+        AND OLD.status IS NOT DISTINCT FROM NEW.status
+        AND OLD.startts / 86400000 = NEW.startts / 86400000 THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.accountid IS NOT NULL THEN
+        UPDATE cd_pipeline_execution_daily_rollup SET deployments = deployments - 1
+        WHERE accountid = OLD.accountid AND orgidentifier = COALESCE(OLD.orgidentifier, '')
+            AND projectidentifier = COALESCE(OLD.projectidentifier, '')
+            AND day = OLD.startts / 86400000 * 86400000 AND status = COALESCE(OLD.status, '');
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.accountid IS NOT NULL THEN
+        INSERT INTO cd_pipeline_execution_daily_rollup AS rollup
+            (accountid, orgidentifier, projectidentifier, day, status, deployments)
+        VALUES (NEW.accountid, COALESCE(NEW.orgidentifier, ''), COALESCE(NEW.projectidentifier, ''),
+            NEW.startts / 86400000 * 86400000, COALESCE(NEW.status, ''), 1)
+        ON CONFLICT (accountid, orgidentifier, projectidentifier, day, status)
+        DO UPDATE SET deployments = rollup.deployments + 1;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE PLPGSQL;
+
+-- Rows written while the rollup is backfilled would be counted twice or not at all
+BEGIN;
+LOCK TABLE pipeline_execution_summary_cd IN SHARE ROW EXCLUSIVE MODE;
+DELETE FROM cd_pipeline_execution_daily_rollup;
+INSERT INTO cd_pipeline_execution_daily_rollup (accountid, orgidentifier, projectidentifier, day, status, deployments)
+SELECT accountid, COALESCE(orgidentifier, ''), COALESCE(projectidentifier, ''), startts / 86400000 * 86400000,
+    COALESCE(status, ''), COUNT(*)
+FROM pipeline_execution_summary_cd
+WHERE accountid IS NOT NULL
+GROUP BY 1, 2, 3, 4, 5;
+DROP TRIGGER IF EXISTS cd_pipeline_execution_daily_rollup_trigger ON pipeline_execution_summary_cd;
+CREATE TRIGGER cd_pipeline_execution_daily_rollup_trigger AFTER INSERT OR UPDATE OR DELETE ON pipeline_execution_summary_cd
+    FOR EACH ROW EXECUTE PROCEDURE cd_pipeline_execution_daily_rollup_update();
+COMMIT;
+---------- CD_PIPELINE_EXECUTION_DAILY_ROLLUP TABLE END ------------
+
+---------- CD_SERVICE_DEPLOYMENT_DAILY_ROLLUP TABLE START ------------
+BEGIN;
+CREATE TABLE IF NOT EXISTS cd_service_deployment_daily_rollup (
+    accountid text NOT NULL,
+    orgidentifier text NOT NULL,
+    projectidentifier text NOT NULL,
+    service_id text NOT NULL,
+    env_id text NOT NULL,
+    env_type text NOT NULL,
+    day bigint NOT NULL,
+    status text NOT NULL,
+    deployments bigint NOT NULL DEFAULT 0,
+    PRIMARY KEY (accountid, orgidentifier, projectidentifier, service_id, env_id, env_type, day, status)
+);
+CREATE INDEX IF NOT EXISTS cd_service_deployment_daily_rollup_account_day_idx ON cd_service_deployment_daily_rollup(accountid, day DESC);
+COMMIT;
+
+-- Only deployments with a service and a status are counted, like the service deployment queries do
+CREATE OR REPLACE FUNCTION cd_service_deployment_daily_rollup_update()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.accountid IS NOT DISTINCT FROM NEW.accountid
+        AND OLD.orgidentifier IS NOT DISTINCT FROM NEW.orgidentifier
+        AND OLD.projectidentifier IS NOT DISTINCT FROM NEW.projectidentifier
+        AND OLD.service_id IS NOT DISTINCT FROM NEW.service_id
+        AND OLD.env_id IS NOT DISTINCT FROM NEW.env_id
+        AND OLD.env_type IS NOT DISTINCT FROM NEW.env_type
+        AND OLD.service_status IS NOT DISTINCT FROM NEW.service_status
+        AND OLD.service_startts / 86400000 = NEW.service_startts / 86400000 THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.accountid IS NOT NULL AND OLD.service_id IS NOT NULL
+        AND OLD.service_status <> '' THEN
+        UPDATE cd_service_deployment_daily_rollup SET deployments = deployments - 1
+        WHERE accountid = OLD.accountid AND orgidentifier = COALESCE(OLD.orgidentifier, '')
+            AND projectidentifier = COALESCE(OLD.projectidentifier, '') AND service_id = OLD.service_id
+            AND env_id = COALESCE(OLD.env_id, '') AND env_type = COALESCE(OLD.env_type, '')
+            AND day = OLD.service_startts / 86400000 * 86400000 AND status = OLD.service_status;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.accountid IS NOT NULL AND NEW.service_id IS NOT NULL
+        AND NEW.service_status <> '' THEN
+        INSERT INTO cd_service_deployment_daily_rollup AS rollup
+            (accountid, orgidentifier, projectidentifier, service_id, env_id, env_type, day, status, deployments)
+        VALUES (NEW.accountid, COALESCE(NEW.orgidentifier, ''), COALESCE(NEW.projectidentifier, ''), NEW.service_id,
+            COALESCE(NEW.env_id, ''), COALESCE(NEW.env_type, ''), NEW.service_startts / 86400000 * 86400000,
+            NEW.service_status, 1)
+        ON CONFLICT (accountid, orgidentifier, projectidentifier, service_id, env_id, env_type, day, status)
+        DO UPDATE SET deployments = rollup.deployments + 1;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE PLPGSQL;
+
+BEGIN;
+LOCK TABLE service_infra_info IN SHARE ROW EXCLUSIVE MODE;
+DELETE FROM cd_service_deployment_daily_rollup;
+INSERT INTO cd_service_deployment_daily_rollup
+    (accountid, orgidentifier, projectidentifier, service_id, env_id, env_type, day, status, deployments)
+SELECT accountid, COALESCE(orgidentifier, ''), COALESCE(projectidentifier, ''), service_id, COALESCE(env_id, ''),
+    COALESCE(env_type, ''), service_startts / 86400000 * 86400000, service_status, COUNT(*)
+FROM service_infra_info
+WHERE accountid IS NOT NULL AND service_id IS NOT NULL AND service_status <> ''
+GROUP BY 1, 2, 3, 4, 5, 6, 7, 8;
+DROP TRIGGER IF EXISTS cd_service_deployment_daily_rollup_trigger ON service_infra_info;
+CREATE TRIGGER cd_service_deployment_daily_rollup_trigger AFTER INSERT OR UPDATE OR DELETE ON service_infra_info
+    FOR EACH ROW EXECUTE PROCEDURE cd_service_deployment_daily_rollup_update();
+COMMIT;
+---------- CD_SERVICE_DEPLOYMENT_DAILY_ROLLUP TABLE END ------------
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.ng.core.migration.timescale;
+
+import static io.harness.NGDateUtils.DAY_IN_MS;
+import static io.harness.data.structure.UUIDGenerator.generateUuid;
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.IntegrationTests;
+import io.harness.rule.Owner;
+import io.harness.timescaledb.TimeScaleDBConfig;
+import io.harness.timescaledb.TimeScaleDBService;
+import io.harness.timescaledb.TimeScaleDBServiceImpl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Runs the rollup migration against the timescale database given by TIMESCALE_URI, TIMESCALEDB_USERNAME and
+ * TIMESCALE_PASSWORD, skipped when none is given. The database is expected to be disposable, the tables the triggers
+ * are created on are created with the columns they read when they do not exist yet.
+ */
+@OwnedBy(HarnessTeam.CDC)
+public class CreateCDDeploymentDailyRollupTablesTest extends CategoryTest {
+  private static final long DAY = 19600 * DAY_IN_MS;
+  private static final String PIPELINE_ROLLUP = "cd_pipeline_execution_daily_rollup";
+  private static final String SERVICE_ROLLUP = "cd_service_deployment_daily_rollup";
+
+  private TimeScaleDBService timeScaleDBService;
+  private CreateCDDeploymentDailyRollupTables migration;
+  private String accountId;
+
+  @Before
+  public void setUp() throws Exception {
+    String timescaledbUrl = System.getenv("TIMESCALE_URI");
+    assumeTrue("TIMESCALE_URI is not set", timescaledbUrl != null && !timescaledbUrl.isEmpty());
+    timeScaleDBService = new TimeScaleDBServiceImpl(TimeScaleDBConfig.builder()
+                                                        .timescaledbUrl(timescaledbUrl)
+                                                        .timescaledbUsername(System.getenv("TIMESCALEDB_USERNAME"))
+                                                        .timescaledbPassword(System.getenv("TIMESCALE_PASSWORD"))
+                                                        .build());
+    assumeTrue("timescale is not reachable", timeScaleDBService.isValid());
+    migration = new CreateCDDeploymentDailyRollupTables();
+    FieldUtils.writeField(migration, "timeScaleDBService", timeScaleDBService, true);
+    accountId = generateUuid();
+    execute("CREATE TABLE IF NOT EXISTS pipeline_execution_summary_cd (id text NOT NULL, accountid text NULL, "
+        + "orgidentifier text NULL, projectidentifier text NULL, status text NULL, startts bigint NOT NULL)");
+    execute("CREATE TABLE IF NOT EXISTS service_infra_info (id text NOT NULL, accountid text NULL, "
+        + "orgidentifier text NULL, projectidentifier text NULL, service_id text NULL, env_id text NULL, "
+        + "env_type text NULL, service_status text NULL, service_startts bigint NOT NULL)");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(IntegrationTests.class)
+  public void testBackfillsExistingExecutions() throws SQLException {
+    insertExecution(generateUuid(), "SUCCESS", DAY + 10);
+    insertExecution(generateUuid(), "SUCCESS", DAY + 20);
+    insertExecution(generateUuid(), "FAILED", DAY + DAY_IN_MS);
+    insertServiceDeployment(generateUuid(), "svc", "SUCCESS", DAY + 10);
+    insertServiceDeployment(generateUuid(), "svc", "", DAY + 10);
+
+    migration.migrate();
+
+    assertThat(pipelineDeployments(DAY, "SUCCESS")).isEqualTo(2);
+    assertThat(pipelineDeployments(DAY + DAY_IN_MS, "FAILED")).isEqualTo(1);
+    assertThat(serviceDeployments("svc", DAY, "SUCCESS")).isEqualTo(1);
+    assertThat(serviceDeployments("svc", DAY, "")).isEqualTo(0);
+
+    // Running the migration again rebuilds the same counts
+    migration.migrate();
+
+    assertThat(pipelineDeployments(DAY, "SUCCESS")).isEqualTo(2);
+    assertThat(serviceDeployments("svc", DAY, "SUCCESS")).isEqualTo(1);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(IntegrationTests.class)
+  public void testTriggersKeepPipelineRollupCurrent() throws SQLException {
+    migration.migrate();
+    String id = generateUuid();
+
+    insertExecution(id, "RUNNING", DAY + 10);
+    assertThat(pipelineDeployments(DAY, "RUNNING")).isEqualTo(1);
+
+    execute("UPDATE pipeline_execution_summary_cd SET status = 'SUCCESS' WHERE id = ?", id);
+    assertThat(pipelineDeployments(DAY, "RUNNING")).isEqualTo(0);
+    assertThat(pipelineDeployments(DAY, "SUCCESS")).isEqualTo(1);
+
+    // An update which changes neither the day nor the status keeps the counts
+    execute("UPDATE pipeline_execution_summary_cd SET startts = startts + 1 WHERE id = ?", id);
+    assertThat(pipelineDeployments(DAY, "SUCCESS")).isEqualTo(1);
+
+    execute("UPDATE pipeline_execution_summary_cd SET startts = startts + " + DAY_IN_MS + " WHERE id = ?", id);
+    assertThat(pipelineDeployments(DAY, "SUCCESS")).isEqualTo(0);
+    assertThat(pipelineDeployments(DAY + DAY_IN_MS, "SUCCESS")).isEqualTo(1);
+
+    execute("DELETE FROM pipeline_execution_summary_cd WHERE id = ?", id);
+    assertThat(pipelineDeployments(DAY + DAY_IN_MS, "SUCCESS")).isEqualTo(0);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(IntegrationTests.class)
+  public void testTriggersKeepServiceRollupCurrent() throws SQLException {
+    migration.migrate();
+    String id = generateUuid();
+
+    // Deployments without a status are not counted until they get one
+    insertServiceDeployment(id, "svc", "", DAY + 10);
+    assertThat(serviceDeployments("svc", DAY, "")).isEqualTo(0);
+
+    execute("UPDATE service_infra_info SET service_status = 'SUCCESS' WHERE id = ?", id);
+    assertThat(serviceDeployments("svc", DAY, "SUCCESS")).isEqualTo(1);
+
+    execute("UPDATE service_infra_info SET service_id = 'svc2' WHERE id = ?", id);
+    assertThat(serviceDeployments("svc", DAY, "SUCCESS")).isEqualTo(0);
+    assertThat(serviceDeployments("svc2", DAY, "SUCCESS")).isEqualTo(1);
+
+    execute("DELETE FROM service_infra_info WHERE id = ?", id);
+    assertThat(serviceDeployments("svc2", DAY, "SUCCESS")).isEqualTo(0);
+  }
+
+  private void insertExecution(String id, String status, long startts) throws SQLException {
+    execute("INSERT INTO pipeline_execution_summary_cd (id, accountid, orgidentifier, projectidentifier, status, "
+            + "startts) VALUES (?, ?, 'org', 'project', ?, " + startts + ")",
+        id, accountId, status);
+  }
+
+  private void insertServiceDeployment(String id, String serviceId, String status, long startts) throws SQLException {
+    execute("INSERT INTO service_infra_info (id, accountid, orgidentifier, projectidentifier, service_id, env_id, "
+            + "env_type, service_status, service_startts) VALUES (?, ?, 'org', 'project', ?, 'env', 'Production', ?, "
+            + startts + ")",
+        id, accountId, serviceId, status);
+  }
+
+  private long pipelineDeployments(long day, String status) throws SQLException {
+    return deployments("SELECT COALESCE(SUM(deployments), 0) FROM " + PIPELINE_ROLLUP
+            + " WHERE accountid = ? AND day = " + day + " AND status = ?",
+        accountId, status);
+  }
+
+  private long serviceDeployments(String serviceId, long day, String status) throws SQLException {
+    return deployments("SELECT COALESCE(SUM(deployments), 0) FROM " + SERVICE_ROLLUP
+            + " WHERE accountid = ? AND service_id = ? AND day = " + day + " AND status = ?",
+        accountId, serviceId, status);
+  }
+
+  private long deployments(String query, String... parameters) throws SQLException {
+    try (Connection connection = timeScaleDBService.getDBConnection();
+         PreparedStatement statement = prepare(connection, query, parameters);
+         ResultSet resultSet = statement.executeQuery()) {
+      resultSet.next();
+      return resultSet.getLong(1);
+    }
+  }
+
+  private void execute(String sql, String... parameters) throws SQLException {
+    try (Connection connection = timeScaleDBService.getDBConnection();
+         PreparedStatement statement = prepare(connection, sql, parameters)) {
+      statement.execute();
+    }
+  }
+
+  private static PreparedStatement prepare(Connection connection, String sql, String... parameters)
+      throws SQLException {
+    PreparedStatement statement = connection.prepareStatement(sql);
+    for (int i = 0; i < parameters.length; i++) {
+      statement.setString(i + 1, parameters[i]);
+    }
+    return statement;
+  }
+}
@@ -24,6 +24,7 @@ import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
 import io.harness.category.element.UnitTests;
 import io.harness.cd.CDDashboardServiceHelper;
+import io.harness.ng.NextGenConfiguration;
 import io.harness.ng.core.dashboard.AuthorInfo;
 import io.harness.ng.core.dashboard.DashboardExecutionStatusInfo;
 import io.harness.ng.core.dashboard.EnvironmentDeploymentsInfo;
@@ -78,6 +79,7 @@ import org.mockito.Spy;
 @OwnedBy(HarnessTeam.CDC)
 public class CDDashboardApisTest extends CategoryTest {
   @Mock TimeScaleDBService timeScaleDBService;
+  @Mock NextGenConfiguration nextGenConfiguration;
   @InjectMocks @Spy private CDOverviewDashboardServiceImpl cdOverviewDashboardServiceImpl;
 
   private List<String> failedStatusList = CDDashboardServiceHelper.failedStatusList;
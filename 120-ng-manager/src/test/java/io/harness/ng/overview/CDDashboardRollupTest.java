@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.ng.overview;
+
+import static io.harness.NGDateUtils.DAY_IN_MS;
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.ng.NextGenConfiguration;
+import io.harness.ng.core.environment.beans.EnvironmentType;
+import io.harness.ng.overview.dto.ExecutionDeploymentInfo;
+import io.harness.ng.overview.dto.HealthDeploymentDashboard;
+import io.harness.ng.overview.dto.TimeAndStatusDeployment;
+import io.harness.ng.overview.service.CDOverviewDashboardServiceImpl;
+import io.harness.pms.execution.ExecutionStatus;
+import io.harness.rule.Owner;
+import io.harness.timescaledb.TimeScaleDBService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+@OwnedBy(HarnessTeam.CDC)
+@Slf4j
+public class CDDashboardRollupTest extends CategoryTest {
+  private static final ExecutionStatus[] STATUSES = {ExecutionStatus.SUCCESS, ExecutionStatus.IGNOREFAILED,
+      ExecutionStatus.FAILED, ExecutionStatus.ABORTED, ExecutionStatus.EXPIRED, ExecutionStatus.RUNNING,
+      ExecutionStatus.APPROVALWAITING, ExecutionStatus.RESOURCEWAITING};
+
+  @Mock TimeScaleDBService timeScaleDBService;
+  @Mock NextGenConfiguration nextGenConfiguration;
+  @InjectMocks @Spy private CDOverviewDashboardServiceImpl cdOverviewDashboardServiceImpl;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+    doReturn(Collections.singletonList(EnvironmentType.Production.name()))
+        .when(cdOverviewDashboardServiceImpl)
+        .queryCalculatorEnvType(anyString());
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testHealthDeploymentDashboardFromRollupsOverNinetyDays() {
+    long endInterval = 19600 * DAY_IN_MS;
+    long startInterval = endInterval - 90 * DAY_IN_MS;
+    long previousStartInterval = startInterval - 90 * DAY_IN_MS;
+    TimeAndStatusDeployment executions = generateExecutions(previousStartInterval, endInterval, 1000);
+    TimeAndStatusDeployment rollups = rollup(executions);
+
+    doReturn(executions).when(cdOverviewDashboardServiceImpl).queryCalculatorTimeAndStatus(anyString());
+    long rawStart = System.nanoTime();
+    HealthDeploymentDashboard fromExecutions = cdOverviewDashboardServiceImpl.getHealthDeploymentDashboard(
+        "acc", "org", "pro", startInterval, endInterval, previousStartInterval);
+    long rawNanos = System.nanoTime() - rawStart;
+
+    when(nextGenConfiguration.isEnableDashboardRollups()).thenReturn(true);
+    doReturn(rollups).when(cdOverviewDashboardServiceImpl).queryCalculatorTimeAndStatusRollup(anyString());
+    long rollupStart = System.nanoTime();
+    HealthDeploymentDashboard fromRollups = cdOverviewDashboardServiceImpl.getHealthDeploymentDashboard(
+        "acc", "org", "pro", startInterval, endInterval, previousStartInterval);
+    long rollupNanos = System.nanoTime() - rollupStart;
+
+    log.info("Health dashboard over {} executions took {} us, over {} rollup rows {} us", executions.getTime().size(),
+        rawNanos / 1000, rollups.getTime().size(), rollupNanos / 1000);
+    assertThat(fromRollups).isEqualTo(fromExecutions);
+    assertThat(fromRollups.getHealthDeploymentInfo().getTotal().getCountList()).hasSize(90);
+    assertThat(rollups.getTime().size()).isLessThan(executions.getTime().size() / 100);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testExecutionDeploymentDashboardFromRollups() {
+    long endInterval = 19600 * DAY_IN_MS;
+    long startInterval = endInterval - 30 * DAY_IN_MS;
+    TimeAndStatusDeployment executions = generateExecutions(startInterval, endInterval, 200);
+
+    doReturn(executions).when(cdOverviewDashboardServiceImpl).queryCalculatorTimeAndStatus(anyString());
+    ExecutionDeploymentInfo fromExecutions =
+        cdOverviewDashboardServiceImpl.getExecutionDeploymentDashboard("acc", "org", "pro", startInterval, endInterval);
+
+    when(nextGenConfiguration.isEnableDashboardRollups()).thenReturn(true);
+    doReturn(rollup(executions)).when(cdOverviewDashboardServiceImpl).queryCalculatorTimeAndStatusRollup(anyString());
+    ExecutionDeploymentInfo fromRollups =
+        cdOverviewDashboardServiceImpl.getExecutionDeploymentDashboard("acc", "org", "pro", startInterval, endInterval);
+
+    assertThat(fromRollups).isEqualTo(fromExecutions);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testFallsBackToExecutionsWhenRollupsAreNotExact() {
+    long endInterval = 19600 * DAY_IN_MS + 3600000;
+    long startInterval = endInterval - 7 * DAY_IN_MS;
+    TimeAndStatusDeployment executions = generateExecutions(startInterval - 7 * DAY_IN_MS, endInterval, 10);
+    when(nextGenConfiguration.isEnableDashboardRollups()).thenReturn(true);
+    doReturn(executions).when(cdOverviewDashboardServiceImpl).queryCalculatorTimeAndStatus(anyString());
+
+    cdOverviewDashboardServiceImpl.getHealthDeploymentDashboard(
+        "acc", "org", "pro", startInterval, endInterval, startInterval - 7 * DAY_IN_MS);
+
+    verify(cdOverviewDashboardServiceImpl, never()).queryCalculatorTimeAndStatusRollup(anyString());
+    assertThat(cdOverviewDashboardServiceImpl.queryBuilderServiceDeploymentsRollup(
+                   "acc", "org", "pro", startInterval, endInterval, 1, "svc"))
+        .contains("from cd_service_deployment_daily_rollup");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testFallsBackToExecutionsWhenRollupsAreUnreadable() {
+    long endInterval = 19600 * DAY_IN_MS;
+    long startInterval = endInterval - 7 * DAY_IN_MS;
+    TimeAndStatusDeployment executions = generateExecutions(startInterval, endInterval, 10);
+    when(nextGenConfiguration.isEnableDashboardRollups()).thenReturn(true);
+    doReturn(null).when(cdOverviewDashboardServiceImpl).queryCalculatorTimeAndStatusRollup(anyString());
+    doReturn(executions).when(cdOverviewDashboardServiceImpl).queryCalculatorTimeAndStatus(anyString());
+
+    ExecutionDeploymentInfo executionDeploymentInfo =
+        cdOverviewDashboardServiceImpl.getExecutionDeploymentDashboard("acc", "org", "pro", startInterval, endInterval);
+
+    verify(cdOverviewDashboardServiceImpl).queryCalculatorTimeAndStatus(anyString());
+    assertThat(executionDeploymentInfo.getExecutionDeploymentList()
+                   .stream()
+                   .mapToLong(executionDeployment -> executionDeployment.getDeployments().getTotal())
+                   .sum())
+        .isEqualTo(executions.getTime().size());
+  }
+
+  private static TimeAndStatusDeployment generateExecutions(long startInterval, long endInterval, int perDay) {
+    Random random = new Random(7);
+    int count = (int) ((endInterval - startInterval) / DAY_IN_MS) * perDay;
+    List<Long> time = new ArrayList<>(count);
+    List<String> status = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      time.add(startInterval + (long) (random.nextDouble() * (endInterval - startInterval)));
+      status.add(random.nextInt(20) == 0 ? null : STATUSES[random.nextInt(STATUSES.length)].name());
+    }
+    return TimeAndStatusDeployment.builder().time(time).status(status).build();
+  }
+
+  // What the rollup triggers keep for the executions
+  private static TimeAndStatusDeployment rollup(TimeAndStatusDeployment executions) {
+    Map<Pair<Long, String>, Long> counts = new TreeMap<>();
+    for (int i = 0; i < executions.getTime().size(); i++) {
+      long day = executions.getTime().get(i) / DAY_IN_MS * DAY_IN_MS;
+      String status = executions.getStatus().get(i) == null ? "" : executions.getStatus().get(i);
+      counts.merge(Pair.of(day, status), 1L, Long::sum);
+    }
+    List<Long> time = new ArrayList<>();
+    List<String> status = new ArrayList<>();
+    List<Long> count = new ArrayList<>();
+    counts.forEach((key, value) -> {
+      time.add(key.getLeft());
+      status.add(key.getRight());
+      count.add(value);
+    });
+    return TimeAndStatusDeployment.builder().time(time).status(status).count(count).build();
+  }
+}
@@ -202,6 +202,7 @@ import io.harness.delegate.service.DelegatePropertyServiceImpl;
 import io.harness.delegate.service.K8sGlobalConfigServiceImpl;
 import io.harness.delegate.service.LogAnalysisStoreServiceImpl;
 import io.harness.delegate.service.MetricDataStoreServiceImpl;
+import io.harness.delegate.service.common.TaskConcurrencyLimiter;
 import io.harness.delegate.service.tasklogging.DelegateLogServiceImpl;
 import io.harness.delegate.task.artifactBundle.ArtifactBundleFetchTask;
 import io.harness.delegate.task.artifactory.ArtifactoryDelegateTask;
@@ -539,6 +540,7 @@ import io.harness.helpers.EncryptDecryptHelperImpl;
 import io.harness.http.HttpService;
 import io.harness.http.HttpServiceImpl;
 import io.harness.impl.scm.ScmServiceClientImpl;
+import io.harness.k8s.K8sApplyExecutorFactory;
 import io.harness.k8s.KubernetesContainerService;
 import io.harness.k8s.KubernetesContainerServiceImpl;
 import io.harness.k8s.config.K8sGlobalConfigService;
@@ -588,6 +590,7 @@ import io.harness.terraformcloud.TerraformCloudClientImpl;
 import io.harness.terragrunt.TerragruntClient;
 import io.harness.terragrunt.TerragruntClientImpl;
 import io.harness.threading.ThreadPool;
+import io.harness.threading.VirtualThreads;
 import io.harness.time.TimeModule;
 import io.harness.utils.system.SystemWrapper;
 import io.harness.version.VersionModule;
@@ -947,6 +950,10 @@ import org.asynchttpclient.DefaultAsyncHttpClientConfig;
 @BreakDependencyOn("software.wings.beans.AzureConfig")
 @RequiredArgsConstructor
 public class DelegateModule extends AbstractModule {
+  private static final String VIRTUAL_THREAD_TASK_EXECUTOR_ENV_VAR = "VIRTUAL_THREAD_TASK_EXECUTOR";
+  private static final String TASK_CONCURRENCY_LIMIT_ENV_VAR = "TASK_CONCURRENCY_LIMIT";
+  private static final int DEFAULT_VIRTUAL_THREAD_TASK_CONCURRENCY_LIMIT = 1000;
+
   private final DelegateConfiguration configuration;
   /*
    * Creates and return ScheduledExecutorService object, which can be used for health monitoring purpose.
@@ -1082,6 +1089,9 @@ public class DelegateModule extends AbstractModule {
   @Singleton
   @Named("taskProgressExecutor")
   public ExecutorService taskProgressExecutor() {
+    if (isVirtualThreadTaskExecutor()) {
+      return Executors.newCachedThreadPool(VirtualThreads.factory("taskProgress-"));
+    }
     return Executors.newFixedThreadPool(
         10, new ThreadFactoryBuilder().setNameFormat("taskProgress-%d").setPriority(Thread.MAX_PRIORITY).build());
   }
@@ -1094,6 +1104,13 @@ public class DelegateModule extends AbstractModule {
         new ThreadFactoryBuilder().setNameFormat("k8sSteadyState-%d").setPriority(Thread.MAX_PRIORITY).build());
   }
 
+  @Provides
+  @Singleton
+  @Named("k8sApplyExecutor")
+  public ExecutorService k8sApplyExecutor() {
+    return K8sApplyExecutorFactory.create();
+  }
+
   @Provides
   @Singleton
   @Named("scmServerExecutor")
@@ -1120,6 +1137,11 @@ public class DelegateModule extends AbstractModule {
   @Singleton
   @Named("taskExecutor")
   public ThreadPoolExecutor taskExecutor() {
+    if (isVirtualThreadTaskExecutor()) {
+      // Concurrency is capped by TaskConcurrencyLimiter instead of by the pool size
+      log.info("Starting Delegate process with virtual execution threads");
+      return ThreadPool.create(0, Integer.MAX_VALUE, 1, TimeUnit.SECONDS, VirtualThreads.factory("task-exec-"));
+    }
     int maxPoolSize = Integer.MAX_VALUE;
     long delegateXmx = 0;
     try {
@@ -1138,6 +1160,27 @@ public class DelegateModule extends AbstractModule {
         new ThreadFactoryBuilder().setNameFormat("task-exec-%d").setPriority(Thread.MIN_PRIORITY).build());
   }
 
+  @Provides
+  @Singleton
+  public TaskConcurrencyLimiter taskConcurrencyLimiter() {
+    // Virtual task threads are unbounded, so all task types together get a limit unless TASK_CONCURRENCY_LIMIT is set
+    int defaultTotalLimit = isVirtualThreadTaskExecutor() ? DEFAULT_VIRTUAL_THREAD_TASK_CONCURRENCY_LIMIT : 0;
+    return new TaskConcurrencyLimiter(SystemWrapper.getenv(TaskConcurrencyLimiter.LIMITS_ENV),
+        SystemWrapper.getOrDefaultInt(TASK_CONCURRENCY_LIMIT_ENV_VAR, defaultTotalLimit));
+  }
+
+  private static boolean isVirtualThreadTaskExecutor() {
+    if (!Boolean.parseBoolean(SystemWrapper.getenv(VIRTUAL_THREAD_TASK_EXECUTOR_ENV_VAR))) {
+      return false;
+    }
+    if (!VirtualThreads.isSupported()) {
+      log.warn("{} is set but the jre has no virtual threads, using platform threads",
+          VIRTUAL_THREAD_TASK_EXECUTOR_ENV_VAR);
+      return false;
+    }
+    return true;
+  }
+
   @Provides
   @Singleton
   @Named("asyncExecutor")
@@ -25,7 +25,14 @@ public enum DelegateMetric {
       DelegateMetricType.COUNT, DELEGATE_NAME_LABEL),
   DELEGATE_CONNECTED("delegate_connected", "Delegate connected", DelegateMetricType.GAUGE, DELEGATE_NAME_LABEL),
   RESOURCE_CONSUMPTION_ABOVE_THRESHOLD("delegate_resource_consumption_above_threshold",
-      "Delegate resource consumption reached more than threshold", DelegateMetricType.GAUGE, DELEGATE_NAME_LABEL);
+      "Delegate resource consumption reached more than threshold", DelegateMetricType.GAUGE, DELEGATE_NAME_LABEL),
+  LOG_SHIPPING_QUEUE_DEPTH("log_shipping_queue_depth", "Number of log lines waiting to be shipped",
+      DelegateMetricType.GAUGE, DELEGATE_NAME_LABEL),
+  LOG_SHIPPING_DROPPED_LINES("log_shipping_dropped_lines", "Number of log lines dropped since the delegate started",
+      DelegateMetricType.GAUGE, DELEGATE_NAME_LABEL),
+  LOG_SHIPPING_LATENCY("log_shipping_latency_ms",
+      "Slowest time from queueing a log line to the log service accepting it since the last poll",
+      DelegateMetricType.GAUGE, DELEGATE_NAME_LABEL);
 
   private final String metricName;
   private final String description;
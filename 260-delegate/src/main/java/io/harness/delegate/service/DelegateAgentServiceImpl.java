@@ -49,6 +49,9 @@ import static io.harness.delegate.message.MessageConstants.WATCHER_VERSION;
 import static io.harness.delegate.message.MessengerType.DELEGATE;
 import static io.harness.delegate.message.MessengerType.WATCHER;
 import static io.harness.delegate.metrics.DelegateMetric.DELEGATE_CONNECTED;
+import static io.harness.delegate.metrics.DelegateMetric.LOG_SHIPPING_DROPPED_LINES;
+import static io.harness.delegate.metrics.DelegateMetric.LOG_SHIPPING_LATENCY;
+import static io.harness.delegate.metrics.DelegateMetric.LOG_SHIPPING_QUEUE_DEPTH;
 import static io.harness.delegate.metrics.DelegateMetric.RESOURCE_CONSUMPTION_ABOVE_THRESHOLD;
 import static io.harness.delegate.metrics.DelegateMetric.TASKS_CURRENTLY_EXECUTING;
 import static io.harness.delegate.metrics.DelegateMetric.TASK_COMPLETED;
@@ -124,12 +127,16 @@ import io.harness.delegate.beans.logstreaming.ILogStreamingTaskClient;
 import io.harness.delegate.configuration.DelegateConfiguration;
 import io.harness.delegate.core.beans.AcquireTasksResponse;
 import io.harness.delegate.core.beans.ExecutionStatusResponse;
+import io.harness.delegate.core.beans.TaskPayload;
 import io.harness.delegate.expression.DelegateExpressionEvaluator;
 import io.harness.delegate.message.Message;
 import io.harness.delegate.message.MessageService;
 import io.harness.delegate.service.common.AcquireTaskHelper;
 import io.harness.delegate.service.common.DelegateTaskExecutionData;
 import io.harness.delegate.service.common.ManagerCallHelper;
+import io.harness.delegate.service.common.TaskConcurrencyLimiter;
+import io.harness.delegate.service.common.TaskPayloadStreamClient;
+import io.harness.delegate.service.common.VirtualThreadPinningMonitor;
 import io.harness.delegate.service.handlermapping.HandlerMappingServer;
 import io.harness.delegate.service.handlermapping.context.Context;
 import io.harness.delegate.task.ActivityAccess;
@@ -146,6 +153,7 @@ import io.harness.exception.UnexpectedException;
 import io.harness.filesystem.FileIo;
 import io.harness.grpc.util.RestartableServiceManager;
 import io.harness.logging.AutoLogContext;
+import io.harness.logstreaming.LogShippingPipeline;
 import io.harness.logstreaming.LogStreamingClient;
 import io.harness.logstreaming.LogStreamingHelper;
 import io.harness.logstreaming.LogStreamingSanitizer;
@@ -167,6 +175,7 @@ import io.harness.serializer.KryoSerializer;
 import io.harness.serializer.json.JsonUtils;
 import io.harness.taskprogress.TaskProgressClient;
 import io.harness.threading.Schedulable;
+import io.harness.threading.VirtualThreads;
 import io.harness.utils.ProcessControl;
 import io.harness.version.VersionInfoManager;
 
@@ -322,6 +331,10 @@ public class DelegateAgentServiceImpl implements DelegateAgentService {
       : DEFAULT_MAX_THRESHOLD;
   private final boolean dynamicRequestHandling = isNotBlank(System.getenv().get("DYNAMIC_REQUEST_HANDLING"))
       && Boolean.parseBoolean(System.getenv().get("DYNAMIC_REQUEST_HANDLING"));
+  private final boolean taskPayloadStreaming = isNotBlank(System.getenv().get("TASK_PAYLOAD_STREAMING"))
+      && Boolean.parseBoolean(System.getenv().get("TASK_PAYLOAD_STREAMING"));
+  private final boolean virtualThreadTaskExecutor = isNotBlank(System.getenv().get("VIRTUAL_THREAD_TASK_EXECUTOR"))
+      && Boolean.parseBoolean(System.getenv().get("VIRTUAL_THREAD_TASK_EXECUTOR")) && VirtualThreads.isSupported();
   private final Optional<Integer> delegateTaskCapacity = getDelegateTaskCapacity();
   private String MANAGER_PROXY_CURL = System.getenv().get("MANAGER_PROXY_CURL");
   private String MANAGER_HOST_AND_PORT = System.getenv().get("MANAGER_HOST_AND_PORT");
@@ -371,6 +384,9 @@ public class DelegateAgentServiceImpl implements DelegateAgentService {
   @Inject HarnessMetricRegistry metricRegistry;
   @Inject HandlerMappingServer handlerMappingServer;
   @Inject AcquireTaskHelper acquireTaskHelper;
+  @Inject TaskPayloadStreamClient taskPayloadStreamClient;
+  @Inject TaskConcurrencyLimiter taskConcurrencyLimiter;
+  @Inject VirtualThreadPinningMonitor virtualThreadPinningMonitor;
   @Inject Context context;
 
   private static final LogPerformanceImpl logPerformanceImpl = new LogPerformanceImpl();
@@ -649,6 +665,18 @@ public class DelegateAgentServiceImpl implements DelegateAgentService {
         startDynamicHandlingOfTasks();
       }
 
+      if (taskPayloadStreaming) {
+        log.info("Task payload streaming is enabled for Delegate");
+        taskPayloadStreamClient.start(accountId, delegateId, delegateInstanceId,
+            () -> acquireTasks.get() && !rejectRequest.get() && !frozen.get() && shouldContactManager(),
+            this::serveStreamedTask);
+      }
+
+      if (virtualThreadTaskExecutor) {
+        log.info("Tasks are executed on virtual threads");
+        virtualThreadPinningMonitor.start();
+      }
+
       if (isPollingForTasksEnabled()) {
         log.info("Polling is enabled for Delegate");
         startHttpHeartbeat(builder);
@@ -985,6 +1013,10 @@ public class DelegateAgentServiceImpl implements DelegateAgentService {
           log.info("Delegate is shutting down. Won't acquire task while completing other tasks");
           return;
         }
+        if (!taskConcurrencyLimiter.hasCapacity(taskEvent.getRunnerType())) {
+          log.info("Not acquiring task - concurrency limit of runner type {} reached", taskEvent.getRunnerType());
+          return;
+        }
         AcquireTasksResponse acquired = acquireTaskHelper.acquireTaskPayload(
             taskEvent.getAccountId(), delegateId, delegateInstanceId, taskEvent.getTaskId(), this::handleErrorResponse);
         if (acquired.getTaskCount() == 0) {
@@ -1000,6 +1032,22 @@ public class DelegateAgentServiceImpl implements DelegateAgentService {
     });
   }
 
+  /**
+   * Executes a task whose payload the manager pushed over the task payload stream, it is acquired already.
+   * Used only in new delegate task apis
+   */
+  private void serveStreamedTask(AcquireTasksResponse acquired) {
+    if (acquired.getTaskCount() == 0) {
+      log.error("Received empty task payload over the task payload stream");
+      return;
+    }
+    TaskPayload taskPayload = acquired.getTask(0);
+    try (ExecutionLogContext ignore =
+             new ExecutionLogContext(taskPayload.getId(), taskPayload.getRunnerType(), OVERRIDE_ERROR)) {
+      handlerMappingServer.serve(acquired);
+    }
+  }
+
   /**
    * Checks if it should proceed with processing task event.
    * @param taskId
@@ -1426,6 +1474,8 @@ public class DelegateAgentServiceImpl implements DelegateAgentService {
   private void shutdownExecutors() throws InterruptedException {
     log.info("Initiating delegate shutdown");
     acquireTasks.set(false);
+    taskPayloadStreamClient.stop();
+    virtualThreadPinningMonitor.stop();
 
     final long shutdownStart = clock.millis();
     log.info("Stopping executors");
@@ -2026,6 +2076,18 @@ public class DelegateAgentServiceImpl implements DelegateAgentService {
       builder.put(executorEntry.getKey(), Integer.toString(executorEntry.getValue().getActiveCount()));
     }
 
+    // Heap and threads per executing task, to compare the footprint of platform and virtual task threads
+    int executingTasks = Math.max(1, currentlyExecutingTasks.size());
+    long usedHeap = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+    builder.put("heapPerExecutingTaskKB", Long.toString(usedHeap / executingTasks / 1024));
+    builder.put("taskThreads", Integer.toString(taskExecutor.getPoolSize()));
+    taskConcurrencyLimiter.inUse().forEach(
+        (taskType, inUse) -> builder.put("executing." + taskType, Integer.toString(inUse)));
+    if (virtualThreadTaskExecutor) {
+      virtualThreadPinningMonitor.drainPinnedCounts().forEach(
+          (location, count) -> builder.put("pinned." + location, Long.toString(count)));
+    }
+
     return logPerformanceImpl.obtainDelegateCpuMemoryPerformance(builder);
   }
 
@@ -2150,6 +2212,12 @@ public class DelegateAgentServiceImpl implements DelegateAgentService {
           }
         }
 
+        // Leave the task to other delegates if as many tasks of its type as allowed run here already
+        if (!taskConcurrencyLimiter.hasCapacity(delegateTaskEvent.getTaskType())) {
+          log.info("Not acquiring task - concurrency limit of task type {} reached", delegateTaskEvent.getTaskType());
+          return;
+        }
+
         log.debug("Try to acquire DelegateTask - accountId: {}", accountId);
         Call<DelegateTaskPackage> acquireCall =
             delegateAgentManagerClient.acquireTask(delegateId, delegateTaskId, accountId, delegateInstanceId);
@@ -2277,17 +2345,32 @@ public class DelegateAgentServiceImpl implements DelegateAgentService {
       ((AbstractDelegateRunnableTask) delegateRunnableTask).setDelegateHostname(HOST_NAME);
     }
     injector.injectMembers(delegateRunnableTask);
-    currentlyExecutingFutures.get(delegateTaskPackage.getDelegateTaskId()).setExecutionStartTime(clock.millis());
 
-    // Submit execution for watching this task execution.
-    timeoutEnforcement.submit(() -> enforceDelegateTaskTimeout(delegateTaskPackage.getDelegateTaskId(), taskData));
+    // The task is acquired already, so it waits for a slot of its type instead of being left to other delegates
+    try {
+      taskConcurrencyLimiter.acquire(taskData.getTaskType());
+    } catch (InterruptedException e) {
+      log.warn("Interrupted while waiting for a slot of task type {}", taskData.getTaskType());
+      // The task is assigned to this delegate, fail it instead of leaving it to its execution timeout
+      sendErrorResponse(delegateTaskPackage, e);
+      Thread.currentThread().interrupt();
+      return;
+    }
+    try {
+      currentlyExecutingFutures.get(delegateTaskPackage.getDelegateTaskId()).setExecutionStartTime(clock.millis());
+
+      // Submit execution for watching this task execution.
+      timeoutEnforcement.submit(() -> enforceDelegateTaskTimeout(delegateTaskPackage.getDelegateTaskId(), taskData));
 
-    // Start task execution in same thread and measure duration.
-    if (isImmutableDelegate) {
-      metricRegistry.recordGaugeDuration(TASK_EXECUTION_TIME.getMetricName(),
-          new String[] {DELEGATE_NAME, taskData.getTaskType()}, delegateRunnableTask);
-    } else {
-      delegateRunnableTask.run();
+      // Start task execution in same thread and measure duration.
+      if (isImmutableDelegate) {
+        metricRegistry.recordGaugeDuration(TASK_EXECUTION_TIME.getMetricName(),
+            new String[] {DELEGATE_NAME, taskData.getTaskType()}, delegateRunnableTask);
+      } else {
+        delegateRunnableTask.run();
+      }
+    } finally {
+      taskConcurrencyLimiter.release(taskData.getTaskType());
     }
   }
 
@@ -2867,6 +2950,14 @@ public class DelegateAgentServiceImpl implements DelegateAgentService {
     long tasksExecutionCount = taskExecutor.getActiveCount();
     metricRegistry.recordGaugeValue(
         TASKS_CURRENTLY_EXECUTING.getMetricName(), new String[] {DELEGATE_NAME}, tasksExecutionCount);
+
+    LogShippingPipeline logShippingPipeline = LogShippingPipeline.getInstance();
+    metricRegistry.recordGaugeValue(LOG_SHIPPING_QUEUE_DEPTH.getMetricName(), new String[] {DELEGATE_NAME},
+        logShippingPipeline.getQueueDepth());
+    metricRegistry.recordGaugeValue(LOG_SHIPPING_DROPPED_LINES.getMetricName(), new String[] {DELEGATE_NAME},
+        logShippingPipeline.getDroppedLines());
+    metricRegistry.recordGaugeValue(LOG_SHIPPING_LATENCY.getMetricName(), new String[] {DELEGATE_NAME},
+        logShippingPipeline.getAndResetMaxShipLatencyMillis());
   }
 
   public void sendTaskResponse(final String taskId, final DelegateTaskResponse taskResponse) {
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.delegate.service.common;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caps how many tasks of a task type execute at once. With a virtual thread task executor the pool size no longer
+ * bounds concurrency, so the limits are set per task type instead, with TASK_TYPE_CONCURRENCY_LIMITS like
+ * "K8S_COMMAND_TASK_NG=50,SHELL_SCRIPT_TASK_NG=200,*=1000". The * entry applies to each type without its own limit,
+ * types are unlimited when there is none. Tasks of the new task apis are limited by their runner type. A total limit
+ * additionally caps the tasks of all types together, the delegate sets one by default in virtual thread mode.
+ *
+ * A slot is only held while a task executes. Before acquiring a task from the manager, {@link #hasCapacity} tells
+ * whether to leave it to other delegates, an acquired task waits in {@link #acquire} until a slot is free.
+ */
+@Slf4j
+public class TaskConcurrencyLimiter {
+  public static final String LIMITS_ENV = "TASK_TYPE_CONCURRENCY_LIMITS";
+  private static final String DEFAULT_KEY = "*";
+  private static final String UNKNOWN_TYPE = "UNKNOWN";
+
+  private final Map<String, Integer> limits;
+  private final Integer defaultLimit;
+  private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+  private final Semaphore total;
+  private final int totalLimit;
+
+  @VisibleForTesting
+  TaskConcurrencyLimiter(String spec) {
+    this(spec, 0);
+  }
+
+  /**
+   * @param totalLimit tasks of all types executing at once, unlimited if not positive
+   */
+  public TaskConcurrencyLimiter(String spec, int totalLimit) {
+    Map<String, Integer> parsed = new HashMap<>();
+    if (!isBlank(spec)) {
+      try {
+        for (Map.Entry<String, String> entry :
+            Splitter.on(',').trimResults().omitEmptyStrings().withKeyValueSeparator('=').split(spec).entrySet()) {
+          try {
+            parsed.put(entry.getKey().trim(), Math.max(0, Integer.parseInt(entry.getValue().trim())));
+          } catch (NumberFormatException ex) {
+            log.warn("Ignoring invalid concurrency limit {} for task type {}", entry.getValue(), entry.getKey());
+          }
+        }
+        log.info("Task type concurrency limits {}", parsed);
+      } catch (IllegalArgumentException ex) {
+        log.error("Unable to parse {} env variable, task types are not limited", LIMITS_ENV, ex);
+        parsed.clear();
+      }
+    }
+    this.defaultLimit = parsed.remove(DEFAULT_KEY);
+    this.limits = parsed;
+    this.totalLimit = totalLimit;
+    this.total = totalLimit > 0 ? new Semaphore(totalLimit) : null;
+  }
+
+  /**
+   * Returns false if as many tasks of the type are executing as allowed. No slot is taken, so tasks acquired at the
+   * same time may still have to wait for one.
+   */
+  public boolean hasCapacity(String taskType) {
+    Semaphore semaphore = semaphore(taskType);
+    return (semaphore == null || semaphore.availablePermits() > 0) && (total == null || total.availablePermits() > 0);
+  }
+
+  /**
+   * Takes a slot for a task of the type, waiting until one is free. Must be paired with {@link #release(String)}.
+   */
+  public void acquire(String taskType) throws InterruptedException {
+    // The slot of the type is taken first, so tasks waiting for a busy type do not hold total slots other types need
+    Semaphore semaphore = semaphore(taskType);
+    if (semaphore != null) {
+      semaphore.acquire();
+    }
+    if (total != null) {
+      try {
+        total.acquire();
+      } catch (InterruptedException ex) {
+        if (semaphore != null) {
+          semaphore.release();
+        }
+        throw ex;
+      }
+    }
+  }
+
+  public void release(String taskType) {
+    if (total != null) {
+      total.release();
+    }
+    Semaphore semaphore = semaphore(taskType);
+    if (semaphore != null) {
+      semaphore.release();
+    }
+  }
+
+  /**
+   * Executing tasks of every limited task type, and of all types together under the * key if there is a total limit.
+   */
+  public Map<String, Integer> inUse() {
+    Map<String, Integer> inUse = new HashMap<>();
+    permits.forEach((taskType, semaphore) -> {
+      int limit = limits.getOrDefault(taskType, defaultLimit);
+      inUse.put(taskType, limit - semaphore.availablePermits());
+    });
+    if (total != null) {
+      inUse.put(DEFAULT_KEY, totalLimit - total.availablePermits());
+    }
+    return inUse;
+  }
+
+  private Semaphore semaphore(String taskType) {
+    String type = taskType == null ? UNKNOWN_TYPE : taskType;
+    Integer limit = limits.getOrDefault(type, defaultLimit);
+    if (limit == null) {
+      return null;
+    }
+    return permits.computeIfAbsent(type, key -> new Semaphore(limit));
+  }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.delegate.service.common;
+
+import io.harness.delegate.TaskPayloadStreamAck;
+import io.harness.delegate.TaskPayloadStreamCredits;
+import io.harness.delegate.TaskPayloadStreamRequest;
+import io.harness.delegate.TaskPayloadStreamResponse;
+import io.harness.delegate.TaskPayloadStreamServiceGrpc;
+import io.harness.delegate.TaskPayloadStreamServiceGrpc.TaskPayloadStreamServiceStub;
+import io.harness.delegate.TaskPayloadStreamSubscribe;
+import io.harness.delegate.core.beans.AcquireTasksResponse;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import io.grpc.CallCredentials;
+import io.grpc.Channel;
+import io.grpc.stub.StreamObserver;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Receives task payloads pushed by the manager over a long lived stream, so that a task starts without first being
+ * acquired over http. This class is only used for runner's task workflow, tasks which are not pushed are still
+ * broadcast and acquired through {@link AcquireTaskHelper}.
+ *
+ * <p>The manager only pushes as many tasks as it was granted credits for. Credits are granted up to the free capacity
+ * of the task executor, and topped up as pushed tasks complete and periodically while the delegate can take tasks.
+ */
+@Slf4j
+@Singleton
+public class TaskPayloadStreamClient {
+  private static final int MAX_CREDITS = 16;
+  private static final long TOP_UP_INTERVAL_SECONDS = 5;
+  private static final long RECONNECT_DELAY_SECONDS = 10;
+
+  private final TaskPayloadStreamServiceStub stub;
+  private final ThreadPoolExecutor taskExecutor;
+  private final ScheduledExecutorService streamExecutor = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setNameFormat("task-payload-stream-%d").setDaemon(true).build());
+  private final AtomicBoolean running = new AtomicBoolean();
+  // Credits the manager holds on the current stream
+  private final AtomicInteger granted = new AtomicInteger();
+
+  private String accountId;
+  private String delegateId;
+  private String delegateInstanceId;
+  private BooleanSupplier canAcceptTasks;
+  private Consumer<AcquireTasksResponse> taskHandler;
+  private volatile StreamObserver<TaskPayloadStreamRequest> requestObserver;
+
+  @Inject
+  public TaskPayloadStreamClient(@Named("manager-channel") Channel channel, CallCredentials callCredentials,
+      @Named("taskExecutor") ThreadPoolExecutor taskExecutor) {
+    this(TaskPayloadStreamServiceGrpc.newStub(channel).withCallCredentials(callCredentials), taskExecutor);
+  }
+
+  @VisibleForTesting
+  TaskPayloadStreamClient(TaskPayloadStreamServiceStub stub, ThreadPoolExecutor taskExecutor) {
+    this.stub = stub;
+    this.taskExecutor = taskExecutor;
+  }
+
+  /**
+   * Opens the stream and keeps it open until {@link #stop()}. Pushed tasks are handed to the handler on the task
+   * executor, no credits are granted while canAcceptTasks is false.
+   */
+  public void start(String accountId, String delegateId, String delegateInstanceId, BooleanSupplier canAcceptTasks,
+      Consumer<AcquireTasksResponse> taskHandler) {
+    if (!running.compareAndSet(false, true)) {
+      return;
+    }
+    this.accountId = accountId;
+    this.delegateId = delegateId;
+    this.delegateInstanceId = delegateInstanceId;
+    this.canAcceptTasks = canAcceptTasks;
+    this.taskHandler = taskHandler;
+    streamExecutor.execute(this::connect);
+    streamExecutor.scheduleWithFixedDelay(
+        this::topUpCredits, TOP_UP_INTERVAL_SECONDS, TOP_UP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  public void stop() {
+    if (!running.compareAndSet(true, false)) {
+      return;
+    }
+    streamExecutor.shutdownNow();
+    StreamObserver<TaskPayloadStreamRequest> observer = requestObserver;
+    requestObserver = null;
+    if (observer != null) {
+      synchronized (this) {
+        observer.onCompleted();
+      }
+    }
+  }
+
+  private void connect() {
+    if (!running.get()) {
+      return;
+    }
+    try {
+      granted.set(0);
+      StreamObserver<TaskPayloadStreamRequest> observer = stub.streamTaskPayloads(new PayloadObserver());
+      int credits = freeCredits();
+      granted.set(credits);
+      synchronized (this) {
+        // Nothing else is sent on the stream before the subscription
+        requestObserver = observer;
+        send(observer,
+            TaskPayloadStreamRequest.newBuilder()
+                .setSubscribe(TaskPayloadStreamSubscribe.newBuilder()
+                                  .setAccountId(accountId)
+                                  .setDelegateId(delegateId)
+                                  .setDelegateInstanceId(delegateInstanceId)
+                                  .setCredits(credits))
+                .build());
+      }
+      log.info("Opened task payload stream with {} credits", credits);
+    } catch (RuntimeException ex) {
+      log.warn("Unable to open task payload stream", ex);
+      reconnect();
+    }
+  }
+
+  private void reconnect() {
+    requestObserver = null;
+    if (!running.get()) {
+      return;
+    }
+    try {
+      streamExecutor.schedule(this::connect, RECONNECT_DELAY_SECONDS, TimeUnit.SECONDS);
+    } catch (RejectedExecutionException ex) {
+      log.debug("Task payload stream stopped while reconnecting", ex);
+    }
+  }
+
+  @VisibleForTesting
+  void onPayload(TaskPayloadStreamResponse response) {
+    granted.decrementAndGet();
+    try {
+      taskExecutor.submit(() -> {
+        try {
+          taskHandler.accept(response.getPayload());
+        } catch (RuntimeException ex) {
+          log.error("Unable to execute streamed task {}", response.getTaskId(), ex);
+        } finally {
+          topUpCredits();
+        }
+      });
+    } catch (RejectedExecutionException ex) {
+      // The task is acquired for this delegate already, it times out on the manager like any task lost by a delegate
+      log.error("Task executor rejected streamed task {}", response.getTaskId(), ex);
+    }
+    send(requestObserver,
+        TaskPayloadStreamRequest.newBuilder()
+            .setAck(TaskPayloadStreamAck.newBuilder().setTaskId(response.getTaskId()))
+            .build());
+  }
+
+  @VisibleForTesting
+  void topUpCredits() {
+    StreamObserver<TaskPayloadStreamRequest> observer = requestObserver;
+    if (observer == null) {
+      return;
+    }
+    int free = freeCredits();
+    int current;
+    do {
+      current = granted.get();
+      if (current >= free) {
+        return;
+      }
+    } while (!granted.compareAndSet(current, free));
+    send(observer,
+        TaskPayloadStreamRequest.newBuilder()
+            .setCredits(TaskPayloadStreamCredits.newBuilder().setCredits(free - current))
+            .build());
+  }
+
+  private int freeCredits() {
+    if (!canAcceptTasks.getAsBoolean()) {
+      return 0;
+    }
+    int free = taskExecutor.getMaximumPoolSize() - taskExecutor.getActiveCount();
+    return Math.max(0, Math.min(MAX_CREDITS, free));
+  }
+
+  // Request observers are not thread safe
+  private synchronized void send(StreamObserver<TaskPayloadStreamRequest> observer, TaskPayloadStreamRequest request) {
+    if (observer == null) {
+      return;
+    }
+    try {
+      observer.onNext(request);
+    } catch (RuntimeException ex) {
+      log.warn("Unable to send {} on task payload stream", request.getRequestCase(), ex);
+    }
+  }
+
+  private class PayloadObserver implements StreamObserver<TaskPayloadStreamResponse> {
+    @Override
+    public void onNext(TaskPayloadStreamResponse response) {
+      onPayload(response);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      log.warn("Task payload stream failed, reconnecting", t);
+      reconnect();
+    }
+
+    @Override
+    public void onCompleted() {
+      log.info("Task payload stream closed by the manager, reconnecting");
+      reconnect();
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.delegate.service.common;
+
+import com.google.inject.Singleton;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports where task code pins virtual threads to their carrier, e.g. blocking inside a synchronized block. A pinned
+ * virtual thread holds one of the few carrier threads while it blocks, so such hot spots cap task concurrency the way
+ * the platform thread pool size used to. Uses the jdk.VirtualThreadPinned flight recorder event.
+ */
+@Slf4j
+@Singleton
+public class VirtualThreadPinningMonitor {
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final Duration THRESHOLD = Duration.ofMillis(20);
+
+  // Number of pinned events by the first harness frame of their stack
+  private final Map<String, AtomicLong> pinned = new ConcurrentHashMap<>();
+  private RecordingStream recordingStream;
+
+  public synchronized void start() {
+    if (recordingStream != null) {
+      return;
+    }
+    try {
+      RecordingStream stream = new RecordingStream();
+      stream.enable(PINNED_EVENT).withThreshold(THRESHOLD).withStackTrace();
+      stream.onEvent(PINNED_EVENT, this::onPinned);
+      stream.startAsync();
+      recordingStream = stream;
+      log.info("Reporting virtual threads pinned for more than {}", THRESHOLD);
+    } catch (RuntimeException | LinkageError ex) {
+      log.warn("Unable to report pinned virtual threads, flight recorder is not available", ex);
+    }
+  }
+
+  public synchronized void stop() {
+    if (recordingStream != null) {
+      recordingStream.close();
+      recordingStream = null;
+    }
+  }
+
+  /**
+   * Pinned events since the last call, by location.
+   */
+  public Map<String, Long> drainPinnedCounts() {
+    Map<String, Long> counts = new HashMap<>();
+    pinned.forEach((location, count) -> {
+      long value = count.getAndSet(0);
+      if (value > 0) {
+        counts.put(location, value);
+      }
+    });
+    return counts;
+  }
+
+  private void onPinned(RecordedEvent event) {
+    String location = location(event);
+    AtomicLong count = pinned.computeIfAbsent(location, key -> new AtomicLong());
+    if (count.getAndIncrement() == 0) {
+      log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), location);
+    }
+  }
+
+  private static String location(RecordedEvent event) {
+    if (event.getStackTrace() == null) {
+      return "unknown";
+    }
+    String first = null;
+    for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+      if (!frame.isJavaFrame() || frame.getMethod() == null) {
+        continue;
+      }
+      String className = frame.getMethod().getType().getName();
+      String location = className + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+      if (first == null) {
+        first = location;
+      }
+      if (className.startsWith("io.harness.") || className.startsWith("software.wings.")) {
+        return location;
+      }
+    }
+    return first == null ? "unknown" : first;
+  }
+}
@@ -11,6 +11,7 @@ import io.harness.delegate.core.beans.AcquireTasksResponse;
 import io.harness.delegate.core.beans.Secret;
 import io.harness.delegate.core.beans.TaskPayload;
 import io.harness.delegate.service.common.AcquireTaskHelper;
+import io.harness.delegate.service.common.TaskConcurrencyLimiter;
 import io.harness.delegate.service.handlermapping.context.Context;
 import io.harness.delegate.service.handlermapping.handlers.Handler;
 import io.harness.delegate.service.secret.RunnerDecryptionService;
@@ -34,16 +35,18 @@ public class HandlerMappingServer {
   private final Context context; // TODO: Don't inject context
   private final Map<String, Handler> handlersMap;
   private final RunnerDecryptionService decryptionService;
+  private final TaskConcurrencyLimiter taskConcurrencyLimiter;
 
   @Inject
   public HandlerMappingServer(@Named("taskExecutor") ThreadPoolExecutor taskExecutor,
       AcquireTaskHelper acquireTaskHelper, Context context, Map<String, Handler> handlersMap,
-      RunnerDecryptionService decryptionService) {
+      RunnerDecryptionService decryptionService, TaskConcurrencyLimiter taskConcurrencyLimiter) {
     this.taskExecutor = taskExecutor;
     this.acquireTaskHelper = acquireTaskHelper;
     this.context = context;
     this.handlersMap = handlersMap;
     this.decryptionService = decryptionService;
+    this.taskConcurrencyLimiter = taskConcurrencyLimiter;
   }
 
   public void serve(AcquireTasksResponse acquired) {
@@ -73,7 +76,24 @@ public class HandlerMappingServer {
       }
     }
 
-    handler.handle(taskPayload.getRunnerType(), taskPayload, ImmutableMap.copyOf(decryptedMap), handlerContext);
+    // Acquired and pushed tasks alike wait for a slot of their runner type, only while the handler runs
+    boolean hasSlot = true;
+    try {
+      taskConcurrencyLimiter.acquire(taskPayload.getRunnerType());
+    } catch (InterruptedException e) {
+      // Only the handler sends the response of the acquired task, so it still runs, interrupted, and fails fast
+      Thread.currentThread().interrupt();
+      log.warn("Interrupted while waiting for a slot of runner type {}, running task {} without one",
+          taskPayload.getRunnerType(), taskPayload.getId());
+      hasSlot = false;
+    }
+    try {
+      handler.handle(taskPayload.getRunnerType(), taskPayload, ImmutableMap.copyOf(decryptedMap), handlerContext);
+    } finally {
+      if (hasSlot) {
+        taskConcurrencyLimiter.release(taskPayload.getRunnerType());
+      }
+    }
     log.info("Finished executing handler {}", taskPayload.getEventType());
   }
 }
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.logstreaming;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+import static java.lang.System.currentTimeMillis;
+
+import io.harness.annotations.dev.HarnessModule;
+import io.harness.annotations.dev.TargetModule;
+import io.harness.logging.LogLevel;
+import io.harness.network.SafeHttpCall;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Ships the log lines of every task on this delegate. Writers append to a lock free queue per log key and never wait
+ * on the log service. A single thread hands batches to the async http client with at most one request in flight per
+ * key, so lines of a key are delivered in order while a slow key does not hold back the others. Lines over the queue
+ * limit, set by LOG_SHIPPING_MAX_QUEUED_LINES, are dropped and a line with their count is shipped in their place.
+ */
+@Slf4j
+@TargetModule(HarnessModule._420_DELEGATE_AGENT)
+public class LogShippingPipeline {
+  private static final long SHIP_INTERVAL_MILLIS = 100;
+  private static final int MAX_BATCH_LINES = 1000;
+  private static final int DEFAULT_MAX_QUEUED_LINES = 200_000;
+  private static final int MAX_QUEUED_LINES = isNotBlank(System.getenv().get("LOG_SHIPPING_MAX_QUEUED_LINES"))
+      ? Integer.parseInt(System.getenv().get("LOG_SHIPPING_MAX_QUEUED_LINES"))
+      : DEFAULT_MAX_QUEUED_LINES;
+  private static final long CLOSE_DRAIN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+  private static final long FLUSH_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  private static volatile LogShippingPipeline instance;
+
+  private final int maxQueuedLines;
+  private final Set<LogStream> streams = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger queuedLines = new AtomicInteger();
+  private final AtomicLong droppedLines = new AtomicLong();
+  private final AtomicLong maxShipLatencyMillis = new AtomicLong();
+  private final ScheduledExecutorService shipper;
+
+  public static LogShippingPipeline getInstance() {
+    if (instance == null) {
+      synchronized (LogShippingPipeline.class) {
+        if (instance == null) {
+          LogShippingPipeline logShippingPipeline = new LogShippingPipeline(MAX_QUEUED_LINES);
+          logShippingPipeline.start();
+          instance = logShippingPipeline;
+        }
+      }
+    }
+    return instance;
+  }
+
+  @VisibleForTesting
+  LogShippingPipeline(int maxQueuedLines) {
+    this.maxQueuedLines = maxQueuedLines;
+    this.shipper = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("log-shipping-pipeline-%d").setDaemon(true).build());
+  }
+
+  private void start() {
+    shipper.scheduleWithFixedDelay(this::shipAll, 0, SHIP_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  LogStream stream(LogStreamingClient logStreamingClient, String token, String accountId, String logKey) {
+    return new LogStream(logStreamingClient, token, accountId, logKey);
+  }
+
+  void append(LogStream stream, LogLine logLine) {
+    if (queuedLines.incrementAndGet() > maxQueuedLines) {
+      queuedLines.decrementAndGet();
+      droppedLines.incrementAndGet();
+      stream.droppedLines.incrementAndGet();
+      return;
+    }
+    // The dropped lines are reported where they are missing, before the first line which made it into the queue
+    QueuedLine droppedLinesLine = droppedLinesLine(stream);
+    if (droppedLinesLine != null) {
+      queuedLines.incrementAndGet();
+      stream.lines.add(droppedLinesLine);
+    }
+    stream.lines.add(new QueuedLine(logLine, currentTimeMillis()));
+    streams.add(stream);
+  }
+
+  /**
+   * Ships everything queued for the stream from the calling thread, after any request already in flight for it.
+   */
+  void flush(LogStream stream) {
+    try {
+      if (!stream.inFlight.tryAcquire(FLUSH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        log.warn("Timed out waiting to flush logs for key {}", stream.logKey);
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    try {
+      List<QueuedLine> batch;
+      while (!(batch = drain(stream)).isEmpty()) {
+        long startTime = batch.get(0).queuedAt;
+        try {
+          SafeHttpCall.executeWithExceptions(stream.logStreamingClient.pushMessage(
+              stream.token, stream.accountId, stream.logKey, toLogLines(batch)));
+          recordShipLatency(startTime);
+        } catch (Exception ex) {
+          droppedLines.addAndGet(batch.size());
+          log.warn("Unable to push message to log stream for account {} and key {}", stream.accountId,
+              stream.logKey, ex);
+        }
+      }
+    } finally {
+      stream.inFlight.release();
+    }
+  }
+
+  /**
+   * Closes the stream on the log service once its queued lines are shipped, or once the drain timeout has passed.
+   */
+  void close(LogStream stream) {
+    stream.closeDeadline = currentTimeMillis() + CLOSE_DRAIN_TIMEOUT_MILLIS;
+    streams.add(stream);
+  }
+
+  public int getQueueDepth() {
+    return queuedLines.get();
+  }
+
+  public long getDroppedLines() {
+    return droppedLines.get();
+  }
+
+  // Slowest batch shipped since the last call, measured from when its oldest line was queued
+  public long getAndResetMaxShipLatencyMillis() {
+    return maxShipLatencyMillis.getAndSet(0);
+  }
+
+  @VisibleForTesting
+  void shipAll() {
+    try {
+      for (LogStream stream : streams) {
+        ship(stream);
+      }
+    } catch (Exception ex) {
+      log.error("Unexpected error while shipping logs", ex);
+    }
+  }
+
+  private void ship(LogStream stream) {
+    if (!stream.inFlight.tryAcquire()) {
+      return;
+    }
+    if (stream.closeDeadline != 0 && currentTimeMillis() >= stream.closeDeadline) {
+      closeStream(stream);
+      return;
+    }
+    List<QueuedLine> batch = drain(stream);
+    if (!batch.isEmpty()) {
+      long startTime = batch.get(0).queuedAt;
+      send(stream,
+          ()
+              -> stream.logStreamingClient.pushMessage(
+                  stream.token, stream.accountId, stream.logKey, toLogLines(batch)),
+          success -> {
+            if (success) {
+              recordShipLatency(startTime);
+            } else {
+              droppedLines.addAndGet(batch.size());
+            }
+          },
+          "push message to");
+      return;
+    }
+
+    if (stream.closeDeadline == 0) {
+      // Nothing left to ship, the stream is registered again by its next line
+      streams.remove(stream);
+      stream.inFlight.release();
+      if (!stream.lines.isEmpty()) {
+        streams.add(stream);
+      }
+      return;
+    }
+    closeStream(stream);
+  }
+
+  // Lines still queued at the deadline are dropped, as the log service no longer shows them once the stream is closed
+  private void closeStream(LogStream stream) {
+    if (!stream.lines.isEmpty() && currentTimeMillis() < stream.closeDeadline) {
+      stream.inFlight.release();
+      return;
+    }
+    // Lines dropped over the queue limit are already counted
+    int droppedOverLimit = stream.droppedLines.getAndSet(0);
+    int remaining = drain(stream, Integer.MAX_VALUE).size();
+    if (remaining > 0) {
+      droppedLines.addAndGet(remaining);
+    }
+    if (remaining + droppedOverLimit > 0) {
+      log.warn("log cache was not drained for {}. {} lines were dropped", stream.logKey, remaining + droppedOverLimit);
+    }
+    streams.remove(stream);
+    send(stream,
+        () -> stream.logStreamingClient.closeLogStream(stream.token, stream.accountId, stream.logKey, true),
+        success -> {}, "close");
+  }
+
+  // Issues the request asynchronously and releases the stream's in flight permit once it completes
+  private void send(
+      LogStream stream, Supplier<Call<Void>> callSupplier, Consumer<Boolean> onComplete, String operation) {
+    Call<Void> call;
+    try {
+      call = callSupplier.get();
+    } catch (RuntimeException ex) {
+      log.warn("Unable to {} log stream for account {} and key {}", operation, stream.accountId, stream.logKey, ex);
+      call = null;
+    }
+    if (call == null) {
+      onComplete.accept(false);
+      stream.inFlight.release();
+      return;
+    }
+    call.enqueue(new Callback<Void>() {
+      @Override
+      public void onResponse(Call<Void> call, Response<Void> response) {
+        if (!response.isSuccessful()) {
+          log.warn("Unable to {} log stream for account {} and key {}, response code {}", operation,
+              stream.accountId, stream.logKey, response.code());
+        }
+        complete(response.isSuccessful());
+      }
+
+      @Override
+      public void onFailure(Call<Void> call, Throwable t) {
+        log.warn("Unable to {} log stream for account {} and key {}", operation, stream.accountId, stream.logKey, t);
+        complete(false);
+      }
+
+      private void complete(boolean success) {
+        try {
+          onComplete.accept(success);
+        } finally {
+          stream.inFlight.release();
+        }
+      }
+    });
+  }
+
+  private List<QueuedLine> drain(LogStream stream) {
+    return drain(stream, MAX_BATCH_LINES);
+  }
+
+  private List<QueuedLine> drain(LogStream stream, int maxLines) {
+    List<QueuedLine> batch = new ArrayList<>();
+    QueuedLine line;
+    while (batch.size() < maxLines && (line = stream.lines.poll()) != null) {
+      batch.add(line);
+    }
+    queuedLines.addAndGet(-batch.size());
+    // Lines dropped after the last queued line are reported once the queue of the stream is shipped
+    if (batch.size() < maxLines) {
+      QueuedLine droppedLinesLine = droppedLinesLine(stream);
+      if (droppedLinesLine != null) {
+        batch.add(droppedLinesLine);
+      }
+    }
+    return batch;
+  }
+
+  private QueuedLine droppedLinesLine(LogStream stream) {
+    int dropped = stream.droppedLines.getAndSet(0);
+    if (dropped == 0) {
+      return null;
+    }
+    log.warn("{} log lines were dropped for key {}, more than {} lines were queued on the delegate", dropped,
+        stream.logKey, maxQueuedLines);
+    LogLine logLine = LogLine.builder()
+                          .level(LogLevel.WARN)
+                          .message(dropped + " log lines were dropped, the delegate could not ship them in time")
+                          .timestamp(Instant.now())
+                          .build();
+    return new QueuedLine(logLine, currentTimeMillis());
+  }
+
+  private void recordShipLatency(long queuedAt) {
+    maxShipLatencyMillis.accumulateAndGet(currentTimeMillis() - queuedAt, Math::max);
+  }
+
+  private static List<LogLine> toLogLines(List<QueuedLine> batch) {
+    List<LogLine> logLines = new ArrayList<>(batch.size());
+    for (QueuedLine queuedLine : batch) {
+      logLines.add(queuedLine.logLine);
+    }
+    return logLines;
+  }
+
+  private static class QueuedLine {
+    private final LogLine logLine;
+    private final long queuedAt;
+
+    QueuedLine(LogLine logLine, long queuedAt) {
+      this.logLine = logLine;
+      this.queuedAt = queuedAt;
+    }
+  }
+
+  static class LogStream {
+    private final LogStreamingClient logStreamingClient;
+    private final String token;
+    private final String accountId;
+    @Getter private final String logKey;
+    private final Queue<QueuedLine> lines = new ConcurrentLinkedQueue<>();
+    // Lines of this stream dropped over the queue limit which are not reported on the stream yet
+    private final AtomicInteger droppedLines = new AtomicInteger();
+    // Held while a batch of this stream is being shipped, which keeps the lines of a key in order
+    private final Semaphore inFlight = new Semaphore(1);
+    private volatile long closeDeadline;
+
+    LogStream(LogStreamingClient logStreamingClient, String token, String accountId, String logKey) {
+      this.logStreamingClient = logStreamingClient;
+      this.token = token;
+      this.accountId = accountId;
+      this.logKey = logKey;
+    }
+  }
+}
@@ -16,7 +16,6 @@ import static software.wings.beans.LogHelper.color;
 import static software.wings.beans.LogHelper.doneColoring;
 import static software.wings.beans.LogWeight.Bold;
 
-import static java.lang.System.currentTimeMillis;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 import io.harness.annotations.dev.CodePulse;
@@ -29,25 +28,18 @@ import io.harness.delegate.beans.taskprogress.ITaskProgressClient;
 import io.harness.exception.InvalidArgumentsException;
 import io.harness.logging.LogCallback;
 import io.harness.logging.LogLevel;
+import io.harness.logstreaming.LogShippingPipeline.LogStream;
 import io.harness.network.SafeHttpCall;
 
 import software.wings.beans.command.ExecutionLogCallback;
 import software.wings.delegatetasks.DelegateLogService;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import lombok.Builder;
 import lombok.Builder.Default;
 import lombok.extern.slf4j.Slf4j;
@@ -61,6 +53,7 @@ import org.jetbrains.annotations.NotNull;
  *    -> write line
  *    -> close stream
  * concurrent usage of open and close stream will result in loss of logs
+ * Log lines are shipped by the delegate wide {@link LogShippingPipeline}, writers never wait on the log service.
  */
 @CodePulse(
     module = ProductModule.CDS, unitCoverageRequired = true, components = {HarnessModuleComponent.CDS_COMMON_STEPS})
@@ -75,14 +68,12 @@ public class LogStreamingTaskClient implements ILogStreamingTaskClient {
   private final String token;
   private final String accountId;
   private final String baseLogKey;
-  private static ScheduledExecutorService scheduledExecutorService = new ScheduledThreadPoolExecutor(10,
-      new ThreadFactoryBuilder().setNameFormat("log-streaming-client-%d").setPriority(Thread.NORM_PRIORITY).build());
   @Deprecated private final String appId;
   @Deprecated private final String activityId;
-  private ScheduledFuture scheduledFuture;
   private final ITaskProgressClient taskProgressClient;
 
-  @Default private final Map<String, List<LogLine>> logCache = new HashMap<>();
+  @Default private final LogShippingPipeline logShippingPipeline = LogShippingPipeline.getInstance();
+  @Default private final Map<String, LogStream> logStreams = new ConcurrentHashMap<>();
 
   private Set<String> markers;
 
@@ -98,47 +89,16 @@ public class LogStreamingTaskClient implements ILogStreamingTaskClient {
     } catch (Exception ex) {
       log.warn("Unable to open log stream for account {} and key {}", accountId, logKey, ex);
     }
-    scheduledFuture = scheduledExecutorService.scheduleAtFixedRate(this::dispatchLogs, 0, 100, TimeUnit.MILLISECONDS);
   }
 
   @Override
   public void closeStream(String baseLogKeySuffix) {
     String logKey = getLogKey(baseLogKeySuffix);
 
-    synchronized (logCache) {
-      // We can mark this task to be completed. Log upload can happen asynchronously.
-      scheduledExecutorService.submit(() -> closeStreamAsync(logKey));
-    }
-  }
-
-  private void closeStreamAsync(String logKey) {
-    // Waiting for finite time allow log upload to finish.
-    long startTime = currentTimeMillis();
-    synchronized (logCache) {
-      while (logCache.containsKey(logKey) && currentTimeMillis() < startTime + TimeUnit.SECONDS.toMillis(5)) {
-        log.debug("For {} the logs are not drained yet. sleeping...", logKey);
-        try {
-          logCache.wait(100);
-        } catch (InterruptedException e) {
-          log.warn("Log upload didn't completed successfully for {} ", logKey);
-        }
-      }
-    }
-    if (logCache.containsKey(logKey)) {
-      log.warn("log cache was not drained for {}. num of keys in map {}. This will result in missing logs", logKey,
-          logCache.size());
-    }
-    try {
-      SafeHttpCall.executeWithExceptions(logStreamingClient.closeLogStream(token, accountId, logKey, true));
-    } catch (Exception ex) {
-      log.warn("Unable to close log stream for account {} and key {}", accountId, logKey, ex);
-    } finally {
-      if (scheduledFuture != null) {
-        scheduledFuture.cancel(false);
-      } else {
-        log.warn("Scheduled future is missing for logkey {}", logKey);
-      }
-    }
+    // We can mark this task to be completed. Log upload and closing the stream happen asynchronously.
+    LogStream logStream = obtainLogStream(logKey);
+    logStreams.remove(logKey, logStream);
+    logShippingPipeline.close(logStream);
   }
 
   @Override
@@ -152,31 +112,21 @@ public class LogStreamingTaskClient implements ILogStreamingTaskClient {
     logStreamingSanitizer.sanitizeLogMessage(logLine, getMarkers());
     colorLog(logLine);
 
-    synchronized (logCache) {
-      if (!logCache.containsKey(logKey)) {
-        logCache.put(logKey, new ArrayList<>());
-      }
-      logCache.get(logKey).add(logLine);
-    }
+    logShippingPipeline.append(obtainLogStream(logKey), logLine);
   }
 
   @Override
   public void dispatchLogs() {
-    synchronized (logCache) {
-      for (Iterator<Map.Entry<String, List<LogLine>>> iterator = logCache.entrySet().iterator(); iterator.hasNext();) {
-        Map.Entry<String, List<LogLine>> next = iterator.next();
-        try {
-          SafeHttpCall.executeWithExceptions(
-              logStreamingClient.pushMessage(token, accountId, next.getKey(), next.getValue()));
-        } catch (Exception ex) {
-          log.warn("Unable to push message to log stream for account {} and key {}", accountId, next.getKey(), ex);
-        }
-        iterator.remove();
-      }
-      logCache.notifyAll();
+    for (LogStream logStream : logStreams.values()) {
+      logShippingPipeline.flush(logStream);
     }
   }
 
+  private LogStream obtainLogStream(String logKey) {
+    return logStreams.computeIfAbsent(
+        logKey, key -> logShippingPipeline.stream(logStreamingClient, token, accountId, key));
+  }
+
   @NotNull
   private String getLogKey(String baseLogKeySuffix) {
     return baseLogKey + (isBlank(baseLogKeySuffix) ? "" : String.format(COMMAND_UNIT_PLACEHOLDER, baseLogKeySuffix));
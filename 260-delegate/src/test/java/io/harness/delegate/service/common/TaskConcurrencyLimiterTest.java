@@ -0,0 +1,149 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.delegate.service.common;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.CategoryTest;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+import io.harness.threading.ThreadPool;
+import io.harness.threading.VirtualThreads;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class TaskConcurrencyLimiterTest extends CategoryTest {
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testLimitsPerTaskType() throws Exception {
+    TaskConcurrencyLimiter limiter = new TaskConcurrencyLimiter("SHELL_SCRIPT_TASK_NG=2, *=1, HTTP_TASK=invalid");
+
+    limiter.acquire("SHELL_SCRIPT_TASK_NG");
+    assertThat(limiter.hasCapacity("SHELL_SCRIPT_TASK_NG")).isTrue();
+    limiter.acquire("SHELL_SCRIPT_TASK_NG");
+    assertThat(limiter.hasCapacity("SHELL_SCRIPT_TASK_NG")).isFalse();
+    limiter.acquire("HTTP_TASK");
+    assertThat(limiter.hasCapacity("HTTP_TASK")).isFalse();
+    assertThat(limiter.hasCapacity(null)).isTrue();
+    assertThat(limiter.inUse()).containsEntry("SHELL_SCRIPT_TASK_NG", 2).containsEntry("HTTP_TASK", 1);
+
+    limiter.release("SHELL_SCRIPT_TASK_NG");
+    assertThat(limiter.hasCapacity("SHELL_SCRIPT_TASK_NG")).isTrue();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testTotalLimitAcrossTaskTypes() throws Exception {
+    TaskConcurrencyLimiter limiter = new TaskConcurrencyLimiter("SHELL_SCRIPT_TASK_NG=1", 2);
+
+    limiter.acquire("SHELL_SCRIPT_TASK_NG");
+    limiter.acquire("HTTP_TASK");
+    assertThat(limiter.hasCapacity("K8S_COMMAND_TASK_NG")).isFalse();
+    assertThat(limiter.inUse()).containsEntry("SHELL_SCRIPT_TASK_NG", 1).containsEntry("*", 2);
+
+    limiter.release("HTTP_TASK");
+    assertThat(limiter.hasCapacity("K8S_COMMAND_TASK_NG")).isTrue();
+    // the type is still at its own limit
+    assertThat(limiter.hasCapacity("SHELL_SCRIPT_TASK_NG")).isFalse();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testAcquireWaitsForFreeSlot() throws Exception {
+    TaskConcurrencyLimiter limiter = new TaskConcurrencyLimiter("SHELL_SCRIPT_TASK_NG=1");
+    assertThat(limiter.hasCapacity("SHELL_SCRIPT_TASK_NG")).isTrue();
+    limiter.acquire("SHELL_SCRIPT_TASK_NG");
+    // checking capacity takes no slot
+    assertThat(limiter.hasCapacity("SHELL_SCRIPT_TASK_NG")).isFalse();
+    assertThat(limiter.hasCapacity("HTTP_TASK")).isTrue();
+
+    CountDownLatch acquired = new CountDownLatch(1);
+    Thread waiting = new Thread(() -> {
+      try {
+        limiter.acquire("SHELL_SCRIPT_TASK_NG");
+        acquired.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    waiting.start();
+    assertThat(acquired.await(100, TimeUnit.MILLISECONDS)).isFalse();
+
+    limiter.release("SHELL_SCRIPT_TASK_NG");
+    assertThat(acquired.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(limiter.inUse()).containsEntry("SHELL_SCRIPT_TASK_NG", 1);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testUnlimitedWithoutLimits() throws Exception {
+    TaskConcurrencyLimiter limiter = new TaskConcurrencyLimiter("");
+    for (int i = 0; i < 1000; i++) {
+      limiter.acquire("SHELL_SCRIPT_TASK_NG");
+    }
+    assertThat(limiter.hasCapacity("SHELL_SCRIPT_TASK_NG")).isTrue();
+    assertThat(limiter.inUse()).isEmpty();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testThousandsOfConcurrentBlockingTasks() throws Exception {
+    int tasks = 2000;
+    int limit = 500;
+    TaskConcurrencyLimiter limiter = new TaskConcurrencyLimiter("SLEEP=" + limit, 2 * limit);
+    ThreadFactory threadFactory =
+        VirtualThreads.isSupported() ? VirtualThreads.factory("task-exec-") : Executors.defaultThreadFactory();
+    ThreadPoolExecutor executor = ThreadPool.create(0, Integer.MAX_VALUE, 1, TimeUnit.SECONDS, threadFactory);
+
+    AtomicInteger executing = new AtomicInteger();
+    AtomicInteger maxExecuting = new AtomicInteger();
+    AtomicInteger completed = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(tasks);
+    for (int i = 0; i < tasks; i++) {
+      executor.submit(() -> {
+        try {
+          start.await();
+          limiter.acquire("SLEEP");
+          try {
+            maxExecuting.accumulateAndGet(executing.incrementAndGet(), Math::max);
+            Thread.sleep(200);
+            completed.incrementAndGet();
+          } finally {
+            executing.decrementAndGet();
+            limiter.release("SLEEP");
+          }
+          return null;
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+    start.countDown();
+
+    assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+    assertThat(maxExecuting.get()).isLessThanOrEqualTo(limit);
+    assertThat(completed.get()).isEqualTo(tasks);
+    assertThat(limiter.inUse()).containsEntry("SLEEP", 0).containsEntry("*", 0);
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.delegate.service.common;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.CategoryTest;
+import io.harness.category.element.UnitTests;
+import io.harness.delegate.TaskPayloadStreamRequest;
+import io.harness.delegate.TaskPayloadStreamRequest.RequestCase;
+import io.harness.delegate.TaskPayloadStreamResponse;
+import io.harness.delegate.TaskPayloadStreamServiceGrpc;
+import io.harness.delegate.TaskPayloadStreamServiceGrpc.TaskPayloadStreamServiceImplBase;
+import io.harness.delegate.core.beans.AcquireTasksResponse;
+import io.harness.delegate.core.beans.TaskPayload;
+import io.harness.rule.Owner;
+
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcCleanupRule;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class TaskPayloadStreamClientTest extends CategoryTest {
+  private static final int POOL_SIZE = 4;
+
+  @Rule public final GrpcCleanupRule grpcCleanup = new GrpcCleanupRule();
+
+  private final FakeTaskPayloadStreamService service = new FakeTaskPayloadStreamService();
+  private final LinkedBlockingQueue<AcquireTasksResponse> executed = new LinkedBlockingQueue<>();
+  private final AtomicBoolean canAcceptTasks = new AtomicBoolean(true);
+  private ThreadPoolExecutor taskExecutor;
+  private TaskPayloadStreamClient client;
+
+  @Before
+  public void setUp() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    grpcCleanup.register(
+        InProcessServerBuilder.forName(serverName).directExecutor().addService(service).build().start());
+    taskExecutor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    client = new TaskPayloadStreamClient(
+        TaskPayloadStreamServiceGrpc.newStub(
+            grpcCleanup.register(InProcessChannelBuilder.forName(serverName).directExecutor().build())),
+        taskExecutor);
+  }
+
+  @After
+  public void tearDown() {
+    client.stop();
+    taskExecutor.shutdownNow();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testSubscribesAndAcknowledgesPushedTask() throws Exception {
+    client.start("accountId", "delegateId", "instanceId", canAcceptTasks::get, executed::add);
+
+    TaskPayloadStreamRequest subscribe = service.next();
+    assertThat(subscribe.getRequestCase()).isEqualTo(RequestCase.SUBSCRIBE);
+    assertThat(subscribe.getSubscribe().getAccountId()).isEqualTo("accountId");
+    assertThat(subscribe.getSubscribe().getDelegateId()).isEqualTo("delegateId");
+    assertThat(subscribe.getSubscribe().getDelegateInstanceId()).isEqualTo("instanceId");
+    assertThat(subscribe.getSubscribe().getCredits()).isEqualTo(POOL_SIZE);
+
+    service.push("taskId");
+
+    AcquireTasksResponse payload = executed.poll(5, TimeUnit.SECONDS);
+    assertThat(payload).isNotNull();
+    assertThat(payload.getTask(0).getId()).isEqualTo("taskId");
+    // The completed task may top up credits before the acknowledgement is sent
+    TaskPayloadStreamRequest ack = service.next(RequestCase.ACK);
+    assertThat(ack.getAck().getTaskId()).isEqualTo("taskId");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testGrantsCreditsOnlyWhenTasksCanBeAccepted() throws Exception {
+    canAcceptTasks.set(false);
+    client.start("accountId", "delegateId", "instanceId", canAcceptTasks::get, executed::add);
+    assertThat(service.next().getSubscribe().getCredits()).isZero();
+
+    client.topUpCredits();
+    assertThat(service.requests.poll(100, TimeUnit.MILLISECONDS)).isNull();
+
+    canAcceptTasks.set(true);
+    client.topUpCredits();
+    TaskPayloadStreamRequest credits = service.next();
+    assertThat(credits.getRequestCase()).isEqualTo(RequestCase.CREDITS);
+    assertThat(credits.getCredits().getCredits()).isEqualTo(POOL_SIZE);
+
+    // All free capacity is granted already
+    client.topUpCredits();
+    assertThat(service.requests.poll(100, TimeUnit.MILLISECONDS)).isNull();
+  }
+
+  private static class FakeTaskPayloadStreamService extends TaskPayloadStreamServiceImplBase {
+    private final LinkedBlockingQueue<TaskPayloadStreamRequest> requests = new LinkedBlockingQueue<>();
+    private volatile StreamObserver<TaskPayloadStreamResponse> responseObserver;
+
+    @Override
+    public StreamObserver<TaskPayloadStreamRequest> streamTaskPayloads(
+        StreamObserver<TaskPayloadStreamResponse> responseObserver) {
+      this.responseObserver = responseObserver;
+      return new StreamObserver<>() {
+        @Override
+        public void onNext(TaskPayloadStreamRequest request) {
+          requests.add(request);
+        }
+
+        @Override
+        public void onError(Throwable t) {}
+
+        @Override
+        public void onCompleted() {
+          responseObserver.onCompleted();
+        }
+      };
+    }
+
+    TaskPayloadStreamRequest next() throws InterruptedException {
+      TaskPayloadStreamRequest request = requests.poll(5, TimeUnit.SECONDS);
+      assertThat(request).isNotNull();
+      return request;
+    }
+
+    TaskPayloadStreamRequest next(RequestCase requestCase) throws InterruptedException {
+      TaskPayloadStreamRequest request = next();
+      while (request.getRequestCase() != requestCase) {
+        request = next();
+      }
+      return request;
+    }
+
+    void push(String taskId) {
+      responseObserver.onNext(
+          TaskPayloadStreamResponse.newBuilder()
+              .setTaskId(taskId)
+              .setPayload(AcquireTasksResponse.newBuilder().addTask(TaskPayload.newBuilder().setId(taskId)))
+              .build());
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.logstreaming;
+
+import static io.harness.data.structure.UUIDGenerator.generateUuid;
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.harness.CategoryTest;
+import io.harness.category.element.UnitTests;
+import io.harness.logging.LogLevel;
+import io.harness.logstreaming.LogShippingPipeline.LogStream;
+import io.harness.rule.Owner;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+public class LogShippingPipelineTest extends CategoryTest {
+  private static final String ACCOUNT_ID = generateUuid();
+  private static final String TOKEN = generateUuid();
+  private static final String LOG_KEY = generateUuid();
+
+  private final LogStreamingClient logStreamingClient = mock(LogStreamingClient.class);
+  private final LogShippingPipeline logShippingPipeline = new LogShippingPipeline(3);
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldDropLinesOverTheQueueLimit() {
+    LogStream logStream = logShippingPipeline.stream(logStreamingClient, TOKEN, ACCOUNT_ID, LOG_KEY);
+    for (int i = 0; i < 5; i++) {
+      logShippingPipeline.append(logStream, logLine("line" + i));
+    }
+
+    assertThat(logShippingPipeline.getDroppedLines()).isEqualTo(2);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldShipCountOfDroppedLines() {
+    Call<Void> call = mock(Call.class);
+    when(logStreamingClient.pushMessage(eq(TOKEN), eq(ACCOUNT_ID), eq(LOG_KEY), anyList())).thenReturn(call);
+
+    LogStream logStream = logShippingPipeline.stream(logStreamingClient, TOKEN, ACCOUNT_ID, LOG_KEY);
+    for (int i = 0; i < 5; i++) {
+      logShippingPipeline.append(logStream, logLine("line" + i));
+    }
+    logShippingPipeline.shipAll();
+
+    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+    verify(logStreamingClient).pushMessage(eq(TOKEN), eq(ACCOUNT_ID), eq(LOG_KEY), captor.capture());
+    assertThat(captor.getValue())
+        .extracting("message")
+        .containsExactly(
+            "line0", "line1", "line2", "2 log lines were dropped, the delegate could not ship them in time");
+    assertThat(logShippingPipeline.getQueueDepth()).isEqualTo(0);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldKeepOneRequestInFlightPerKey() {
+    List<Callback<Void>> callbacks = new ArrayList<>();
+    Call<Void> call = mock(Call.class);
+    doAnswer(invocation -> callbacks.add(invocation.getArgument(0))).when(call).enqueue(any());
+    when(logStreamingClient.pushMessage(eq(TOKEN), eq(ACCOUNT_ID), eq(LOG_KEY), anyList())).thenReturn(call);
+
+    LogStream logStream = logShippingPipeline.stream(logStreamingClient, TOKEN, ACCOUNT_ID, LOG_KEY);
+    logShippingPipeline.append(logStream, logLine("first"));
+    logShippingPipeline.shipAll();
+    logShippingPipeline.append(logStream, logLine("second"));
+    logShippingPipeline.shipAll();
+
+    // The second line waits for the first batch to be acknowledged
+    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+    verify(logStreamingClient, times(1)).pushMessage(eq(TOKEN), eq(ACCOUNT_ID), eq(LOG_KEY), captor.capture());
+    assertThat(captor.getValue()).extracting("message").containsExactly("first");
+
+    callbacks.get(callbacks.size() - 1).onResponse(call, Response.success(null));
+    logShippingPipeline.shipAll();
+
+    verify(logStreamingClient, times(2)).pushMessage(eq(TOKEN), eq(ACCOUNT_ID), eq(LOG_KEY), captor.capture());
+    assertThat(captor.getValue()).extracting("message").containsExactly("second");
+    assertThat(logShippingPipeline.getQueueDepth()).isEqualTo(0);
+  }
+
+  private static LogLine logLine(String message) {
+    return LogLine.builder().level(LogLevel.INFO).message(message).build();
+  }
+}
@@ -66,6 +66,7 @@ import io.harness.delegate.beans.DelegateAsyncTaskResponse;
 import io.harness.delegate.beans.DelegateSyncTaskResponse;
 import io.harness.delegate.beans.DelegateTaskProgressResponse;
 import io.harness.delegate.beans.StartupMode;
+import io.harness.delegate.cache.DelegateCacheChangeTrackingService;
 import io.harness.delegate.event.handler.DelegateProfileEventHandler;
 import io.harness.delegate.eventstream.EntityCRUDConsumer;
 import io.harness.delegate.heartbeat.polling.DelegatePollingHeartbeatService;
@@ -116,7 +117,11 @@ import io.harness.metrics.service.api.MetricService;
 import io.harness.migrations.MigrationModule;
 import io.harness.module.DelegateServiceModule;
 import io.harness.mongo.AbstractMongoModule;
+import io.harness.mongo.MongoConfig;
 import io.harness.mongo.QuartzCleaner;
+import io.harness.mongo.changestreams.ChangeEventFactory;
+import io.harness.mongo.changestreams.ChangeTracker;
+import io.harness.mongo.metrics.HarnessConnectionPoolListener;
 import io.harness.mongo.tracing.TraceMode;
 import io.harness.morphia.MorphiaRegistrar;
 import io.harness.ng.core.CorrelationFilter;
@@ -166,6 +171,8 @@ import io.harness.secrets.SecretMigrationEventListener;
 import io.harness.serializer.AnnotationAwareJsonSubtypeResolver;
 import io.harness.serializer.CurrentGenRegistrars;
 import io.harness.serializer.KryoRegistrar;
+import io.harness.service.impl.DelegateCacheConfig;
+import io.harness.service.impl.DelegateCacheImpl;
 import io.harness.service.impl.DelegateNgTokenServiceImpl;
 import io.harness.service.impl.DelegateSyncServiceImpl;
 import io.harness.service.impl.DelegateTokenServiceImpl;
@@ -256,6 +263,7 @@ import software.wings.service.impl.AuditServiceHelper;
 import software.wings.service.impl.AuditServiceImpl;
 import software.wings.service.impl.BarrierServiceImpl;
 import software.wings.service.impl.CloudProviderObserver;
+import software.wings.service.impl.DelegateEligibilityIndex;
 import software.wings.service.impl.DelegateObserver;
 import software.wings.service.impl.DelegateProfileServiceImpl;
 import software.wings.service.impl.DelegateServiceImpl;
@@ -698,6 +706,7 @@ public class WingsApplication extends Application<MainConfiguration> {
 
     if (shouldEnableDelegateMgmt) {
       registerInprocPerpetualTaskServiceClients(injector);
+      enableDelegateCacheChangeTracking(configuration, environment, injector);
     }
 
     // common for both manager and dms
@@ -1041,6 +1050,22 @@ public class WingsApplication extends Application<MainConfiguration> {
     dynamic.addMapping("/stream/*");
   }
 
+  private void enableDelegateCacheChangeTracking(
+      MainConfiguration configuration, Environment environment, Injector injector) {
+    DelegateCacheConfig delegateCacheConfig = configuration.getDelegateCacheConfig();
+    if (delegateCacheConfig == null || !delegateCacheConfig.isChangeTrackingEnabled()) {
+      return;
+    }
+    DelegateCacheImpl delegateCache = injector.getInstance(DelegateCacheImpl.class);
+    delegateCache.enableChangeTracking(delegateCacheConfig, injector.getInstance(MetricService.class));
+    environment.lifecycle().manage(new DelegateCacheChangeTrackingService(delegateCache,
+        ()
+            -> new ChangeTracker(injector.getInstance(MongoConfig.class),
+                injector.getInstance(HarnessConnectionPoolListener.class),
+                injector.getInstance(ChangeEventFactory.class), null),
+        delegateCacheConfig.getChangeStreamCheckIntervalSeconds()));
+  }
+
   private void registerInprocPerpetualTaskServiceClients(Injector injector) {
     // will move to dms in the future, keep it in manager for now
     PerpetualTaskServiceClientRegistry clientRegistry =
@@ -1490,6 +1515,9 @@ public class WingsApplication extends Application<MainConfiguration> {
         injector.getInstance(Key.get(DelegateTaskServiceClassicImpl.class));
     delegateServiceImpl.getSubject().register(delegateTaskServiceClassic);
 
+    DelegateEligibilityIndex delegateEligibilityIndex = injector.getInstance(Key.get(DelegateEligibilityIndex.class));
+    delegateServiceImpl.getSubject().register(delegateEligibilityIndex);
+
     CEPerpetualTaskHandler cePerpetualTaskHandler = injector.getInstance(Key.get(CEPerpetualTaskHandler.class));
     ClusterRecordServiceImpl clusterRecordService =
         (ClusterRecordServiceImpl) injector.getInstance(Key.get(ClusterRecordService.class));
@@ -1510,6 +1538,9 @@ public class WingsApplication extends Application<MainConfiguration> {
         (PerpetualTaskServiceImpl) injector.getInstance(Key.get(PerpetualTaskService.class));
     delegatePollingHeartbeatService.getSubject().register(perpetualTaskService);
     delegateStreamHeartbeatService.getSubject().register(perpetualTaskService);
+    DelegateEligibilityIndex delegateEligibilityIndex = injector.getInstance(Key.get(DelegateEligibilityIndex.class));
+    delegatePollingHeartbeatService.getSubject().register(delegateEligibilityIndex);
+    delegateStreamHeartbeatService.getSubject().register(delegateEligibilityIndex);
   }
 
   /**
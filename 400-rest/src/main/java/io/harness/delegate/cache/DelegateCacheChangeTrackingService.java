@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.delegate.cache;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.mongo.changestreams.ChangeTracker;
+import io.harness.service.impl.DelegateCacheImpl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dropwizard.lifecycle.Managed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the change streams behind {@link DelegateCacheImpl} open. The streams are checked periodically and reopened
+ * with a new {@link ChangeTracker} once any of them stopped, after dropping the cached entries whose changes may have
+ * been missed in the meantime.
+ */
+@OwnedBy(HarnessTeam.DEL)
+@Slf4j
+public class DelegateCacheChangeTrackingService implements Managed {
+  private final DelegateCacheImpl delegateCache;
+  private final Supplier<ChangeTracker> changeTrackerFactory;
+  private final long checkIntervalSeconds;
+  private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setNameFormat("delegate-cache-change-tracking").setDaemon(true).build());
+  // Only accessed from the executor thread, and on stop once it terminated
+  private ChangeTracker changeTracker;
+
+  public DelegateCacheChangeTrackingService(
+      DelegateCacheImpl delegateCache, Supplier<ChangeTracker> changeTrackerFactory, long checkIntervalSeconds) {
+    this.delegateCache = delegateCache;
+    this.changeTrackerFactory = changeTrackerFactory;
+    this.checkIntervalSeconds = checkIntervalSeconds;
+  }
+
+  @Override
+  public void start() {
+    executorService.scheduleWithFixedDelay(this::checkChangeTracker, 0, checkIntervalSeconds, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void stop() throws InterruptedException {
+    executorService.shutdownNow();
+    if (!executorService.awaitTermination(checkIntervalSeconds, TimeUnit.SECONDS)) {
+      log.warn("Delegate cache change tracking did not terminate in time");
+    }
+    stopChangeTracker();
+  }
+
+  @VisibleForTesting
+  void checkChangeTracker() {
+    try {
+      if (changeTracker != null) {
+        if (changeTracker.checkIfAllChangeTrackersAreAlive()) {
+          return;
+        }
+        log.warn("Delegate cache change streams stopped, reopening them");
+        stopChangeTracker();
+        delegateCache.invalidateChangeTrackedEntries();
+      }
+      changeTracker = changeTrackerFactory.get();
+      changeTracker.start(delegateCache.getChangeTrackingInfos());
+      log.info("Delegate cache is kept current from change streams");
+    } catch (RuntimeException ex) {
+      // Retried on the next check, entries are still refreshed ahead in the meantime
+      log.error("Unable to open delegate cache change streams", ex);
+    }
+  }
+
+  private void stopChangeTracker() {
+    if (changeTracker == null) {
+      return;
+    }
+    try {
+      changeTracker.stop();
+    } catch (RuntimeException ex) {
+      log.warn("Unable to close delegate cache change streams", ex);
+    }
+  }
+}
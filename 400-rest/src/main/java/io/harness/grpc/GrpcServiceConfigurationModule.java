@@ -25,6 +25,7 @@ import io.harness.grpc.exception.GrpcExceptionMapper;
 import io.harness.grpc.exception.WingsExceptionGrpcMapper;
 import io.harness.grpc.pingpong.PingPongService;
 import io.harness.grpc.scheduler.ScheduleTaskServiceGrpcImpl;
+import io.harness.grpc.scheduler.TaskPayloadStreamServiceGrpcImpl;
 import io.harness.grpc.scheduler.TaskStatusServiceGrpcImpl;
 import io.harness.grpc.server.GrpcServerConfig;
 import io.harness.grpc.server.GrpcServerExceptionHandler;
@@ -76,6 +77,7 @@ public class GrpcServiceConfigurationModule extends AbstractModule {
     bindableServiceMultibinder.addBinding().to(DelegateServiceGrpcImpl.class);
     bindableServiceMultibinder.addBinding().to(ScheduleTaskServiceGrpcImpl.class);
     bindableServiceMultibinder.addBinding().to(TaskStatusServiceGrpcImpl.class);
+    bindableServiceMultibinder.addBinding().to(TaskPayloadStreamServiceGrpcImpl.class);
     bindableServiceMultibinder.addBinding().to(DelegateProfileServiceGrpcImpl.class);
     bindableServiceMultibinder.addBinding().to(DelegateDetailsServiceGrpcImpl.class);
     bindableServiceMultibinder.addBinding().to(PerpetualTaskServiceGrpc.class);
@@ -50,6 +50,7 @@ import io.harness.remote.client.ServiceHttpClientConfig;
 import io.harness.scheduler.SchedulerConfig;
 import io.harness.secret.ConfigSecret;
 import io.harness.secret.SecretsConfiguration;
+import io.harness.service.impl.DelegateCacheConfig;
 import io.harness.stream.AtmosphereBroadcaster;
 import io.harness.swagger.SwaggerBundleConfigurationFactory;
 import io.harness.telemetry.segment.SegmentConfiguration;
@@ -252,6 +253,7 @@ public class MainConfiguration extends Configuration implements AssetsBundleConf
   @JsonProperty(value = "lockNotifyResponseCleanup") private boolean lockNotifyResponseCleanup;
   @JsonProperty(value = "enableRedisForDelegateService", defaultValue = "false")
   private boolean enableRedisForDelegateService;
+  @JsonProperty("delegateCacheConfig") private DelegateCacheConfig delegateCacheConfig;
   @JsonProperty("runScheduleJobsInManagerIteratorOnly") private boolean runScheduleJobsInManagerIteratorOnly;
   @JsonProperty("notificationClient")
   @ConfigSecret
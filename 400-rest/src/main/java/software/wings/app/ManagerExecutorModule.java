@@ -70,5 +70,9 @@ public class ManagerExecutorModule extends AbstractModule {
         .annotatedWith(Names.named("cgCdLicenseUsageExecutor"))
         .toInstance(ThreadPool.create(5, 20, 1L, TimeUnit.SECONDS,
             new ThreadFactoryBuilder().setNameFormat("cgCdLicenseUsageExecutor-%d").build()));
+    bind(ExecutorService.class)
+        .annotatedWith(Names.named("workflowExecutionListExecutor"))
+        .toInstance(ThreadPool.create(4, 16, 1L, TimeUnit.SECONDS,
+            new ThreadFactoryBuilder().setNameFormat("workflowExecutionListExecutor-%d").build()));
   }
 }
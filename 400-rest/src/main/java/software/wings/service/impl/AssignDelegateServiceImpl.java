@@ -40,6 +40,7 @@ import io.harness.annotations.dev.TargetModule;
 import io.harness.beans.Cd1SetupFields;
 import io.harness.beans.DelegateTask;
 import io.harness.beans.DelegateTask.DelegateTaskKeys;
+import io.harness.beans.FeatureName;
 import io.harness.delegate.beans.Delegate;
 import io.harness.delegate.beans.Delegate.DelegateKeys;
 import io.harness.delegate.beans.DelegateActivity;
@@ -72,6 +73,7 @@ import software.wings.beans.InfrastructureMapping;
 import software.wings.beans.TaskType;
 import software.wings.delegatetasks.validation.core.DelegateConnectionResult;
 import software.wings.delegatetasks.validation.core.DelegateConnectionResult.DelegateConnectionResultKeys;
+import software.wings.service.impl.DelegateEligibilityIndex.AccountIndex;
 import software.wings.service.intfc.AssignDelegateService;
 import software.wings.service.intfc.DelegateSelectionLogsService;
 import software.wings.service.intfc.DelegateService;
@@ -93,6 +95,7 @@ import io.dropwizard.util.Lists;
 import java.nio.channels.Selector;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -168,6 +171,7 @@ public class AssignDelegateServiceImpl implements AssignDelegateService, Delegat
   @Inject private DelegateTaskServiceClassic delegateTaskServiceClassic;
 
   @Inject private DelegateTaskMigrationHelper delegateTaskMigrationHelper;
+  @Inject private DelegateEligibilityIndex delegateEligibilityIndex;
 
   private LoadingCache<ImmutablePair<String, String>, Optional<DelegateConnectionResult>>
       delegateConnectionResultCache =
@@ -1049,19 +1053,28 @@ public class AssignDelegateServiceImpl implements AssignDelegateService, Delegat
         throw new NoAvailableDelegatesException();
       }
 
-      List<Delegate> delegates = getDelegatesWithOwnerShipCriteriaMatch(task, accountDelegates);
-      if (isEmpty(delegates)) {
-        task.getNonAssignableDelegates().put(CAN_NOT_ASSIGN_OWNER, Collections.emptyList());
-        delegateTaskServiceClassic.addToTaskActivityLog(task, CAN_NOT_ASSIGN_OWNER);
-        return eligibleDelegateIds;
-      }
+      if (featureFlagService.isEnabled(FeatureName.DEL_INDEXED_DELEGATE_ELIGIBILITY, task.getAccountId())) {
+        eligibleDelegateIds = getEligibleDelegatesFromIndex(task, accountDelegates);
+        if (eligibleDelegateIds == null) {
+          task.getNonAssignableDelegates().put(CAN_NOT_ASSIGN_OWNER, Collections.emptyList());
+          delegateTaskServiceClassic.addToTaskActivityLog(task, CAN_NOT_ASSIGN_OWNER);
+          return new ArrayList<>();
+        }
+      } else {
+        List<Delegate> delegates = getDelegatesWithOwnerShipCriteriaMatch(task, accountDelegates);
+        if (isEmpty(delegates)) {
+          task.getNonAssignableDelegates().put(CAN_NOT_ASSIGN_OWNER, Collections.emptyList());
+          delegateTaskServiceClassic.addToTaskActivityLog(task, CAN_NOT_ASSIGN_OWNER);
+          return eligibleDelegateIds;
+        }
 
-      eligibleDelegateIds =
-          delegates.stream()
-              .filter(delegate
-                  -> delegate.getStatus() != DelegateInstanceStatus.DELETED && canAssignTask(delegate.getUuid(), task))
-              .map(Delegate::getUuid)
-              .collect(Collectors.toList());
+        eligibleDelegateIds = delegates.stream()
+                                  .filter(delegate
+                                      -> delegate.getStatus() != DelegateInstanceStatus.DELETED
+                                          && canAssignTask(delegate.getUuid(), task))
+                                  .map(Delegate::getUuid)
+                                  .collect(Collectors.toList());
+      }
       delegateSelectionLogsService.logNonSelectedDelegates(task, task.getNonAssignableDelegates());
       List<String> nonAssignables =
           task.getNonAssignableDelegates()
@@ -1077,6 +1090,83 @@ public class AssignDelegateServiceImpl implements AssignDelegateService, Delegat
     return eligibleDelegateIds;
   }
 
+  /**
+   * Same checks and non assignable reasons as {@link #canAssignTask(String, DelegateTask)} for every active delegate,
+   * but task types, owners and selectors are matched through the account's {@link DelegateEligibilityIndex}. Only the
+   * scopes, which may need the task's environment or infrastructure, are still evaluated per delegate. Delegates that
+   * registered after the index was built are checked one by one.
+   * @return the eligible delegate ids, or null if no active delegate is owned by the task's scope
+   */
+  private List<String> getEligibleDelegatesFromIndex(DelegateTask task, List<Delegate> activeDelegates) {
+    AccountIndex index =
+        delegateEligibilityIndex.getAccountIndex(task.getAccountId(), getAccountDelegates(task.getAccountId()));
+
+    List<String> activeDelegateIds = activeDelegates.stream().map(Delegate::getUuid).collect(toList());
+    BitSet candidates = index.positionsOf(activeDelegateIds);
+    candidates.and(index.ownerMatching(task.getSetupAbstractions()));
+    List<Delegate> unindexedDelegates =
+        activeDelegates.stream()
+            .filter(delegate -> !index.contains(delegate.getUuid()))
+            .filter(delegate -> canAssignOwner(delegate, task.getSetupAbstractions()))
+            .collect(toList());
+    if (candidates.isEmpty() && unindexedDelegates.isEmpty()) {
+      return null;
+    }
+
+    String taskType = task.getData().getTaskType();
+    BitSet unsupported = (BitSet) candidates.clone();
+    unsupported.andNot(index.supportingTaskType(taskType));
+    addNonAssignableDelegates(task, CAN_NOT_ASSIGN_TASK_GROUP + " {" + taskType + "} ", index, unsupported);
+    candidates.andNot(unsupported);
+
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      Delegate delegate = index.delegate(i);
+      if (index.isScoped(i) && !canAssignDelegateScopes(delegate, task)) {
+        addNonAssignableDelegate(task, CAN_NOT_ASSIGN_DELEGATE_SCOPE_GROUP, delegate);
+        candidates.clear(i);
+      } else if (!canAssignDelegateProfileScopes(delegate, task.getSetupAbstractions(), task.getUuid())) {
+        addNonAssignableDelegate(task, CAN_NOT_ASSIGN_PROFILE_SCOPE_GROUP, delegate);
+        candidates.clear(i);
+      }
+    }
+
+    List<SelectorCapability> selectorCapabilities = isEmpty(task.getExecutionCapabilities())
+        ? emptyList()
+        : delegateTaskServiceClassic.fetchTaskSelectorCapabilities(task.getExecutionCapabilities());
+    if (isNotEmpty(selectorCapabilities)) {
+      BitSet unmatched = (BitSet) candidates.clone();
+      unmatched.andNot(index.matchingSelectors(selectorCapabilities.stream()
+                                                   .map(capability -> trimmedLowercaseSet(capability.getSelectors()))
+                                                   .filter(Objects::nonNull)
+                                                   .collect(toList())));
+      addNonAssignableDelegates(task, CAN_NOT_ASSIGN_SELECTOR_TASK_GROUP, index, unmatched);
+      candidates.andNot(unmatched);
+    }
+
+    Set<String> unindexedEligible = unindexedDelegates.stream()
+                                        .filter(delegate -> canAssignTask(delegate.getUuid(), task))
+                                        .map(Delegate::getUuid)
+                                        .collect(Collectors.toSet());
+    // Keep the order of the active delegates, as the per delegate checks do
+    return activeDelegateIds.stream()
+        .filter(delegateId -> {
+          int position = index.position(delegateId);
+          return position >= 0 ? candidates.get(position) : unindexedEligible.contains(delegateId);
+        })
+        .collect(toList());
+  }
+
+  private void addNonAssignableDelegates(DelegateTask task, String reason, AccountIndex index, BitSet positions) {
+    for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+      addNonAssignableDelegate(task, reason, index.delegate(i));
+    }
+  }
+
+  private void addNonAssignableDelegate(DelegateTask task, String reason, Delegate delegate) {
+    String delegateName = isNotEmpty(delegate.getHostName()) ? delegate.getHostName() : delegate.getUuid();
+    task.getNonAssignableDelegates().computeIfAbsent(reason, key -> new ArrayList<>()).add(delegateName);
+  }
+
   @Override
   public List<String> getEligibleDelegatesToExecuteTaskV2(DelegateTask task) throws WingsException {
     // If task comes with eligibleToExecuteDelegateIds then no need to do assignment logic.
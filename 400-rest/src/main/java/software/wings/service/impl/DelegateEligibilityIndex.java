@@ -0,0 +1,258 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package software.wings.service.impl;
+
+import static io.harness.data.structure.CollectionUtils.trimmedLowercaseSet;
+import static io.harness.data.structure.EmptyPredicate.isEmpty;
+import static io.harness.data.structure.EmptyPredicate.isNotEmpty;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+import io.harness.annotations.dev.HarnessModule;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.annotations.dev.TargetModule;
+import io.harness.delegate.beans.Delegate;
+import io.harness.delegate.beans.DelegateEntityOwner;
+import io.harness.delegate.beans.NgSetupFields;
+import io.harness.delegate.utils.DelegateEntityOwnerHelper;
+import io.harness.service.intfc.DelegateCache;
+
+import software.wings.service.intfc.DelegateService;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+
+/**
+ * Per account inverted indexes from task type, selector and owner to the delegates matching them, so that the
+ * delegates eligible for a task are found by intersecting bitsets instead of checking every delegate of the account.
+ *
+ * <p>An index is dropped when a delegate of the account registers, reconnects or has its tags changed on this manager,
+ * and expires after {@link #INDEX_TTL_SECONDS} to pick up changes made through other managers, which is as long as the
+ * delegate group cache the selectors are read from keeps them.
+ */
+@Singleton
+@Slf4j
+@TargetModule(HarnessModule._420_DELEGATE_SERVICE)
+@OwnedBy(HarnessTeam.DEL)
+public class DelegateEligibilityIndex implements DelegateObserver {
+  private static final long INDEX_TTL_SECONDS = 30;
+
+  @Inject private DelegateCache delegateCache;
+  @Inject private DelegateService delegateService;
+
+  private final Cache<String, AccountIndex> accountIndexes =
+      CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(INDEX_TTL_SECONDS, TimeUnit.SECONDS).build();
+
+  /**
+   * Returns the index of the account, building it from the given delegates if there is none.
+   */
+  public AccountIndex getAccountIndex(String accountId, List<Delegate> accountDelegates) {
+    try {
+      return accountIndexes.get(accountId, () -> buildAccountIndex(accountId, accountDelegates));
+    } catch (ExecutionException | UncheckedExecutionException ex) {
+      log.error("Unable to build the delegate eligibility index for account {}", accountId, ex);
+      return AccountIndex.build(Collections.emptyList(), delegate -> Collections.emptySet());
+    }
+  }
+
+  public void invalidate(String accountId) {
+    accountIndexes.invalidate(accountId);
+  }
+
+  @Override
+  public void onAdded(Delegate delegate) {
+    invalidate(delegate.getAccountId());
+  }
+
+  @Override
+  public void onDisconnected(String accountId, String delegateId) {
+    // Connectivity is checked against the heartbeat for every task, it is not part of the index
+  }
+
+  @Override
+  public void onReconnected(Delegate delegate) {
+    // A delegate restarted on a new version may support other task types
+    invalidate(delegate.getAccountId());
+  }
+
+  @Override
+  public void onDelegateTagsUpdated(String accountId) {
+    invalidate(accountId);
+  }
+
+  private AccountIndex buildAccountIndex(String accountId, List<Delegate> accountDelegates) {
+    List<Delegate> delegates = new ArrayList<>(accountDelegates.size());
+    for (Delegate accountDelegate : accountDelegates) {
+      // The account delegates are projected, the index needs the task types and scopes
+      Delegate delegate = delegateCache.get(accountId, accountDelegate.getUuid());
+      if (delegate != null) {
+        delegates.add(delegate);
+      }
+    }
+    return AccountIndex.build(
+        delegates, delegate -> trimmedLowercaseSet(delegateService.retrieveDelegateSelectors(delegate, true)));
+  }
+
+  /**
+   * Immutable snapshot of the delegates of an account. Bit i of every set stands for the i-th indexed delegate.
+   */
+  public static class AccountIndex {
+    private final List<Delegate> delegates;
+    private final Map<String, Integer> positions;
+    private final Map<String, BitSet> byTaskType = new HashMap<>();
+    private final Map<String, BitSet> bySelector = new HashMap<>();
+    private final BitSet withSelectors = new BitSet();
+    private final BitSet accountOwned = new BitSet();
+    private final Map<String, BitSet> byOrgOwner = new HashMap<>();
+    private final Map<ImmutablePair<String, String>, BitSet> byProjectOwner = new HashMap<>();
+    private final BitSet scoped = new BitSet();
+
+    private AccountIndex(List<Delegate> delegates) {
+      this.delegates = delegates;
+      this.positions = new HashMap<>(delegates.size() * 2);
+    }
+
+    static AccountIndex build(List<Delegate> delegates, Function<Delegate, Set<String>> selectorsProvider) {
+      AccountIndex index = new AccountIndex(delegates);
+      for (int i = 0; i < delegates.size(); i++) {
+        Delegate delegate = delegates.get(i);
+        index.positions.put(delegate.getUuid(), i);
+
+        if (delegate.getSupportedTaskTypes() != null) {
+          for (String taskType : delegate.getSupportedTaskTypes()) {
+            index.byTaskType.computeIfAbsent(taskType, key -> new BitSet()).set(i);
+          }
+        }
+
+        Set<String> selectors = selectorsProvider.apply(delegate);
+        if (isNotEmpty(selectors)) {
+          index.withSelectors.set(i);
+          for (String selector : selectors) {
+            index.bySelector.computeIfAbsent(selector, key -> new BitSet()).set(i);
+          }
+        }
+
+        DelegateEntityOwner owner = delegate.getOwner();
+        if (owner == null) {
+          index.accountOwned.set(i);
+        } else {
+          String org = DelegateEntityOwnerHelper.extractOrgIdFromOwnerIdentifier(owner.getIdentifier());
+          String project = DelegateEntityOwnerHelper.extractProjectIdFromOwnerIdentifier(owner.getIdentifier());
+          if (isBlank(project)) {
+            index.byOrgOwner.computeIfAbsent(org, key -> new BitSet()).set(i);
+          } else {
+            index.byProjectOwner.computeIfAbsent(ImmutablePair.of(org, project), key -> new BitSet()).set(i);
+          }
+        }
+
+        if (isNotEmpty(delegate.getIncludeScopes()) || isNotEmpty(delegate.getExcludeScopes())) {
+          index.scoped.set(i);
+        }
+      }
+      return index;
+    }
+
+    public boolean contains(String delegateId) {
+      return positions.containsKey(delegateId);
+    }
+
+    // Bit of the delegate, or -1 if it is not indexed
+    public int position(String delegateId) {
+      return positions.getOrDefault(delegateId, -1);
+    }
+
+    public int size() {
+      return delegates.size();
+    }
+
+    public Delegate delegate(int position) {
+      return delegates.get(position);
+    }
+
+    public BitSet positionsOf(Collection<String> delegateIds) {
+      BitSet result = new BitSet(delegates.size());
+      for (String delegateId : delegateIds) {
+        Integer position = positions.get(delegateId);
+        if (position != null) {
+          result.set(position);
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Delegates whose owner can take a task with these setup abstractions, with the same rules as the ownership check
+     * of {@link AssignDelegateServiceImpl}: account delegates take anything, org delegates take the tasks of the org
+     * and its projects, project delegates only those of their project.
+     */
+    public BitSet ownerMatching(Map<String, String> taskSetupAbstractions) {
+      BitSet result = (BitSet) accountOwned.clone();
+      String taskOwner = isEmpty(taskSetupAbstractions) ? null : taskSetupAbstractions.get(NgSetupFields.OWNER);
+      if (taskOwner == null) {
+        return result;
+      }
+      String taskOrg = DelegateEntityOwnerHelper.extractOrgIdFromOwnerIdentifier(taskOwner);
+      String taskProject = DelegateEntityOwnerHelper.extractProjectIdFromOwnerIdentifier(taskOwner);
+      BitSet orgOwned = byOrgOwner.get(taskOrg);
+      if (orgOwned != null) {
+        result.or(orgOwned);
+      }
+      if (!isBlank(taskProject)) {
+        BitSet projectOwned = byProjectOwner.get(ImmutablePair.of(taskOrg, taskProject));
+        if (projectOwned != null) {
+          result.or(projectOwned);
+        }
+      }
+      return result;
+    }
+
+    public BitSet supportingTaskType(String taskType) {
+      BitSet supporting = taskType == null ? null : byTaskType.get(taskType);
+      return supporting == null ? new BitSet() : (BitSet) supporting.clone();
+    }
+
+    /**
+     * Delegates having every selector of every given set. Selectors are expected trimmed and lower cased.
+     */
+    public BitSet matchingSelectors(Collection<Set<String>> selectorSets) {
+      BitSet result = (BitSet) withSelectors.clone();
+      for (Set<String> selectors : selectorSets) {
+        for (String selector : selectors) {
+          BitSet matching = bySelector.get(selector);
+          if (matching == null) {
+            return new BitSet();
+          }
+          result.and(matching);
+        }
+      }
+      return result;
+    }
+
+    // Delegates with include or exclude scopes, the only ones whose scopes need to be evaluated for a task
+    public boolean isScoped(int position) {
+      return scoped.get(position);
+    }
+  }
+}
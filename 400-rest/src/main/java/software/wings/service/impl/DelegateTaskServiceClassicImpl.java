@@ -996,6 +996,26 @@ public class DelegateTaskServiceClassicImpl implements DelegateTaskServiceClassi
     }
   }
 
+  /**
+   * Puts a task acquired by the delegate instance back in the queue, for tasks whose payload never reached it.
+   */
+  @Override
+  public boolean releaseTask(String accountId, String delegateId, String taskId, String delegateInstanceId) {
+    boolean migrationEnabledForDelegateTask = delegateTaskMigrationHelper.isMigrationEnabledForTask(taskId);
+    Query<DelegateTask> query = persistence.createQuery(DelegateTask.class, migrationEnabledForDelegateTask)
+                                    .filter(DelegateTaskKeys.accountId, accountId)
+                                    .filter(DelegateTaskKeys.uuid, taskId)
+                                    .filter(DelegateTaskKeys.status, STARTED)
+                                    .filter(DelegateTaskKeys.delegateId, delegateId)
+                                    .filter(DelegateTaskKeys.delegateInstanceId, delegateInstanceId);
+    UpdateOperations<DelegateTask> updateOperations =
+        persistence.createUpdateOperations(DelegateTask.class, migrationEnabledForDelegateTask)
+            .set(DelegateTaskKeys.status, QUEUED)
+            .unset(DelegateTaskKeys.delegateId)
+            .unset(DelegateTaskKeys.delegateInstanceId);
+    return persistence.update(query, updateOperations, migrationEnabledForDelegateTask).getUpdatedCount() > 0;
+  }
+
   @Override
   public DelegateTaskPackage acquireDelegateTask(
       String accountId, String delegateId, String taskId, String delegateInstanceId) {
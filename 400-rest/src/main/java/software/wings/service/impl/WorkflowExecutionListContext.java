@@ -0,0 +1,46 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package software.wings.service.impl;
+
+import static io.harness.annotations.dev.HarnessTeam.CDC;
+
+import io.harness.annotations.dev.OwnedBy;
+
+import software.wings.beans.Workflow;
+import software.wings.sm.StateExecutionInstance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+
+/**
+ * What the executions of one listed page share. The state execution instances are fetched for the whole page at
+ * once, executions missing from the maps are refreshed with their own queries.
+ */
+@OwnedBy(CDC)
+@Getter
+class WorkflowExecutionListContext {
+  // Projected instances for the status breakdown, by execution id
+  private final Map<String, List<StateExecutionInstance>> breakdownInstances;
+  // Top level instances for the service summaries in creation order, by execution id
+  private final Map<String, List<StateExecutionInstance>> summaryInstances;
+  // Executions of the page that are on demand rollbacks
+  private final Set<String> onDemandRollbackExecutionIds;
+  // Workflows by app id and workflow id, many executions of a page run the same workflow
+  private final Map<String, Optional<Workflow>> workflows = new ConcurrentHashMap<>();
+
+  WorkflowExecutionListContext(Map<String, List<StateExecutionInstance>> breakdownInstances,
+      Map<String, List<StateExecutionInstance>> summaryInstances, Set<String> onDemandRollbackExecutionIds) {
+    this.breakdownInstances = breakdownInstances;
+    this.summaryInstances = summaryInstances;
+    this.onDemandRollbackExecutionIds = onDemandRollbackExecutionIds;
+  }
+}
@@ -383,6 +383,7 @@ import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import com.mongodb.ReadPreference;
 import dev.morphia.query.CriteriaContainer;
 import dev.morphia.query.FindOptions;
@@ -414,6 +415,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -454,6 +456,7 @@ public class WorkflowExecutionServiceImpl implements WorkflowExecutionService {
   @Inject private InfrastructureDefinitionService infrastructureDefinitionService;
   @Inject private PipelineService pipelineService;
   @Inject private ExecutorService executorService;
+  @Inject @Named("workflowExecutionListExecutor") private ExecutorService workflowExecutionListExecutor;
   @Inject private WaitNotifyEngine waitNotifyEngine;
   @Inject private QueuePublisher<ExecutionEvent> executionEventQueue;
   @Inject private WorkflowExecutionBaselineService workflowExecutionBaselineService;
@@ -501,6 +504,11 @@ public class WorkflowExecutionServiceImpl implements WorkflowExecutionService {
   @Inject private WorkflowExecutionUpdate executionUpdate;
   @Inject private WorkflowNotificationHelper workflowNotificationHelper;
   private static final long SIXTY_DAYS_IN_MILLIS = 60 * 24 * 60 * 60 * 1000L;
+  // Top level state executions the service summaries are collected from
+  private static final List<String> SUMMARY_STATE_TYPES = ImmutableList.of(StateType.REPEAT.name(),
+      StateType.FORK.name(), StateType.SUB_WORKFLOW.name(), StateType.PHASE.name(), PHASE_STEP.name());
+  // State executions prefetched for the breakdowns of a page at most, the executions past them query their own
+  private static final int MAX_PREFETCHED_BREAKDOWN_INSTANCES = 10000;
 
   @Inject private EventService eventService;
 
@@ -566,11 +574,18 @@ public class WorkflowExecutionServiceImpl implements WorkflowExecutionService {
     if (isEmpty(res)) {
       return res;
     }
+    return processExecutions(res, includeGraph, runningOnly, withBreakdownAndSummary, includeStatus,
+        withFailureDetails, buildListContext(res, withBreakdownAndSummary));
+  }
 
+  @VisibleForTesting
+  List<WorkflowExecution> processExecutions(List<WorkflowExecution> res, boolean includeGraph, boolean runningOnly,
+      boolean withBreakdownAndSummary, boolean includeStatus, boolean withFailureDetails,
+      WorkflowExecutionListContext listContext) {
     for (int i = 0; i < res.size(); i++) {
       WorkflowExecution workflowExecution = res.get(i);
       try {
-        refreshBreakdown(workflowExecution);
+        refreshBreakdown(workflowExecution, listContext);
         if (workflowExecution.getWorkflowType() == WorkflowType.PIPELINE) {
           // pipeline
           refreshPipelineExecution(workflowExecution);
@@ -602,7 +617,7 @@ public class WorkflowExecutionServiceImpl implements WorkflowExecutionService {
       }
       if (withBreakdownAndSummary) {
         try {
-          refreshSummaries(workflowExecution);
+          refreshSummaries(workflowExecution, listContext);
         } catch (Exception e) {
           log.error(
               format("Failed to refresh service summaries for the workflow execution %s", workflowExecution.getUuid()),
@@ -632,6 +647,131 @@ public class WorkflowExecutionServiceImpl implements WorkflowExecutionService {
     return res;
   }
 
+  /**
+   * Fetches what the executions of a page are refreshed from with one query per kind instead of one per execution,
+   * side by side on the list executor. Returns null if that fails, the executions are then refreshed one by one.
+   */
+  @VisibleForTesting
+  WorkflowExecutionListContext buildListContext(List<WorkflowExecution> workflowExecutions, boolean withSummaries) {
+    Set<String> appIds = new HashSet<>();
+    List<String> breakdownExecutionIds = new ArrayList<>();
+    List<String> summaryExecutionIds = new ArrayList<>();
+    for (WorkflowExecution workflowExecution : workflowExecutions) {
+      appIds.add(workflowExecution.getAppId());
+      // Rolling executions mostly get their breakdown from the phases, those that do not are queried on their own
+      if (!(ExecutionStatus.isFinalStatus(workflowExecution.getStatus()) && workflowExecution.getBreakdown() != null)
+          && workflowExecution.getOrchestrationType() != OrchestrationWorkflowType.ROLLING) {
+        breakdownExecutionIds.add(workflowExecution.getUuid());
+      }
+      if (withSummaries && workflowExecution.getWorkflowType() != WorkflowType.PIPELINE
+          && workflowExecution.getServiceExecutionSummaries() == null) {
+        summaryExecutionIds.add(workflowExecution.getUuid());
+      }
+    }
+
+    try {
+      Future<Map<String, List<StateExecutionInstance>>> summaryInstances =
+          workflowExecutionListExecutor.submit(() -> fetchSummaryInstances(appIds, summaryExecutionIds));
+      Future<Set<String>> onDemandRollbackExecutionIds =
+          workflowExecutionListExecutor.submit(() -> fetchOnDemandRollbackExecutionIds(appIds, summaryExecutionIds));
+      Map<String, List<StateExecutionInstance>> breakdownInstances =
+          fetchBreakdownInstances(appIds, breakdownExecutionIds);
+      return new WorkflowExecutionListContext(
+          breakdownInstances, summaryInstances.get(), onDemandRollbackExecutionIds.get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Interrupted while fetching the state executions of {} workflow executions", workflowExecutions.size());
+      return null;
+    } catch (ExecutionException | RejectedExecutionException e) {
+      log.warn("Unable to fetch the state executions of {} workflow executions at once", workflowExecutions.size(), e);
+      return null;
+    }
+  }
+
+  private Map<String, List<StateExecutionInstance>> fetchBreakdownInstances(
+      Set<String> appIds, List<String> executionIds) {
+    Map<String, List<StateExecutionInstance>> instances = new HashMap<>();
+    if (isEmpty(executionIds)) {
+      return instances;
+    }
+    executionIds.forEach(executionId -> instances.put(executionId, new ArrayList<>()));
+    try (HIterator<StateExecutionInstance> iterator =
+             new HIterator<>(wingsPersistence.createQuery(StateExecutionInstance.class)
+                                 .field(StateExecutionInstanceKeys.appId)
+                                 .in(appIds)
+                                 .field(StateExecutionInstanceKeys.executionUuid)
+                                 .in(executionIds)
+                                 .project(StateExecutionInstanceKeys.executionUuid, true)
+                                 .project(StateExecutionInstanceKeys.contextElement, true)
+                                 .project(StateExecutionInstanceKeys.displayName, true)
+                                 .project(StateExecutionInstanceKeys.uuid, true)
+                                 .project(StateExecutionInstanceKeys.parentInstanceId, true)
+                                 .project(StateExecutionInstanceKeys.status, true)
+                                 .order(Sort.ascending(StateExecutionInstanceKeys.executionUuid))
+                                 .fetch(new FindOptions().limit(MAX_PREFETCHED_BREAKDOWN_INSTANCES + 1)))) {
+      int fetched = 0;
+      for (StateExecutionInstance stateExecutionInstance : iterator) {
+        String executionId = stateExecutionInstance.getExecutionUuid();
+        if (++fetched > MAX_PREFETCHED_BREAKDOWN_INSTANCES) {
+          // Executions come in order, this one may be partial and the ones after it were not read
+          instances.keySet().removeIf(id -> id.compareTo(executionId) >= 0);
+          log.info("Prefetched the breakdown instances of {} of {} workflow executions", instances.size(),
+              executionIds.size());
+          break;
+        }
+        instances.get(executionId).add(stateExecutionInstance);
+      }
+    }
+    return instances;
+  }
+
+  private Map<String, List<StateExecutionInstance>> fetchSummaryInstances(
+      Set<String> appIds, List<String> executionIds) {
+    Map<String, List<StateExecutionInstance>> instances = new HashMap<>();
+    if (isEmpty(executionIds)) {
+      return instances;
+    }
+    executionIds.forEach(executionId -> instances.put(executionId, new ArrayList<>()));
+    try (HIterator<StateExecutionInstance> iterator =
+             new HIterator<>(wingsPersistence.createQuery(StateExecutionInstance.class)
+                                 .field(StateExecutionInstanceKeys.appId)
+                                 .in(appIds)
+                                 .field(StateExecutionInstanceKeys.executionUuid)
+                                 .in(executionIds)
+                                 .field(StateExecutionInstanceKeys.stateType)
+                                 .in(SUMMARY_STATE_TYPES)
+                                 .field(StateExecutionInstanceKeys.parentInstanceId)
+                                 .doesNotExist()
+                                 .order(Sort.ascending(StateExecutionInstanceKeys.createdAt))
+                                 .fetch())) {
+      for (StateExecutionInstance stateExecutionInstance : iterator) {
+        instances.get(stateExecutionInstance.getExecutionUuid()).add(stateExecutionInstance);
+      }
+    }
+    return instances;
+  }
+
+  private Set<String> fetchOnDemandRollbackExecutionIds(Set<String> appIds, List<String> executionIds) {
+    Set<String> onDemandRollbackExecutionIds = new HashSet<>();
+    if (isEmpty(executionIds)) {
+      return onDemandRollbackExecutionIds;
+    }
+    try (HIterator<WorkflowExecution> iterator =
+             new HIterator<>(wingsPersistence.createQuery(WorkflowExecution.class)
+                                 .field(WorkflowExecutionKeys.appId)
+                                 .in(appIds)
+                                 .field(ID_KEY)
+                                 .in(executionIds)
+                                 .filter(WorkflowExecutionKeys.onDemandRollback, true)
+                                 .project(WorkflowExecutionKeys.uuid, true)
+                                 .fetch())) {
+      for (WorkflowExecution workflowExecution : iterator) {
+        onDemandRollbackExecutionIds.add(workflowExecution.getUuid());
+      }
+    }
+    return onDemandRollbackExecutionIds;
+  }
+
   @Override
   public boolean updateNotes(String appId, String workflowExecutionId, ExecutionArgs executionArgs) {
     notNullCheck("executionArgs", executionArgs, USER);
@@ -4794,12 +4934,23 @@ public class WorkflowExecutionServiceImpl implements WorkflowExecutionService {
   }
 
   private void refreshSummaries(WorkflowExecution workflowExecution) {
+    refreshSummaries(workflowExecution, null);
+  }
+
+  private void refreshSummaries(WorkflowExecution workflowExecution, WorkflowExecutionListContext listContext) {
     if (workflowExecution.getServiceExecutionSummaries() != null) {
       return;
     }
     List<ElementExecutionSummary> serviceExecutionSummaries = new ArrayList<>();
     // TODO : version should also be captured as part of the WorkflowExecution
-    Workflow workflow = workflowService.readWorkflow(workflowExecution.getAppId(), workflowExecution.getWorkflowId());
+    Workflow workflow = listContext == null
+        ? workflowService.readWorkflow(workflowExecution.getAppId(), workflowExecution.getWorkflowId())
+        : listContext.getWorkflows()
+              .computeIfAbsent(workflowExecution.getAppId() + ":" + workflowExecution.getWorkflowId(),
+                  key
+                  -> Optional.ofNullable(workflowService.readWorkflow(
+                      workflowExecution.getAppId(), workflowExecution.getWorkflowId())))
+              .orElse(null);
     if (workflow != null && workflow.getOrchestrationWorkflow() != null) {
       List<Service> services = getResolvedServices(workflow, workflowExecution);
       String envId = workflowService.resolveEnvironmentId(workflow,
@@ -4839,7 +4990,12 @@ public class WorkflowExecutionServiceImpl implements WorkflowExecutionService {
     Map<String, ElementExecutionSummary> serviceExecutionSummaryMap =
         serviceExecutionSummaries.stream().collect(toMap(summary -> summary.getContextElement().getUuid(), identity()));
 
-    populateServiceSummary(serviceExecutionSummaryMap, workflowExecution);
+    List<StateExecutionInstance> summaryInstances =
+        listContext == null ? null : listContext.getSummaryInstances().get(workflowExecution.getUuid());
+    populateServiceSummary(serviceExecutionSummaryMap, workflowExecution, summaryInstances,
+        summaryInstances == null
+            ? null
+            : listContext.getOnDemandRollbackExecutionIds().contains(workflowExecution.getUuid()));
 
     if (!serviceExecutionSummaryMap.isEmpty()) {
       Collections.sort(serviceExecutionSummaries, ElementExecutionSummary.startTsComparator);
@@ -4888,33 +5044,44 @@ public class WorkflowExecutionServiceImpl implements WorkflowExecutionService {
     return workflowService.getResolvedInfraDefinitions(workflow, workflowVariables, envId);
   }
 
-  private void populateServiceSummary(
-      Map<String, ElementExecutionSummary> serviceSummaryMap, WorkflowExecution workflowExecution) {
-    PageRequest<StateExecutionInstance> pageRequest =
-        aPageRequest()
-            .withLimit(UNLIMITED)
-            .addFilter(StateExecutionInstanceKeys.appId, EQ, workflowExecution.getAppId())
-            .addFilter(StateExecutionInstanceKeys.executionUuid, EQ, workflowExecution.getUuid())
-            .addFilter(StateExecutionInstanceKeys.stateType, IN, StateType.REPEAT.name(), StateType.FORK.name(),
-                StateType.SUB_WORKFLOW.name(), StateType.PHASE.name(), PHASE_STEP.name())
-            .addFilter(StateExecutionInstanceKeys.parentInstanceId, NOT_EXISTS)
-            .addOrder(StateExecutionInstanceKeys.createdAt, OrderType.ASC)
-            .build();
+  /**
+   * Merges the summaries of the top level state executions into the service summaries. The state executions and
+   * whether the execution is an on demand rollback are those prefetched for the page, or null to query them.
+   */
+  private void populateServiceSummary(Map<String, ElementExecutionSummary> serviceSummaryMap,
+      WorkflowExecution workflowExecution, List<StateExecutionInstance> stateExecutionInstances,
+      Boolean onDemandRollback) {
+    if (stateExecutionInstances == null) {
+      PageRequest<StateExecutionInstance> pageRequest =
+          aPageRequest()
+              .withLimit(UNLIMITED)
+              .addFilter(StateExecutionInstanceKeys.appId, EQ, workflowExecution.getAppId())
+              .addFilter(StateExecutionInstanceKeys.executionUuid, EQ, workflowExecution.getUuid())
+              .addFilter(StateExecutionInstanceKeys.stateType, IN, SUMMARY_STATE_TYPES.toArray())
+              .addFilter(StateExecutionInstanceKeys.parentInstanceId, NOT_EXISTS)
+              .addOrder(StateExecutionInstanceKeys.createdAt, OrderType.ASC)
+              .build();
 
-    PageResponse<StateExecutionInstance> pageResponse =
-        wingsPersistence.query(StateExecutionInstance.class, pageRequest);
+      PageResponse<StateExecutionInstance> pageResponse =
+          wingsPersistence.query(StateExecutionInstance.class, pageRequest);
+      stateExecutionInstances = pageResponse == null ? null : pageResponse.getResponse();
+    }
 
-    if (isEmpty(pageResponse)) {
+    if (isEmpty(stateExecutionInstances)) {
       return;
     }
 
-    for (StateExecutionInstance stateExecutionInstance : pageResponse.getResponse()) {
+    for (StateExecutionInstance stateExecutionInstance : stateExecutionInstances) {
       if (!(stateExecutionInstance.fetchStateExecutionData() instanceof ElementStateExecutionData)) {
         continue;
       }
-      if (stateExecutionInstance.isRollback()
-          && !checkIfOnDemand(workflowExecution.getAppId(), workflowExecution.getUuid())) {
-        continue;
+      if (stateExecutionInstance.isRollback()) {
+        if (onDemandRollback == null) {
+          onDemandRollback = checkIfOnDemand(workflowExecution.getAppId(), workflowExecution.getUuid());
+        }
+        if (!onDemandRollback) {
+          continue;
+        }
       }
 
       ElementStateExecutionData elementStateExecutionData =
@@ -4980,6 +5147,10 @@ public class WorkflowExecutionServiceImpl implements WorkflowExecutionService {
   }
 
   private void refreshBreakdown(WorkflowExecution workflowExecution) {
+    refreshBreakdown(workflowExecution, null);
+  }
+
+  private void refreshBreakdown(WorkflowExecution workflowExecution, WorkflowExecutionListContext listContext) {
     if (ExecutionStatus.isFinalStatus(workflowExecution.getStatus()) && workflowExecution.getBreakdown() != null) {
       return;
     }
@@ -5003,17 +5174,24 @@ public class WorkflowExecutionServiceImpl implements WorkflowExecutionService {
       }
 
       Map<String, ExecutionStatus> stateExecutionStatuses = new HashMap<>();
-      try (HIterator<StateExecutionInstance> iterator =
-               new HIterator<>(wingsPersistence.createQuery(StateExecutionInstance.class)
-                                   .filter(StateExecutionInstanceKeys.appId, workflowExecution.getAppId())
-                                   .filter(StateExecutionInstanceKeys.executionUuid, workflowExecution.getUuid())
-                                   .project(StateExecutionInstanceKeys.contextElement, true)
-                                   .project(StateExecutionInstanceKeys.displayName, true)
-                                   .project(StateExecutionInstanceKeys.uuid, true)
-                                   .project(StateExecutionInstanceKeys.parentInstanceId, true)
-                                   .project(StateExecutionInstanceKeys.status, true)
-                                   .fetch())) {
-        stateMachineExecutionSimulator.prepareStateExecutionInstanceMap(iterator, stateExecutionStatuses);
+      List<StateExecutionInstance> prefetchedInstances =
+          listContext == null ? null : listContext.getBreakdownInstances().get(workflowExecution.getUuid());
+      if (prefetchedInstances != null) {
+        stateMachineExecutionSimulator.prepareStateExecutionInstanceMap(
+            prefetchedInstances.iterator(), stateExecutionStatuses);
+      } else {
+        try (HIterator<StateExecutionInstance> iterator =
+                 new HIterator<>(wingsPersistence.createQuery(StateExecutionInstance.class)
+                                     .filter(StateExecutionInstanceKeys.appId, workflowExecution.getAppId())
+                                     .filter(StateExecutionInstanceKeys.executionUuid, workflowExecution.getUuid())
+                                     .project(StateExecutionInstanceKeys.contextElement, true)
+                                     .project(StateExecutionInstanceKeys.displayName, true)
+                                     .project(StateExecutionInstanceKeys.uuid, true)
+                                     .project(StateExecutionInstanceKeys.parentInstanceId, true)
+                                     .project(StateExecutionInstanceKeys.status, true)
+                                     .fetch())) {
+          stateMachineExecutionSimulator.prepareStateExecutionInstanceMap(iterator, stateExecutionStatuses);
+        }
       }
 
       breakdown = stateMachineExecutionSimulator.getStatusBreakdown(
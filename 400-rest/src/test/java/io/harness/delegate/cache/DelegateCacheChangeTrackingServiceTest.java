@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.delegate.cache;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.mongo.changestreams.ChangeTracker;
+import io.harness.rule.Owner;
+import io.harness.service.impl.DelegateCacheImpl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(HarnessTeam.DEL)
+public class DelegateCacheChangeTrackingServiceTest extends CategoryTest {
+  private DelegateCacheImpl delegateCache;
+  private ChangeTracker first;
+  private ChangeTracker second;
+  private DelegateCacheChangeTrackingService service;
+
+  @Before
+  public void setUp() {
+    delegateCache = mock(DelegateCacheImpl.class);
+    first = mock(ChangeTracker.class);
+    second = mock(ChangeTracker.class);
+    Deque<ChangeTracker> changeTrackers = new ArrayDeque<>();
+    changeTrackers.add(first);
+    changeTrackers.add(second);
+    service = new DelegateCacheChangeTrackingService(delegateCache, changeTrackers::poll, 1);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testKeepsLiveChangeStreams() {
+    service.checkChangeTracker();
+    when(first.checkIfAllChangeTrackersAreAlive()).thenReturn(true);
+
+    service.checkChangeTracker();
+
+    verify(first).start(any());
+    verify(first, never()).stop();
+    verify(delegateCache, never()).invalidateChangeTrackedEntries();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testReopensStoppedChangeStreams() throws Exception {
+    service.checkChangeTracker();
+    when(first.checkIfAllChangeTrackersAreAlive()).thenReturn(false);
+
+    service.checkChangeTracker();
+
+    verify(first).stop();
+    verify(delegateCache).invalidateChangeTrackedEntries();
+    verify(second).start(any());
+
+    service.stop();
+    verify(second).stop();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testRetriesChangeStreamsWhichFailedToOpen() {
+    doThrow(new IllegalStateException("mongo unavailable")).when(first).start(any());
+
+    service.checkChangeTracker();
+    service.checkChangeTracker();
+
+    verify(first).stop();
+    verify(second).start(any());
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testStopsChangeStreamsOnStop() throws Exception {
+    when(first.checkIfAllChangeTrackersAreAlive()).thenReturn(true);
+    service.start();
+    verify(first, timeout(5000)).start(any());
+
+    service.stop();
+
+    verify(first).stop();
+    verify(second, never()).start(any());
+  }
+}
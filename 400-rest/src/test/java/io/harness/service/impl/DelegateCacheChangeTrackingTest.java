@@ -0,0 +1,179 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.service.impl;
+
+import static io.harness.data.structure.UUIDGenerator.generateUuid;
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.delegate.beans.Delegate;
+import io.harness.delegate.beans.DelegateGroup;
+import io.harness.mongo.changestreams.ChangeEvent;
+import io.harness.mongo.changestreams.ChangeType;
+import io.harness.persistence.HPersistence;
+import io.harness.persistence.PersistentEntity;
+import io.harness.rule.Owner;
+
+import software.wings.WingsBaseTest;
+
+import com.google.inject.Inject;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(HarnessTeam.DEL)
+public class DelegateCacheChangeTrackingTest extends WingsBaseTest {
+  @Inject private DelegateCacheImpl delegateCache;
+  @Inject private HPersistence persistence;
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testDelegateChangeUpdatesCachedDelegate() {
+    String accountId = generateUuid();
+    Delegate delegate = delegate(accountId, "host1");
+    persistence.save(delegate);
+    assertThat(delegateCache.get(accountId, delegate.getUuid()).getHostName()).isEqualTo("host1");
+
+    // The change is applied without reading mongo, which still has the previous version
+    delegateCache.onDelegateChange(event(Delegate.class, ChangeType.UPDATE, delegate.getUuid(), withHost(delegate)));
+
+    assertThat(delegateCache.get(accountId, delegate.getUuid()).getHostName()).isEqualTo("host2");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testDelegateChangeDoesNotCacheDelegate() {
+    String accountId = generateUuid();
+    Delegate delegate = delegate(accountId, "host1");
+    persistence.save(delegate);
+
+    delegateCache.onDelegateChange(event(Delegate.class, ChangeType.UPDATE, delegate.getUuid(), withHost(delegate)));
+
+    // Not cached by the change, the delegate is loaded from mongo on first read
+    assertThat(delegateCache.get(accountId, delegate.getUuid()).getHostName()).isEqualTo("host1");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testDelegateDeleteInvalidatesCachedDelegate() {
+    String accountId = generateUuid();
+    Delegate delegate = delegate(accountId, "host1");
+    persistence.save(delegate);
+    delegateCache.get(accountId, delegate.getUuid());
+    persistence.delete(Delegate.class, delegate.getUuid());
+
+    delegateCache.onDelegateChange(event(Delegate.class, ChangeType.DELETE, delegate.getUuid(), null));
+
+    assertThat(delegateCache.get(accountId, delegate.getUuid())).isNull();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testDelegateMoveInvalidatesPreviousGroup() {
+    String accountId = generateUuid();
+    Delegate delegate = ngDelegate(accountId, "groupA");
+    persistence.save(delegate);
+    delegateCache.get(accountId, delegate.getUuid());
+    assertThat(delegateCache.getDelegatesForGroup(accountId, "groupA")).hasSize(1);
+    Delegate moved = ngDelegate(accountId, "groupB");
+    moved.setUuid(delegate.getUuid());
+    persistence.save(moved);
+
+    delegateCache.onDelegateChange(event(Delegate.class, ChangeType.UPDATE, delegate.getUuid(), moved));
+
+    assertThat(delegateCache.getDelegatesForGroup(accountId, "groupA")).isEmpty();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testDelegateMoveInvalidatesPreviousGroupWithoutCachedDelegate() {
+    String accountId = generateUuid();
+    Delegate delegate = ngDelegate(accountId, "groupA");
+    persistence.save(delegate);
+    assertThat(delegateCache.getDelegatesForGroup(accountId, "groupA")).hasSize(1);
+    Delegate moved = ngDelegate(accountId, "groupB");
+    moved.setUuid(delegate.getUuid());
+    persistence.save(moved);
+
+    // The previous group is not known, it is found by the cached members
+    delegateCache.onDelegateChange(event(Delegate.class, ChangeType.UPDATE, delegate.getUuid(), moved));
+
+    assertThat(delegateCache.getDelegatesForGroup(accountId, "groupA")).isEmpty();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testDelegateGroupChangeUpdatesCachedGroupOnly() {
+    String accountId = generateUuid();
+    DelegateGroup cached = DelegateGroup.builder().uuid(generateUuid()).accountId(accountId).name("group1").build();
+    DelegateGroup notCached = DelegateGroup.builder().uuid(generateUuid()).accountId(accountId).name("group1").build();
+    persistence.save(cached);
+    persistence.save(notCached);
+    delegateCache.getDelegateGroup(accountId, cached.getUuid());
+
+    delegateCache.onDelegateGroupChange(event(DelegateGroup.class, ChangeType.UPDATE, cached.getUuid(),
+        DelegateGroup.builder().uuid(cached.getUuid()).accountId(accountId).name("group2").build()));
+    delegateCache.onDelegateGroupChange(event(DelegateGroup.class, ChangeType.UPDATE, notCached.getUuid(),
+        DelegateGroup.builder().uuid(notCached.getUuid()).accountId(accountId).name("group2").build()));
+
+    assertThat(delegateCache.getDelegateGroup(accountId, cached.getUuid()).getName()).isEqualTo("group2");
+    assertThat(delegateCache.getDelegateGroup(accountId, notCached.getUuid()).getName()).isEqualTo("group1");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testInvalidateChangeTrackedEntriesReloadsFromMongo() {
+    String accountId = generateUuid();
+    Delegate delegate = delegate(accountId, "host1");
+    persistence.save(delegate);
+    delegateCache.get(accountId, delegate.getUuid());
+    delegateCache.onDelegateChange(event(Delegate.class, ChangeType.UPDATE, delegate.getUuid(), withHost(delegate)));
+
+    delegateCache.invalidateChangeTrackedEntries();
+
+    assertThat(delegateCache.get(accountId, delegate.getUuid()).getHostName()).isEqualTo("host1");
+  }
+
+  private static Delegate delegate(String accountId, String hostName) {
+    return Delegate.builder().uuid(generateUuid()).accountId(accountId).hostName(hostName).build();
+  }
+
+  private static Delegate ngDelegate(String accountId, String delegateGroupId) {
+    return Delegate.builder()
+        .uuid(generateUuid())
+        .accountId(accountId)
+        .ng(true)
+        .delegateGroupId(delegateGroupId)
+        .build();
+  }
+
+  private static Delegate withHost(Delegate delegate) {
+    return Delegate.builder().uuid(delegate.getUuid()).accountId(delegate.getAccountId()).hostName("host2").build();
+  }
+
+  private static <T extends PersistentEntity> ChangeEvent<T> event(
+      Class<T> entityType, ChangeType changeType, String uuid, T fullDocument) {
+    return ChangeEvent.<T>builder()
+        .token("token")
+        .changeType(changeType)
+        .entityType(entityType)
+        .uuid(uuid)
+        .fullDocument(fullDocument)
+        .build();
+  }
+}
@@ -18,6 +18,7 @@ import static io.harness.delegate.beans.TaskData.DEFAULT_SYNC_CALL_TIMEOUT;
 import static io.harness.delegate.task.mixin.HttpConnectionExecutionCapabilityGenerator.buildHttpConnectionExecutionCapability;
 import static io.harness.delegate.utils.DelegateServiceConstants.HEARTBEAT_EXPIRY_TIME;
 import static io.harness.rule.OwnerRule.ANSHUL;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.ARPIT;
 import static io.harness.rule.OwnerRule.ARVIND;
 import static io.harness.rule.OwnerRule.BRETT;
@@ -64,6 +65,7 @@ import io.harness.annotations.dev.TargetModule;
 import io.harness.beans.Cd1SetupFields;
 import io.harness.beans.DelegateTask;
 import io.harness.beans.DelegateTask.DelegateTaskBuilder;
+import io.harness.beans.FeatureName;
 import io.harness.category.element.UnitTests;
 import io.harness.common.NGTaskType;
 import io.harness.delegate.beans.Delegate;
@@ -127,6 +129,7 @@ import java.util.stream.Stream;
 import lombok.Builder;
 import lombok.Value;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.assertj.core.util.Lists;
 import org.assertj.core.util.Sets;
@@ -159,6 +162,7 @@ public class AssignDelegateServiceImplTest extends WingsBaseTest {
 
   @Inject @InjectMocks private AssignDelegateServiceImpl assignDelegateService;
 
+  @Inject private DelegateEligibilityIndex delegateEligibilityIndex;
   @Inject private HPersistence persistence;
   @Inject private Clock clock;
 
@@ -2000,6 +2004,37 @@ public class AssignDelegateServiceImplTest extends WingsBaseTest {
     assertThat(assignDelegateService.getEligibleDelegatesToExecuteTask(task)).contains(delegate.getUuid());
   }
 
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testIndexedEligibilityMatchesPerDelegateChecks() throws ExecutionException, IllegalAccessException {
+    String accountId = generateUuid();
+    Delegate account = eligibilityDelegate(accountId, null, List.of(TaskType.HTTP.name()), "linux");
+    Delegate org = eligibilityDelegate(accountId, "org1", List.of(TaskType.HTTP.name()), "linux", "k8s");
+    Delegate otherProject = eligibilityDelegate(accountId, "org1/proj2", List.of(TaskType.HTTP.name()), "linux");
+    Delegate otherTaskType = eligibilityDelegate(accountId, null, List.of(NGTaskType.JIRA_TASK_NG.name()), "linux");
+    Delegate otherSelector = eligibilityDelegate(accountId, null, List.of(TaskType.HTTP.name()), "windows");
+    Delegate scoped = eligibilityDelegate(accountId, null, List.of(TaskType.HTTP.name()), "linux");
+    scoped.setExcludeScopes(List.of(DelegateScope.builder().taskTypes(List.of(TaskGroup.HTTP)).build()));
+    List<Delegate> delegates = List.of(account, org, otherProject, otherTaskType, otherSelector, scoped);
+    when(accountDelegatesCache.get(accountId)).thenReturn(delegates);
+    FieldUtils.writeField(delegateEligibilityIndex, "delegateCache", delegateCache, true);
+    FieldUtils.writeField(delegateEligibilityIndex, "delegateService", delegateService, true);
+
+    DelegateTask task = eligibilityTask(accountId);
+    when(featureFlagService.isEnabled(FeatureName.DEL_INDEXED_DELEGATE_ELIGIBILITY, accountId)).thenReturn(false);
+    List<String> perDelegate = assignDelegateService.getEligibleDelegatesToExecuteTask(task);
+    Map<String, Set<String>> perDelegateReasons = nonAssignableDelegates(task);
+
+    task = eligibilityTask(accountId);
+    when(featureFlagService.isEnabled(FeatureName.DEL_INDEXED_DELEGATE_ELIGIBILITY, accountId)).thenReturn(true);
+    List<String> indexed = assignDelegateService.getEligibleDelegatesToExecuteTask(task);
+
+    assertThat(perDelegate).containsExactly(account.getUuid(), org.getUuid());
+    assertThat(indexed).containsExactlyElementsOf(perDelegate);
+    assertThat(nonAssignableDelegates(task)).isEqualTo(perDelegateReasons);
+  }
+
   @Test
   @Owner(developers = JENNY)
   @Category(UnitTests.class)
@@ -2672,6 +2707,40 @@ public class AssignDelegateServiceImplTest extends WingsBaseTest {
     return Lists.newArrayList(delegate1, delegate2, delegate3, delegate4);
   }
 
+  private Delegate eligibilityDelegate(
+      String accountId, String ownerIdentifier, List<String> supportedTaskTypes, String... selectors) {
+    Delegate delegate = createDelegateBuilder()
+                            .accountId(accountId)
+                            .ng(true)
+                            .supportedTaskTypes(supportedTaskTypes)
+                            .owner(ownerIdentifier == null
+                                    ? null
+                                    : DelegateEntityOwner.builder().identifier(ownerIdentifier).build())
+                            .build();
+    persistence.save(delegate);
+    when(delegateCache.get(accountId, delegate.getUuid())).thenReturn(delegate);
+    when(delegateService.retrieveDelegateSelectors(delegate, true)).thenReturn(Sets.newLinkedHashSet(selectors));
+    return delegate;
+  }
+
+  private static DelegateTask eligibilityTask(String accountId) {
+    return DelegateTask.builder()
+        .uuid(generateUuid())
+        .accountId(accountId)
+        .setupAbstraction(NG_DELEGATE_ENABLED_CONSTANT, "true")
+        .setupAbstraction(NG_DELEGATE_OWNER_CONSTANT, "org1/proj1")
+        .executionCapabilities(
+            List.of(SelectorCapability.builder().selectors(ImmutableSet.of("linux")).selectorOrigin("step").build()))
+        .data(TaskData.builder().async(true).taskType(TaskType.HTTP.name()).timeout(DEFAULT_ASYNC_CALL_TIMEOUT).build())
+        .build();
+  }
+
+  private static Map<String, Set<String>> nonAssignableDelegates(DelegateTask task) {
+    Map<String, Set<String>> reasons = new HashMap<>();
+    task.getNonAssignableDelegates().forEach((reason, delegates) -> reasons.put(reason, new HashSet<>(delegates)));
+    return reasons;
+  }
+
   private Delegate createNGDelegate() {
     Delegate delegate = createDelegateBuilder().build();
     delegate.setOwner(DelegateEntityOwner.builder().identifier("orgId/projectId").build());
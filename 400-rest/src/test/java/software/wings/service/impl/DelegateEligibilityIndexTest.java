@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package software.wings.service.impl;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.delegate.beans.Delegate;
+import io.harness.delegate.beans.DelegateEntityOwner;
+import io.harness.delegate.beans.DelegateScope;
+import io.harness.delegate.beans.NgSetupFields;
+import io.harness.rule.Owner;
+
+import software.wings.service.impl.DelegateEligibilityIndex.AccountIndex;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(HarnessTeam.DEL)
+public class DelegateEligibilityIndexTest extends CategoryTest {
+  private static final int DELEGATE_COUNT = 10_000;
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testOwnerMatching() {
+    List<Delegate> delegates = List.of(delegate("account", null), delegate("org", "org1"),
+        delegate("project", "org1/project1"), delegate("otherProject", "org1/project2"), delegate("otherOrg", "org2"));
+    AccountIndex index = AccountIndex.build(delegates, delegate -> Collections.emptySet());
+
+    assertThat(ids(index, index.ownerMatching(null))).containsExactly("account");
+    assertThat(ids(index, index.ownerMatching(ImmutableMap.of(NgSetupFields.OWNER, "org1"))))
+        .containsExactly("account", "org");
+    assertThat(ids(index, index.ownerMatching(ImmutableMap.of(NgSetupFields.OWNER, "org1/project1"))))
+        .containsExactly("account", "org", "project");
+    assertThat(ids(index, index.ownerMatching(ImmutableMap.of(NgSetupFields.OWNER, "org3/project1"))))
+        .containsExactly("account");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testTaskTypeAndSelectors() {
+    Delegate shell = delegate("shell", null);
+    shell.setSupportedTaskTypes(List.of("SHELL_SCRIPT_TASK_NG", "HTTP"));
+    Delegate k8s = delegate("k8s", null);
+    k8s.setSupportedTaskTypes(List.of("K8S_COMMAND_TASK_NG", "HTTP"));
+    k8s.setIncludeScopes(List.of(DelegateScope.builder().build()));
+    Map<String, Set<String>> selectors =
+        ImmutableMap.of("shell", ImmutableSet.of("linux"), "k8s", ImmutableSet.of("linux", "cluster"));
+    AccountIndex index = AccountIndex.build(List.of(shell, k8s), delegate -> selectors.get(delegate.getUuid()));
+
+    assertThat(ids(index, index.supportingTaskType("HTTP"))).containsExactly("shell", "k8s");
+    assertThat(ids(index, index.supportingTaskType("K8S_COMMAND_TASK_NG"))).containsExactly("k8s");
+    assertThat(ids(index, index.supportingTaskType("UNKNOWN"))).isEmpty();
+    assertThat(ids(index, index.matchingSelectors(List.of(ImmutableSet.of("linux"))))).containsExactly("shell", "k8s");
+    assertThat(ids(index, index.matchingSelectors(List.of(ImmutableSet.of("linux"), ImmutableSet.of("cluster")))))
+        .containsExactly("k8s");
+    assertThat(ids(index, index.matchingSelectors(List.of(ImmutableSet.of("windows"))))).isEmpty();
+    assertThat(index.isScoped(index.position("shell"))).isFalse();
+    assertThat(index.isScoped(index.position("k8s"))).isTrue();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testLargeAccountMatchesPerDelegateChecks() {
+    List<Delegate> delegates = new ArrayList<>(DELEGATE_COUNT);
+    Map<String, Set<String>> selectors = new HashMap<>();
+    for (int i = 0; i < DELEGATE_COUNT; i++) {
+      Delegate delegate = delegate("delegate" + i, i % 3 == 0 ? null : "org" + (i % 7));
+      delegate.setSupportedTaskTypes(List.of("HTTP", "TYPE" + (i % 11)));
+      delegates.add(delegate);
+      selectors.put(delegate.getUuid(), ImmutableSet.of("group" + (i % 13), "region" + (i % 5)));
+    }
+    AccountIndex index = AccountIndex.build(delegates, delegate -> selectors.get(delegate.getUuid()));
+    assertThat(index.size()).isEqualTo(DELEGATE_COUNT);
+
+    BitSet eligible = index.ownerMatching(ImmutableMap.of(NgSetupFields.OWNER, "org2"));
+    eligible.and(index.supportingTaskType("TYPE4"));
+    eligible.and(index.matchingSelectors(List.of(ImmutableSet.of("group6", "region1"))));
+
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < DELEGATE_COUNT; i++) {
+      boolean owner = i % 3 == 0 || i % 7 == 2;
+      if (owner && i % 11 == 4 && i % 13 == 6 && i % 5 == 1) {
+        expected.add("delegate" + i);
+      }
+    }
+    assertThat(expected).isNotEmpty();
+    assertThat(ids(index, eligible)).containsExactlyElementsOf(expected);
+  }
+
+  private static Delegate delegate(String uuid, String ownerIdentifier) {
+    return Delegate.builder()
+        .uuid(uuid)
+        .owner(ownerIdentifier == null ? null : DelegateEntityOwner.builder().identifier(ownerIdentifier).build())
+        .build();
+  }
+
+  private static List<String> ids(AccountIndex index, BitSet positions) {
+    List<String> ids = new ArrayList<>();
+    for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+      ids.add(index.delegate(i).getUuid());
+    }
+    return ids;
+  }
+}
@@ -23,6 +23,7 @@ import static io.harness.data.structure.UUIDGenerator.generateUuid;
 import static io.harness.rule.OwnerRule.AADITI;
 import static io.harness.rule.OwnerRule.AGORODETKI;
 import static io.harness.rule.OwnerRule.ANSHUL;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.GARVIT;
 import static io.harness.rule.OwnerRule.GEORGE;
 import static io.harness.rule.OwnerRule.HARSH;
@@ -42,9 +43,11 @@ import static io.harness.rule.OwnerRule.VINICIUS;
 import static io.harness.threading.Poller.pollFor;
 
 import static software.wings.api.DeploymentType.SSH;
+import static software.wings.api.PhaseExecutionData.PhaseExecutionDataBuilder.aPhaseExecutionData;
 import static software.wings.beans.Application.Builder.anApplication;
 import static software.wings.beans.CanaryOrchestrationWorkflow.CanaryOrchestrationWorkflowBuilder.aCanaryOrchestrationWorkflow;
 import static software.wings.beans.CustomOrchestrationWorkflow.CustomOrchestrationWorkflowBuilder.aCustomOrchestrationWorkflow;
+import static software.wings.beans.ElementExecutionSummary.ElementExecutionSummaryBuilder.anElementExecutionSummary;
 import static software.wings.beans.EntityType.SERVICE;
 import static software.wings.beans.Graph.Builder.aGraph;
 import static software.wings.beans.GraphLink.Builder.aLink;
@@ -109,6 +112,7 @@ import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -160,6 +164,7 @@ import software.wings.beans.ArtifactStreamMetadata;
 import software.wings.beans.ArtifactVariable;
 import software.wings.beans.CanaryOrchestrationWorkflow;
 import software.wings.beans.CanaryWorkflowExecutionAdvisor;
+import software.wings.beans.CountsByStatuses;
 import software.wings.beans.DirectKubernetesInfrastructureMapping;
 import software.wings.beans.ElementExecutionSummary;
 import software.wings.beans.Environment;
@@ -245,6 +250,7 @@ import software.wings.sm.InstanceStatusSummary;
 import software.wings.sm.StateExecutionInstance;
 import software.wings.sm.StateExecutionInstance.StateExecutionInstanceKeys;
 import software.wings.sm.StateMachine;
+import software.wings.sm.StateMachineExecutionSimulator;
 import software.wings.sm.StateType;
 import software.wings.sm.WorkflowStandardParams;
 import software.wings.sm.states.EnvState.EnvStateKeys;
@@ -252,6 +258,7 @@ import software.wings.sm.states.HoldingScope;
 import software.wings.utils.ArtifactType;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import dev.morphia.query.Query;
@@ -269,6 +276,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.reflect.FieldUtils;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Rule;
@@ -277,6 +285,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.rules.ExpectedException;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 
 /**
  * The type Workflow service impl test.
@@ -3635,4 +3644,134 @@ public class WorkflowExecutionServiceImplTest extends WingsBaseTest {
         .hasFieldOrPropertyWithValue("deploymentFreezeIds", Collections.singletonList(FREEZE_WINDOW_ID))
         .hasFieldOrPropertyWithValue("deploymentFreezeNamesList", Collections.singletonList("freeze1"));
   }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldAssembleExecutionPageWithBulkQueries() throws IllegalAccessException {
+    int pageSize = 50;
+    String appId = app.getUuid();
+    for (int i = 0; i < pageSize; i++) {
+      String executionId = generateUuid();
+      wingsPersistence.save(WorkflowExecution.builder()
+                                .uuid(executionId)
+                                .appId(appId)
+                                .envId(env.getUuid())
+                                .workflowId(WORKFLOW_ID + i % 5)
+                                .workflowType(WorkflowType.ORCHESTRATION)
+                                .status(RUNNING)
+                                .onDemandRollback(i % 10 == 0)
+                                .build());
+      for (int phase = 0; phase < 3; phase++) {
+        String displayName = "Phase " + phase;
+        ServiceElement serviceElement = ServiceElement.builder().uuid(SERVICE_ID + phase).name(displayName).build();
+        wingsPersistence.save(
+            aStateExecutionInstance()
+                .uuid(generateUuid())
+                .appId(appId)
+                .executionUuid(executionId)
+                .displayName(displayName)
+                .stateType(StateType.PHASE.name())
+                .status(phase == 2 ? RUNNING : SUCCESS)
+                .rollback(phase == 2)
+                .addStateExecutionData(displayName,
+                    aPhaseExecutionData()
+                        .withElementStatusSummary(singletonList(anElementExecutionSummary()
+                                                                    .withContextElement(serviceElement)
+                                                                    .withStatus(phase == 2 ? RUNNING : SUCCESS)
+                                                                    .withStartTs(1000L * phase)
+                                                                    .withEndTs(1000L * phase + 500)
+                                                                    .build()))
+                        .build())
+                .build());
+      }
+    }
+
+    StateMachineExecutionSimulator stateMachineExecutionSimulator =
+        (StateMachineExecutionSimulator) FieldUtils.readField(
+            workflowExecutionService, "stateMachineExecutionSimulator", true);
+    StateMachineExecutionSimulator simulator = spy(stateMachineExecutionSimulator);
+    doAnswer(invocation -> {
+      Map<String, ExecutionStatus> stateExecutionStatuses = invocation.getArgument(3);
+      CountsByStatuses breakdown = new CountsByStatuses();
+      breakdown.setSuccess((int) stateExecutionStatuses.values().stream().filter(SUCCESS::equals).count());
+      breakdown.setInprogress((int) stateExecutionStatuses.values().stream().filter(RUNNING::equals).count());
+      return breakdown;
+    })
+        .when(simulator)
+        .getStatusBreakdown(any(), any(), any(), any());
+    FieldUtils.writeField(workflowExecutionService, "stateMachineExecutionSimulator", simulator, true);
+    WingsPersistence persistence = spy(wingsPersistence);
+    FieldUtils.writeField(workflowExecutionService, "wingsPersistence", persistence, true);
+
+    try {
+      int iterations = 20;
+      long[] perExecutionNanos = new long[iterations];
+      long[] batchedNanos = new long[iterations];
+      List<WorkflowExecution> perExecution = null;
+      List<WorkflowExecution> batched = null;
+      int perExecutionQueries = 0;
+      int batchedQueries = 0;
+      for (int i = 0; i < iterations; i++) {
+        List<WorkflowExecution> page = loadExecutionPage(appId);
+        Mockito.clearInvocations(persistence);
+        long start = System.nanoTime();
+        perExecution = workflowExecutionService.processExecutions(page, false, false, true, false, false, null);
+        perExecutionNanos[i] = System.nanoTime() - start;
+        perExecutionQueries = countQueries(persistence);
+
+        page = loadExecutionPage(appId);
+        Mockito.clearInvocations(persistence);
+        start = System.nanoTime();
+        batched = workflowExecutionService.processExecutions(
+            page, false, false, true, false, false, workflowExecutionService.buildListContext(page, true));
+        batchedNanos[i] = System.nanoTime() - start;
+        batchedQueries = countQueries(persistence);
+      }
+
+      log.info("Page of {} executions: one by one {} queries, p95 {} ms; in bulk {} queries, p95 {} ms", pageSize,
+          perExecutionQueries, p95Millis(perExecutionNanos), batchedQueries, p95Millis(batchedNanos));
+      assertThat(batched).hasSize(pageSize);
+      assertThat(batched).usingRecursiveComparison().isEqualTo(perExecution);
+      assertThat(batched.get(0).getBreakdown().getSuccess()).isEqualTo(2);
+      for (WorkflowExecution workflowExecution : batched) {
+        // The rollback phase only counts for on demand rollbacks
+        assertThat(workflowExecution.getServiceExecutionSummaries())
+            .hasSize(workflowExecution.isOnDemandRollback() ? 3 : 2);
+      }
+      assertThat(perExecutionQueries).isGreaterThanOrEqualTo(3 * pageSize);
+      assertThat(batchedQueries).isEqualTo(3);
+    } finally {
+      FieldUtils.writeField(workflowExecutionService, "wingsPersistence", wingsPersistence, true);
+      FieldUtils.writeField(
+          workflowExecutionService, "stateMachineExecutionSimulator", stateMachineExecutionSimulator, true);
+    }
+  }
+
+  private List<WorkflowExecution> loadExecutionPage(String appId) {
+    List<WorkflowExecution> page = wingsPersistence.createQuery(WorkflowExecution.class)
+                                       .filter(WorkflowExecutionKeys.appId, appId)
+                                       .order(WorkflowExecutionKeys.createdAt)
+                                       .asList();
+    page.forEach(workflowExecution -> workflowExecution.setStateMachine(new StateMachine()));
+    return page;
+  }
+
+  // Queries issued by the execution service itself, not those the persistence layer delegates to
+  private static int countQueries(WingsPersistence persistence) {
+    Set<String> queryMethods = ImmutableSet.of("createQuery", "query", "get", "getWithAppId");
+    return (int) Mockito.mockingDetails(persistence)
+        .getInvocations()
+        .stream()
+        .filter(invocation -> queryMethods.contains(invocation.getMethod().getName()))
+        .filter(invocation
+            -> invocation.getLocation().toString().contains(WorkflowExecutionServiceImpl.class.getName()))
+        .count();
+  }
+
+  private static long p95Millis(long[] nanos) {
+    long[] sorted = Arrays.copyOf(nanos, nanos.length);
+    Arrays.sort(sorted);
+    return sorted[(int) Math.ceil(0.95 * sorted.length) - 1] / 1000000;
+  }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.grpc.scheduler;
+
+import static io.harness.grpc.auth.DelegateAuthServerInterceptor.ACCOUNT_ID_CTX_KEY;
+
+import io.harness.delegate.TaskPayloadStreamRequest;
+import io.harness.delegate.TaskPayloadStreamResponse;
+import io.harness.delegate.TaskPayloadStreamServiceGrpc.TaskPayloadStreamServiceImplBase;
+import io.harness.delegate.TaskPayloadStreamSubscribe;
+import io.harness.delegate.beans.Delegate;
+import io.harness.delegate.beans.DelegateInstanceStatus;
+import io.harness.service.intfc.DelegateCache;
+import io.harness.taskclient.TaskPayloadDispatcher;
+import io.harness.taskclient.TaskPayloadDispatcher.TaskPayloadStream;
+
+import com.google.inject.Inject;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Inject))
+public class TaskPayloadStreamServiceGrpcImpl extends TaskPayloadStreamServiceImplBase {
+  private final TaskPayloadDispatcher taskPayloadDispatcher;
+  private final DelegateCache delegateCache;
+
+  @Override
+  public StreamObserver<TaskPayloadStreamRequest> streamTaskPayloads(
+      final StreamObserver<TaskPayloadStreamResponse> responseObserver) {
+    return new StreamObserver<>() {
+      private TaskPayloadStream stream;
+
+      @Override
+      public void onNext(TaskPayloadStreamRequest request) {
+        switch (request.getRequestCase()) {
+          case SUBSCRIBE:
+            subscribe(request.getSubscribe());
+            break;
+          case CREDITS:
+            if (stream != null) {
+              stream.addCredits(request.getCredits().getCredits());
+            }
+            break;
+          case ACK:
+            if (stream != null) {
+              taskPayloadDispatcher.onAck(stream, request.getAck().getTaskId());
+            }
+            break;
+          default:
+            log.warn("Unknown task payload stream request {}", request.getRequestCase());
+        }
+      }
+
+      private void subscribe(TaskPayloadStreamSubscribe subscribe) {
+        if (stream != null) {
+          return;
+        }
+        if (StringUtils.isEmpty(subscribe.getDelegateId())
+            || !StringUtils.equals(subscribe.getAccountId(), ACCOUNT_ID_CTX_KEY.get())) {
+          responseObserver.onError(
+              Status.INVALID_ARGUMENT.withDescription("delegateId of the authenticated account is mandatory")
+                  .asRuntimeException());
+          return;
+        }
+        Delegate delegate = delegateCache.get(subscribe.getAccountId(), subscribe.getDelegateId());
+        if (delegate == null || !subscribe.getAccountId().equals(delegate.getAccountId())
+            || delegate.getStatus() == DelegateInstanceStatus.DELETED) {
+          log.warn("Rejecting task payload stream of unknown delegate {}", subscribe.getDelegateId());
+          responseObserver.onError(
+              Status.PERMISSION_DENIED.withDescription("Delegate is not registered with the authenticated account")
+                  .asRuntimeException());
+          return;
+        }
+        stream = taskPayloadDispatcher.register(
+            subscribe.getAccountId(), subscribe.getDelegateId(), subscribe.getDelegateInstanceId(), responseObserver);
+        stream.addCredits(subscribe.getCredits());
+        log.info("Delegate {} opened a task payload stream", subscribe.getDelegateId());
+      }
+
+      @Override
+      public void onError(Throwable t) {
+        log.info("Task payload stream closed by the delegate", t);
+        if (stream != null) {
+          taskPayloadDispatcher.unregister(stream);
+          stream.close();
+        }
+      }
+
+      @Override
+      public void onCompleted() {
+        if (stream == null) {
+          responseObserver.onCompleted();
+          return;
+        }
+        taskPayloadDispatcher.unregister(stream);
+        stream.close();
+      }
+    };
+  }
+}
@@ -23,6 +23,7 @@ import io.harness.metrics.service.api.MetricService;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.time.Duration;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,6 +43,7 @@ public class DelegateMetricsServiceImpl implements DelegateMetricsService {
   public static final String DELEGATE_TASK_REBROADCAST = "delegate_task_rebroadcast";
   public static final String DELEGATE_TASK_VALIDATION = "delegate_task_validation";
   public static final String DELEGATE_TASK_NO_FIRST_WHITELISTED = "delegate_task_no_first_whitelisted";
+  public static final String DELEGATE_TASK_STREAM_TTFB = "delegate_task_stream_ttfb";
   public static final String DELEGATE_REGISTRATION_FAILED = "delegate_registration_failed";
   public static final String DELEGATE_REGISTRATION = "delegate_registration";
   public static final String DELEGATE_RESTARTED = "delegate_restarted";
@@ -118,6 +120,13 @@ public class DelegateMetricsServiceImpl implements DelegateMetricsService {
     }
   }
 
+  @Override
+  public void recordDelegateTaskDuration(String accountId, String metricName, Duration duration) {
+    try (DelegateAccountMetricContext ignore = new DelegateAccountMetricContext(accountId)) {
+      metricService.recordDuration(metricName, duration);
+    }
+  }
+
   @Override
   public void recordDelegateTaskResponseMetrics(
       DelegateTask delegateTask, DelegateTaskResponse response, String metricName) {
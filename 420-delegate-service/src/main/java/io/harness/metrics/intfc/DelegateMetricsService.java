@@ -12,11 +12,15 @@ import io.harness.delegate.beans.Delegate;
 import io.harness.delegate.beans.DelegateRing;
 import io.harness.delegate.beans.DelegateTaskResponse;
 
+import java.time.Duration;
+
 public interface DelegateMetricsService {
   void recordDelegateTaskMetrics(DelegateTask task, String metricName);
 
   void recordDelegateTaskMetrics(String accountId, String metricName);
 
+  void recordDelegateTaskDuration(String accountId, String metricName, Duration duration);
+
   void recordDelegateTaskResponseMetrics(DelegateTask delegateTask, DelegateTaskResponse response, String metricName);
 
   void recordDelegateMetrics(Delegate delegate, String metricName);
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.service.impl;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@OwnedBy(HarnessTeam.DEL)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DelegateCacheConfig {
+  // Applies delegate, group and profile changes from mongo change streams and refreshes entries in the background
+  boolean changeTrackingEnabled;
+  // Entries are still reloaded this often, which bounds staleness if a change stream goes down
+  @Builder.Default long refreshAfterWriteSeconds = 300;
+  @Builder.Default long expireAfterAccessSeconds = 3600;
+  @Builder.Default int refreshThreads = 4;
+  // Change streams found down are reopened this often
+  @Builder.Default long changeStreamCheckIntervalSeconds = 30;
+}
@@ -30,6 +30,10 @@ import io.harness.delegate.beans.DelegateProfile.DelegateProfileKeys;
 import io.harness.delegate.beans.DelegateTaskRank;
 import io.harness.delegate.utils.DelegateTaskMigrationHelper;
 import io.harness.exception.InvalidArgumentsException;
+import io.harness.metrics.service.api.MetricService;
+import io.harness.mongo.changestreams.ChangeEvent;
+import io.harness.mongo.changestreams.ChangeTrackingInfo;
+import io.harness.mongo.changestreams.ChangeType;
 import io.harness.persistence.HPersistence;
 import io.harness.redis.intfc.DelegateRedissonCacheManager;
 import io.harness.service.intfc.DelegateCache;
@@ -39,11 +43,13 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import com.mongodb.MongoTimeoutException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -53,6 +59,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import javax.validation.constraints.NotNull;
 import javax.validation.executable.ValidateOnExecution;
@@ -82,71 +90,20 @@ public class DelegateCacheImpl implements DelegateCache {
 
   @Inject DelegateRedissonCacheManager delegateRedissonCacheManager;
 
-  private LoadingCache<String, Optional<Delegate>> delegateCache =
-      CacheBuilder.newBuilder()
-          .maximumSize(MAX_DELEGATE_META_INFO_ENTRIES)
-          .expireAfterWrite(1, TimeUnit.MINUTES)
-          .build(new CacheLoader<String, Optional<Delegate>>() {
-            @Override
-            public Optional<Delegate> load(String delegateId) {
-              return Optional.ofNullable(
-                  persistence.createQuery(Delegate.class).filter(DelegateKeys.uuid, delegateId).get());
-            }
-          });
+  private RefreshingCache<String, Optional<Delegate>> delegateCache = new RefreshingCache<>(
+      "delegate", MAX_DELEGATE_META_INFO_ENTRIES, Duration.ofMinutes(1), this::loadDelegate);
 
-  private LoadingCache<ImmutablePair<String, String>, DelegateGroup> delegateGroupCache =
-      CacheBuilder.newBuilder()
-          .maximumSize(10000)
-          .expireAfterWrite(30, TimeUnit.SECONDS)
-          .build(new CacheLoader<ImmutablePair<String, String>, DelegateGroup>() {
-            @Override
-            public DelegateGroup load(ImmutablePair<String, String> delegateGroupKey) {
-              return persistence.createQuery(DelegateGroup.class)
-                  .filter(DelegateGroupKeys.accountId, delegateGroupKey.getLeft())
-                  .filter(DelegateGroupKeys.uuid, delegateGroupKey.getRight())
-                  .get();
-            }
-          });
+  private RefreshingCache<ImmutablePair<String, String>, DelegateGroup> delegateGroupCache =
+      new RefreshingCache<>("delegateGroup", 10000, Duration.ofSeconds(30), this::loadDelegateGroup);
 
-  private LoadingCache<ImmutablePair<String, String>, DelegateProfile> delegateProfilesCache =
-      CacheBuilder.newBuilder()
-          .maximumSize(10000)
-          .expireAfterWrite(30, TimeUnit.SECONDS)
-          .build(new CacheLoader<ImmutablePair<String, String>, DelegateProfile>() {
-            @Override
-            public DelegateProfile load(ImmutablePair<String, String> delegateProfileKey) {
-              return persistence.createQuery(DelegateProfile.class)
-                  .filter(DelegateProfileKeys.accountId, delegateProfileKey.getLeft())
-                  .filter(DelegateProfileKeys.uuid, delegateProfileKey.getRight())
-                  .get();
-            }
-          });
+  private RefreshingCache<ImmutablePair<String, String>, DelegateProfile> delegateProfilesCache =
+      new RefreshingCache<>("delegateProfile", 10000, Duration.ofSeconds(30), this::loadDelegateProfile);
 
-  private LoadingCache<ImmutablePair<String, String>, List<Delegate>> delegatesFromGroupCache =
-      CacheBuilder.newBuilder()
-          .maximumSize(10000)
-          .expireAfterWrite(5, TimeUnit.MINUTES)
-          .build(new CacheLoader<ImmutablePair<String, String>, List<Delegate>>() {
-            @Override
-            public List<Delegate> load(ImmutablePair<String, String> delegateGroupKey) {
-              return persistence.createQuery(Delegate.class)
-                  .filter(DelegateKeys.accountId, delegateGroupKey.getLeft())
-                  .filter(DelegateKeys.ng, true)
-                  .filter(DelegateKeys.delegateGroupId, delegateGroupKey.getRight())
-                  .asList();
-            }
-          });
+  private RefreshingCache<ImmutablePair<String, String>, List<Delegate>> delegatesFromGroupCache =
+      new RefreshingCache<>("delegatesFromGroup", 10000, Duration.ofMinutes(5), this::loadDelegatesForGroup);
 
-  private LoadingCache<String, Set<String>> activeDelegateSupportedTaskTypesCache =
-      CacheBuilder.newBuilder()
-          .maximumSize(10000)
-          .expireAfterWrite(10, TimeUnit.MINUTES)
-          .build(new CacheLoader<String, Set<String>>() {
-            @Override
-            public Set<String> load(@NotNull String accountId) {
-              return getIntersectionOfSupportedTaskTypes(accountId);
-            }
-          });
+  private RefreshingCache<String, Set<String>> activeDelegateSupportedTaskTypesCache = new RefreshingCache<>(
+      "supportedTaskTypes", 10000, Duration.ofMinutes(10), this::getIntersectionOfSupportedTaskTypes);
 
   private LoadingCache<String, Long> optionalDelegateTasksCountCache =
       CacheBuilder.newBuilder()
@@ -193,7 +150,7 @@ public class DelegateCacheImpl implements DelegateCache {
       Delegate delegate = delegateCache.get(delegateId).orElse(null);
 
       if (forceRefresh || delegate == null) {
-        delegateCache.refresh(delegateId);
+        delegateCache.reload(delegateId);
       }
 
       delegate = delegateCache.get(delegateId).orElse(null);
@@ -223,6 +180,137 @@ public class DelegateCacheImpl implements DelegateCache {
     return get(accountId, delegateId, false);
   }
 
+  /**
+   * Switches the delegate, group and profile caches to refresh ahead, so that they can be kept current from the change
+   * streams of their collections, see {@link #getChangeTrackingInfos()}, instead of letting every pod reload them from
+   * mongo once they expire.
+   */
+  public void enableChangeTracking(DelegateCacheConfig config, MetricService metricService) {
+    if (!config.isChangeTrackingEnabled()) {
+      return;
+    }
+    Duration refreshAfterWrite = Duration.ofSeconds(config.getRefreshAfterWriteSeconds());
+    Duration expireAfterAccess = Duration.ofSeconds(config.getExpireAfterAccessSeconds());
+    ExecutorService refreshExecutor = Executors.newFixedThreadPool(config.getRefreshThreads(),
+        new ThreadFactoryBuilder().setNameFormat("delegate-cache-refresh-%d").setDaemon(true).build());
+
+    delegateCache = new RefreshingCache<>("delegate", MAX_DELEGATE_META_INFO_ENTRIES, refreshAfterWrite,
+        expireAfterAccess, this::loadDelegate, refreshExecutor, metricService);
+    delegateGroupCache = new RefreshingCache<>("delegateGroup", 10000, refreshAfterWrite, expireAfterAccess,
+        this::loadDelegateGroup, refreshExecutor, metricService);
+    delegateProfilesCache = new RefreshingCache<>("delegateProfile", 10000, refreshAfterWrite, expireAfterAccess,
+        this::loadDelegateProfile, refreshExecutor, metricService);
+    delegatesFromGroupCache = new RefreshingCache<>("delegatesFromGroup", 10000, refreshAfterWrite,
+        expireAfterAccess, this::loadDelegatesForGroup, refreshExecutor, metricService);
+    activeDelegateSupportedTaskTypesCache = new RefreshingCache<>("supportedTaskTypes", 10000, refreshAfterWrite,
+        expireAfterAccess, this::getIntersectionOfSupportedTaskTypes, refreshExecutor, metricService);
+    log.info("Delegate cache is refreshed ahead");
+  }
+
+  public Set<ChangeTrackingInfo<?>> getChangeTrackingInfos() {
+    Set<ChangeTrackingInfo<?>> changeTrackingInfos = new HashSet<>();
+    changeTrackingInfos.add(new ChangeTrackingInfo<>(Delegate.class, this::onDelegateChange, null, null));
+    changeTrackingInfos.add(new ChangeTrackingInfo<>(DelegateGroup.class, this::onDelegateGroupChange, null, null));
+    changeTrackingInfos.add(
+        new ChangeTrackingInfo<>(DelegateProfile.class, this::onDelegateProfileChange, null, null));
+    return changeTrackingInfos;
+  }
+
+  /**
+   * Drops the entries kept current from change streams, as changes were missed while the streams were down.
+   */
+  public void invalidateChangeTrackedEntries() {
+    delegateCache.invalidateAll();
+    delegateGroupCache.invalidateAll();
+    delegateProfilesCache.invalidateAll();
+    delegatesFromGroupCache.invalidateAll();
+    activeDelegateSupportedTaskTypesCache.invalidateAll();
+  }
+
+  @VisibleForTesting
+  void onDelegateChange(ChangeEvent<Delegate> changeEvent) {
+    Delegate delegate = changeEvent.getFullDocument();
+    if (changeEvent.getChangeType() == ChangeType.DELETE || delegate == null) {
+      delegateCache.invalidate(changeEvent.getUuid());
+      delegatesFromGroupCache.invalidateIf((key, delegates)
+                                               -> delegates.stream().anyMatch(
+                                                   member -> changeEvent.getUuid().equals(member.getUuid())));
+      return;
+    }
+
+    // Only delegates which are read on this pod are cached, a change does not add any
+    Delegate previous = Optional.ofNullable(delegateCache.getIfPresent(delegate.getUuid()))
+                            .flatMap(cached -> cached)
+                            .orElse(null);
+    delegateCache.updateIfPresent(delegate.getUuid(), cached -> Optional.of(delegate));
+
+    // A delegate which left its group is dropped with the entry of that group, the group is only known when the
+    // previous version of the delegate is cached, otherwise the other groups of the account are looked through
+    String delegateGroupId = delegate.isNg() ? delegate.getDelegateGroupId() : null;
+    if (previous != null) {
+      String previousGroupId = previous.isNg() ? previous.getDelegateGroupId() : null;
+      if (previousGroupId != null && !previousGroupId.equals(delegateGroupId)) {
+        delegatesFromGroupCache.invalidate(ImmutablePair.of(previous.getAccountId(), previousGroupId));
+      }
+    } else {
+      delegatesFromGroupCache.invalidateIf((key, delegates)
+                                               -> key.getLeft().equals(delegate.getAccountId())
+                                                   && !key.getRight().equals(delegateGroupId)
+                                                   && delegates.stream().anyMatch(
+                                                       member -> delegate.getUuid().equals(member.getUuid())));
+    }
+
+    if (delegate.isNg() && delegate.getDelegateGroupId() != null) {
+      delegatesFromGroupCache.updateIfPresent(
+          ImmutablePair.of(delegate.getAccountId(), delegate.getDelegateGroupId()), delegates -> {
+            List<Delegate> updated = new ArrayList<>(delegates.size() + 1);
+            for (Delegate member : delegates) {
+              if (!delegate.getUuid().equals(member.getUuid())) {
+                updated.add(member);
+              }
+            }
+            updated.add(delegate);
+            return updated;
+          });
+    }
+
+    // Heartbeats update every delegate all the time, only a change of task types affects the account intersection
+    if (previous != null ? !Objects.equals(previous.getSupportedTaskTypes(), delegate.getSupportedTaskTypes())
+                         : mayNarrowSupportedTaskTypes(delegate)) {
+      activeDelegateSupportedTaskTypesCache.refreshIfPresent(delegate.getAccountId());
+    }
+  }
+
+  // Without the previous version of the delegate, only a change that removes task types from the intersection is seen
+  private boolean mayNarrowSupportedTaskTypes(Delegate delegate) {
+    Set<String> supportedTaskTypes = activeDelegateSupportedTaskTypesCache.getIfPresent(delegate.getAccountId());
+    return supportedTaskTypes != null
+        && (delegate.getSupportedTaskTypes() == null
+            || !delegate.getSupportedTaskTypes().containsAll(supportedTaskTypes));
+  }
+
+  @VisibleForTesting
+  void onDelegateGroupChange(ChangeEvent<DelegateGroup> changeEvent) {
+    DelegateGroup delegateGroup = changeEvent.getFullDocument();
+    if (changeEvent.getChangeType() == ChangeType.DELETE || delegateGroup == null) {
+      delegateGroupCache.invalidateIf((key, cached) -> changeEvent.getUuid().equals(key.getRight()));
+      return;
+    }
+    delegateGroupCache.updateIfPresent(
+        ImmutablePair.of(delegateGroup.getAccountId(), delegateGroup.getUuid()), cached -> delegateGroup);
+  }
+
+  @VisibleForTesting
+  void onDelegateProfileChange(ChangeEvent<DelegateProfile> changeEvent) {
+    DelegateProfile delegateProfile = changeEvent.getFullDocument();
+    if (changeEvent.getChangeType() == ChangeType.DELETE || delegateProfile == null) {
+      delegateProfilesCache.invalidateIf((key, cached) -> changeEvent.getUuid().equals(key.getRight()));
+      return;
+    }
+    delegateProfilesCache.updateIfPresent(
+        ImmutablePair.of(delegateProfile.getAccountId(), delegateProfile.getUuid()), cached -> delegateProfile);
+  }
+
   // only for task assignment logic we should fetch from cache, since we process very heavy number of tasks per minute.
   @Override
   public DelegateGroup getDelegateGroup(String accountId, String delegateGroupId) {
@@ -355,6 +443,32 @@ public class DelegateCacheImpl implements DelegateCache {
     return new ArrayList<>(delegates.values());
   }
 
+  private Optional<Delegate> loadDelegate(String delegateId) {
+    return Optional.ofNullable(persistence.createQuery(Delegate.class).filter(DelegateKeys.uuid, delegateId).get());
+  }
+
+  private DelegateGroup loadDelegateGroup(ImmutablePair<String, String> delegateGroupKey) {
+    return persistence.createQuery(DelegateGroup.class)
+        .filter(DelegateGroupKeys.accountId, delegateGroupKey.getLeft())
+        .filter(DelegateGroupKeys.uuid, delegateGroupKey.getRight())
+        .get();
+  }
+
+  private DelegateProfile loadDelegateProfile(ImmutablePair<String, String> delegateProfileKey) {
+    return persistence.createQuery(DelegateProfile.class)
+        .filter(DelegateProfileKeys.accountId, delegateProfileKey.getLeft())
+        .filter(DelegateProfileKeys.uuid, delegateProfileKey.getRight())
+        .get();
+  }
+
+  private List<Delegate> loadDelegatesForGroup(ImmutablePair<String, String> delegateGroupKey) {
+    return persistence.createQuery(Delegate.class)
+        .filter(DelegateKeys.accountId, delegateGroupKey.getLeft())
+        .filter(DelegateKeys.ng, true)
+        .filter(DelegateKeys.delegateGroupId, delegateGroupKey.getRight())
+        .asList();
+  }
+
   private Set<String> getIntersectionOfSupportedTaskTypes(@NotNull String accountId) {
     List<Delegate> delegateList = getActiveDelegates(accountId);
     Set<String> supportedTaskTypes = new HashSet<>();
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.service.impl;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.metrics.beans.DelegateCacheMetricContext;
+import io.harness.metrics.service.api.MetricService;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loading cache behind {@link DelegateCacheImpl}. By default entries expire after a fixed time and the next reader
+ * blocks on the reload. In refresh ahead mode entries older than the refresh interval are reloaded in the background
+ * while readers keep getting the current value, changes are applied with {@link #put}, and a change wins over a reload
+ * that was already running, as guava drops the result of a refresh whose entry was replaced in the meantime.
+ */
+@OwnedBy(HarnessTeam.DEL)
+@Slf4j
+class RefreshingCache<K, V> {
+  static final String LOAD_TIME = "delegate_cache_load_time";
+  static final String STALENESS = "delegate_cache_staleness";
+
+  private final String name;
+  private final Function<K, V> loader;
+  private final MetricService metricService;
+  private final LoadingCache<K, Entry<V>> cache;
+
+  RefreshingCache(String name, long maximumSize, Duration expireAfterWrite, Function<K, V> loader) {
+    this.name = name;
+    this.loader = loader;
+    this.metricService = null;
+    this.cache = CacheBuilder.newBuilder()
+                     .maximumSize(maximumSize)
+                     .expireAfterWrite(expireAfterWrite.toMillis(), TimeUnit.MILLISECONDS)
+                     .build(new EntryLoader(null));
+  }
+
+  /**
+   * Refresh ahead cache. Entries not read for {@code expireAfterAccess} are dropped, so that idle accounts do not keep
+   * being reloaded.
+   */
+  RefreshingCache(String name, long maximumSize, Duration refreshAfterWrite, Duration expireAfterAccess,
+      Function<K, V> loader, Executor refreshExecutor, MetricService metricService) {
+    this.name = name;
+    this.loader = loader;
+    this.metricService = metricService;
+    this.cache = CacheBuilder.newBuilder()
+                     .maximumSize(maximumSize)
+                     .refreshAfterWrite(refreshAfterWrite.toMillis(), TimeUnit.MILLISECONDS)
+                     .expireAfterAccess(expireAfterAccess.toMillis(), TimeUnit.MILLISECONDS)
+                     .build(new EntryLoader(refreshExecutor));
+  }
+
+  /**
+   * Same contract as {@link LoadingCache#get}, a loader returning null surfaces as an InvalidCacheLoadException.
+   */
+  V get(K key) throws ExecutionException {
+    return cache.get(key).value;
+  }
+
+  V getIfPresent(K key) {
+    Entry<V> entry = cache.getIfPresent(key);
+    return entry == null ? null : entry.value;
+  }
+
+  // Reloads the entry from the calling thread, for readers that need the current value. Like a guava refresh, a failed
+  // load is logged and the current value kept.
+  void reload(K key) {
+    V value;
+    try {
+      value = load(key);
+    } catch (RuntimeException ex) {
+      log.warn("Unable to reload {} from delegate cache {}", key, name, ex);
+      return;
+    }
+    if (value == null) {
+      cache.invalidate(key);
+    } else {
+      cache.put(key, new Entry<>(value));
+    }
+  }
+
+  // Reloads the entry in the background in refresh ahead mode, readers keep the current value until it completes
+  void refresh(K key) {
+    cache.refresh(key);
+  }
+
+  // Unlike refresh, does not load an entry which is not cached from the calling thread
+  void refreshIfPresent(K key) {
+    if (cache.getIfPresent(key) != null) {
+      cache.refresh(key);
+    }
+  }
+
+  void put(K key, V value) {
+    cache.put(key, new Entry<>(value));
+  }
+
+  // Applies a change to an entry only if it is cached, so that a change does not load anything
+  void updateIfPresent(K key, UnaryOperator<V> update) {
+    cache.asMap().computeIfPresent(key, (ignored, entry) -> {
+      V updated = update.apply(entry.value);
+      return updated == null ? null : new Entry<>(updated);
+    });
+  }
+
+  void invalidate(K key) {
+    cache.invalidate(key);
+  }
+
+  void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  void invalidateIf(BiPredicate<K, V> predicate) {
+    for (Map.Entry<K, Entry<V>> entry : cache.asMap().entrySet()) {
+      if (predicate.test(entry.getKey(), entry.getValue().value)) {
+        cache.asMap().remove(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  private V load(K key) {
+    long startTime = System.nanoTime();
+    try {
+      return loader.apply(key);
+    } finally {
+      record(LOAD_TIME, Duration.ofNanos(System.nanoTime() - startTime));
+    }
+  }
+
+  private void record(String metricName, Duration duration) {
+    if (metricService == null) {
+      return;
+    }
+    try (DelegateCacheMetricContext ignore = new DelegateCacheMetricContext(name)) {
+      metricService.recordDuration(metricName, duration);
+    } catch (RuntimeException ex) {
+      log.debug("Unable to record {} for delegate cache {}", metricName, name, ex);
+    }
+  }
+
+  private static class Entry<V> {
+    private final V value;
+    private final long loadedAt;
+
+    Entry(V value) {
+      this.value = value;
+      this.loadedAt = System.currentTimeMillis();
+    }
+  }
+
+  private class EntryLoader extends CacheLoader<K, Entry<V>> {
+    private final Executor refreshExecutor;
+
+    EntryLoader(Executor refreshExecutor) {
+      this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public Entry<V> load(K key) {
+      V value = RefreshingCache.this.load(key);
+      return value == null ? null : new Entry<>(value);
+    }
+
+    @Override
+    public ListenableFuture<Entry<V>> reload(K key, Entry<V> oldEntry) throws Exception {
+      if (refreshExecutor == null) {
+        return super.reload(key, oldEntry);
+      }
+      ListenableFutureTask<Entry<V>> task = ListenableFutureTask.create(() -> {
+        Entry<V> entry = load(key);
+        if (entry == null) {
+          // Keep serving the last value, the entry is dropped once it expires
+          return oldEntry;
+        }
+        if (!Objects.equals(entry.value, oldEntry.value)) {
+          // The old value was served for up to this long after it changed
+          record(STALENESS, Duration.ofMillis(entry.loadedAt - oldEntry.loadedAt));
+        }
+        return entry;
+      });
+      refreshExecutor.execute(task);
+      return task;
+    }
+  }
+}
@@ -29,8 +29,13 @@ import org.atmosphere.cpr.BroadcasterFactory;
 public class ScheduleTaskBroadcastHelper {
   public static final String STREAM_DELEGATE_PATH = "/stream/delegate/";
   @Inject private BroadcasterFactory broadcasterFactory;
+  @Inject private TaskPayloadDispatcher taskPayloadDispatcher;
 
   public void broadcastRequestEvent(@NotNull final DelegateTask delegateTask) {
+    if (taskPayloadDispatcher.dispatch(delegateTask)) {
+      log.info("Task payload pushed to a delegate over its task payload stream");
+      return;
+    }
     ScheduleTaskBroadcast delegateTaskBroadcast =
         ScheduleTaskBroadcast.builder()
             .delegateIdsToBroadcast(delegateTask.getBroadcastToDelegateIds())
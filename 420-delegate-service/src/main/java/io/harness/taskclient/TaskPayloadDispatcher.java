@@ -0,0 +1,196 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.taskclient;
+
+import static io.harness.annotations.dev.HarnessTeam.DEL;
+import static io.harness.data.structure.EmptyPredicate.isEmpty;
+import static io.harness.metrics.impl.DelegateMetricsServiceImpl.DELEGATE_TASK_STREAM_TTFB;
+
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.DelegateTask;
+import io.harness.delegate.TaskPayloadStreamResponse;
+import io.harness.delegate.core.beans.AcquireTasksResponse;
+import io.harness.grpc.utils.HTimestamps;
+import io.harness.metrics.intfc.DelegateMetricsService;
+
+import software.wings.service.intfc.DelegateTaskServiceClassic;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.grpc.stub.StreamObserver;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delegates with a task payload stream open on this manager, and the pushing of scheduled tasks to them.
+ *
+ * <p>A delegate grants credits as it has free capacity, every pushed task takes one. A task is acquired for the
+ * delegate before its payload is pushed, so it runs on at most one delegate, and released again if the push fails.
+ * Tasks none of whose delegates have a stream with credits here are broadcast as before, and the delegates acquire them
+ * over http.
+ */
+@Singleton
+@Slf4j
+@OwnedBy(DEL)
+public class TaskPayloadDispatcher {
+  private final DelegateTaskServiceClassic delegateTaskServiceClassic;
+  private final DelegateMetricsService delegateMetricsService;
+  private final Clock clock;
+  private final Map<String, TaskPayloadStream> streams = new ConcurrentHashMap<>();
+
+  @Inject
+  public TaskPayloadDispatcher(DelegateTaskServiceClassic delegateTaskServiceClassic,
+      DelegateMetricsService delegateMetricsService, Clock clock) {
+    this.delegateTaskServiceClassic = delegateTaskServiceClassic;
+    this.delegateMetricsService = delegateMetricsService;
+    this.clock = clock;
+  }
+
+  public TaskPayloadStream register(String accountId, String delegateId, String delegateInstanceId,
+      StreamObserver<TaskPayloadStreamResponse> responseObserver) {
+    TaskPayloadStream stream = new TaskPayloadStream(accountId, delegateId, delegateInstanceId, responseObserver);
+    TaskPayloadStream previous = streams.put(delegateId, stream);
+    if (previous != null) {
+      log.info("Replacing the task payload stream of delegate {}", delegateId);
+      previous.close();
+    }
+    return stream;
+  }
+
+  public void unregister(TaskPayloadStream stream) {
+    streams.remove(stream.getDelegateId(), stream);
+  }
+
+  /**
+   * Pushes the payload of the task to one of the delegates it is broadcast to, returns false if it was not pushed and
+   * has to be broadcast.
+   */
+  public boolean dispatch(DelegateTask delegateTask) {
+    if (streams.isEmpty() || isEmpty(delegateTask.getBroadcastToDelegateIds())) {
+      return false;
+    }
+    for (String delegateId : delegateTask.getBroadcastToDelegateIds()) {
+      TaskPayloadStream stream = streams.get(delegateId);
+      if (stream == null || stream.closed) {
+        continue;
+      }
+      // Streams are registered for delegates of the authenticated account only, never push a task across accounts
+      if (!stream.getAccountId().equals(delegateTask.getAccountId())) {
+        log.error("Task {} of account {} is broadcast to delegate {} of account {}", delegateTask.getUuid(),
+            delegateTask.getAccountId(), delegateId, stream.getAccountId());
+        continue;
+      }
+      if (!stream.takeCredit()) {
+        continue;
+      }
+      Optional<AcquireTasksResponse> acquired = delegateTaskServiceClassic.acquireTask(
+          delegateTask.getAccountId(), delegateId, delegateTask.getUuid(), stream.getDelegateInstanceId());
+      if (acquired.isEmpty()) {
+        stream.addCredits(1);
+        continue;
+      }
+      TaskPayloadStreamResponse response = TaskPayloadStreamResponse.newBuilder()
+                                               .setTaskId(delegateTask.getUuid())
+                                               .setPayload(acquired.get())
+                                               .setCreatedAt(HTimestamps.fromMillis(delegateTask.getCreatedAt()))
+                                               .build();
+      if (stream.send(delegateTask.getUuid(), delegateTask.getCreatedAt(), response)) {
+        return true;
+      }
+      unregister(stream);
+      if (!delegateTaskServiceClassic.releaseTask(
+              delegateTask.getAccountId(), delegateId, delegateTask.getUuid(), stream.getDelegateInstanceId())) {
+        // The task is not assigned to the delegate anymore, it was aborted or expired meanwhile
+        log.warn("Task {} was acquired for delegate {} but its payload could not be pushed nor the task released",
+            delegateTask.getUuid(), delegateId);
+        return true;
+      }
+      log.warn("Task {} was released after its payload could not be pushed to delegate {}", delegateTask.getUuid(),
+          delegateId);
+    }
+    return false;
+  }
+
+  public void onAck(TaskPayloadStream stream, String taskId) {
+    Long createdAt = stream.inFlight.remove(taskId);
+    if (createdAt == null) {
+      log.warn("Delegate {} acknowledged task {} which was not pushed to it", stream.getDelegateId(), taskId);
+      return;
+    }
+    delegateMetricsService.recordDelegateTaskDuration(
+        stream.getAccountId(), DELEGATE_TASK_STREAM_TTFB, Duration.ofMillis(clock.millis() - createdAt));
+  }
+
+  @VisibleForTesting
+  int streamCount() {
+    return streams.size();
+  }
+
+  public static class TaskPayloadStream {
+    @Getter private final String accountId;
+    @Getter private final String delegateId;
+    @Getter private final String delegateInstanceId;
+    private final StreamObserver<TaskPayloadStreamResponse> responseObserver;
+    private final AtomicInteger credits = new AtomicInteger();
+    // Creation time of the pushed tasks not acknowledged yet
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    TaskPayloadStream(String accountId, String delegateId, String delegateInstanceId,
+        StreamObserver<TaskPayloadStreamResponse> responseObserver) {
+      this.accountId = accountId;
+      this.delegateId = delegateId;
+      this.delegateInstanceId = delegateInstanceId;
+      this.responseObserver = responseObserver;
+    }
+
+    public void addCredits(int granted) {
+      credits.addAndGet(granted);
+    }
+
+    private boolean takeCredit() {
+      return credits.getAndUpdate(available -> available > 0 ? available - 1 : 0) > 0;
+    }
+
+    // Stream observers are not thread safe, tasks scheduled concurrently for the same delegate are pushed one by one
+    private synchronized boolean send(String taskId, long createdAt, TaskPayloadStreamResponse response) {
+      if (closed) {
+        return false;
+      }
+      inFlight.put(taskId, createdAt);
+      try {
+        responseObserver.onNext(response);
+        return true;
+      } catch (RuntimeException ex) {
+        inFlight.remove(taskId);
+        log.warn("Unable to push task {} to delegate {}", taskId, delegateId, ex);
+        closed = true;
+        return false;
+      }
+    }
+
+    public synchronized void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        responseObserver.onCompleted();
+      } catch (RuntimeException ex) {
+        log.debug("Task payload stream of delegate {} was already closed", delegateId, ex);
+      }
+    }
+  }
+}
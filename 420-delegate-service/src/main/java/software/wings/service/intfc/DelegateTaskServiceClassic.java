@@ -53,6 +53,8 @@ public interface DelegateTaskServiceClassic extends OwnedByAccount {
   Optional<AcquireTasksResponse> acquireTask(
       String accountId, String delegateId, String taskId, String delegateInstanceId);
 
+  boolean releaseTask(String accountId, String delegateId, String taskId, String delegateInstanceId);
+
   DelegateTaskPackage reportConnectionResults(String accountId, String delegateId, String taskId,
       String delegateInstanceId, List<DelegateConnectionResult> results);
 
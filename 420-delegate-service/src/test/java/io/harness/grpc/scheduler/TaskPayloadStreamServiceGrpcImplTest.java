@@ -0,0 +1,209 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.grpc.scheduler;
+
+import static io.harness.annotations.dev.HarnessTeam.DEL;
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.DelegateTask;
+import io.harness.category.element.UnitTests;
+import io.harness.delegate.TaskPayloadStreamRequest;
+import io.harness.delegate.TaskPayloadStreamResponse;
+import io.harness.delegate.TaskPayloadStreamServiceGrpc;
+import io.harness.delegate.TaskPayloadStreamSubscribe;
+import io.harness.delegate.beans.Delegate;
+import io.harness.delegate.beans.DelegateInstanceStatus;
+import io.harness.delegate.core.beans.AcquireTasksResponse;
+import io.harness.delegate.core.beans.TaskPayload;
+import io.harness.grpc.auth.DelegateAuthServerInterceptor;
+import io.harness.metrics.intfc.DelegateMetricsService;
+import io.harness.rule.Owner;
+import io.harness.security.DelegateTokenAuthenticator;
+import io.harness.service.intfc.DelegateCache;
+import io.harness.taskclient.TaskPayloadDispatcher;
+
+import software.wings.service.intfc.DelegateTaskServiceClassic;
+
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcCleanupRule;
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@OwnedBy(DEL)
+@RunWith(MockitoJUnitRunner.class)
+public class TaskPayloadStreamServiceGrpcImplTest {
+  private static final String ACCOUNT_ID = "accountId";
+  private static final String OTHER_ACCOUNT_ID = "otherAccountId";
+  private static final String DELEGATE_ID = "delegateId";
+  private static final String TOKEN = "token";
+  private static final Metadata.Key<String> ACCOUNT_ID_METADATA_KEY =
+      Metadata.Key.of("accountId", Metadata.ASCII_STRING_MARSHALLER);
+  private static final Metadata.Key<String> TOKEN_METADATA_KEY =
+      Metadata.Key.of("token", Metadata.ASCII_STRING_MARSHALLER);
+
+  @Rule public final GrpcCleanupRule grpcCleanup = new GrpcCleanupRule();
+
+  @Mock private DelegateTokenAuthenticator tokenAuthenticator;
+  @Mock private DelegateTaskServiceClassic delegateTaskServiceClassic;
+  @Mock private DelegateMetricsService delegateMetricsService;
+  @Mock private DelegateCache delegateCache;
+
+  private TaskPayloadDispatcher dispatcher;
+  private TaskPayloadStreamServiceGrpc.TaskPayloadStreamServiceStub stub;
+
+  @Before
+  public void setUp() throws Exception {
+    dispatcher = new TaskPayloadDispatcher(delegateTaskServiceClassic, delegateMetricsService, Clock.systemUTC());
+    final var serverName = InProcessServerBuilder.generateName();
+    final Server server = InProcessServerBuilder.forName(serverName)
+                              .directExecutor()
+                              .addService(new TaskPayloadStreamServiceGrpcImpl(dispatcher, delegateCache))
+                              .intercept(new DelegateAuthServerInterceptor(tokenAuthenticator))
+                              .build()
+                              .start();
+    grpcCleanup.register(server);
+
+    final var metadata = new Metadata();
+    metadata.put(ACCOUNT_ID_METADATA_KEY, ACCOUNT_ID);
+    metadata.put(TOKEN_METADATA_KEY, TOKEN);
+    final var channel = grpcCleanup.register(InProcessChannelBuilder.forName(serverName).directExecutor().build());
+    stub = TaskPayloadStreamServiceGrpc.newStub(channel).withInterceptors(
+        MetadataUtils.newAttachHeadersInterceptor(metadata));
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testSubscribedDelegateReceivesPushedTask() throws Exception {
+    when(delegateCache.get(ACCOUNT_ID, DELEGATE_ID)).thenReturn(delegate(ACCOUNT_ID));
+    when(delegateTaskServiceClassic.acquireTask(ACCOUNT_ID, DELEGATE_ID, "taskId", "instanceId"))
+        .thenReturn(Optional.of(
+            AcquireTasksResponse.newBuilder().addTask(TaskPayload.newBuilder().setId("taskId")).build()));
+    final var responses = new RecordingObserver();
+
+    subscribe(responses, ACCOUNT_ID);
+
+    verify(tokenAuthenticator).validateDelegateToken(ACCOUNT_ID, TOKEN, null, null, null, false);
+    assertThat(dispatcher.dispatch(task(ACCOUNT_ID))).isTrue();
+    final TaskPayloadStreamResponse pushed = responses.received.poll(5, TimeUnit.SECONDS);
+    assertThat(pushed).isNotNull();
+    assertThat(pushed.getTaskId()).isEqualTo("taskId");
+    assertThat(responses.error).isNull();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testRejectsSubscriptionForOtherAccount() throws Exception {
+    final var responses = new RecordingObserver();
+
+    subscribe(responses, OTHER_ACCOUNT_ID);
+
+    assertThat(responses.awaitError().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+    verify(delegateCache, never()).get(anyString(), anyString());
+    assertThat(dispatcher.dispatch(task(OTHER_ACCOUNT_ID))).isFalse();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testRejectsSubscriptionForUnknownDelegate() throws Exception {
+    final var responses = new RecordingObserver();
+
+    subscribe(responses, ACCOUNT_ID);
+
+    assertThat(responses.awaitError().getCode()).isEqualTo(Status.Code.PERMISSION_DENIED);
+    assertThat(dispatcher.dispatch(task(ACCOUNT_ID))).isFalse();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testRejectsSubscriptionForDelegateOfOtherAccount() throws Exception {
+    when(delegateCache.get(ACCOUNT_ID, DELEGATE_ID)).thenReturn(delegate(OTHER_ACCOUNT_ID));
+    final var responses = new RecordingObserver();
+
+    subscribe(responses, ACCOUNT_ID);
+
+    assertThat(responses.awaitError().getCode()).isEqualTo(Status.Code.PERMISSION_DENIED);
+    assertThat(dispatcher.dispatch(task(ACCOUNT_ID))).isFalse();
+  }
+
+  private void subscribe(RecordingObserver responses, String accountId) {
+    final StreamObserver<TaskPayloadStreamRequest> requests = stub.streamTaskPayloads(responses);
+    requests.onNext(TaskPayloadStreamRequest.newBuilder()
+                        .setSubscribe(TaskPayloadStreamSubscribe.newBuilder()
+                                          .setAccountId(accountId)
+                                          .setDelegateId(DELEGATE_ID)
+                                          .setDelegateInstanceId("instanceId")
+                                          .setCredits(1))
+                        .build());
+  }
+
+  private static Delegate delegate(String accountId) {
+    return Delegate.builder().uuid(DELEGATE_ID).accountId(accountId).status(DelegateInstanceStatus.ENABLED).build();
+  }
+
+  private static DelegateTask task(String accountId) {
+    return DelegateTask.builder()
+        .uuid("taskId")
+        .accountId(accountId)
+        .createdAt(System.currentTimeMillis())
+        .broadcastToDelegateIds(List.of(DELEGATE_ID))
+        .build();
+  }
+
+  private static class RecordingObserver implements StreamObserver<TaskPayloadStreamResponse> {
+    private final LinkedBlockingQueue<TaskPayloadStreamResponse> received = new LinkedBlockingQueue<>();
+    private final LinkedBlockingQueue<Status> errors = new LinkedBlockingQueue<>();
+    private volatile Status error;
+
+    @Override
+    public void onNext(TaskPayloadStreamResponse response) {
+      received.add(response);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      error = Status.fromThrowable(t);
+      errors.add(error);
+    }
+
+    @Override
+    public void onCompleted() {}
+
+    Status awaitError() throws InterruptedException {
+      final Status status = errors.poll(5, TimeUnit.SECONDS);
+      assertThat(status).isNotNull();
+      return status;
+    }
+  }
+}
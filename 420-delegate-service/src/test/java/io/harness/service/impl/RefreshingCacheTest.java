@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.service.impl;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import com.google.common.cache.CacheLoader;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(HarnessTeam.DEL)
+public class RefreshingCacheTest extends CategoryTest {
+  private final Map<String, String> store = new HashMap<>();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testChangesAreServedWithoutLoading() throws Exception {
+    RefreshingCache<String, String> cache = refreshAheadCache();
+    store.put("a", "v1");
+    assertThat(cache.get("a")).isEqualTo("v1");
+
+    cache.put("a", "v2");
+    cache.updateIfPresent("a", value -> value + "-updated");
+    cache.updateIfPresent("b", value -> "never");
+
+    assertThat(cache.get("a")).isEqualTo("v2-updated");
+    assertThat(cache.getIfPresent("b")).isNull();
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testReloadAndInvalidate() throws Exception {
+    RefreshingCache<String, String> cache = refreshAheadCache();
+    store.put("a", "v1");
+    store.put("b", "v1");
+    cache.get("a");
+    cache.get("b");
+
+    store.put("a", "v2");
+    cache.reload("a");
+    assertThat(cache.getIfPresent("a")).isEqualTo("v2");
+
+    cache.invalidateIf((key, value) -> value.equals("v1"));
+    assertThat(cache.getIfPresent("a")).isEqualTo("v2");
+    assertThat(cache.getIfPresent("b")).isNull();
+
+    store.remove("a");
+    cache.reload("a");
+    assertThat(cache.getIfPresent("a")).isNull();
+    assertThatThrownBy(() -> cache.get("a")).isInstanceOf(CacheLoader.InvalidCacheLoadException.class);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testRefreshKeepsValueWhenMissing() throws Exception {
+    RefreshingCache<String, String> cache = refreshAheadCache();
+    store.put("a", "v1");
+    cache.get("a");
+
+    store.put("a", "v2");
+    cache.refresh("a");
+    assertThat(cache.getIfPresent("a")).isEqualTo("v2");
+
+    store.remove("a");
+    cache.refresh("a");
+    assertThat(cache.getIfPresent("a")).isEqualTo("v2");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testRefreshIfPresentDoesNotLoad() throws Exception {
+    RefreshingCache<String, String> cache = refreshAheadCache();
+    store.put("a", "v1");
+    store.put("b", "v1");
+    cache.get("a");
+
+    store.put("a", "v2");
+    cache.refreshIfPresent("a");
+    cache.refreshIfPresent("b");
+
+    assertThat(cache.getIfPresent("a")).isEqualTo("v2");
+    assertThat(cache.getIfPresent("b")).isNull();
+    assertThat(loads.get()).isEqualTo(2);
+
+    cache.invalidateAll();
+    assertThat(cache.getIfPresent("a")).isNull();
+  }
+
+  private RefreshingCache<String, String> refreshAheadCache() {
+    return new RefreshingCache<>("test", 100, Duration.ofMinutes(5), Duration.ofHours(1), key -> {
+      loads.incrementAndGet();
+      return store.get(key);
+    }, MoreExecutors.directExecutor(), null);
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.taskclient;
+
+import static io.harness.annotations.dev.HarnessTeam.DEL;
+import static io.harness.metrics.impl.DelegateMetricsServiceImpl.DELEGATE_TASK_STREAM_TTFB;
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.DelegateTask;
+import io.harness.category.element.UnitTests;
+import io.harness.delegate.TaskPayloadStreamResponse;
+import io.harness.delegate.core.beans.AcquireTasksResponse;
+import io.harness.delegate.core.beans.TaskPayload;
+import io.harness.metrics.intfc.DelegateMetricsService;
+import io.harness.rule.Owner;
+import io.harness.taskclient.TaskPayloadDispatcher.TaskPayloadStream;
+
+import software.wings.service.intfc.DelegateTaskServiceClassic;
+
+import io.grpc.stub.StreamObserver;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+
+@OwnedBy(DEL)
+public class TaskPayloadDispatcherTest extends CategoryTest {
+  private static final String ACCOUNT_ID = "accountId";
+  private static final long NOW = 1_000_000L;
+
+  private DelegateTaskServiceClassic delegateTaskServiceClassic;
+  private DelegateMetricsService delegateMetricsService;
+  private TaskPayloadDispatcher dispatcher;
+
+  @Before
+  public void setUp() {
+    delegateTaskServiceClassic = mock(DelegateTaskServiceClassic.class);
+    delegateMetricsService = mock(DelegateMetricsService.class);
+    dispatcher = new TaskPayloadDispatcher(
+        delegateTaskServiceClassic, delegateMetricsService, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testPushesToDelegateWithCredits() {
+    StreamObserver<TaskPayloadStreamResponse> busy = mock(StreamObserver.class);
+    StreamObserver<TaskPayloadStreamResponse> free = mock(StreamObserver.class);
+    dispatcher.register(ACCOUNT_ID, "busy", "busyInstance", busy);
+    dispatcher.register(ACCOUNT_ID, "free", "freeInstance", free).addCredits(1);
+    when(delegateTaskServiceClassic.acquireTask(ACCOUNT_ID, "free", "task1", "freeInstance"))
+        .thenReturn(Optional.of(acquired("task1")));
+
+    assertThat(dispatcher.dispatch(task("task1", "busy", "free"))).isTrue();
+
+    ArgumentCaptor<TaskPayloadStreamResponse> pushed = ArgumentCaptor.forClass(TaskPayloadStreamResponse.class);
+    verify(free).onNext(pushed.capture());
+    assertThat(pushed.getValue().getTaskId()).isEqualTo("task1");
+    assertThat(pushed.getValue().getPayload().getTask(0).getId()).isEqualTo("task1");
+    verify(busy, never()).onNext(any());
+
+    // The only credit was taken, the next task is broadcast
+    assertThat(dispatcher.dispatch(task("task2", "busy", "free"))).isFalse();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testBroadcastsWhenTaskIsNotAcquired() {
+    StreamObserver<TaskPayloadStreamResponse> observer = mock(StreamObserver.class);
+    TaskPayloadStream stream = dispatcher.register(ACCOUNT_ID, "delegate", "instance", observer);
+    stream.addCredits(1);
+    when(delegateTaskServiceClassic.acquireTask(anyString(), anyString(), anyString(), anyString()))
+        .thenReturn(Optional.empty());
+
+    assertThat(dispatcher.dispatch(task("task1", "delegate"))).isFalse();
+    verify(observer, never()).onNext(any());
+
+    // The credit is given back
+    when(delegateTaskServiceClassic.acquireTask(ACCOUNT_ID, "delegate", "task2", "instance"))
+        .thenReturn(Optional.of(acquired("task2")));
+    assertThat(dispatcher.dispatch(task("task2", "delegate"))).isTrue();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testReleasesTaskWhenPushFails() {
+    StreamObserver<TaskPayloadStreamResponse> broken = mock(StreamObserver.class);
+    StreamObserver<TaskPayloadStreamResponse> free = mock(StreamObserver.class);
+    dispatcher.register(ACCOUNT_ID, "broken", "brokenInstance", broken).addCredits(1);
+    dispatcher.register(ACCOUNT_ID, "free", "freeInstance", free).addCredits(1);
+    doThrow(new IllegalStateException("call already closed")).when(broken).onNext(any());
+    when(delegateTaskServiceClassic.acquireTask(eq(ACCOUNT_ID), anyString(), eq("task1"), anyString()))
+        .thenReturn(Optional.of(acquired("task1")));
+    when(delegateTaskServiceClassic.releaseTask(ACCOUNT_ID, "broken", "task1", "brokenInstance")).thenReturn(true);
+
+    assertThat(dispatcher.dispatch(task("task1", "broken", "free"))).isTrue();
+
+    verify(delegateTaskServiceClassic).releaseTask(ACCOUNT_ID, "broken", "task1", "brokenInstance");
+    verify(free).onNext(any());
+    assertThat(dispatcher.streamCount()).isEqualTo(1);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testBroadcastsReleasedTaskWhenNoOtherDelegateHasCredits() {
+    StreamObserver<TaskPayloadStreamResponse> broken = mock(StreamObserver.class);
+    dispatcher.register(ACCOUNT_ID, "broken", "brokenInstance", broken).addCredits(1);
+    doThrow(new IllegalStateException("call already closed")).when(broken).onNext(any());
+    when(delegateTaskServiceClassic.acquireTask(ACCOUNT_ID, "broken", "task1", "brokenInstance"))
+        .thenReturn(Optional.of(acquired("task1")));
+    when(delegateTaskServiceClassic.releaseTask(ACCOUNT_ID, "broken", "task1", "brokenInstance")).thenReturn(true);
+
+    assertThat(dispatcher.dispatch(task("task1", "broken"))).isFalse();
+    assertThat(dispatcher.streamCount()).isZero();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testDoesNotPushToDelegateOfOtherAccount() {
+    StreamObserver<TaskPayloadStreamResponse> observer = mock(StreamObserver.class);
+    dispatcher.register("otherAccountId", "delegate", "instance", observer).addCredits(1);
+
+    assertThat(dispatcher.dispatch(task("task1", "delegate"))).isFalse();
+
+    verify(delegateTaskServiceClassic, never()).acquireTask(anyString(), anyString(), anyString(), anyString());
+    verify(observer, never()).onNext(any());
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testAckRecordsTimeToFirstByte() {
+    TaskPayloadStream stream = dispatcher.register(ACCOUNT_ID, "delegate", "instance", mock(StreamObserver.class));
+    stream.addCredits(1);
+    when(delegateTaskServiceClassic.acquireTask(ACCOUNT_ID, "delegate", "task1", "instance"))
+        .thenReturn(Optional.of(acquired("task1")));
+    dispatcher.dispatch(task("task1", "delegate"));
+
+    dispatcher.onAck(stream, "task1");
+    dispatcher.onAck(stream, "task1");
+
+    verify(delegateMetricsService, times(1))
+        .recordDelegateTaskDuration(ACCOUNT_ID, DELEGATE_TASK_STREAM_TTFB, Duration.ofMillis(250));
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testNewStreamReplacesPrevious() {
+    StreamObserver<TaskPayloadStreamResponse> previous = mock(StreamObserver.class);
+    TaskPayloadStream previousStream = dispatcher.register(ACCOUNT_ID, "delegate", "instance1", previous);
+    TaskPayloadStream stream = dispatcher.register(ACCOUNT_ID, "delegate", "instance2", mock(StreamObserver.class));
+    verify(previous).onCompleted();
+
+    dispatcher.unregister(previousStream);
+    assertThat(dispatcher.streamCount()).isEqualTo(1);
+    dispatcher.unregister(stream);
+    assertThat(dispatcher.streamCount()).isZero();
+    verify(delegateTaskServiceClassic, never()).acquireTask(anyString(), eq("delegate"), anyString(), anyString());
+  }
+
+  private static DelegateTask task(String taskId, String... delegateIds) {
+    return DelegateTask.builder()
+        .uuid(taskId)
+        .accountId(ACCOUNT_ID)
+        .createdAt(NOW - 250)
+        .broadcastToDelegateIds(List.of(delegateIds))
+        .build();
+  }
+
+  private static AcquireTasksResponse acquired(String taskId) {
+    return AcquireTasksResponse.newBuilder().addTask(TaskPayload.newBuilder().setId(taskId)).build();
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.ccm.commons.entities.batch;
+
+import static io.harness.annotations.dev.HarnessTeam.CE;
+
+import io.harness.annotations.StoreIn;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.mongo.index.CompoundMongoIndex;
+import io.harness.mongo.index.FdTtlIndex;
+import io.harness.mongo.index.MongoIndex;
+import io.harness.ng.DbAliases;
+import io.harness.persistence.AccountAccess;
+import io.harness.persistence.CreatedAtAware;
+import io.harness.persistence.PersistentEntity;
+import io.harness.persistence.UuidAware;
+import io.harness.persistence.ValidUntilAccess;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.reinert.jjschema.SchemaIgnore;
+import com.google.common.collect.ImmutableList;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.FieldNameConstants;
+
+/**
+ * Cluster whose instances have been billed by a partitioned run of a billing job for the interval starting at
+ * startTime, so that a rerun of the interval after a failure skips it.
+ */
+@Data
+@Builder
+@StoreIn(DbAliases.CENG)
+@Entity(value = "completedBillingPartition", noClassnameStored = true)
+@FieldNameConstants(innerTypeName = "CompletedBillingPartitionKeys")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@OwnedBy(CE)
+public final class CompletedBillingPartition
+    implements PersistentEntity, UuidAware, CreatedAtAware, AccountAccess, ValidUntilAccess {
+  public static List<MongoIndex> mongoIndexes() {
+    return ImmutableList.<MongoIndex>builder()
+        .add(CompoundMongoIndex.builder()
+                 .name("accountId_batchJobType_startTime_clusterId")
+                 .unique(true)
+                 .field(CompletedBillingPartitionKeys.accountId)
+                 .field(CompletedBillingPartitionKeys.batchJobType)
+                 .field(CompletedBillingPartitionKeys.startTime)
+                 .field(CompletedBillingPartitionKeys.clusterId)
+                 .build())
+        .build();
+  }
+
+  @Id String uuid;
+  String accountId;
+  String batchJobType;
+  long startTime;
+  String clusterId;
+  long instanceCount;
+  long durationMillis;
+  long createdAt;
+
+  @JsonIgnore
+  @FdTtlIndex
+  @SchemaIgnore
+  @Builder.Default
+  @EqualsAndHashCode.Exclude
+  private Date validUntil = Date.from(OffsetDateTime.now().plusDays(7).toInstant());
+}
@@ -18,6 +18,7 @@ import io.harness.ccm.commons.entities.batch.BatchJobInterval;
 import io.harness.ccm.commons.entities.batch.BatchJobScheduledData;
 import io.harness.ccm.commons.entities.batch.CEDataCleanupRequest;
 import io.harness.ccm.commons.entities.batch.CEMetadataRecord;
+import io.harness.ccm.commons.entities.batch.CompletedBillingPartition;
 import io.harness.ccm.commons.entities.batch.DataGeneratedNotification;
 import io.harness.ccm.commons.entities.batch.InstanceData;
 import io.harness.ccm.commons.entities.batch.LastReceivedPublishedMessage;
@@ -56,6 +57,7 @@ public class CECommonsMorphiaRegistrar implements MorphiaRegistrar {
     set.add(BatchJobScheduledData.class);
     set.add(CEDataCleanupRequest.class);
     set.add(CEMetadataRecord.class);
+    set.add(CompletedBillingPartition.class);
     set.add(DataGeneratedNotification.class);
     set.add(InstanceData.class);
     set.add(LastReceivedPublishedMessage.class);
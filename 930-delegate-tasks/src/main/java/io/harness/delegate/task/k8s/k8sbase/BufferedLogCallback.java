@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.delegate.task.k8s.k8sbase;
+
+import io.harness.logging.CommandExecutionStatus;
+import io.harness.logging.LogCallback;
+import io.harness.logging.LogLevel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the logs of a command running in parallel with others, so they can be written to the execution log as one
+ * block instead of interleaved with the logs of the other commands.
+ */
+class BufferedLogCallback implements LogCallback {
+  private final List<Consumer<LogCallback>> logs = new ArrayList<>();
+
+  @Override
+  public synchronized void saveExecutionLog(String line) {
+    logs.add(logCallback -> logCallback.saveExecutionLog(line));
+  }
+
+  @Override
+  public synchronized void saveExecutionLog(String line, LogLevel logLevel) {
+    logs.add(logCallback -> logCallback.saveExecutionLog(line, logLevel));
+  }
+
+  @Override
+  public synchronized void saveExecutionLog(String line, LogLevel logLevel, boolean skipColoringLog) {
+    logs.add(logCallback -> logCallback.saveExecutionLog(line, logLevel, skipColoringLog));
+  }
+
+  @Override
+  public synchronized void saveExecutionLog(
+      String line, LogLevel logLevel, CommandExecutionStatus commandExecutionStatus) {
+    logs.add(logCallback -> logCallback.saveExecutionLog(line, logLevel, commandExecutionStatus));
+  }
+
+  synchronized void flushTo(LogCallback logCallback) {
+    logs.forEach(log -> log.accept(logCallback));
+    logs.clear();
+  }
+}
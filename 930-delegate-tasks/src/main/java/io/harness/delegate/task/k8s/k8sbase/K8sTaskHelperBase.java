@@ -202,11 +202,13 @@ import software.wings.beans.command.ExecutionLogCallback;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.TimeLimiter;
 import com.google.common.util.concurrent.UncheckedTimeoutException;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import io.github.resilience4j.retry.Retry;
 import io.kubernetes.client.openapi.ApiException;
 import io.kubernetes.client.openapi.models.V1ConfigMap;
@@ -225,6 +227,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
@@ -234,6 +237,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -242,7 +246,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -303,6 +311,10 @@ public class K8sTaskHelperBase {
   @Inject private K8sReleaseHandlerFactory releaseHandlerFactory;
   @Inject private K8sTaskManifestValidator k8sTaskManifestValidator;
   @Inject private ScmConnectorMapperDelegate scmConnectorMapperDelegate;
+  @Inject(optional = true) @Named("k8sApplyExecutor") private ExecutorService k8sApplyExecutor;
+
+  // Manifests with more resources than this are applied in parallel kubectl calls of at most this many resources
+  private final int applyBatchSize = getApplyBatchSize();
 
   private DelegateExpressionEvaluator delegateExpressionEvaluator = new DelegateExpressionEvaluator();
 
@@ -801,10 +813,13 @@ public class K8sTaskHelperBase {
   public boolean applyManifests(Kubectl client, List<KubernetesResource> resources,
       K8sDelegateTaskParams k8sDelegateTaskParams, LogCallback executionLogCallback, boolean denoteOverallSuccess,
       boolean isErrorFrameworkEnabled, String commandFlags) throws Exception {
-    FileIo.writeUtf8StringToFile(
-        k8sDelegateTaskParams.getWorkingDirectory() + "/manifests.yaml", ManifestHelper.toYaml(resources));
-
     Kubectl overriddenClient = getOverriddenClient(client, resources, k8sDelegateTaskParams);
+    if (applyBatchSize > 0 && resources.size() > applyBatchSize && k8sApplyExecutor != null) {
+      return applyManifestsInBatches(overriddenClient, resources, k8sDelegateTaskParams, executionLogCallback,
+          denoteOverallSuccess, isErrorFrameworkEnabled, commandFlags);
+    }
+
+    writeManifestsFile(k8sDelegateTaskParams.getWorkingDirectory(), "manifests.yaml", resources);
 
     // We want to set `kubernetes.io/change-cause` annotation only if no any custom value already defined
     boolean recordCommand =
@@ -834,10 +849,108 @@ public class K8sTaskHelperBase {
     return true;
   }
 
+  /**
+   * Applies the resources kind by kind in the order of {@link KubernetesResourceComparer}, like a single apply does.
+   * Only resources of the same kind are applied in parallel batches. Kinds the comparer does not know, e.g. custom
+   * resources which may depend on each other, are applied one after another in alphabetical order as well.
+   */
+  private boolean applyManifestsInBatches(Kubectl client, List<KubernetesResource> resources,
+      K8sDelegateTaskParams k8sDelegateTaskParams, LogCallback executionLogCallback, boolean denoteOverallSuccess,
+      boolean isErrorFrameworkEnabled, String commandFlags) throws Exception {
+    boolean recordCommand =
+        resources.stream()
+            .map(resource -> resource.getMetadataAnnotationValue(KUBERNETES_CHANGE_CAUSE_ANNOTATION))
+            .noneMatch(Objects::nonNull);
+    Comparator<String> kindComparator = Comparator.<String>comparingInt(KubernetesResourceComparer::kindOrder)
+                                            .thenComparing(String.CASE_INSENSITIVE_ORDER);
+    Map<String, List<KubernetesResource>> resourcesByKind = resources.stream().collect(Collectors.groupingBy(
+        resource -> resource.getResourceId().getKind(), () -> new TreeMap<>(kindComparator), toList()));
+    log.info("Applying {} resources in batches of {}", resources.size(), applyBatchSize);
+    // Steps following the apply, e.g. describe, read the combined manifests file
+    writeManifestsFile(k8sDelegateTaskParams.getWorkingDirectory(), "manifests.yaml", resources);
+
+    int batchIndex = 0;
+    for (List<KubernetesResource> kindResources : resourcesByKind.values()) {
+      List<Future<ProcessResponse>> applies = new ArrayList<>();
+      List<BufferedLogCallback> batchLogCallbacks = new ArrayList<>();
+      for (List<KubernetesResource> batch : Lists.partition(kindResources, applyBatchSize)) {
+        String manifestsFile = format("manifests-%d.yaml", batchIndex++);
+        writeManifestsFile(k8sDelegateTaskParams.getWorkingDirectory(), manifestsFile, batch);
+        final ApplyCommand applyCommand =
+            client.apply().filename(manifestsFile).record(recordCommand).commandFlags(commandFlags);
+        final BufferedLogCallback batchLogCallback = new BufferedLogCallback();
+        batchLogCallbacks.add(batchLogCallback);
+        applies.add(
+            k8sApplyExecutor.submit(() -> runK8sExecutable(k8sDelegateTaskParams, batchLogCallback, applyCommand)));
+      }
+
+      ProcessResponse failedResponse = null;
+      try {
+        for (Future<ProcessResponse> apply : applies) {
+          ProcessResponse response = getApplyResponse(apply);
+          if (failedResponse == null && response.getProcessResult().getExitValue() != 0) {
+            failedResponse = response;
+          }
+        }
+      } finally {
+        // The output of each batch is logged as one block, in the order of the batches
+        batchLogCallbacks.forEach(batchLogCallback -> batchLogCallback.flushTo(executionLogCallback));
+      }
+      if (failedResponse != null) {
+        ProcessResult result = failedResponse.getProcessResult();
+        log.error(format("\nFailed. Process terminated with exit value: [%s] and output: [%s]", result.getExitValue(),
+            result.outputUTF8()));
+        if (isErrorFrameworkEnabled) {
+          throw new KubernetesCliTaskRuntimeException(failedResponse, KubernetesCliCommandType.APPLY);
+        }
+
+        logExecutableFailed(result, executionLogCallback);
+        return false;
+      }
+    }
+
+    if (denoteOverallSuccess) {
+      executionLogCallback.saveExecutionLog("\nDone.", INFO, SUCCESS);
+    }
+
+    return true;
+  }
+
+  private static ProcessResponse getApplyResponse(Future<ProcessResponse> apply) throws Exception {
+    try {
+      return apply.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw(Exception) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static int getApplyBatchSize() {
+    String batchSize = System.getenv("K8S_APPLY_BATCH_SIZE");
+    if (isEmpty(batchSize)) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(batchSize);
+    } catch (NumberFormatException e) {
+      log.warn("Invalid K8S_APPLY_BATCH_SIZE {}, resources are applied at once", batchSize);
+      return 0;
+    }
+  }
+
+  // Streams the specs to the file, a large manifest is not built as a single string first
+  private static void writeManifestsFile(String directory, String fileName, List<KubernetesResource> resources)
+      throws IOException {
+    try (Writer writer = Files.newBufferedWriter(Paths.get(directory, fileName), UTF_8)) {
+      ManifestHelper.writeYaml(resources, writer);
+    }
+  }
+
   public void deleteManifests(Kubectl client, List<KubernetesResource> resources,
       K8sDelegateTaskParams k8sDelegateTaskParams, LogCallback executionLogCallback) throws Exception {
-    FileIo.writeUtf8StringToFile(
-        k8sDelegateTaskParams.getWorkingDirectory() + "/manifests.yaml", ManifestHelper.toYaml(resources));
+    writeManifestsFile(k8sDelegateTaskParams.getWorkingDirectory(), "manifests.yaml", resources);
 
     Kubectl overriddenClient = getOverriddenClient(client, resources, k8sDelegateTaskParams);
 
@@ -1128,8 +1241,7 @@ public class K8sTaskHelperBase {
     try {
       executionLogCallback.saveExecutionLog(color("\nValidating manifests with Dry Run", White, Bold), INFO);
 
-      FileIo.writeUtf8StringToFile(
-          k8sDelegateTaskParams.getWorkingDirectory() + "/manifests-dry-run.yaml", ManifestHelper.toYaml(resources));
+      writeManifestsFile(k8sDelegateTaskParams.getWorkingDirectory(), "manifests-dry-run.yaml", resources);
 
       Kubectl overriddenClient = getOverriddenClient(client, resources, k8sDelegateTaskParams);
 
@@ -2866,14 +2978,15 @@ public class K8sTaskHelperBase {
             new HelmClientException(getErrorMessageIfProcessFailed("Failed to render template. ", processResult), USER,
                 HelmCliCommandType.RENDER_CHART));
       }
+      // Decode the rendered chart once, it can be large
+      String renderedManifest = processResult.outputUTF8();
       int index = (helmCommandFlag == null)
           ? -1
-          : helmTaskHelperBase.checkForDependencyUpdateFlag(helmCommandFlag.getValueMap(), processResult.outputUTF8());
-      result.add(
-          FileData.builder()
-              .fileName("manifest.yaml")
-              .fileContent(index == -1 ? processResult.outputUTF8() : processResult.outputUTF8().substring(index))
-              .build());
+          : helmTaskHelperBase.checkForDependencyUpdateFlag(helmCommandFlag.getValueMap(), renderedManifest);
+      result.add(FileData.builder()
+                     .fileName("manifest.yaml")
+                     .fileContent(index == -1 ? renderedManifest : renderedManifest.substring(index))
+                     .build());
     }
 
     return result;
@@ -2950,14 +3063,14 @@ public class K8sTaskHelperBase {
                     USER, HelmCliCommandType.RENDER_CHART));
           }
 
-          int index = (helmCommandFlag == null) ? -1
-                                                : helmTaskHelperBase.checkForDependencyUpdateFlag(
-                                                    helmCommandFlag.getValueMap(), processResult.outputUTF8());
-          result.add(
-              FileData.builder()
-                  .fileName(chartFile)
-                  .fileContent(index == -1 ? processResult.outputUTF8() : processResult.outputUTF8().substring(index))
-                  .build());
+          String renderedManifest = processResult.outputUTF8();
+          int index = (helmCommandFlag == null)
+              ? -1
+              : helmTaskHelperBase.checkForDependencyUpdateFlag(helmCommandFlag.getValueMap(), renderedManifest);
+          result.add(FileData.builder()
+                         .fileName(chartFile)
+                         .fileContent(index == -1 ? renderedManifest : renderedManifest.substring(index))
+                         .build());
         }
       } else {
         executionLogCallback.saveExecutionLog(
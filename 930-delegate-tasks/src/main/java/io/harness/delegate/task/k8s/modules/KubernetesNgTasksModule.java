@@ -54,6 +54,7 @@ import io.harness.git.GitClientV2;
 import io.harness.git.GitClientV2Impl;
 import io.harness.helm.HelmCliExecutorFactory;
 import io.harness.impl.scm.ScmServiceClientImpl;
+import io.harness.k8s.K8sApplyExecutorFactory;
 import io.harness.k8s.KubernetesContainerService;
 import io.harness.k8s.KubernetesContainerServiceImpl;
 import io.harness.k8s.config.K8sGlobalConfigService;
@@ -104,6 +105,13 @@ public class KubernetesNgTasksModule extends AbstractModule {
         new ThreadFactoryBuilder().setNameFormat("k8sSteadyState-%d").setPriority(Thread.MAX_PRIORITY).build());
   }
 
+  @Provides
+  @Singleton
+  @Named("k8sApplyExecutor")
+  public ExecutorService k8sApplyExecutor() {
+    return K8sApplyExecutorFactory.create();
+  }
+
   @Provides
   @Singleton
   @Named("helmCliExecutor")
@@ -45,6 +45,7 @@ import static io.harness.rule.OwnerRule.ACASIAN;
 import static io.harness.rule.OwnerRule.ACHYUTH;
 import static io.harness.rule.OwnerRule.ADWAIT;
 import static io.harness.rule.OwnerRule.ANSHUL;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.ARVIND;
 import static io.harness.rule.OwnerRule.BOGDAN;
 import static io.harness.rule.OwnerRule.BUHA;
@@ -86,8 +87,10 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -254,6 +257,8 @@ import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeoutException;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -263,6 +268,7 @@ import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.apache.commons.lang3.reflect.FieldUtils;
 import org.jetbrains.annotations.NotNull;
 import org.json.JSONArray;
 import org.junit.Before;
@@ -271,6 +277,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -843,6 +850,141 @@ public class K8sTaskHelperBaseTest extends CategoryTest {
         }, "expected exception message");
   }
 
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testApplyManifestsInBatches() throws Exception {
+    String workingDirectory = Files.createTempDirectory("testApplyManifestsInBatches").toString();
+    ExecutorService k8sApplyExecutor = Executors.newFixedThreadPool(2);
+    try {
+      enableBatchedApply(k8sApplyExecutor);
+      doAnswer(invocation -> {
+        ApplyCommand applyCommand = invocation.getArgument(2);
+        invocation.getArgument(1, LogCallback.class).saveExecutionLog(applyCommand.command());
+        return ProcessResponse.builder().processResult(new ProcessResult(0, new ProcessOutput("".getBytes()))).build();
+      })
+          .when(spyK8sTaskHelperBase)
+          .runK8sExecutable(any(), any(), any(AbstractExecutable.class));
+      K8sDelegateTaskParams k8sDelegateTaskParams =
+          K8sDelegateTaskParams.builder().workingDirectory(workingDirectory).build();
+      List<KubernetesResource> resources = processYaml(batchedResourcesYaml());
+
+      assertThat(spyK8sTaskHelperBase.applyManifests(Kubectl.client("kubectl", "config-path"), resources,
+                     k8sDelegateTaskParams, executionLogCallback, true, null))
+          .isTrue();
+
+      // The combined manifests are still written for the steps following the apply
+      assertThat(readManifests(workingDirectory, "manifests.yaml"))
+          .extracting(KubernetesResource::getResourceId)
+          .containsExactlyElementsOf(
+              resources.stream().map(KubernetesResource::getResourceId).collect(Collectors.toList()));
+      assertThat(readManifests(workingDirectory, "manifests-2.yaml"))
+          .extracting(resource -> resource.getResourceId().getKind())
+          .containsExactly("Deployment");
+      // The output of the parallel config map batches is logged in the order of the batches
+      InOrder inOrder = inOrder(executionLogCallback);
+      inOrder.verify(executionLogCallback)
+          .saveExecutionLog("kubectl --kubeconfig=config-path apply --filename=manifests-0.yaml --record");
+      inOrder.verify(executionLogCallback)
+          .saveExecutionLog("kubectl --kubeconfig=config-path apply --filename=manifests-1.yaml --record");
+      inOrder.verify(executionLogCallback)
+          .saveExecutionLog("kubectl --kubeconfig=config-path apply --filename=manifests-2.yaml --record");
+      inOrder.verify(executionLogCallback).saveExecutionLog("\nDone.", INFO, CommandExecutionStatus.SUCCESS);
+    } finally {
+      k8sApplyExecutor.shutdownNow();
+      FileUtils.deleteQuietly(new File(workingDirectory));
+    }
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testApplyManifestsInBatchesStopsAfterFailedKind() throws Exception {
+    String workingDirectory = Files.createTempDirectory("testApplyManifestsInBatches").toString();
+    ExecutorService k8sApplyExecutor = Executors.newFixedThreadPool(2);
+    try {
+      enableBatchedApply(k8sApplyExecutor);
+      doAnswer(invocation -> {
+        ApplyCommand applyCommand = invocation.getArgument(2);
+        int exitValue = applyCommand.command().contains("manifests-1.yaml") ? 1 : 0;
+        return ProcessResponse.builder()
+            .processResult(new ProcessResult(exitValue, new ProcessOutput("output".getBytes())))
+            .build();
+      })
+          .when(spyK8sTaskHelperBase)
+          .runK8sExecutable(any(), any(), any(AbstractExecutable.class));
+      K8sDelegateTaskParams k8sDelegateTaskParams =
+          K8sDelegateTaskParams.builder().workingDirectory(workingDirectory).build();
+
+      assertThat(spyK8sTaskHelperBase.applyManifests(Kubectl.client("kubectl", "config-path"),
+                     processYaml(batchedResourcesYaml()), k8sDelegateTaskParams, executionLogCallback, true, null))
+          .isFalse();
+
+      // The deployment depends on the config maps and is not applied
+      ArgumentCaptor<ApplyCommand> captor = ArgumentCaptor.forClass(ApplyCommand.class);
+      verify(spyK8sTaskHelperBase, times(2)).runK8sExecutable(any(), any(), captor.capture());
+      assertThat(captor.getAllValues())
+          .extracting(ApplyCommand::command)
+          .noneMatch(command -> command.contains("manifests-2.yaml"));
+      verify(executionLogCallback, never()).saveExecutionLog("\nDone.", INFO, CommandExecutionStatus.SUCCESS);
+    } finally {
+      k8sApplyExecutor.shutdownNow();
+      FileUtils.deleteQuietly(new File(workingDirectory));
+    }
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testApplyManifestsInBatchesAppliesUnknownKindsOneAfterAnother() throws Exception {
+    String workingDirectory = Files.createTempDirectory("testApplyManifestsInBatches").toString();
+    ExecutorService k8sApplyExecutor = Executors.newFixedThreadPool(2);
+    try {
+      enableBatchedApply(k8sApplyExecutor);
+      doReturn(ProcessResponse.builder().processResult(new ProcessResult(0, new ProcessOutput("".getBytes()))).build())
+          .when(spyK8sTaskHelperBase)
+          .runK8sExecutable(any(), any(), any(AbstractExecutable.class));
+      K8sDelegateTaskParams k8sDelegateTaskParams =
+          K8sDelegateTaskParams.builder().workingDirectory(workingDirectory).build();
+      String yaml = "---\napiVersion: cert-manager.io/v1\nkind: Issuer\nmetadata:\n  name: issuer\n"
+          + "---\napiVersion: cert-manager.io/v1\nkind: Certificate\nmetadata:\n  name: certificate\n"
+          + "---\napiVersion: cert-manager.io/v1\nkind: Certificate\nmetadata:\n  name: other-certificate\n";
+
+      assertThat(spyK8sTaskHelperBase.applyManifests(Kubectl.client("kubectl", "config-path"), processYaml(yaml),
+                     k8sDelegateTaskParams, executionLogCallback, true, null))
+          .isTrue();
+
+      // Custom resources of different kinds are not applied by the same parallel batches
+      assertThat(readManifests(workingDirectory, "manifests-0.yaml"))
+          .extracting(resource -> resource.getResourceId().getKind())
+          .containsOnly("Certificate");
+      assertThat(readManifests(workingDirectory, "manifests-1.yaml"))
+          .extracting(resource -> resource.getResourceId().getKind())
+          .containsExactly("Issuer");
+    } finally {
+      k8sApplyExecutor.shutdownNow();
+      FileUtils.deleteQuietly(new File(workingDirectory));
+    }
+  }
+
+  private void enableBatchedApply(ExecutorService k8sApplyExecutor) throws IllegalAccessException {
+    FieldUtils.writeField(spyK8sTaskHelperBase, "k8sApplyExecutor", k8sApplyExecutor, true);
+    FieldUtils.writeField(spyK8sTaskHelperBase, "applyBatchSize", 2, true);
+  }
+
+  private static List<KubernetesResource> readManifests(String directory, String fileName) throws IOException {
+    return processYaml(FileUtils.readFileToString(new File(directory, fileName), StandardCharsets.UTF_8));
+  }
+
+  private static String batchedResourcesYaml() {
+    StringBuilder yaml = new StringBuilder();
+    for (int i = 0; i < 3; i++) {
+      yaml.append("---\napiVersion: v1\nkind: ConfigMap\nmetadata:\n  name: config-").append(i).append('\n');
+    }
+    yaml.append("---\napiVersion: apps/v1\nkind: Deployment\nmetadata:\n  name: deployment\n");
+    return yaml.toString();
+  }
+
   @Test
   @Owner(developers = SAHIL)
   @Category(UnitTests.class)
@@ -11,8 +11,6 @@ import static io.harness.data.structure.EmptyPredicate.isEmpty;
 import static io.harness.expression.SecretString.SECRET_MASK;
 import static io.harness.windows.CmdUtils.WIN_RM_MARKER;
 
-import static org.apache.commons.lang3.StringUtils.replaceEach;
-
 import io.harness.annotations.dev.CodePulse;
 import io.harness.annotations.dev.HarnessModuleComponent;
 import io.harness.annotations.dev.ProductModule;
@@ -23,17 +21,24 @@ import io.harness.windows.CmdUtils;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.Builder;
 
 @CodePulse(
     module = ProductModule.CDS, unitCoverageRequired = true, components = {HarnessModuleComponent.CDS_COMMON_STEPS})
-@Builder
 public class LogStreamingSanitizer {
   private final Set<String> secrets;
+  // Compiled once per task, each line is then masked in a single pass
+  private final SecretMaskMatcher secretMatcher;
+  // Also covers the WinRM escaped variants, compiled on the first WinRM line
+  private volatile SecretMaskMatcher winRmSecretMatcher;
+
+  @Builder
   public LogStreamingSanitizer(Set<String> secrets) {
     this.secrets = calculateSecretLines(secrets);
+    this.secretMatcher = compileMatcher(this.secrets, false);
   }
 
   public void sanitizeLogMessage(LogLine logLine) {
@@ -49,21 +54,7 @@ public class LogStreamingSanitizer {
 
     if (!isEmpty(secrets)) {
       boolean isWinRm = markers != null && markers.contains(WIN_RM_MARKER);
-      Set<String> allSecrets = isWinRm ? new HashSet<>(secrets) : secrets;
-      if (isWinRm) {
-        secrets.stream().map(CmdUtils::escapeEnvValueSpecialChars).collect(Collectors.toCollection(() -> allSecrets));
-      }
-
-      ArrayList<String> secretMasks = new ArrayList<>();
-      ArrayList<String> secretValues = new ArrayList<>();
-      for (String secret : allSecrets) {
-        secretMasks.add(SECRET_MASK);
-        secretValues.add(secret);
-
-        addSecretMasksWithQuotesRemoved(secret, secretMasks, secretValues);
-      }
-      sanitizedLogMessage = replaceEach(
-          logLine.getMessage(), secretValues.toArray(new String[] {}), secretMasks.toArray(new String[] {}));
+      sanitizedLogMessage = (isWinRm ? obtainWinRmSecretMatcher() : secretMatcher).mask(sanitizedLogMessage);
     }
 
     // JWT mask
@@ -71,6 +62,23 @@ public class LogStreamingSanitizer {
     logLine.setMessage(sanitizedLogMessage);
   }
 
+  public void sanitizeLogMessages(List<LogLine> logLines, Set<String> markers) {
+    for (LogLine logLine : logLines) {
+      sanitizeLogMessage(logLine, markers);
+    }
+  }
+
+  private SecretMaskMatcher obtainWinRmSecretMatcher() {
+    if (winRmSecretMatcher == null) {
+      synchronized (this) {
+        if (winRmSecretMatcher == null) {
+          winRmSecretMatcher = compileMatcher(secrets, true);
+        }
+      }
+    }
+    return winRmSecretMatcher;
+  }
+
   private static Set<String> calculateSecretLines(Set<String> secrets) {
     if (isEmpty(secrets)) {
       return new HashSet<>();
@@ -83,16 +91,29 @@ public class LogStreamingSanitizer {
         .collect(Collectors.toSet());
   }
 
-  private void addSecretMasksWithQuotesRemoved(
-      String secret, ArrayList<String> secretMasks, ArrayList<String> secretValues) {
+  // Patterns are listed in the order the per line replaceEach used to receive them, as it prefers earlier patterns
+  // when two matches start at the same position
+  private static SecretMaskMatcher compileMatcher(Set<String> secrets, boolean isWinRm) {
+    Set<String> allSecrets = isWinRm ? new HashSet<>(secrets) : secrets;
+    if (isWinRm) {
+      secrets.stream().map(CmdUtils::escapeEnvValueSpecialChars).collect(Collectors.toCollection(() -> allSecrets));
+    }
+
+    List<String> secretValues = new ArrayList<>();
+    for (String secret : allSecrets) {
+      secretValues.add(secret);
+      addSecretsWithQuotesRemoved(secret, secretValues);
+    }
+    return new SecretMaskMatcher(secretValues, SECRET_MASK);
+  }
+
+  private static void addSecretsWithQuotesRemoved(String secret, List<String> secretValues) {
     String secretWithDoubleQuoteRemoved = secret.replaceAll("\"", "");
     if (!secretWithDoubleQuoteRemoved.equals(secret)) {
-      secretMasks.add(SECRET_MASK);
       secretValues.add(secretWithDoubleQuoteRemoved);
     }
     String secretWithSingleQuoteRemoved = secret.replaceAll("\'", "");
     if (!secretWithSingleQuoteRemoved.equals(secret)) {
-      secretMasks.add(SECRET_MASK);
       secretValues.add(secretWithSingleQuoteRemoved);
     }
   }
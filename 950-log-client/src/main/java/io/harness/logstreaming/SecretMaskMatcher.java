@@ -0,0 +1,163 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.logstreaming;
+
+import static io.harness.data.structure.EmptyPredicate.isEmpty;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Immutable Aho-Corasick matcher replacing every occurrence of a set of patterns with a mask in a single pass.
+ *
+ * <p>Produces the same output as {@code StringUtils.replaceEach(text, patterns, masks)}: the match starting first is
+ * replaced, ties go to the pattern listed first, and the search resumes right after the replaced text.
+ */
+final class SecretMaskMatcher {
+  private static final int[] NO_OUTPUTS = new int[0];
+
+  private final String mask;
+  private final int[] patternLengths;
+  private final int maxPatternLength;
+  private final Node root = new Node();
+
+  SecretMaskMatcher(List<String> patterns, String mask) {
+    this.mask = mask;
+    this.patternLengths = new int[patterns.size()];
+    int maxLength = 0;
+    for (int i = 0; i < patterns.size(); i++) {
+      String pattern = patterns.get(i);
+      // replaceEach ignores empty search strings
+      if (isEmpty(pattern)) {
+        continue;
+      }
+      patternLengths[i] = pattern.length();
+      maxLength = Math.max(maxLength, pattern.length());
+      Node node = root;
+      for (int c = 0; c < pattern.length(); c++) {
+        node = node.next.computeIfAbsent(pattern.charAt(c), ignored -> new Node());
+      }
+      node.own = appendOutput(node.own, i);
+    }
+    this.maxPatternLength = maxLength;
+    buildFailureLinks();
+  }
+
+  boolean hasPatterns() {
+    return maxPatternLength > 0;
+  }
+
+  String mask(String text) {
+    if (!hasPatterns() || isEmpty(text)) {
+      return text;
+    }
+    StringBuilder masked = null;
+    int copied = 0;
+    int bestStart = -1;
+    int bestPattern = -1;
+    Node node = root;
+    int i = 0;
+    while (i < text.length() || bestStart >= 0) {
+      // Any match starting at or before bestStart has been seen once we are maxPatternLength past it
+      if (bestStart >= 0 && (i >= text.length() || i >= bestStart + maxPatternLength)) {
+        if (masked == null) {
+          masked = new StringBuilder(text.length());
+        }
+        masked.append(text, copied, bestStart).append(mask);
+        copied = bestStart + patternLengths[bestPattern];
+        i = copied;
+        node = root;
+        bestStart = -1;
+        bestPattern = -1;
+        continue;
+      }
+
+      node = step(node, text.charAt(i));
+      for (int pattern : node.outputs) {
+        int start = i - patternLengths[pattern] + 1;
+        if (bestStart < 0 || start < bestStart || (start == bestStart && pattern < bestPattern)) {
+          bestStart = start;
+          bestPattern = pattern;
+        }
+      }
+      i++;
+    }
+    if (masked == null) {
+      return text;
+    }
+    return masked.append(text, copied, text.length()).toString();
+  }
+
+  private Node step(Node node, char c) {
+    while (true) {
+      Node next = node.next.get(c);
+      if (next != null) {
+        return next;
+      }
+      if (node == root) {
+        return root;
+      }
+      node = node.fail;
+    }
+  }
+
+  private void buildFailureLinks() {
+    Queue<Node> queue = new ArrayDeque<>();
+    root.fail = root;
+    root.outputs = root.own;
+    for (Node child : root.next.values()) {
+      child.fail = root;
+      child.outputs = child.own;
+      queue.add(child);
+    }
+    while (!queue.isEmpty()) {
+      Node node = queue.poll();
+      for (Map.Entry<Character, Node> entry : node.next.entrySet()) {
+        Node child = entry.getValue();
+        Node fail = node.fail;
+        while (fail != root && !fail.next.containsKey(entry.getKey())) {
+          fail = fail.fail;
+        }
+        Node failTarget = fail.next.get(entry.getKey());
+        child.fail = failTarget == null || failTarget == child ? root : failTarget;
+        child.outputs = mergeOutputs(child.own, child.fail.outputs);
+        queue.add(child);
+      }
+    }
+  }
+
+  private static int[] appendOutput(int[] outputs, int pattern) {
+    int[] appended = new int[outputs.length + 1];
+    System.arraycopy(outputs, 0, appended, 0, outputs.length);
+    appended[outputs.length] = pattern;
+    return appended;
+  }
+
+  private static int[] mergeOutputs(int[] own, int[] inherited) {
+    if (inherited.length == 0) {
+      return own;
+    }
+    if (own.length == 0) {
+      return inherited;
+    }
+    int[] merged = new int[own.length + inherited.length];
+    System.arraycopy(own, 0, merged, 0, own.length);
+    System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+    return merged;
+  }
+
+  private static final class Node {
+    private final Map<Character, Node> next = new HashMap<>();
+    private Node fail;
+    private int[] own = NO_OUTPUTS;
+    private int[] outputs = NO_OUTPUTS;
+  }
+}
@@ -8,6 +8,7 @@
 package io.harness.logstreaming;
 
 import static io.harness.expression.SecretString.SECRET_MASK;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.GAURAV;
 import static io.harness.rule.OwnerRule.MARKO;
 import static io.harness.rule.OwnerRule.TEJAS;
@@ -138,4 +139,22 @@ public class LogStreamingSanitizerTest extends CategoryTest {
     logStreamingSanitizer.sanitizeLogMessage(logLine, Set.of(WIN_RM_MARKER));
     Assertions.assertThat(logLine.getMessage()).isEqualTo(sanitizedMessage);
   }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldMaskQuoteStrippedAndOverlappingSecrets() {
+    Set<String> secrets = new HashSet<>();
+    secrets.add("pa\"ss'word");
+    secrets.add("token");
+    secrets.add("tokenvalue");
+    LogStreamingSanitizer logStreamingSanitizer = LogStreamingSanitizer.builder().secrets(secrets).build();
+
+    LogLine logLine = LogLine.builder().message("pass'word pa\"ssword pa\"ss'word tokenvalue").build();
+    logStreamingSanitizer.sanitizeLogMessage(logLine);
+
+    Assertions.assertThat(logLine.getMessage())
+        .startsWith(SECRET_MASK + " " + SECRET_MASK + " " + SECRET_MASK + " " + SECRET_MASK)
+        .doesNotContain("token");
+  }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.logstreaming;
+
+import static io.harness.expression.SecretString.SECRET_MASK;
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.apache.commons.lang3.StringUtils.replaceEach;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.CategoryTest;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class SecretMaskMatcherTest extends CategoryTest {
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldPreferEarliestMatchThenFirstPattern() {
+    SecretMaskMatcher matcher = new SecretMaskMatcher(Arrays.asList("cdef", "abc", "abcdef", "ef"), SECRET_MASK);
+
+    assertThat(matcher.mask("xabcdefx")).isEqualTo("x" + SECRET_MASK + "d" + SECRET_MASK + "x");
+    assertThat(matcher.mask("xbcdefx")).isEqualTo("xb" + SECRET_MASK + "x");
+    assertThat(matcher.mask("no secrets here")).isEqualTo("no secrets here");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldIgnoreEmptyPatterns() {
+    SecretMaskMatcher matcher = new SecretMaskMatcher(Arrays.asList("", "ab"), SECRET_MASK);
+    assertThat(matcher.hasPatterns()).isTrue();
+    assertThat(matcher.mask("abab")).isEqualTo(SECRET_MASK + SECRET_MASK);
+
+    SecretMaskMatcher emptyMatcher = new SecretMaskMatcher(Collections.singletonList(""), SECRET_MASK);
+    assertThat(emptyMatcher.hasPatterns()).isFalse();
+    assertThat(emptyMatcher.mask("abab")).isEqualTo("abab");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldMatchReplaceEachOutput() {
+    Random random = new Random(7);
+    for (int iteration = 0; iteration < 20000; iteration++) {
+      List<String> patterns = new ArrayList<>();
+      int patternCount = random.nextInt(6);
+      for (int i = 0; i < patternCount; i++) {
+        patterns.add(randomText(random, 5));
+      }
+      String text = randomText(random, 30);
+      String[] masks = Collections.nCopies(patterns.size(), SECRET_MASK).toArray(new String[0]);
+
+      assertThat(new SecretMaskMatcher(patterns, SECRET_MASK).mask(text))
+          .as("patterns %s, text %s", patterns, text)
+          .isEqualTo(replaceEach(text, patterns.toArray(new String[0]), masks));
+    }
+  }
+
+  private static String randomText(Random random, int maxLength) {
+    StringBuilder text = new StringBuilder();
+    int length = random.nextInt(maxLength);
+    for (int i = 0; i < length; i++) {
+      text.append((char) ('a' + random.nextInt(3)));
+    }
+    return text.toString();
+  }
+}
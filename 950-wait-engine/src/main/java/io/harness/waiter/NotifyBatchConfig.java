@@ -0,0 +1,24 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.waiter;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import lombok.Builder;
+import lombok.Data;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+@Data
+@Builder
+public class NotifyBatchConfig {
+  boolean enabled;
+  @Builder.Default int maxBatchSize = 200;
+  // How long the batcher waits for more responses after the first one of a batch arrives
+  @Builder.Default long windowMillis = 5;
+}
@@ -7,6 +7,14 @@
 
 package io.harness.waiter;
 
+import java.util.List;
+
 public interface NotifyQueuePublisher {
   void send(NotifyEvent payload);
+
+  default void sendAll(List<NotifyEvent> payloads) {
+    for (NotifyEvent payload : payloads) {
+      send(payload);
+    }
+  }
 }
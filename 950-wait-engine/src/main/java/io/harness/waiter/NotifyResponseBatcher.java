@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.waiter;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces the responses of concurrent {@link WaitNotifyEngine#doneWith} calls.
+ *
+ * A single flusher takes the first queued response, waits up to windowMillis for more and hands at most maxBatchSize of
+ * them to the batch handler. Callers block until their batch is handled, so a response is persisted and its waiters are
+ * notified by the time doneWith returns, same as without batching. Responses arriving while a batch is being handled
+ * queue up for the next one, so batches grow with the load.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+@Slf4j
+class NotifyResponseBatcher {
+  private final NotifyBatchConfig config;
+  private final Function<List<NotifyResponse>, List<String>> batchHandler;
+  private final BlockingQueue<PendingResponse> queue = new LinkedBlockingQueue<>();
+  private final ExecutorService flusher;
+
+  NotifyResponseBatcher(NotifyBatchConfig config, Function<List<NotifyResponse>, List<String>> batchHandler) {
+    this.config = config;
+    this.batchHandler = batchHandler;
+    this.flusher = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat("notify-response-batcher").setDaemon(true).build());
+    flusher.submit(this::run);
+  }
+
+  /**
+   * @return the correlation id if the response was stored, null otherwise
+   */
+  String submit(NotifyResponse notifyResponse) {
+    PendingResponse pendingResponse = new PendingResponse(notifyResponse);
+    queue.add(pendingResponse);
+    try {
+      return pendingResponse.future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      log.error("Failed to notify for correlationId {} in a batch", notifyResponse.getUuid(), e.getCause());
+      return null;
+    }
+  }
+
+  private void run() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        List<PendingResponse> batch = new ArrayList<>(config.getMaxBatchSize());
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getWindowMillis());
+        while (batch.size() < config.getMaxBatchSize()) {
+          long remaining = deadline - System.nanoTime();
+          PendingResponse next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+        flush(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void flush(List<PendingResponse> batch) {
+    try {
+      Set<String> storedIds = new HashSet<>(
+          batchHandler.apply(batch.stream().map(pending -> pending.notifyResponse).collect(Collectors.toList())));
+      for (PendingResponse pending : batch) {
+        String correlationId = pending.notifyResponse.getUuid();
+        pending.future.complete(storedIds.contains(correlationId) ? correlationId : null);
+      }
+    } catch (Exception e) {
+      for (PendingResponse pending : batch) {
+        pending.future.completeExceptionally(e);
+      }
+    }
+  }
+
+  private static class PendingResponse {
+    private final NotifyResponse notifyResponse;
+    private final CompletableFuture<String> future = new CompletableFuture<>();
+
+    PendingResponse(NotifyResponse notifyResponse) {
+      this.notifyResponse = notifyResponse;
+    }
+  }
+}
@@ -13,6 +13,9 @@ import io.harness.eventsframework.api.Producer;
 import io.harness.eventsframework.producer.Message;
 import io.harness.waiter.notify.NotifyEventProto;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @OwnedBy(HarnessTeam.PIPELINE)
 public abstract class RedisNotifyQueuePublisher implements NotifyQueuePublisher {
   private final Producer producer;
@@ -23,7 +26,16 @@ public abstract class RedisNotifyQueuePublisher implements NotifyQueuePublisher
 
   @Override
   public void send(NotifyEvent payload) {
-    producer.send(Message.newBuilder().setData(toProto(payload).toByteString()).build());
+    producer.send(toMessage(payload));
+  }
+
+  @Override
+  public void sendAll(List<NotifyEvent> payloads) {
+    producer.sendAll(payloads.stream().map(this::toMessage).collect(Collectors.toList()));
+  }
+
+  private Message toMessage(NotifyEvent payload) {
+    return Message.newBuilder().setData(toProto(payload).toByteString()).build();
   }
 
   public NotifyEventProto toProto(NotifyEvent event) {
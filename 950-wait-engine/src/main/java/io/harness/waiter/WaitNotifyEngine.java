@@ -26,6 +26,8 @@ import io.harness.tasks.ResponseData;
 import io.harness.waiter.WaitInstance.WaitInstanceBuilder;
 import io.harness.waiter.persistence.PersistenceWrapper;
 
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
 import com.google.inject.Inject;
@@ -36,10 +38,13 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
@@ -57,6 +62,12 @@ public class WaitNotifyEngine {
   @Inject private KryoSerializer kryoSerializer;
   @Inject @Named("referenceFalseKryoSerializer") private KryoSerializer referenceFalseKryoSerializer;
   @Inject private NotifyQueuePublisherRegister publisherRegister;
+  @Inject private WaiterConfiguration waiterConfiguration;
+
+  // Responses handled per batch and milliseconds from receiving a response until its waiters are notified
+  @Getter private final Histogram notifyBatchSizes = new Histogram(new ExponentiallyDecayingReservoir());
+  @Getter private final Histogram notifyLatencies = new Histogram(new ExponentiallyDecayingReservoir());
+  private volatile NotifyResponseBatcher notifyResponseBatcher;
 
   public String waitForAllOn(String publisherName, NotifyCallback notifyCallback, String... correlationIds) {
     return waitForAllOn(publisherName, notifyCallback, null, correlationIds);
@@ -153,22 +164,32 @@ public class WaitNotifyEngine {
       log.debug("done with notify request received for the correlationId : {}", correlationId);
     }
 
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    NotifyBatchConfig notifyBatchConfig = waiterConfiguration.getNotifyBatchConfig();
+    if (notifyBatchConfig != null && notifyBatchConfig.isEnabled()) {
+      String id;
+      try {
+        id = obtainNotifyResponseBatcher(notifyBatchConfig).submit(toNotifyResponse(correlationId, response, error));
+      } catch (Exception exception) {
+        log.error("Failed to notify for response of type " + response.getClass().getSimpleName(), exception);
+        return null;
+      }
+      if (id != null) {
+        notifyLatencies.update(stopwatch.elapsed(TimeUnit.MILLISECONDS));
+      }
+      return id;
+    }
+
     try {
-      final Stopwatch stopwatch = Stopwatch.createStarted();
       long doneWithStartTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
-      persistenceWrapper.save(NotifyResponse.builder()
-                                  .uuid(correlationId)
-                                  .createdAt(currentTimeMillis())
-                                  .usingKryoWithoutReference(true)
-                                  .responseData(referenceFalseKryoSerializer.asDeflatedBytes(response))
-                                  .error(error || response instanceof ErrorResponseData)
-                                  .build());
+      persistenceWrapper.save(toNotifyResponse(correlationId, response, error));
       long queryEndTime = stopwatch.elapsed(TimeUnit.MILLISECONDS);
 
       if (log.isDebugEnabled()) {
         log.debug("Process NotifyResponse mongo queryTime {}", queryEndTime - doneWithStartTime);
       }
       handleNotifyResponse(correlationId);
+      notifyLatencies.update(stopwatch.elapsed(TimeUnit.MILLISECONDS));
       return correlationId;
     } catch (DuplicateKeyException | org.springframework.dao.DuplicateKeyException exception) {
       log.warn("Unexpected rate of DuplicateKeyException per correlation", exception);
@@ -178,6 +199,69 @@ public class WaitNotifyEngine {
     return null;
   }
 
+  /**
+   * Batched version of {@link #doneWith(String, ResponseData)}. The responses are inserted in bulk, the wait instances
+   * waiting on any of them are updated after a single lookup and the notifications are published in one call per
+   * publisher.
+   *
+   * @return the correlation ids whose responses were stored, responses which already existed are skipped
+   */
+  public List<String> doneWithAll(Map<String, ResponseData> responses) {
+    Preconditions.checkArgument(isNotEmpty(responses), "responses are null or empty");
+    for (String correlationId : responses.keySet()) {
+      Preconditions.checkArgument(isNotBlank(correlationId), "correlationId is null or empty");
+    }
+
+    final Stopwatch stopwatch = Stopwatch.createStarted();
+    List<NotifyResponse> notifyResponses = new ArrayList<>(responses.size());
+    responses.forEach((correlationId, response)
+                          -> notifyResponses.add(
+                              toNotifyResponse(correlationId, response, response instanceof ErrorResponseData)));
+    try {
+      List<String> storedIds = saveAndNotify(notifyResponses);
+      long latency = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+      for (int i = 0; i < storedIds.size(); i++) {
+        notifyLatencies.update(latency);
+      }
+      return storedIds;
+    } catch (Exception exception) {
+      log.error("Failed to notify for {} responses", responses.size(), exception);
+    }
+    return Collections.emptyList();
+  }
+
+  private List<String> saveAndNotify(List<NotifyResponse> notifyResponses) {
+    notifyBatchSizes.update(notifyResponses.size());
+    List<String> storedIds = persistenceWrapper.saveNotifyResponses(notifyResponses);
+    if (storedIds.size() < notifyResponses.size()) {
+      log.warn("Unexpected rate of DuplicateKeyException per correlation, skipped {} of {} responses",
+          notifyResponses.size() - storedIds.size(), notifyResponses.size());
+    }
+    handleNotifyResponses(storedIds);
+    return storedIds;
+  }
+
+  private NotifyResponse toNotifyResponse(String correlationId, ResponseData response, boolean error) {
+    return NotifyResponse.builder()
+        .uuid(correlationId)
+        .createdAt(currentTimeMillis())
+        .usingKryoWithoutReference(true)
+        .responseData(referenceFalseKryoSerializer.asDeflatedBytes(response))
+        .error(error || response instanceof ErrorResponseData)
+        .build();
+  }
+
+  private NotifyResponseBatcher obtainNotifyResponseBatcher(NotifyBatchConfig notifyBatchConfig) {
+    if (notifyResponseBatcher == null) {
+      synchronized (this) {
+        if (notifyResponseBatcher == null) {
+          notifyResponseBatcher = new NotifyResponseBatcher(notifyBatchConfig, this::saveAndNotify);
+        }
+      }
+    }
+    return notifyResponseBatcher;
+  }
+
   public void sendNotification(WaitInstance waitInstance) {
     try (WaitInstanceLogContext ignore = new WaitInstanceLogContext(waitInstance.getUuid(), OVERRIDE_NESTS)) {
       String publisher = waitInstance.getPublisher();
@@ -195,6 +279,24 @@ public class WaitNotifyEngine {
     }
   }
 
+  public void handleNotifyResponses(List<String> uuids) {
+    Map<String, List<NotifyEvent>> eventsByPublisher = new HashMap<>();
+    for (WaitInstance waitInstance : persistenceWrapper.modifyAndFetchWaitInstances(uuids)) {
+      if (isEmpty(waitInstance.getWaitingOnCorrelationIds())) {
+        eventsByPublisher.computeIfAbsent(waitInstance.getPublisher(), publisher -> new ArrayList<>())
+            .add(aNotifyEvent().waitInstanceId(waitInstance.getUuid()).build());
+      }
+    }
+    eventsByPublisher.forEach((publisher, events) -> {
+      final NotifyQueuePublisher notifyQueuePublisher = publisherRegister.obtain(publisher);
+      if (notifyQueuePublisher == null) {
+        log.error("Unknown publisher {}", publisher);
+        return;
+      }
+      notifyQueuePublisher.sendAll(events);
+    });
+  }
+
   public void handleNotifyResponse(String uuid) {
     WaitInstance waitInstance;
     while ((waitInstance = persistenceWrapper.modifyAndFetchWaitInstance(uuid)) != null) {
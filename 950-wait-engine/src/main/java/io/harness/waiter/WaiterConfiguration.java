@@ -21,4 +21,5 @@ public class WaiterConfiguration {
   public enum PersistenceLayer { SPRING, MORPHIA }
   public boolean versioningDisabled;
   @Default PersistenceLayer persistenceLayer = PersistenceLayer.MORPHIA;
+  @Default NotifyBatchConfig notifyBatchConfig = NotifyBatchConfig.builder().build();
 }
@@ -40,10 +40,13 @@ import dev.morphia.query.Sort;
 import dev.morphia.query.UpdateOperations;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -202,6 +205,64 @@ public class MorphiaPersistenceWrapper implements PersistenceWrapper {
     return hPersistence.findAndModify(query, operations, HPersistence.returnNewOptions);
   }
 
+  @Override
+  public List<String> saveNotifyResponses(List<NotifyResponse> notifyResponses) {
+    if (isEmpty(notifyResponses)) {
+      return new ArrayList<>();
+    }
+    Set<String> existingIds = hPersistence.createQuery(NotifyResponse.class, excludeAuthority)
+                                  .field(NotifyResponseKeys.uuid)
+                                  .in(notifyResponses.stream().map(NotifyResponse::getUuid).collect(toList()))
+                                  .asKeyList()
+                                  .stream()
+                                  .map(key -> (String) key.getId())
+                                  .collect(Collectors.toSet());
+    List<NotifyResponse> newResponses = notifyResponses.stream()
+                                            .filter(notifyResponse -> !existingIds.contains(notifyResponse.getUuid()))
+                                            .collect(toList());
+    // Responses racing in between the lookup and the insert are dropped here, handling them twice is a noop
+    hPersistence.saveIgnoringDuplicateKeys(newResponses);
+    return newResponses.stream().map(NotifyResponse::getUuid).collect(toList());
+  }
+
+  @Override
+  public List<WaitInstance> modifyAndFetchWaitInstances(Collection<String> waitingOnCorrelationIds) {
+    List<WaitInstance> waitInstances = new ArrayList<>();
+    if (isEmpty(waitingOnCorrelationIds)) {
+      return waitInstances;
+    }
+    Set<String> correlationIds = new HashSet<>(waitingOnCorrelationIds);
+    List<WaitInstance> candidates = new ArrayList<>();
+    try (HIterator<WaitInstance> iterator =
+             new HIterator<>(hPersistence.createQuery(WaitInstance.class, excludeAuthority)
+                                 .field(WaitInstanceKeys.waitingOnCorrelationIds)
+                                 .in(correlationIds)
+                                 .project(WaitInstanceKeys.waitingOnCorrelationIds, true)
+                                 .fetch())) {
+      for (WaitInstance waitInstance : iterator) {
+        candidates.add(waitInstance);
+      }
+    }
+
+    for (WaitInstance candidate : candidates) {
+      List<String> pulledIds =
+          candidate.getWaitingOnCorrelationIds().stream().filter(correlationIds::contains).collect(toList());
+      // Matching on the pulled ids keeps the pull atomic, a concurrent pull of the same ids finds nothing to modify
+      final Query<WaitInstance> query = hPersistence.createQuery(WaitInstance.class, excludeAuthority)
+                                            .filter(WaitInstanceKeys.uuid, candidate.getUuid())
+                                            .field(WaitInstanceKeys.waitingOnCorrelationIds)
+                                            .in(pulledIds);
+      final UpdateOperations<WaitInstance> operations =
+          hPersistence.createUpdateOperations(WaitInstance.class)
+              .removeAll(WaitInstanceKeys.waitingOnCorrelationIds, pulledIds);
+      WaitInstance waitInstance = hPersistence.findAndModify(query, operations, HPersistence.returnNewOptions);
+      if (waitInstance != null) {
+        waitInstances.add(waitInstance);
+      }
+    }
+    return waitInstances;
+  }
+
   @Override
   public String saveWithTimeout(WaitInstance waitInstance, Duration timeout) {
     if (!timeout.isZero()) {
@@ -9,12 +9,14 @@ package io.harness.waiter.persistence;
 
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
+import io.harness.waiter.NotifyResponse;
 import io.harness.waiter.ProcessedMessageResponse;
 import io.harness.waiter.ProgressUpdate;
 import io.harness.waiter.WaitEngineEntity;
 import io.harness.waiter.WaitInstance;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -28,6 +30,22 @@ public interface PersistenceWrapper {
 
   WaitInstance modifyAndFetchWaitInstance(String waitingOnCorrelationId);
 
+  /**
+   * Inserts the responses in bulk, responses which already exist are skipped.
+   *
+   * @return the uuids of the inserted responses
+   */
+  List<String> saveNotifyResponses(List<NotifyResponse> notifyResponses);
+
+  /**
+   * Batched version of {@link #modifyAndFetchWaitInstance(String)}, pulls the given correlation ids from every wait
+   * instance waiting on any of them.
+   *
+   * @return the modified wait instances, only the modification which pulled the last correlation id of a wait instance
+   *     returns it with nothing left to wait on
+   */
+  List<WaitInstance> modifyAndFetchWaitInstances(Collection<String> waitingOnCorrelationIds);
+
   WaitInstance modifyAndFetchWaitInstanceForExistingResponse(String waitInstanceId, List<String> notifyResponseIds);
 
   WaitInstance fetchForProcessingWaitInstance(String waitInstanceId, long now);
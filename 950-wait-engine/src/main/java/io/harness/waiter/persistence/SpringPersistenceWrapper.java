@@ -16,6 +16,7 @@ import static io.harness.waiter.WaitNotifyEngine.MIN_WAIT_INSTANCE_TIMEOUT;
 import static java.util.stream.Collectors.toList;
 import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.data.mongodb.util.MongoDbErrorCodes.isDuplicateKeyCode;
 
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
@@ -42,9 +43,14 @@ import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.result.DeleteResult;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -54,6 +60,8 @@ import lombok.extern.slf4j.Slf4j;
 import net.jodah.failsafe.Failsafe;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
@@ -204,6 +212,66 @@ public class SpringPersistenceWrapper implements PersistenceWrapper {
     return mongoTemplate.findAndModify(query, update, SpringDataMongoUtils.returnNewOptions, WaitInstance.class);
   }
 
+  @Override
+  public List<String> saveNotifyResponses(List<NotifyResponse> notifyResponses) {
+    if (isEmpty(notifyResponses)) {
+      return new ArrayList<>();
+    }
+    List<BulkWriteError> writeErrors;
+    try {
+      mongoTemplate.bulkOps(BulkMode.UNORDERED, NotifyResponse.class).insert(notifyResponses).execute();
+      writeErrors = new ArrayList<>();
+    } catch (BulkOperationException ex) {
+      writeErrors = ex.getErrors();
+      if (!writeErrors.stream().allMatch(writeError -> isDuplicateKeyCode(writeError.getCode()))) {
+        throw ex;
+      }
+    } catch (RuntimeException ex) {
+      if (!(ex.getCause() instanceof MongoBulkWriteException)) {
+        throw ex;
+      }
+      writeErrors = ((MongoBulkWriteException) ex.getCause()).getWriteErrors();
+      if (!writeErrors.stream().allMatch(writeError -> isDuplicateKeyCode(writeError.getCode()))) {
+        throw ex;
+      }
+    }
+
+    Set<Integer> duplicateIndexes = writeErrors.stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+    List<String> insertedIds = new ArrayList<>(notifyResponses.size() - duplicateIndexes.size());
+    for (int i = 0; i < notifyResponses.size(); i++) {
+      if (!duplicateIndexes.contains(i)) {
+        insertedIds.add(notifyResponses.get(i).getUuid());
+      }
+    }
+    return insertedIds;
+  }
+
+  @Override
+  public List<WaitInstance> modifyAndFetchWaitInstances(Collection<String> waitingOnCorrelationIds) {
+    List<WaitInstance> waitInstances = new ArrayList<>();
+    if (isEmpty(waitingOnCorrelationIds)) {
+      return waitInstances;
+    }
+    Set<String> correlationIds = new HashSet<>(waitingOnCorrelationIds);
+    Query query = query(where(WaitInstanceKeys.waitingOnCorrelationIds).in(correlationIds));
+    query.fields().include(WaitInstanceKeys.uuid).include(WaitInstanceKeys.waitingOnCorrelationIds);
+    for (WaitInstance candidate : mongoTemplate.find(query, WaitInstance.class)) {
+      List<String> pulledIds =
+          candidate.getWaitingOnCorrelationIds().stream().filter(correlationIds::contains).collect(toList());
+      // Matching on the pulled ids keeps the pull atomic, a concurrent pull of the same ids finds nothing to modify
+      Query wiQuery = query(where(WaitInstanceKeys.uuid).is(candidate.getUuid()))
+                          .addCriteria(where(WaitInstanceKeys.waitingOnCorrelationIds).in(pulledIds));
+      Update wiUpdate =
+          new Update().pullAll(WaitInstanceKeys.waitingOnCorrelationIds, pulledIds.toArray(new String[0]));
+      WaitInstance waitInstance =
+          mongoTemplate.findAndModify(wiQuery, wiUpdate, SpringDataMongoUtils.returnNewOptions, WaitInstance.class);
+      if (waitInstance != null) {
+        waitInstances.add(waitInstance);
+      }
+    }
+    return waitInstances;
+  }
+
   @Override
   public WaitInstance fetchForProcessingWaitInstance(String waitInstanceId, long now) {
     final Query query = query(where(WaitInstanceKeys.uuid).is(waitInstanceId))
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.mongo.queue;
+
+import static io.harness.data.structure.UUIDGenerator.generateUuid;
+import static io.harness.rule.OwnerRule.ARCHIT;
+import static io.harness.waiter.NotifyEvent.Builder.aNotifyEvent;
+
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofSeconds;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import io.harness.WaitEngineTestBase;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.queue.Queuable;
+import io.harness.queue.Queuable.QueuableKeys;
+import io.harness.queue.QueueConsumer.Filter;
+import io.harness.rule.Owner;
+import io.harness.waiter.NotifyEvent;
+
+import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+public class NGMongoQueueConsumerTest extends WaitEngineTestBase {
+  @Inject private MongoTemplate mongoTemplate;
+
+  private String topic;
+  private NGMongoQueueConsumer<NotifyEvent> consumer;
+
+  @Before
+  public void setUp() {
+    topic = generateUuid();
+    consumer = new NGMongoQueueConsumer<>(NotifyEvent.class, ofSeconds(5), List.of(List.of(topic)), mongoTemplate);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testLeasesBatchInTimeOrder() {
+    List<NotifyEvent> events = saveEvents(5);
+
+    List<NotifyEvent> batch = consumer.get(3, ZERO);
+    assertThat(batch).extracting(Queuable::getId).containsExactly(ids(events.subList(0, 3)));
+    assertThat(batch).extracting(Queuable::getLeaseId).doesNotContainNull().containsOnly(batch.get(0).getLeaseId());
+    assertThat(consumer.count(Filter.RUNNING)).isEqualTo(3);
+
+    List<NotifyEvent> rest = consumer.get(3, ZERO);
+    assertThat(rest).extracting(Queuable::getId).containsExactly(ids(events.subList(3, 5)));
+    assertThat(rest.get(0).getLeaseId()).isNotEqualTo(batch.get(0).getLeaseId());
+    assertThat(consumer.get(3, ZERO)).isEmpty();
+
+    consumer.ackAll(batch);
+    assertThat(consumer.count(Filter.ALL)).isEqualTo(2);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testLeasesOnlyCandidatesNotTakenByAnotherConsumer() {
+    List<NotifyEvent> events = saveEvents(3);
+    MongoTemplate racingTemplate = spy(mongoTemplate);
+    // Another consumer leases the first candidate between our find and our lease update
+    doAnswer(invocation -> {
+      mongoTemplate.updateFirst(new Query(Criteria.where(QueuableKeys.id).is(events.get(0).getId())),
+          new Update()
+              .set(QueuableKeys.earliestGet, new Date(System.currentTimeMillis() + 10000))
+              .set(QueuableKeys.leaseId, generateUuid()),
+          NotifyEvent.class);
+      return invocation.callRealMethod();
+    })
+        .when(racingTemplate)
+        .updateMulti(any(Query.class), any(Update.class), eq(NotifyEvent.class));
+    consumer = new NGMongoQueueConsumer<>(NotifyEvent.class, ofSeconds(5), List.of(List.of(topic)), racingTemplate);
+
+    List<NotifyEvent> batch = consumer.get(3, ZERO);
+
+    assertThat(batch).extracting(Queuable::getId).containsExactly(ids(events.subList(1, 3)));
+    assertThat(batch).extracting(Queuable::getLeaseId).doesNotContainNull().containsOnly(batch.get(0).getLeaseId());
+  }
+
+  private List<NotifyEvent> saveEvents(int count) {
+    long now = System.currentTimeMillis();
+    List<NotifyEvent> events = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      NotifyEvent event = aNotifyEvent()
+                              .id(generateUuid())
+                              .waitInstanceId(generateUuid())
+                              .earliestGet(new Date(now - count + i))
+                              .build();
+      event.setTopic(topic);
+      events.add(mongoTemplate.save(event));
+    }
+    return events;
+  }
+
+  private static String[] ids(List<NotifyEvent> events) {
+    return events.stream().map(Queuable::getId).toArray(String[] ::new);
+  }
+}
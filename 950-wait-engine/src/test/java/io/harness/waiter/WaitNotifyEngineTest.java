@@ -9,6 +9,7 @@ package io.harness.waiter;
 
 import static io.harness.data.structure.UUIDGenerator.generateUuid;
 import static io.harness.persistence.HQuery.excludeAuthority;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.ASHISHSANODIA;
 import static io.harness.rule.OwnerRule.GEORGE;
 import static io.harness.rule.OwnerRule.PRASHANT;
@@ -245,6 +246,52 @@ public class WaitNotifyEngineTest extends WaitEngineTestBase {
     }
   }
 
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldNotifyOnceForDoneWithAll() {
+    shouldNotifyOnceForDoneWithAllInternal();
+  }
+
+  @Test
+  @SpringWaiter
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldNotifyOnceForDoneWithAllWithSpringPersistence() {
+    shouldNotifyOnceForDoneWithAllInternal();
+  }
+
+  private void shouldNotifyOnceForDoneWithAllInternal() {
+    String uuid1 = generateUuid();
+    String uuid2 = generateUuid();
+    String uuid3 = generateUuid();
+
+    try (MaintenanceGuard guard = new MaintenanceGuard(false)) {
+      waitNotifyEngine.waitForAllOn(TEST_PUBLISHER, new TestNotifyCallback(), uuid1, uuid2);
+      waitNotifyEngine.waitForAllOn(TEST_PUBLISHER, new TestNotifyCallback(), uuid3);
+
+      ResponseData data1 = StringNotifyResponseData.builder().data("response-" + uuid1).build();
+      ResponseData data2 = StringNotifyResponseData.builder().data("response-" + uuid2).build();
+      ResponseData data3 = StringNotifyResponseData.builder().data("response-" + uuid3).build();
+      List<String> ids = waitNotifyEngine.doneWithAll(of(uuid1, data1, uuid2, data2, uuid3, data3));
+      assertThat(ids).containsExactlyInAnyOrder(uuid1, uuid2, uuid3);
+
+      NotifyResponse notifyResponse = persistence.get(NotifyResponse.class, uuid2);
+      assertThat(notifyResponse).isNotNull();
+      assertThat(notifyResponse.isUsingKryoWithoutReference()).isTrue();
+      assertThat(referenceFalseKryoSerializer.asInflatedObject(notifyResponse.getResponseData())).isEqualTo(data2);
+
+      Poller.pollFor(Duration.ofSeconds(10), ofMillis(100), () -> callCount.get() == 2);
+      Poller.pollFor(Duration.ofSeconds(10), ofMillis(100), () -> notifyConsumer.count(Filter.ALL) == 0);
+      assertThat(responseMap).hasSize(3).containsAllEntriesOf(of(uuid1, data1, uuid2, data2, uuid3, data3));
+
+      // Responses which already exist are skipped and do not notify again
+      assertThat(waitNotifyEngine.doneWithAll(of(uuid1, data1))).isEmpty();
+      assertThat(callCount.get()).isEqualTo(2);
+      assertThat(waitNotifyEngine.getNotifyBatchSizes().getCount()).isGreaterThanOrEqualTo(2);
+    }
+  }
+
   @Test
   @SpringWaiter
   @Owner(developers = PRASHANT, intermittent = true)
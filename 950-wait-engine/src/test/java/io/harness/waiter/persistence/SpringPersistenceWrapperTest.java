@@ -259,4 +259,62 @@ public class SpringPersistenceWrapperTest extends WaitEngineTestBase {
     assertThat(keyList).hasSize(1);
     assertThat(keyList).containsExactly(response1.getUuid());
   }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testSaveNotifyResponsesSkipsExisting() {
+    NotifyResponse existing =
+        NotifyResponse.builder().uuid(generateUuid()).responseData(new byte[] {}).error(false).build();
+    mongoTemplate.save(existing);
+    NotifyResponse response1 =
+        NotifyResponse.builder().uuid(generateUuid()).responseData(new byte[] {}).error(false).build();
+    NotifyResponse response2 =
+        NotifyResponse.builder().uuid(generateUuid()).responseData(new byte[] {}).error(false).build();
+
+    List<String> insertedIds = persistenceWrapper.saveNotifyResponses(Arrays.asList(response1, existing, response2));
+
+    assertThat(insertedIds).containsExactly(response1.getUuid(), response2.getUuid());
+    assertThat(mongoTemplate.findById(response2.getUuid(), NotifyResponse.class)).isNotNull();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testModifyAndFetchWaitInstances() {
+    String correlationId1 = generateUuid();
+    String correlationId2 = generateUuid();
+    String correlationId3 = generateUuid();
+    List<String> allCorrelationIds = Arrays.asList(correlationId1, correlationId2, correlationId3);
+    WaitInstance waitingOnAll = WaitInstance.builder()
+                                    .uuid(generateUuid())
+                                    .callback(new TestNotifyCallback())
+                                    .publisher(TEST_PUBLISHER)
+                                    .correlationIds(allCorrelationIds)
+                                    .waitingOnCorrelationIds(allCorrelationIds)
+                                    .build();
+    WaitInstance waitingOnOne = WaitInstance.builder()
+                                    .uuid(generateUuid())
+                                    .callback(new TestNotifyCallback())
+                                    .publisher(TEST_PUBLISHER)
+                                    .correlationIds(Collections.singletonList(correlationId1))
+                                    .waitingOnCorrelationIds(Collections.singletonList(correlationId1))
+                                    .build();
+    mongoTemplate.save(waitingOnAll);
+    mongoTemplate.save(waitingOnOne);
+
+    List<WaitInstance> modified =
+        persistenceWrapper.modifyAndFetchWaitInstances(Arrays.asList(correlationId1, correlationId2));
+
+    assertThat(modified).hasSize(2);
+    for (WaitInstance waitInstance : modified) {
+      if (waitInstance.getUuid().equals(waitingOnAll.getUuid())) {
+        assertThat(waitInstance.getWaitingOnCorrelationIds()).containsExactly(correlationId3);
+      } else {
+        assertThat(waitInstance.getWaitingOnCorrelationIds()).isEmpty();
+      }
+    }
+    // The ids are already pulled, so nothing is modified the second time
+    assertThat(persistenceWrapper.modifyAndFetchWaitInstances(Collections.singletonList(correlationId1))).isEmpty();
+  }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.eventsframework;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+
+import io.harness.annotations.dev.OwnedBy;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings of the prefetching redis consumers, unset values fall back to defaults derived from the read batch size.
+ */
+@OwnedBy(PL)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RedisPrefetchConfig {
+  private boolean enabled;
+  private int bufferSize;
+  private int ackBatchSize;
+  private long ackFlushIntervalMillis;
+  private long claimIntervalMillis;
+}
@@ -9,7 +9,24 @@ package io.harness.eventsframework.api;
 
 import io.harness.eventsframework.producer.Message;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface Producer {
   String send(Message message);
+
+  /**
+   * Sends the messages in order, implementations may write them in a single round trip.
+   *
+   * @return the message ids in the order of the messages
+   */
+  default List<String> sendAll(List<Message> messages) {
+    List<String> messageIds = new ArrayList<>(messages.size());
+    for (Message message : messages) {
+      messageIds.add(send(message));
+    }
+    return messageIds;
+  }
+
   void shutdown();
 }
@@ -120,7 +120,7 @@ public abstract class RedisAbstractConsumer extends AbstractConsumer {
     log.warn("Pushed {} to dead letter queue as max retries exceeded. Message data: {}", messageId, messageData);
   }
 
-  private List<PendingEntry> getPendingEntries() {
+  protected List<PendingEntry> getPendingEntries() {
     Supplier<List<PendingEntry>> getPendingEntriesSupplier = () -> getPendingEntriesInternal();
 
     Supplier<List<PendingEntry>> retryingGetPendingEntries = Retry.decorateSupplier(retry, getPendingEntriesSupplier);
@@ -142,7 +142,7 @@ public abstract class RedisAbstractConsumer extends AbstractConsumer {
     }
   }
 
-  private List<Message> claimEntries(List<PendingEntry> pendingEntries) {
+  protected List<Message> claimEntries(List<PendingEntry> pendingEntries) {
     Supplier<List<Message>> getClaimEntriesSupplier = () -> claimEntriesInternal(pendingEntries);
 
     Supplier<List<Message>> retryingClaimEntries = Retry.decorateSupplier(retry, getClaimEntriesSupplier);
@@ -192,7 +192,7 @@ public abstract class RedisAbstractConsumer extends AbstractConsumer {
     return messages;
   }
 
-  private List<Message> getNewMessages(Duration maxWaitTime) {
+  protected List<Message> getNewMessages(Duration maxWaitTime) {
     Supplier<List<Message>> getNewMessagesSupplier = () -> getNewMessagesInternal(maxWaitTime);
 
     Supplier<List<Message>> retryingGetNewMessages = Retry.decorateSupplier(retry, getNewMessagesSupplier);
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.eventsframework.impl.redis;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.data.structure.EmptyPredicate;
+import io.harness.eventsframework.RedisPrefetchConfig;
+import io.harness.eventsframework.api.EventsFrameworkDownException;
+import io.harness.eventsframework.consumer.Message;
+import io.harness.eventsframework.impl.redis.monitoring.dto.RedisEventMetricDTO;
+import io.harness.eventsframework.impl.redis.monitoring.publisher.RedisEventMetricPublisher;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.PendingEntry;
+import org.redisson.api.RedissonClient;
+
+/**
+ * Redis consumer which decouples the stream round trips from message handling.
+ *
+ * A background reader keeps a bounded local buffer filled with XREADGROUP while handlers drain it through
+ * {@link #read(Duration)}. Pending entries of dead consumers are claimed on their own schedule instead of before every
+ * read, and acknowledgements are coalesced into multi id XACK calls flushed once ackBatchSize ids are queued or every
+ * ackFlushInterval, whichever comes first.
+ *
+ * Prefetched messages count against maxProcessingTime from the moment they are read, so bufferSize should stay a small
+ * multiple of batchSize. Buffered messages and acknowledgements not yet flushed are never claimed again by this
+ * consumer. Messages still buffered on shutdown are left pending and are claimed by the other consumers of the group.
+ */
+@OwnedBy(PL)
+@Slf4j
+public class RedisPrefetchingConsumer extends RedisAbstractConsumer {
+  private static final String REDIS_CONSUMER_BUFFER_DEPTH = "redis_consumer_buffer_depth";
+  private static final String REDIS_CONSUMER_ACK_LAG = "redis_consumer_ack_lag";
+  private static final Duration READ_BLOCK_TIME = Duration.ofSeconds(1);
+  private static final Duration METRICS_INTERVAL = Duration.ofSeconds(30);
+  private static final long BACKOFF_MILLIS = 100;
+  private static final int DEFAULT_BUFFER_BATCHES = 4;
+  private static final Duration DEFAULT_ACK_FLUSH_INTERVAL = Duration.ofMillis(100);
+  private static final Duration DEFAULT_CLAIM_INTERVAL = Duration.ofSeconds(10);
+
+  private final BlockingQueue<Message> buffer;
+  private final int ackBatchSize;
+  private final Duration ackFlushInterval;
+  private final Duration claimInterval;
+
+  // Ids read into the buffer and not yet handed to a handler
+  private final Set<String> bufferedIds = ConcurrentHashMap.newKeySet();
+  private final ConcurrentLinkedQueue<String> pendingAcks = new ConcurrentLinkedQueue<>();
+  private final Set<String> pendingAckIds = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger pendingAckCount = new AtomicInteger();
+  private final AtomicLong oldestPendingAckTs = new AtomicLong();
+  private final Object flushLock = new Object();
+
+  private final AtomicBoolean started = new AtomicBoolean();
+  private volatile boolean running;
+  private volatile RuntimeException readFailure;
+  private ScheduledExecutorService executorService;
+
+  public RedisPrefetchingConsumer(String topicName, String groupName, @NotNull RedissonClient redissonClient,
+      Duration maxProcessingTime, int batchSize, String envNamespace,
+      RedisEventMetricPublisher redisEventMetricPublisher, int bufferSize, int ackBatchSize,
+      Duration ackFlushInterval, Duration claimInterval) {
+    super(topicName, groupName, redissonClient, maxProcessingTime, batchSize, envNamespace, redisEventMetricPublisher);
+    this.buffer = new ArrayBlockingQueue<>(Math.max(bufferSize, batchSize));
+    this.ackBatchSize = Math.max(ackBatchSize, 1);
+    this.ackFlushInterval = ackFlushInterval;
+    this.claimInterval = claimInterval;
+  }
+
+  public static RedisPrefetchingConsumer of(String topicName, String groupName,
+      @NotNull RedissonClient redissonClient, Duration maxProcessingTime, int batchSize, String envNamespace,
+      RedisEventMetricPublisher redisEventMetricPublisher, int bufferSize, int ackBatchSize,
+      Duration ackFlushInterval, Duration claimInterval) {
+    return new RedisPrefetchingConsumer(topicName, groupName, redissonClient, maxProcessingTime, batchSize,
+        envNamespace, redisEventMetricPublisher, bufferSize, ackBatchSize, ackFlushInterval, claimInterval);
+  }
+
+  /**
+   * A prefetching consumer when the prefetch is enabled, a plain {@link RedisConsumer} otherwise.
+   */
+  public static RedisAbstractConsumer of(String topicName, String groupName, @NotNull RedissonClient redissonClient,
+      Duration maxProcessingTime, int batchSize, String envNamespace, RedisPrefetchConfig prefetchConfig) {
+    if (prefetchConfig == null || !prefetchConfig.isEnabled()) {
+      return RedisConsumer.of(topicName, groupName, redissonClient, maxProcessingTime, batchSize, envNamespace);
+    }
+    int bufferSize =
+        prefetchConfig.getBufferSize() > 0 ? prefetchConfig.getBufferSize() : DEFAULT_BUFFER_BATCHES * batchSize;
+    int ackBatchSize = prefetchConfig.getAckBatchSize() > 0 ? prefetchConfig.getAckBatchSize() : batchSize;
+    Duration ackFlushInterval = prefetchConfig.getAckFlushIntervalMillis() > 0
+        ? Duration.ofMillis(prefetchConfig.getAckFlushIntervalMillis())
+        : DEFAULT_ACK_FLUSH_INTERVAL;
+    Duration claimInterval = prefetchConfig.getClaimIntervalMillis() > 0
+        ? Duration.ofMillis(prefetchConfig.getClaimIntervalMillis())
+        : DEFAULT_CLAIM_INTERVAL;
+    // The metric publisher is injected into the consumer by the module binding it
+    return new RedisPrefetchingConsumer(topicName, groupName, redissonClient, maxProcessingTime, batchSize,
+        envNamespace, null, bufferSize, ackBatchSize, ackFlushInterval, claimInterval);
+  }
+
+  @Override
+  public List<Message> read(Duration maxWaitTime) {
+    start();
+    Message first;
+    try {
+      first = buffer.poll(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Collections.emptyList();
+    }
+    if (first == null) {
+      RuntimeException failure = readFailure;
+      if (failure != null) {
+        readFailure = null;
+        throw failure;
+      }
+      return Collections.emptyList();
+    }
+    List<Message> messages = new ArrayList<>(batchSize);
+    messages.add(first);
+    buffer.drainTo(messages, batchSize - 1);
+    messages.forEach(message -> bufferedIds.remove(message.getId()));
+    return messages;
+  }
+
+  @Override
+  public void acknowledge(String... messageIds) {
+    if (EmptyPredicate.isEmpty(messageIds)) {
+      return;
+    }
+    oldestPendingAckTs.compareAndSet(0, System.currentTimeMillis());
+    Collections.addAll(pendingAckIds, messageIds);
+    Collections.addAll(pendingAcks, messageIds);
+    if (pendingAckCount.addAndGet(messageIds.length) >= ackBatchSize) {
+      flushAcks();
+    }
+  }
+
+  // Ids stay queued until XACK succeeded, a failed flush is retried by the next one
+  @VisibleForTesting
+  void flushAcks() {
+    synchronized (flushLock) {
+      while (!pendingAcks.isEmpty()) {
+        List<String> batch = new ArrayList<>(ackBatchSize);
+        Iterator<String> iterator = pendingAcks.iterator();
+        while (batch.size() < ackBatchSize && iterator.hasNext()) {
+          batch.add(iterator.next());
+        }
+        super.acknowledge(batch.toArray(new String[0]));
+        // Only the flush removes ids, so the head of the queue is still the batch
+        for (int i = 0; i < batch.size(); i++) {
+          pendingAckIds.remove(pendingAcks.poll());
+        }
+        pendingAckCount.addAndGet(-batch.size());
+        oldestPendingAckTs.set(pendingAcks.isEmpty() ? 0 : System.currentTimeMillis());
+      }
+    }
+  }
+
+  public int getBufferDepth() {
+    return buffer.size();
+  }
+
+  public long getAckLagMillis() {
+    long oldest = oldestPendingAckTs.get();
+    return oldest == 0 ? 0 : System.currentTimeMillis() - oldest;
+  }
+
+  private void start() {
+    if (!started.compareAndSet(false, true)) {
+      return;
+    }
+    running = true;
+    executorService = Executors.newScheduledThreadPool(3,
+        new ThreadFactoryBuilder().setNameFormat("redis-prefetch-" + getTopicName() + "-%d").setDaemon(true).build());
+    executorService.submit(this::readLoop);
+    executorService.scheduleWithFixedDelay(
+        this::claimPendingEntries, 0, claimInterval.toMillis(), TimeUnit.MILLISECONDS);
+    executorService.scheduleWithFixedDelay(
+        this::flushAcksSafely, ackFlushInterval.toMillis(), ackFlushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    if (redisEventMetricPublisher != null) {
+      executorService.scheduleWithFixedDelay(this::publishMetrics, METRICS_INTERVAL.toMillis(),
+          METRICS_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void readLoop() {
+    while (running) {
+      try {
+        // Only read a full batch when it fits, anything read is already delivered to this consumer
+        if (buffer.remainingCapacity() < batchSize) {
+          TimeUnit.MILLISECONDS.sleep(BACKOFF_MILLIS);
+          continue;
+        }
+        enqueue(getNewMessages(READ_BLOCK_TIME));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (EventsFrameworkDownException e) {
+        log.warn("Prefetch read failed for topic {}, backing off", getTopicName(), e);
+        readFailure = e;
+        backOff();
+      } catch (Exception e) {
+        log.error("Unexpected error while prefetching messages for topic {}", getTopicName(), e);
+        backOff();
+      }
+    }
+  }
+
+  @VisibleForTesting
+  void claimPendingEntries() {
+    try {
+      if (buffer.remainingCapacity() < batchSize) {
+        return;
+      }
+      // Entries held by this consumer are pending too, claiming them again would deliver them twice
+      List<PendingEntry> pendingEntries =
+          getPendingEntries()
+              .stream()
+              .filter(entry -> !isHeldLocally(entry.getId().toString()))
+              .collect(Collectors.toList());
+      if (!pendingEntries.isEmpty()) {
+        enqueue(claimEntries(pendingEntries));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      log.warn("Failed to claim pending entries for topic {}", getTopicName(), e);
+    }
+  }
+
+  private boolean isHeldLocally(String messageId) {
+    return bufferedIds.contains(messageId) || pendingAckIds.contains(messageId);
+  }
+
+  // Reader and claimer may both fill the same free slots, so block instead of failing on overflow
+  private void enqueue(List<Message> messages) throws InterruptedException {
+    for (Message message : messages) {
+      bufferedIds.add(message.getId());
+      try {
+        buffer.put(message);
+      } catch (InterruptedException e) {
+        bufferedIds.remove(message.getId());
+        throw e;
+      }
+    }
+  }
+
+  private void flushAcksSafely() {
+    try {
+      flushAcks();
+    } catch (Exception e) {
+      log.warn("Failed to flush acknowledgements for topic {}", getTopicName(), e);
+    }
+  }
+
+  private void publishMetrics() {
+    try {
+      RedisEventMetricDTO redisEventMetricDTO = RedisEventMetricDTO.builder().streamName(getTopicName()).build();
+      redisEventMetricPublisher.sendGaugeWithEventContext(
+          redisEventMetricDTO, REDIS_CONSUMER_BUFFER_DEPTH, getBufferDepth());
+      redisEventMetricPublisher.sendGaugeWithEventContext(
+          redisEventMetricDTO, REDIS_CONSUMER_ACK_LAG, getAckLagMillis());
+    } catch (Exception e) {
+      log.warn("Error while sending metrics for redis prefetching consumer :", e);
+    }
+  }
+
+  private void backOff() {
+    try {
+      TimeUnit.MILLISECONDS.sleep(BACKOFF_MILLIS);
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    running = false;
+    if (executorService != null) {
+      executorService.shutdownNow();
+      try {
+        executorService.awaitTermination(READ_BLOCK_TIME.toMillis() * 2, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    flushAcksSafely();
+    super.shutdown();
+  }
+}
@@ -24,15 +24,22 @@ import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.opentelemetry.api.trace.Span;
 import io.vavr.control.Try;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 import javax.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
 import org.redisson.api.RStream;
+import org.redisson.api.RStreamAsync;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.StreamMessageId;
+import org.redisson.client.codec.StringCodec;
 import org.slf4j.MDC;
 
 @OwnedBy(PL)
@@ -80,12 +87,78 @@ public class RedisProducer extends AbstractProducer {
     return handleMessage(message);
   }
 
+  /**
+   * Pipelines the XADDs of all the messages into a single round trip. When only some of the XADDs succeed, a retry
+   * sends the remaining messages only, so the ones already added are not added again.
+   */
+  @Override
+  public List<String> sendAll(List<Message> messages) {
+    if (messages.isEmpty()) {
+      return new ArrayList<>();
+    }
+    if (messages.size() == 1) {
+      List<String> messageIds = new ArrayList<>(1);
+      messageIds.add(send(messages.get(0)));
+      return messageIds;
+    }
+    String[] messageIds = new String[messages.size()];
+    Supplier<List<String>> retryingSendMessages =
+        Retry.decorateSupplier(retry, () -> sendAllInternal(messages, messageIds));
+
+    return Try.ofSupplier(retryingSendMessages)
+        .recover(throwable -> {
+          // Exhausted exponential backoff to try operating on redis
+          throw new EventsFrameworkDownException(throwable.getMessage());
+        })
+        .get();
+  }
+
+  /**
+   * Adds the messages which have no id yet and records the ids of the ones added, also when the batch fails.
+   */
+  private List<String> sendAllInternal(List<Message> messages, String[] messageIds) {
+    try {
+      RBatch batch = redissonClient.createBatch();
+      RStreamAsync<String, String> batchStream = batch.getStream(stream.getName(), new StringCodec("UTF-8"));
+      List<RFuture<StreamMessageId>> additions = new ArrayList<>(messages.size());
+      int count = 0;
+      for (int i = 0; i < messages.size(); i++) {
+        if (messageIds[i] == null) {
+          additions.add(batchStream.addAllAsync(toRedisData(messages.get(i)), maxTopicSize, false));
+          count++;
+        } else {
+          additions.add(null);
+        }
+      }
+      try {
+        batch.execute();
+      } finally {
+        for (int i = 0; i < additions.size(); i++) {
+          RFuture<StreamMessageId> addition = additions.get(i);
+          if (addition != null && addition.isSuccess()) {
+            messageIds[i] = addition.getNow().toString();
+          }
+        }
+      }
+      log.info("Events framework messages inserted - count: {} in the topic: {}", count, getTopicName());
+      return new ArrayList<>(Arrays.asList(messageIds));
+    } catch (Exception ex) {
+      log.warn("Exception occurred in sendAllInternal", ex);
+      throw ex;
+    }
+  }
+
+  private Map<String, String> toRedisData(Message message) {
+    Map<String, String> redisData = new HashMap<>(message.getMetadataMap());
+    addTraceId(redisData);
+    redisData.put(REDIS_STREAM_INTERNAL_KEY, Base64.getEncoder().encodeToString(message.getData().toByteArray()));
+    populateOtherProducerSpecificData(redisData);
+    return redisData;
+  }
+
   private String sendInternal(Message message) {
     try {
-      Map<String, String> redisData = new HashMap<>(message.getMetadataMap());
-      addTraceId(redisData);
-      redisData.put(REDIS_STREAM_INTERNAL_KEY, Base64.getEncoder().encodeToString(message.getData().toByteArray()));
-      populateOtherProducerSpecificData(redisData);
+      Map<String, String> redisData = toRedisData(message);
 
       StreamMessageId messageId = stream.addAll(redisData, maxTopicSize, false);
       redisData.remove(REDIS_STREAM_INTERNAL_KEY);
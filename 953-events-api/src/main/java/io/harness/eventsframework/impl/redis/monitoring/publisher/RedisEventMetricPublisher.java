@@ -28,4 +28,10 @@ public class RedisEventMetricPublisher {
       metricService.incCounter(metricName);
     }
   }
+
+  public void sendGaugeWithEventContext(RedisEventMetricDTO redisEventMetricDTO, String metricName, double value) {
+    try (RedisEventMetricContext context = new RedisEventMetricContext(redisEventMetricDTO)) {
+      metricService.recordMetric(metricName, value);
+    }
+  }
 }
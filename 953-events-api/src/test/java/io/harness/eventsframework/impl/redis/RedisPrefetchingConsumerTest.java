@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.eventsframework.impl.redis;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.joor.Reflect.on;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.eventsframework.RedisPrefetchConfig;
+import io.harness.eventsframework.api.EventsFrameworkDownException;
+import io.harness.rule.Owner;
+
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.redisson.api.PendingEntry;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.client.RedisException;
+
+@OwnedBy(PL)
+public class RedisPrefetchingConsumerTest extends CategoryTest {
+  private static final String GROUP = "group";
+
+  private RStream<String, String> stream;
+  private RedisPrefetchingConsumer consumer;
+
+  @Before
+  public void setUp() {
+    RedissonClient redissonClient = mock(RedissonClient.class);
+    stream = mock(RStream.class);
+    doReturn(stream).when(redissonClient).getStream(anyString(), any());
+    consumer = RedisPrefetchingConsumer.of("topic", GROUP, redissonClient, Duration.ofMinutes(1), 10, "", null, 10, 10,
+        Duration.ofSeconds(1), Duration.ofSeconds(1));
+    // Fail fast instead of backing off for several seconds
+    on(consumer).set("retry", Retry.of("test", RetryConfig.custom().maxAttempts(1).build()));
+  }
+
+  @After
+  public void tearDown() {
+    consumer.shutdown();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testPrefetchOnlyWhenEnabled() {
+    RedissonClient redissonClient = mock(RedissonClient.class);
+    doReturn(stream).when(redissonClient).getStream(anyString(), any());
+
+    assertThat(RedisPrefetchingConsumer.of("topic", GROUP, redissonClient, Duration.ofMinutes(1), 10, "", null))
+        .isInstanceOf(RedisConsumer.class);
+    assertThat(RedisPrefetchingConsumer.of("topic", GROUP, redissonClient, Duration.ofMinutes(1), 10, "",
+                   RedisPrefetchConfig.builder().enabled(false).build()))
+        .isInstanceOf(RedisConsumer.class);
+
+    RedisAbstractConsumer prefetching = RedisPrefetchingConsumer.of("topic", GROUP, redissonClient,
+        Duration.ofMinutes(1), 10, "", RedisPrefetchConfig.builder().enabled(true).build());
+    assertThat(prefetching).isInstanceOf(RedisPrefetchingConsumer.class);
+    assertThat((int) on(prefetching).field("ackBatchSize").get()).isEqualTo(10);
+    assertThat((Duration) on(prefetching).field("claimInterval").get()).isEqualTo(Duration.ofSeconds(10));
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testFailedFlushKeepsAcknowledgements() {
+    consumer.acknowledge("1-0", "2-0");
+    doThrow(new RedisException("redis down")).when(stream).ack(eq(GROUP), any(StreamMessageId[].class));
+
+    assertThatThrownBy(() -> consumer.flushAcks()).isInstanceOf(EventsFrameworkDownException.class);
+
+    doReturn(2L).when(stream).ack(eq(GROUP), any(StreamMessageId[].class));
+    consumer.flushAcks();
+
+    verify(stream, times(2)).ack(GROUP, new StreamMessageId(1, 0), new StreamMessageId(2, 0));
+    assertThat(consumer.getAckLagMillis()).isZero();
+    consumer.flushAcks();
+    verify(stream, times(2)).ack(eq(GROUP), any(StreamMessageId[].class));
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testBufferedEntriesAreNotClaimedAgain() {
+    pending("1-0", "2-0");
+    when(stream.claim(eq(GROUP), anyString(), anyLong(), any(), any(StreamMessageId[].class)))
+        .thenReturn(messages("1-0", "2-0"));
+
+    consumer.claimPendingEntries();
+    assertThat(consumer.getBufferDepth()).isEqualTo(2);
+
+    // Both entries are still pending in redis while they wait in the buffer
+    consumer.claimPendingEntries();
+
+    verify(stream, times(1)).claim(eq(GROUP), anyString(), anyLong(), any(), any(StreamMessageId[].class));
+    assertThat(consumer.getBufferDepth()).isEqualTo(2);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testEntriesWithUnflushedAcknowledgementsAreNotClaimed() {
+    consumer.acknowledge("1-0");
+    pending("1-0");
+
+    consumer.claimPendingEntries();
+
+    verify(stream, never()).claim(eq(GROUP), anyString(), anyLong(), any(), any(StreamMessageId[].class));
+    assertThat(consumer.getBufferDepth()).isZero();
+  }
+
+  private void pending(String... ids) {
+    List<PendingEntry> pendingEntries =
+        Arrays.stream(ids)
+            .map(id -> new PendingEntry(RedisUtils.getStreamId(id), "otherConsumer", 120_000, 1))
+            .collect(Collectors.toList());
+    when(stream.listPending(eq(GROUP), any(), any(), anyInt())).thenReturn(pendingEntries);
+  }
+
+  private static Map<StreamMessageId, Map<String, String>> messages(String... ids) {
+    Map<StreamMessageId, Map<String, String>> messages = new LinkedHashMap<>();
+    for (String id : ids) {
+      Map<String, String> message = new HashMap<>();
+      message.put(RedisUtils.REDIS_STREAM_INTERNAL_KEY, "");
+      messages.put(RedisUtils.getStreamId(id), message);
+    }
+    return messages;
+  }
+}
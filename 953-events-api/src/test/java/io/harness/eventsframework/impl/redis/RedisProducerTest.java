@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.eventsframework.impl.redis;
+
+import static io.harness.annotations.dev.HarnessTeam.PL;
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.joor.Reflect.on;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.eventsframework.producer.Message;
+import io.harness.rule.Owner;
+
+import com.google.protobuf.ByteString;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RStream;
+import org.redisson.api.RStreamAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.client.RedisException;
+
+@OwnedBy(PL)
+public class RedisProducerTest extends CategoryTest {
+  private RedissonClient redissonClient;
+  private RStreamAsync<String, String> batchStream;
+  private RedisProducer producer;
+
+  @Before
+  public void setUp() {
+    redissonClient = mock(RedissonClient.class);
+    doReturn(mock(RStream.class)).when(redissonClient).getStream(anyString(), any());
+    batchStream = mock(RStreamAsync.class);
+    RBatch batch = mock(RBatch.class);
+    doReturn(batchStream).when(batch).getStream(any(), any());
+    when(redissonClient.createBatch()).thenReturn(batch);
+    when(batch.execute()).thenThrow(new RedisException("connection reset")).thenReturn(null);
+    producer = RedisProducer.of("topic", redissonClient, 10, "producer", "");
+    on(producer).set("retry",
+        Retry.of("test", RetryConfig.custom().maxAttempts(2).waitDuration(Duration.ofMillis(10)).build()));
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testRetryOfPartiallyFailedBatchOnlySendsFailedMessages() {
+    RFuture<StreamMessageId> added = addition(new StreamMessageId(1, 0));
+    RFuture<StreamMessageId> failed = addition(null);
+    RFuture<StreamMessageId> retried = addition(new StreamMessageId(2, 0));
+    when(batchStream.addAllAsync(anyMap(), anyInt(), anyBoolean())).thenReturn(added, failed, retried);
+
+    List<String> messageIds = producer.sendAll(List.of(message("first"), message("second")));
+
+    assertThat(messageIds).containsExactly("1-0", "2-0");
+    ArgumentCaptor<Map<String, String>> redisData = ArgumentCaptor.forClass(Map.class);
+    verify(batchStream, times(3)).addAllAsync(redisData.capture(), anyInt(), anyBoolean());
+    assertThat(redisData.getAllValues().get(2)).isEqualTo(redisData.getAllValues().get(1));
+  }
+
+  private static RFuture<StreamMessageId> addition(StreamMessageId messageId) {
+    RFuture<StreamMessageId> future = mock(RFuture.class);
+    when(future.isSuccess()).thenReturn(messageId != null);
+    when(future.getNow()).thenReturn(messageId);
+    return future;
+  }
+
+  private static Message message(String data) {
+    return Message.newBuilder().setData(ByteString.copyFromUtf8(data)).build();
+  }
+}
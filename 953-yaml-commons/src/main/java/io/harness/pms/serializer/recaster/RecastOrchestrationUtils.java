@@ -47,8 +47,8 @@ import org.json.JSONException;
 @UtilityClass
 @Slf4j
 public class RecastOrchestrationUtils {
-  private static final Recast recast =
-      new Recast(new Recaster(RecasterOptions.builder().workWithMaps(true).build()), new HashSet<>());
+  private static final Recast recast = new Recast(
+      new Recaster(RecasterOptions.builder().workWithMaps(true).generatedCodecs(true).build()), new HashSet<>());
 
   static {
     recast.registerAliases(HarnessReflections.get(), HarnessPackages.IO_HARNESS, HarnessPackages.SOFTWARE_WINGS);
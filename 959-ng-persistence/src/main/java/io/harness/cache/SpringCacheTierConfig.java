@@ -0,0 +1,28 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.cache;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import lombok.Builder;
+import lombok.Data;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+@Data
+@Builder
+public class SpringCacheTierConfig {
+  boolean enabled;
+  // Upper bound on the serialized bytes held by the per pod tier
+  @Builder.Default long localMaxBytes = 64L * 1024 * 1024;
+  // Bounds staleness on this pod if an invalidation message is lost
+  @Builder.Default long localExpireAfterWriteSeconds = 60;
+  @Builder.Default long redisTtlSeconds = 3600;
+  // How long a deleted key refuses entities loaded from mongo before the delete
+  @Builder.Default long tombstoneTtlSeconds = 30;
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.cache;
+
+import static io.harness.data.structure.EmptyPredicate.isEmpty;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.StringCodec;
+
+/**
+ * Per pod and redis tiers in front of the mongo backed {@link SpringMongoStore}. Both tiers hold the serialized cache
+ * entity, versioned by its entityUpdatedAt, and never replace a newer version with an older one. Writes are announced
+ * on a redisson topic so that other pods drop their older local copies.
+ *
+ * Deleted keys are replaced in redis by a short lived tombstone. A reader which loaded the entity from mongo before
+ * the delete can not write it back while the tombstone exists, only upserts replace it.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+@Slf4j
+public class SpringCacheTiers {
+  private static final String KEY_PREFIX = "springCache";
+  private static final String INVALIDATION_TOPIC = "invalidations";
+  private static final long DELETED_VERSION = Long.MAX_VALUE;
+
+  @VisibleForTesting static final String READ_SCRIPT = "return redis.call('hmget', KEYS[1], 'v', 'k', 'd')";
+  // ARGV[5] is 1 for entities loaded from mongo, which must not replace a tombstone
+  @VisibleForTesting
+  static final String WRITE_SCRIPT =
+      "if ARGV[5] == '1' and redis.call('hexists', KEYS[1], 't') == 1 then return 0 end "
+      + "local current = redis.call('hget', KEYS[1], 'v') "
+      + "if current and tonumber(current) > tonumber(ARGV[1]) then return 0 end "
+      + "redis.call('hdel', KEYS[1], 't') "
+      + "redis.call('hset', KEYS[1], 'v', ARGV[1], 'k', ARGV[2], 'd', ARGV[3]) "
+      + "redis.call('pexpire', KEYS[1], ARGV[4]) "
+      + "return 1";
+  @VisibleForTesting
+  static final String TOMBSTONE_SCRIPT = "redis.call('del', KEYS[1]) "
+      + "redis.call('hset', KEYS[1], 't', '1') "
+      + "redis.call('pexpire', KEYS[1], ARGV[1]) "
+      + "return 1";
+
+  private final RedissonClient redissonClient;
+  private final String redisKeyPrefix;
+  private final long redisTtlMillis;
+  private final byte[] tombstoneTtlMillis;
+  private final RTopic invalidationTopic;
+  private final Cache<String, SpringCacheEntity> localTier;
+  // Newest version announced per key, so a slow read cannot put back an entry that was already replaced
+  private final Cache<String, Long> announcedVersions;
+
+  private final AtomicLong localHits = new AtomicLong();
+  private final AtomicLong redisHits = new AtomicLong();
+  private final AtomicLong mongoReads = new AtomicLong();
+
+  SpringCacheTiers(SpringCacheTierConfig config, RedissonClient redissonClient, String envNamespace) {
+    this.redissonClient = redissonClient;
+    this.redisKeyPrefix = isEmpty(envNamespace) ? KEY_PREFIX : envNamespace + ":" + KEY_PREFIX;
+    this.redisTtlMillis = TimeUnit.SECONDS.toMillis(config.getRedisTtlSeconds());
+    this.tombstoneTtlMillis = toBytes(TimeUnit.SECONDS.toMillis(config.getTombstoneTtlSeconds()));
+    this.localTier = CacheBuilder.newBuilder()
+                         .maximumWeight(config.getLocalMaxBytes())
+                         .weigher((String key, SpringCacheEntity entity) -> key.length() + entity.getEntity().length)
+                         .expireAfterWrite(config.getLocalExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+                         .build();
+    this.announcedVersions = CacheBuilder.newBuilder()
+                                 .expireAfterWrite(config.getLocalExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+                                 .build();
+    this.invalidationTopic =
+        redissonClient.getTopic(redisKeyPrefix + ":" + INVALIDATION_TOPIC, StringCodec.INSTANCE);
+    this.invalidationTopic.addListener(String.class, (channel, message) -> onInvalidation(message));
+  }
+
+  SpringCacheEntity get(String canonicalKey, Function<String, SpringCacheEntity> mongoLoader) {
+    SpringCacheEntity cached = localTier.getIfPresent(canonicalKey);
+    if (cached != null) {
+      localHits.incrementAndGet();
+      return cached;
+    }
+
+    cached = getFromRedis(canonicalKey);
+    if (cached != null) {
+      redisHits.incrementAndGet();
+      putLocal(cached);
+      return cached;
+    }
+
+    mongoReads.incrementAndGet();
+    SpringCacheEntity cacheEntity = mongoLoader.apply(canonicalKey);
+    if (cacheEntity != null && cacheEntity.getEntity() != null) {
+      put(cacheEntity, true);
+    }
+    return cacheEntity;
+  }
+
+  void put(SpringCacheEntity cacheEntity) {
+    put(cacheEntity, false);
+  }
+
+  void invalidate(Collection<String> canonicalKeys) {
+    for (String canonicalKey : canonicalKeys) {
+      onInvalidation(canonicalKey, DELETED_VERSION);
+    }
+    try {
+      RScript script = redissonClient.getScript(ByteArrayCodec.INSTANCE);
+      for (String canonicalKey : canonicalKeys) {
+        // Keys are written one by one, they may be in different slots of a redis cluster
+        script.eval(RScript.Mode.READ_WRITE, TOMBSTONE_SCRIPT, RScript.ReturnType.INTEGER,
+            Collections.singletonList(redisKey(canonicalKey)), tombstoneTtlMillis);
+        invalidationTopic.publish(DELETED_VERSION + ":" + canonicalKey);
+      }
+    } catch (RuntimeException ex) {
+      log.warn("Failed to invalidate the redis cache tier for {} keys", canonicalKeys.size(), ex);
+    }
+  }
+
+  public long localHitCount() {
+    return localHits.get();
+  }
+
+  public long redisHitCount() {
+    return redisHits.get();
+  }
+
+  public long mongoReadCount() {
+    return mongoReads.get();
+  }
+
+  public double localHitRatio() {
+    long total = localHits.get() + redisHits.get() + mongoReads.get();
+    return total == 0 ? 0 : (double) localHits.get() / total;
+  }
+
+  // Share of the local misses served by redis
+  public double redisHitRatio() {
+    long total = redisHits.get() + mongoReads.get();
+    return total == 0 ? 0 : (double) redisHits.get() / total;
+  }
+
+  public long localSize() {
+    return localTier.size();
+  }
+
+  // Entities loaded from mongo are written back, they must not replace a newer version or a tombstone
+  private void put(SpringCacheEntity cacheEntity, boolean writeBack) {
+    long version = versionOf(cacheEntity);
+    long ttlMillis = redisTtlMillis;
+    if (cacheEntity.getValidUntil() != null) {
+      ttlMillis = Math.min(ttlMillis, cacheEntity.getValidUntil().getTime() - System.currentTimeMillis());
+    }
+    if (ttlMillis <= 0) {
+      // Expired in mongo already, it is only waiting for the ttl monitor
+      return;
+    }
+    try {
+      Long written = redissonClient.getScript(ByteArrayCodec.INSTANCE)
+                         .eval(RScript.Mode.READ_WRITE, WRITE_SCRIPT, RScript.ReturnType.INTEGER,
+                             Collections.singletonList(redisKey(cacheEntity.getCanonicalKey())), toBytes(version),
+                             toBytes(cacheEntity.isUsingKryoWithoutReference() ? 1 : 0), cacheEntity.getEntity(),
+                             toBytes(ttlMillis), toBytes(writeBack ? 1 : 0));
+      if (written == null || written == 0) {
+        // Redis already holds a newer version, or the key was deleted
+        return;
+      }
+      if (!writeBack) {
+        invalidationTopic.publish(version + ":" + cacheEntity.getCanonicalKey());
+      }
+    } catch (RuntimeException ex) {
+      log.warn("Failed to update the redis cache tier for key {}", cacheEntity.getCanonicalKey(), ex);
+    }
+    putLocal(cacheEntity);
+  }
+
+  private SpringCacheEntity getFromRedis(String canonicalKey) {
+    try {
+      List<Object> fields = redissonClient.getScript(ByteArrayCodec.INSTANCE)
+                                .eval(RScript.Mode.READ_ONLY, READ_SCRIPT, RScript.ReturnType.MULTI,
+                                    Collections.singletonList(redisKey(canonicalKey)));
+      if (fields == null || fields.size() < 3 || fields.get(0) == null || fields.get(2) == null) {
+        return null;
+      }
+      return SpringCacheEntity.builder()
+          .canonicalKey(canonicalKey)
+          .entityUpdatedAt(Long.parseLong(new String((byte[]) fields.get(0), UTF_8)))
+          .usingKryoWithoutReference("1".equals(new String((byte[]) fields.get(1), UTF_8)))
+          .entity((byte[]) fields.get(2))
+          .build();
+    } catch (RuntimeException ex) {
+      log.warn("Failed to read the redis cache tier for key {}", canonicalKey, ex);
+    }
+    return null;
+  }
+
+  private void putLocal(SpringCacheEntity cacheEntity) {
+    long version = versionOf(cacheEntity);
+    Long announced = announcedVersions.getIfPresent(cacheEntity.getCanonicalKey());
+    if (announced != null && announced > version) {
+      return;
+    }
+    localTier.asMap().merge(cacheEntity.getCanonicalKey(), cacheEntity,
+        (current, candidate) -> versionOf(candidate) >= versionOf(current) ? candidate : current);
+  }
+
+  private void onInvalidation(String message) {
+    int separator = message.indexOf(':');
+    if (separator <= 0) {
+      return;
+    }
+    try {
+      onInvalidation(message.substring(separator + 1), Long.parseLong(message.substring(0, separator)));
+    } catch (NumberFormatException ex) {
+      log.warn("Ignoring malformed cache invalidation {}", message);
+    }
+  }
+
+  private void onInvalidation(String canonicalKey, long version) {
+    announcedVersions.asMap().merge(canonicalKey, version, Math::max);
+    SpringCacheEntity current = localTier.getIfPresent(canonicalKey);
+    if (current != null && versionOf(current) < version) {
+      localTier.asMap().remove(canonicalKey, current);
+    }
+  }
+
+  private String redisKey(String canonicalKey) {
+    return redisKeyPrefix + ":" + canonicalKey;
+  }
+
+  private static long versionOf(SpringCacheEntity cacheEntity) {
+    return cacheEntity.getEntityUpdatedAt() == null ? 0 : cacheEntity.getEntityUpdatedAt();
+  }
+
+  private static byte[] toBytes(long value) {
+    return String.valueOf(value).getBytes(UTF_8);
+  }
+}
@@ -34,9 +34,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.RetryPolicy;
+import org.redisson.api.RedissonClient;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
@@ -54,6 +56,20 @@ public class SpringMongoStore implements DistributedStore {
   @Inject private KryoSerializer kryoSerializer;
   @Inject @Named("referenceFalseKryoSerializer") private KryoSerializer referenceFalseKryoSerializer;
 
+  @Getter private volatile SpringCacheTiers cacheTiers;
+
+  /**
+   * Serves reads without a context value from a per pod tier and then redis before falling back to mongo. Writes and
+   * deletes go to mongo first and are then propagated to both tiers.
+   */
+  public synchronized void enableCacheTiers(
+      SpringCacheTierConfig config, RedissonClient redissonClient, String envNamespace) {
+    if (config == null || !config.isEnabled() || cacheTiers != null) {
+      return;
+    }
+    cacheTiers = new SpringCacheTiers(config, redissonClient, envNamespace);
+  }
+
   @Override
   public <T extends Distributable> T get(long algorithmId, long structureHash, String key, List<String> params) {
     return get(null, algorithmId, structureHash, key, params);
@@ -133,7 +149,11 @@ public class SpringMongoStore implements DistributedStore {
         query.addCriteria(where(SpringCacheEntityKeys.contextValue).is(contextValue));
       }
 
-      final io.harness.cache.SpringCacheEntity cacheEntity = mongoTemplate.findOne(query, SpringCacheEntity.class);
+      SpringCacheTiers tiers = cacheTiers;
+      final io.harness.cache.SpringCacheEntity cacheEntity = tiers == null || contextValue != null
+          ? mongoTemplate.findOne(query, SpringCacheEntity.class)
+          : tiers.get(canonicalKey(algorithmId, structureHash, key, params),
+              canonicalKey -> mongoTemplate.findOne(query, SpringCacheEntity.class));
       return inflateObject(cacheEntity);
     } catch (RuntimeException ex) {
       log.error("Failed to obtain from cache", ex);
@@ -162,8 +182,13 @@ public class SpringMongoStore implements DistributedStore {
         query.addCriteria(where(SpringCacheEntityKeys.contextValue).is(contextValue));
       }
 
-      final io.harness.cache.SpringCacheEntity cacheEntity =
-          secondaryMongoTemplateHolder.getSecondaryMongoTemplate().findOne(query, SpringCacheEntity.class);
+      // The tiers are at least as fresh as the secondary, so they are preferred whenever they hold the entity
+      SpringCacheTiers tiers = cacheTiers;
+      final io.harness.cache.SpringCacheEntity cacheEntity = tiers == null || contextValue != null
+          ? secondaryMongoTemplateHolder.getSecondaryMongoTemplate().findOne(query, SpringCacheEntity.class)
+          : tiers.get(canonicalKey(algorithmId, structureHash, key, params),
+              canonicalKey
+              -> secondaryMongoTemplateHolder.getSecondaryMongoTemplate().findOne(query, SpringCacheEntity.class));
 
       return inflateObject(cacheEntity);
     } catch (RuntimeException ex) {
@@ -184,6 +209,9 @@ public class SpringMongoStore implements DistributedStore {
         PersistenceUtils.getRetryPolicy("[Retrying]: Failed deleting SpringCacheEntity; attempt: {}",
             "[Failed]: Failed deleting SpringCacheEntity; attempt: {}");
     Failsafe.with(retryPolicy).get(() -> mongoTemplate.remove(query, SpringCacheEntity.class));
+    if (cacheTiers != null) {
+      cacheTiers.invalidate(finalEntityKeys);
+    }
   }
 
   private <T extends Distributable> void upsertInternal(
@@ -207,7 +235,11 @@ public class SpringMongoStore implements DistributedStore {
                           .set(SpringCacheEntityKeys.validUntil, Date.from(OffsetDateTime.now().plus(ttl).toInstant()))
                           .set(SpringCacheEntityKeys.entityUpdatedAt, entityLastUpdatedAt);
 
-      mongoTemplate.findAndModify(query, update, HMongoTemplate.upsertReturnNewOptions, SpringCacheEntity.class);
+      SpringCacheEntity updated =
+          mongoTemplate.findAndModify(query, update, HMongoTemplate.upsertReturnNewOptions, SpringCacheEntity.class);
+      if (cacheTiers != null && updated != null) {
+        cacheTiers.put(updated);
+      }
     } catch (MongoCommandException e) {
       if (ErrorCategory.fromErrorCode(e.getErrorCode()) != DUPLICATE_KEY) {
         log.error("Failed to update cache for key {}, hash {}", canonicalKey, contextValue, e);
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.mongo.iterator.provider;
+
+import io.harness.mongo.iterator.provider.BatchLeaseHelper.LeaseStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+class SpringLeaseStore<T> implements LeaseStore<T> {
+  private final MongoTemplate persistence;
+  private final Class<T> clazz;
+  // Query of the due documents, given whether it may be unsorted
+  private final Function<Boolean, Query> dueQuery;
+  private final boolean unsorted;
+
+  SpringLeaseStore(MongoTemplate persistence, Class<T> clazz, Function<Boolean, Query> dueQuery, boolean unsorted) {
+    this.persistence = persistence;
+    this.clazz = clazz;
+    this.dueQuery = dueQuery;
+    this.unsorted = unsorted;
+  }
+
+  @Override
+  public List<Object> findDueIds(int limit) {
+    Query query = dueQuery.apply(unsorted);
+    query.limit(limit);
+    query.fields().include("_id");
+    List<Object> ids = new ArrayList<>();
+    for (Document document : persistence.find(query, Document.class, persistence.getCollectionName(clazz))) {
+      ids.add(document.get("_id"));
+    }
+    return ids;
+  }
+
+  @Override
+  public void leaseDue(List<Object> ids, String fieldName, long leaseExpiry, String ownerField, String leaseToken) {
+    Query leaseQuery = dueQuery.apply(true);
+    leaseQuery.addCriteria(Criteria.where("_id").in(ids));
+    Update update = new Update();
+    update.set(fieldName, leaseExpiry);
+    update.set(ownerField, leaseToken);
+    persistence.updateMulti(leaseQuery, update, clazz);
+  }
+
+  @Override
+  public List<T> findLeased(List<Object> ids, String ownerField, String leaseToken) {
+    return persistence.find(ownedQuery(ids, ownerField, leaseToken), clazz);
+  }
+
+  @Override
+  public void unsetOwner(List<Object> ids, String ownerField, String leaseToken) {
+    Update update = new Update();
+    update.unset(ownerField);
+    persistence.updateMulti(ownedQuery(ids, ownerField, leaseToken), update, clazz);
+  }
+
+  private static Query ownedQuery(List<Object> ids, String ownerField, String leaseToken) {
+    return new Query(Criteria.where("_id").in(ids).and(ownerField).is(leaseToken));
+  }
+}
@@ -125,6 +125,17 @@ public class SpringPersistenceRequiredProvider<T extends PersistentIterable>
     return docs.iterator();
   }
 
+  @Override
+  public List<T> obtainNextInstancesWithLease(long base, Class<T> clazz, String fieldName, Duration targetInterval,
+      SpringFilterExpander filterExpander, boolean unsorted, int limit, String leaseToken,
+      boolean isDelegateTaskMigrationEnabled) {
+    long now = currentTimeMillis();
+    SpringLeaseStore<T> store = new SpringLeaseStore<>(
+        persistence, clazz, unsortedQuery -> createQuery(now, fieldName, filterExpander, unsortedQuery), unsorted);
+    return BatchLeaseHelper.obtainNextInstancesWithLease(
+        store, fieldName, base + targetInterval.toMillis(), limit, leaseToken);
+  }
+
   @Override
   public BulkWriteOpsResults bulkWriteDocumentsMatchingIds(
       Class<T> clazz, List<String> ids, String fieldName, long base, Duration targetInterval) {
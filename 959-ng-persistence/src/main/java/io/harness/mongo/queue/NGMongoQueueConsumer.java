@@ -7,10 +7,15 @@
 
 package io.harness.mongo.queue;
 
+import static io.harness.data.structure.EmptyPredicate.isEmpty;
 import static io.harness.data.structure.EmptyPredicate.isNotEmpty;
+import static io.harness.data.structure.UUIDGenerator.generateUuid;
 import static io.harness.govern.Switch.unhandled;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 import io.harness.exception.UnexpectedException;
 import io.harness.persistence.HPersistence;
@@ -20,9 +25,12 @@ import io.harness.queue.QueueConsumer;
 import io.harness.queue.TopicUtils;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import lombok.Setter;
@@ -79,10 +87,14 @@ public class NGMongoQueueConsumer<T extends Queuable> implements QueueConsumer<T
                         .addCriteria(Criteria.where(QueuableKeys.earliestGet).lte(now))
                         .with(Sort.by(Direction.ASC, QueuableKeys.earliestGet));
 
-      Update update = new Update().set(QueuableKeys.earliestGet, new Date(now.getTime() + heartbeat().toMillis()));
+      Update update = new Update()
+                          .set(QueuableKeys.earliestGet, new Date(now.getTime() + heartbeat().toMillis()))
+                          .unset(QueuableKeys.leaseId);
 
       T message = HPersistence.retry(() -> persistence.findAndModify(query, update, klass));
       if (message != null) {
+        // The returned document is the one before the update, drop any lease it carried from an earlier batch
+        message.setLeaseId(null);
         return message;
       }
 
@@ -101,6 +113,101 @@ public class NGMongoQueueConsumer<T extends Queuable> implements QueueConsumer<T
     }
   }
 
+  /**
+   * Leases up to max messages in two round trips, see MongoQueueConsumer#get(int, Duration).
+   */
+  @Override
+  public List<T> get(int max, Duration wait) {
+    long endTime = System.currentTimeMillis() + wait.toMillis();
+    boolean acquired = false;
+    try {
+      acquired = semaphore.tryAcquire(wait.toMillis(), TimeUnit.MILLISECONDS);
+      if (acquired) {
+        return getBatchUnderLock(max, endTime, DEFAULT_POLL);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      if (acquired) {
+        semaphore.release();
+      }
+    }
+    return new ArrayList<>();
+  }
+
+  private List<T> getBatchUnderLock(int max, long endTime, Duration poll) {
+    while (true) {
+      List<T> messages = lease(max);
+      if (!messages.isEmpty() || System.currentTimeMillis() >= endTime) {
+        return messages;
+      }
+
+      try {
+        Thread.sleep(Math.min(poll.toMillis(), Math.max(endTime - System.currentTimeMillis(), 0)));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return messages;
+      }
+    }
+  }
+
+  private List<T> lease(int max) {
+    final Date now = new Date();
+    Query query = createQuery()
+                      .addCriteria(Criteria.where(QueuableKeys.earliestGet).lte(now))
+                      .with(Sort.by(Direction.ASC, QueuableKeys.earliestGet))
+                      .limit(max);
+    List<T> candidates = HPersistence.retry(() -> persistence.find(query, klass));
+    if (candidates.isEmpty()) {
+      return candidates;
+    }
+
+    String leaseId = generateUuid();
+    List<String> candidateIds = candidates.stream().map(Queuable::getId).collect(toList());
+    Query leaseQuery = createQuery()
+                           .addCriteria(Criteria.where(QueuableKeys.id).in(candidateIds))
+                           .addCriteria(Criteria.where(QueuableKeys.earliestGet).lte(now));
+    Update leaseUpdate = new Update()
+                             .set(QueuableKeys.earliestGet, new Date(now.getTime() + heartbeat().toMillis()))
+                             .set(QueuableKeys.leaseId, leaseId);
+    long leased = persistence.updateMulti(leaseQuery, leaseUpdate, klass).getModifiedCount();
+
+    List<T> messages = candidates;
+    if (leased < candidates.size()) {
+      // Some of the candidates were taken by another consumer in between, keep only the ones carrying our lease
+      Query leasedQuery = new Query()
+                              .addCriteria(Criteria.where(QueuableKeys.id).in(candidateIds))
+                              .addCriteria(Criteria.where(QueuableKeys.leaseId).is(leaseId));
+      leasedQuery.fields().include(QueuableKeys.id);
+      Set<String> leasedIds = persistence.find(leasedQuery, klass).stream().map(Queuable::getId).collect(toSet());
+      messages = candidates.stream().filter(message -> leasedIds.contains(message.getId())).collect(toList());
+    }
+    messages.forEach(message -> message.setLeaseId(leaseId));
+    return messages;
+  }
+
+  @Override
+  public void updateHeartbeats(List<T> messages) {
+    Date earliestGet = new Date(System.currentTimeMillis() + heartbeat().toMillis());
+    Map<String, List<T>> messagesByLease = messages.stream()
+                                               .filter(message -> message.getLeaseId() != null)
+                                               .collect(groupingBy(Queuable::getLeaseId));
+    messagesByLease.forEach((leaseId, leasedMessages) -> {
+      List<String> ids = leasedMessages.stream().map(Queuable::getId).collect(toList());
+      Query query = new Query()
+                        .addCriteria(Criteria.where(QueuableKeys.leaseId).is(leaseId))
+                        .addCriteria(Criteria.where(QueuableKeys.id).in(ids));
+      long updated =
+          persistence.updateMulti(query, new Update().set(QueuableKeys.earliestGet, earliestGet), klass)
+              .getModifiedCount();
+      if (updated < ids.size()) {
+        log.warn("Update heartbeat refreshed {} of {} messages of lease {}", updated, ids.size(), leaseId);
+      }
+      leasedMessages.forEach(message -> message.setEarliestGet(earliestGet));
+    });
+    messages.stream().filter(message -> message.getLeaseId() == null).forEach(this::updateHeartbeat);
+  }
+
   @Override
   public void updateHeartbeat(T message) {
     Date earliestGet = new Date(System.currentTimeMillis() + heartbeat().toMillis());
@@ -140,6 +247,25 @@ public class NGMongoQueueConsumer<T extends Queuable> implements QueueConsumer<T
     persistence.remove(new Query().addCriteria(Criteria.where(QueuableKeys.id).is(message.getId())), klass);
   }
 
+  @Override
+  public void ackAll(List<T> messages) {
+    if (isEmpty(messages)) {
+      return;
+    }
+    // Only the messages still held by their lease are acked, the ones requeued or taken over by another consumer stay
+    Map<String, List<T>> messagesByLease = messages.stream()
+                                               .filter(message -> message.getLeaseId() != null)
+                                               .collect(groupingBy(Queuable::getLeaseId));
+    messagesByLease.forEach((leaseId, leasedMessages) -> {
+      List<String> ids = leasedMessages.stream().map(Queuable::getId).collect(toList());
+      persistence.remove(new Query()
+                             .addCriteria(Criteria.where(QueuableKeys.leaseId).is(leaseId))
+                             .addCriteria(Criteria.where(QueuableKeys.id).in(ids)),
+          klass);
+    });
+    messages.stream().filter(message -> message.getLeaseId() == null).forEach(this::ack);
+  }
+
   @Override
   public void requeue(final String id, int retries) {
     requeue(id, retries, new Date());
@@ -151,7 +277,11 @@ public class NGMongoQueueConsumer<T extends Queuable> implements QueueConsumer<T
     Objects.requireNonNull(earliestGet);
 
     persistence.updateFirst(new Query().addCriteria(Criteria.where(QueuableKeys.id).is(id)),
-        new Update().set(QueuableKeys.retries, retries).set(QueuableKeys.earliestGet, earliestGet), klass);
+        new Update()
+            .set(QueuableKeys.retries, retries)
+            .set(QueuableKeys.earliestGet, earliestGet)
+            .unset(QueuableKeys.leaseId),
+        klass);
   }
 
   @Override
@@ -34,6 +34,8 @@ import io.harness.timeout.TimeoutInstance.TimeoutInstanceKeys;
 import io.harness.timeout.contracts.Dimension;
 import io.harness.timeout.trackers.absolute.AbsoluteTimeoutParameters;
 import io.harness.timeout.trackers.absolute.AbsoluteTimeoutTrackerFactory;
+import io.harness.timeout.wheel.TimeoutWheelConfig;
+import io.harness.timeout.wheel.TimeoutWheelScheduler;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
@@ -42,7 +44,9 @@ import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.google.inject.Singleton;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
@@ -66,6 +70,24 @@ public class TimeoutEngine extends IteratorLoopModeHandler implements Handler<Ti
   @Inject private Injector injector;
   @Inject private TimeoutRegistry timeoutRegistry;
 
+  private volatile TimeoutWheelScheduler timeoutWheelScheduler;
+  private long recoveryGraceMillis;
+
+  /**
+   * Fires near term timeouts registered on this pod from an in memory timing wheel. Mongo stays the durable record and
+   * the persistence iterator only fires those timeouts if this pod did not within the recovery grace period.
+   *
+   * @return the scheduler to be managed with the application lifecycle, null if the wheel is not enabled
+   */
+  public synchronized TimeoutWheelScheduler enableTimeoutWheel(TimeoutWheelConfig config) {
+    if (config == null || !config.isEnabled() || timeoutWheelScheduler != null) {
+      return null;
+    }
+    recoveryGraceMillis = Duration.ofSeconds(config.getRecoveryGraceSeconds()).toMillis();
+    timeoutWheelScheduler = new TimeoutWheelScheduler(config, this::handleWheelExpiry, this::deleteTimeoutsFromStore);
+    return timeoutWheelScheduler;
+  }
+
   public TimeoutInstance registerTimeout(@NotNull Dimension dimension, @NotNull TimeoutParameters timeoutParameters,
       @NotNull TimeoutCallback timeoutCallback) {
     TimeoutTrackerFactory timeoutTrackerFactory = timeoutRegistry.obtain(dimension);
@@ -83,20 +105,53 @@ public class TimeoutEngine extends IteratorLoopModeHandler implements Handler<Ti
     TimeoutInstance timeoutInstance =
         TimeoutInstance.builder().uuid(generateUuid()).tracker(timeoutTracker).callback(timeoutCallback).build();
     timeoutInstance.resetNextIteration();
+    boolean inMemory = deferIterationForWheel(timeoutInstance);
     TimeoutInstance savedTimeoutInstance = timeoutInstanceRepository.save(timeoutInstance);
     log.info(format("Registered timeout with uuid: %s, currentTime: %d, expiryTime: %d, diff: %d",
         timeoutInstance.getUuid(), System.currentTimeMillis(), timeoutInstance.getNextIteration(),
         timeoutInstance.getNextIteration() - System.currentTimeMillis()));
+    scheduleOrWakeup(timeoutInstance, inMemory);
+    return savedTimeoutInstance;
+  }
+
+  // Moves the iteration past the recovery grace period when the wheel of this pod is going to fire the timeout
+  private boolean deferIterationForWheel(TimeoutInstance timeoutInstance) {
+    TimeoutWheelScheduler scheduler = timeoutWheelScheduler;
+    Long expiryTime = timeoutInstance.getTracker().getExpiryTime();
+    if (scheduler == null || !scheduler.canHold(expiryTime)) {
+      return false;
+    }
+    timeoutInstance.setNextIteration(expiryTime + recoveryGraceMillis);
+    return true;
+  }
+
+  // Must be called after the instance is saved, the wheel reads it back from Mongo when it fires
+  private void scheduleOrWakeup(TimeoutInstance timeoutInstance, boolean inMemory) {
+    TimeoutWheelScheduler scheduler = timeoutWheelScheduler;
+    if (inMemory && scheduler.schedule(timeoutInstance.getUuid(), timeoutInstance.getTracker().getExpiryTime())) {
+      return;
+    }
+    if (scheduler != null) {
+      scheduler.unschedule(timeoutInstance.getUuid());
+    }
     if (iterator != null) {
       iterator.wakeup();
     }
-    return savedTimeoutInstance;
   }
 
   public void deleteTimeouts(List<String> timeoutInstanceIds) {
     if (EmptyPredicate.isEmpty(timeoutInstanceIds)) {
       return;
     }
+    TimeoutWheelScheduler scheduler = timeoutWheelScheduler;
+    if (scheduler != null) {
+      scheduler.cancel(timeoutInstanceIds);
+      return;
+    }
+    deleteTimeoutsFromStore(timeoutInstanceIds);
+  }
+
+  private void deleteTimeoutsFromStore(List<String> timeoutInstanceIds) {
     List<List<String>> partition = Lists.partition(timeoutInstanceIds, MAX_BATCH_SIZE);
     for (List<String> batchTimeInstanceIds : partition) {
       timeoutInstanceRepository.deleteByUuidIn(batchTimeInstanceIds);
@@ -104,6 +159,11 @@ public class TimeoutEngine extends IteratorLoopModeHandler implements Handler<Ti
   }
 
   public void deleteTimeout(@NonNull String timeoutInstanceId) {
+    TimeoutWheelScheduler scheduler = timeoutWheelScheduler;
+    if (scheduler != null) {
+      scheduler.cancel(Collections.singletonList(timeoutInstanceId));
+      return;
+    }
     // equal operator is better than in operator
     timeoutInstanceRepository.deleteById(timeoutInstanceId);
   }
@@ -116,14 +176,32 @@ public class TimeoutEngine extends IteratorLoopModeHandler implements Handler<Ti
     for (TimeoutInstance timeoutInstance : timeoutInstanceRepository.findAllById(timeoutInstanceIds)) {
       if (timeoutInstance.tracker.onEvent(event)) {
         timeoutInstance.resetNextIteration();
+        boolean inMemory = deferIterationForWheel(timeoutInstance);
         timeoutInstanceRepository.save(timeoutInstance);
-        if (iterator != null) {
-          iterator.wakeup();
-        }
+        scheduleOrWakeup(timeoutInstance, inMemory);
       }
     }
   }
 
+  // The wheel only holds ids, the instance is re-read as it may have been cancelled or updated by another pod
+  private void handleWheelExpiry(String timeoutInstanceId) {
+    Optional<TimeoutInstance> timeoutInstance = timeoutInstanceRepository.findById(timeoutInstanceId);
+    if (!timeoutInstance.isPresent()) {
+      return;
+    }
+    Long expiryTime = timeoutInstance.get().getTracker().getExpiryTime();
+    if (expiryTime == null) {
+      // Paused, onEvent reschedules it once the tracker resumes
+      return;
+    }
+    if (expiryTime > System.currentTimeMillis()) {
+      // Extended by an event, the saved iteration already covers it if the wheel cannot hold it anymore
+      timeoutWheelScheduler.schedule(timeoutInstanceId, expiryTime);
+      return;
+    }
+    handle(timeoutInstance.get());
+  }
+
   @Override
   public void createAndStartRedisBatchIterator(
       PersistenceIteratorFactory.RedisBatchExecutorOptions executorOptions, Duration targetInterval) {
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.timeout.wheel;
+
+import static io.harness.annotations.dev.HarnessTeam.PIPELINE;
+
+import io.harness.annotations.dev.OwnedBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by id.
+ *
+ * Level 0 has wheelSize slots of tickMillis each, every next level has wheelSize slots each spanning a full rotation of
+ * the level below. Adding and cancelling are O(1), advancing costs one step per elapsed tick plus the entries that
+ * expire or cascade down a level. Entries never fire early, they fire on the first advance at least tickMillis past
+ * the slot holding their expiry.
+ *
+ * This class is not thread safe, callers are expected to guard it with a single lock.
+ */
+@OwnedBy(PIPELINE)
+public class HierarchicalTimingWheel<T> {
+  private final long tickMillis;
+  private final int wheelSize;
+  private final long[] slotSpans;
+  private final Slot<T>[][] slots;
+  private final Map<String, Entry<T>> entries = new HashMap<>();
+  private long currentTime;
+
+  @SuppressWarnings("unchecked")
+  public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startTime) {
+    if (tickMillis <= 0 || wheelSize <= 1 || levels <= 0) {
+      throw new IllegalArgumentException("Timing wheel needs a positive tick, more than one slot and a level");
+    }
+    this.tickMillis = tickMillis;
+    this.wheelSize = wheelSize;
+    this.slotSpans = new long[levels];
+    this.slots = new Slot[levels][wheelSize];
+    long span = tickMillis;
+    for (int level = 0; level < levels; level++) {
+      slotSpans[level] = span;
+      for (int index = 0; index < wheelSize; index++) {
+        slots[level][index] = new Slot<>();
+      }
+      span = Math.multiplyExact(span, wheelSize);
+    }
+    this.currentTime = startTime - startTime % tickMillis;
+  }
+
+  /**
+   * @return the furthest expiry, relative to the current time, the wheel can hold
+   */
+  public long getHorizonMillis() {
+    return slotSpans[slotSpans.length - 1] * (wheelSize - 1);
+  }
+
+  /**
+   * Adds or replaces the entry for the given id.
+   *
+   * @return false if the expiry is already due, in which case nothing is added and the caller should fire it now
+   * @throws IllegalArgumentException if the expiry is beyond {@link #getHorizonMillis()}
+   */
+  public boolean add(String id, long expiryTime, T payload) {
+    cancel(id);
+    if (expiryTime < currentTime) {
+      return false;
+    }
+    Entry<T> entry = new Entry<>(id, expiryTime, payload);
+    if (!place(entry)) {
+      throw new IllegalArgumentException("Expiry " + expiryTime + " is beyond the horizon of the timing wheel");
+    }
+    entries.put(id, entry);
+    return true;
+  }
+
+  /**
+   * @return the payload of the removed entry or null if there was none
+   */
+  public T cancel(String id) {
+    Entry<T> entry = entries.remove(id);
+    if (entry == null) {
+      return null;
+    }
+    entry.unlink();
+    return entry.payload;
+  }
+
+  public boolean contains(String id) {
+    return entries.containsKey(id);
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Moves the wheel forward to the given time and returns the payloads of all the entries which expired.
+   */
+  public List<T> advance(long now) {
+    List<T> expired = new ArrayList<>();
+    if (entries.isEmpty()) {
+      currentTime = Math.max(currentTime, now - now % tickMillis);
+      return expired;
+    }
+    while (currentTime + tickMillis <= now) {
+      // Everything left in the current level 0 slot expires before currentTime + tickMillis
+      drain(slots[0][index(0, currentTime)], expired);
+      currentTime += tickMillis;
+      cascade();
+    }
+    return expired;
+  }
+
+  private void cascade() {
+    for (int level = slotSpans.length - 1; level > 0; level--) {
+      if (currentTime % slotSpans[level] != 0) {
+        continue;
+      }
+      Slot<T> slot = slots[level][index(level, currentTime)];
+      Entry<T> entry = slot.head.next;
+      while (entry != slot.head) {
+        Entry<T> next = entry.next;
+        entry.unlink();
+        place(entry);
+        entry = next;
+      }
+    }
+  }
+
+  private void drain(Slot<T> slot, List<T> expired) {
+    Entry<T> entry = slot.head.next;
+    while (entry != slot.head) {
+      Entry<T> next = entry.next;
+      entry.unlink();
+      entries.remove(entry.id);
+      expired.add(entry.payload);
+      entry = next;
+    }
+  }
+
+  private boolean place(Entry<T> entry) {
+    for (int level = 0; level < slotSpans.length; level++) {
+      long distance = entry.expiryTime / slotSpans[level] - currentTime / slotSpans[level];
+      if (distance < wheelSize) {
+        slots[level][index(level, entry.expiryTime)].append(entry);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int index(int level, long time) {
+    return (int) ((time / slotSpans[level]) % wheelSize);
+  }
+
+  private static class Slot<T> {
+    private final Entry<T> head = new Entry<>(null, 0, null);
+
+    Slot() {
+      head.prev = head;
+      head.next = head;
+    }
+
+    void append(Entry<T> entry) {
+      entry.prev = head.prev;
+      entry.next = head;
+      head.prev.next = entry;
+      head.prev = entry;
+    }
+  }
+
+  private static class Entry<T> {
+    private final String id;
+    private final long expiryTime;
+    private final T payload;
+    private Entry<T> prev;
+    private Entry<T> next;
+
+    Entry(String id, long expiryTime, T payload) {
+      this.id = id;
+      this.expiryTime = expiryTime;
+      this.payload = payload;
+    }
+
+    void unlink() {
+      if (prev != null) {
+        prev.next = next;
+        next.prev = prev;
+        prev = null;
+        next = null;
+      }
+    }
+  }
+}
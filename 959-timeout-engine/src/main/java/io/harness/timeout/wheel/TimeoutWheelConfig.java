@@ -0,0 +1,31 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.timeout.wheel;
+
+import static io.harness.annotations.dev.HarnessTeam.PIPELINE;
+
+import io.harness.annotations.dev.OwnedBy;
+
+import lombok.Builder;
+import lombok.Data;
+
+@OwnedBy(PIPELINE)
+@Data
+@Builder
+public class TimeoutWheelConfig {
+  boolean enabled;
+  @Builder.Default long tickMillis = 100;
+  @Builder.Default int wheelSize = 512;
+  @Builder.Default int levels = 3;
+  // Timeouts expiring further out than this are left to the persistence iterator
+  @Builder.Default long horizonSeconds = 3600;
+  // How long after the expiry the persistence iterator waits before firing a timeout held by a pod's wheel
+  @Builder.Default long recoveryGraceSeconds = 120;
+  @Builder.Default long deleteFlushIntervalMillis = 1000;
+  @Builder.Default int threadPoolSize = 5;
+}
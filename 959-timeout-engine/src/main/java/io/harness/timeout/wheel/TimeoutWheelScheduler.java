@@ -0,0 +1,197 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.timeout.wheel;
+
+import static io.harness.annotations.dev.HarnessTeam.PIPELINE;
+
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.threading.ThreadPool;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dropwizard.lifecycle.Managed;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pod local scheduler for near term timeouts.
+ *
+ * Timeouts registered on this pod and expiring within the horizon are held in a {@link HierarchicalTimingWheel} and
+ * fired from memory, so the pod only fires its own partition. The durable record stays in Mongo, the caller pushes its
+ * iteration past the expiry by a recovery grace period so that the persistence iterator only picks it up if this pod
+ * died before firing it. Cancellation removes the entry from the wheel and queues the Mongo delete, which is written
+ * behind in batches. Deletes queued before {@link #start} are kept until the first flush, {@link #stop} writes the
+ * remaining ones once the ticker has finished and later deletes are written right away.
+ */
+@OwnedBy(PIPELINE)
+@Slf4j
+public class TimeoutWheelScheduler implements Managed {
+  private final TimeoutWheelConfig config;
+  private final HierarchicalTimingWheel<String> wheel;
+  private final long horizonMillis;
+  private final Consumer<String> expiryHandler;
+  private final Consumer<List<String>> deleteWriter;
+  private final ConcurrentLinkedQueue<String> pendingDeletes = new ConcurrentLinkedQueue<>();
+  private final Object lock = new Object();
+
+  private ScheduledExecutorService ticker;
+  private volatile ExecutorService handlerExecutor;
+  private volatile boolean stopped;
+
+  public TimeoutWheelScheduler(
+      TimeoutWheelConfig config, Consumer<String> expiryHandler, Consumer<List<String>> deleteWriter) {
+    this.config = config;
+    this.wheel = new HierarchicalTimingWheel<>(
+        config.getTickMillis(), config.getWheelSize(), config.getLevels(), System.currentTimeMillis());
+    this.horizonMillis = Math.min(TimeUnit.SECONDS.toMillis(config.getHorizonSeconds()), wheel.getHorizonMillis());
+    this.expiryHandler = expiryHandler;
+    this.deleteWriter = deleteWriter;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (ticker != null) {
+      return;
+    }
+    handlerExecutor = ThreadPool.create(config.getThreadPoolSize(), config.getThreadPoolSize(), 30, TimeUnit.SECONDS,
+        new ThreadFactoryBuilder().setNameFormat("TimeoutWheelHandler-%d").setDaemon(true).build());
+    ticker = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("timeout-wheel-ticker").setDaemon(true).build());
+    ticker.scheduleWithFixedDelay(this::tick, config.getTickMillis(), config.getTickMillis(), TimeUnit.MILLISECONDS);
+    ticker.scheduleWithFixedDelay(this::flushDeletes, config.getDeleteFlushIntervalMillis(),
+        config.getDeleteFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void stop() throws InterruptedException {
+    stopped = true;
+    if (ticker != null) {
+      // a running flush is not interrupted, its batch is already taken off the queue
+      ticker.shutdown();
+      ticker.awaitTermination(config.getDeleteFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+    if (handlerExecutor != null) {
+      handlerExecutor.shutdown();
+    }
+    flushDeletes();
+  }
+
+  /**
+   * @return true if the expiry is within the horizon, so the wheel will fire it once {@link #schedule} is called
+   */
+  public boolean canHold(Long expiryTime) {
+    return expiryTime != null && expiryTime - System.currentTimeMillis() <= horizonMillis;
+  }
+
+  /**
+   * Adds or moves the in memory timeout. Timeouts which are already due are handed to the expiry handler right away.
+   *
+   * @return false if the wheel cannot hold the expiry, in which case any earlier entry for the id is dropped
+   */
+  public boolean schedule(String id, Long expiryTime) {
+    if (!canHold(expiryTime)) {
+      unschedule(id);
+      return false;
+    }
+    boolean added;
+    synchronized (lock) {
+      added = wheel.add(id, expiryTime, id);
+    }
+    if (!added) {
+      fire(id);
+    }
+    return true;
+  }
+
+  /**
+   * Drops the in memory entry without touching the durable record.
+   */
+  public void unschedule(String id) {
+    synchronized (lock) {
+      wheel.cancel(id);
+    }
+  }
+
+  /**
+   * Drops the in memory entries and queues the durable records for a batched delete.
+   */
+  public void cancel(Collection<String> ids) {
+    synchronized (lock) {
+      for (String id : ids) {
+        wheel.cancel(id);
+      }
+    }
+    pendingDeletes.addAll(ids);
+    if (stopped) {
+      // nothing flushes the queue anymore
+      flushDeletes();
+    }
+  }
+
+  public int size() {
+    synchronized (lock) {
+      return wheel.size();
+    }
+  }
+
+  @VisibleForTesting
+  public void tick() {
+    List<String> expired;
+    try {
+      synchronized (lock) {
+        expired = wheel.advance(System.currentTimeMillis());
+      }
+    } catch (Exception ex) {
+      log.error("Timeout wheel failed to advance", ex);
+      return;
+    }
+    for (String id : expired) {
+      fire(id);
+    }
+  }
+
+  @VisibleForTesting
+  public void flushDeletes() {
+    List<String> batch = new ArrayList<>();
+    String id;
+    while ((id = pendingDeletes.poll()) != null) {
+      batch.add(id);
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      deleteWriter.accept(batch);
+    } catch (Exception ex) {
+      // The records still carry their recovery iteration, the iterator fires them and the callbacks drop stale ones
+      log.error("Failed to delete {} cancelled timeouts", batch.size(), ex);
+    }
+  }
+
+  private void fire(String id) {
+    if (handlerExecutor == null) {
+      expiryHandler.accept(id);
+      return;
+    }
+    handlerExecutor.submit(() -> {
+      try {
+        expiryHandler.accept(id);
+      } catch (Exception ex) {
+        log.error("Failed to fire timeout {} from the timeout wheel", id, ex);
+      }
+    });
+  }
+}
@@ -26,6 +26,8 @@ import io.harness.persistence.HPersistence;
 import io.harness.repositories.TimeoutInstanceRepository;
 import io.harness.rule.Owner;
 import io.harness.timeout.trackers.absolute.AbsoluteTimeoutTracker;
+import io.harness.timeout.wheel.TimeoutWheelConfig;
+import io.harness.timeout.wheel.TimeoutWheelScheduler;
 
 import com.google.inject.Inject;
 import java.time.Duration;
@@ -86,6 +88,80 @@ public class TimeoutEngineUnitTest extends TimeoutEngineTestBase {
     verify(timeoutInstanceRepository, times(2)).deleteByUuidIn(any());
   }
 
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testTimeoutWheelCancelIsWrittenBehind() {
+    TimeoutWheelScheduler scheduler = enableTimeoutWheel();
+    try {
+      TimeoutInstance instance =
+          timeoutEngine.registerTimeout(new AbsoluteTimeoutTracker(60000), new TestTimeoutCallback());
+      assertThat(scheduler.size()).isEqualTo(1);
+      assertThat(hPersistence.get(TimeoutInstance.class, instance.getUuid()).getNextIteration())
+          .isEqualTo(instance.getTracker().getExpiryTime() + Duration.ofSeconds(120).toMillis());
+
+      timeoutEngine.deleteTimeout(instance.getUuid());
+      assertThat(scheduler.size()).isEqualTo(0);
+      assertThat(hPersistence.get(TimeoutInstance.class, instance.getUuid())).isNotNull();
+
+      scheduler.flushDeletes();
+      assertThat(hPersistence.get(TimeoutInstance.class, instance.getUuid())).isNull();
+    } finally {
+      on(timeoutEngine).set("timeoutWheelScheduler", null);
+    }
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testTimeoutWheelFiresExpiredTimeout() throws InterruptedException {
+    TimeoutWheelScheduler scheduler = enableTimeoutWheel();
+    try {
+      TimeoutInstance instance =
+          timeoutEngine.registerTimeout(new AbsoluteTimeoutTracker(1), new TestTimeoutCallback());
+      Thread.sleep(50);
+      scheduler.tick();
+
+      assertThat(scheduler.size()).isEqualTo(0);
+      assertThat(hPersistence.get(TimeoutInstance.class, instance.getUuid())).isNull();
+    } finally {
+      on(timeoutEngine).set("timeoutWheelScheduler", null);
+    }
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testTimeoutWheelKeepsDeletesAcrossLifecycle() throws InterruptedException {
+    TimeoutWheelScheduler scheduler = enableTimeoutWheel();
+    try {
+      TimeoutInstance beforeStart =
+          timeoutEngine.registerTimeout(new AbsoluteTimeoutTracker(60000), new TestTimeoutCallback());
+      timeoutEngine.deleteTimeout(beforeStart.getUuid());
+      scheduler.start();
+      scheduler.stop();
+      assertThat(hPersistence.get(TimeoutInstance.class, beforeStart.getUuid())).isNull();
+
+      TimeoutInstance afterStop =
+          timeoutEngine.registerTimeout(new AbsoluteTimeoutTracker(60000), new TestTimeoutCallback());
+      timeoutEngine.deleteTimeout(afterStop.getUuid());
+      assertThat(hPersistence.get(TimeoutInstance.class, afterStop.getUuid())).isNull();
+    } finally {
+      on(timeoutEngine).set("timeoutWheelScheduler", null);
+    }
+  }
+
+  // Not started, so expiries are handled on the calling thread and nothing ticks in the background
+  private TimeoutWheelScheduler enableTimeoutWheel() {
+    TimeoutWheelConfig config = TimeoutWheelConfig.builder().enabled(true).tickMillis(10).build();
+    TimeoutWheelScheduler scheduler = new TimeoutWheelScheduler(config,
+        id -> on(timeoutEngine).call("handleWheelExpiry", id),
+        ids -> on(timeoutEngine).call("deleteTimeoutsFromStore", ids));
+    on(timeoutEngine).set("recoveryGraceMillis", Duration.ofSeconds(config.getRecoveryGraceSeconds()).toMillis());
+    on(timeoutEngine).set("timeoutWheelScheduler", scheduler);
+    return scheduler;
+  }
+
   public static class TestTimeoutCallback implements TimeoutCallback {
     private TimeoutInstance timeoutInstance;
     public TimeoutInstance getTimeoutInstance() {
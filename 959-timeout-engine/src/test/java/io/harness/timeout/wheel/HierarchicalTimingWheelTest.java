@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.timeout.wheel;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.StressTests;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+@Slf4j
+public class HierarchicalTimingWheelTest extends CategoryTest {
+  private static final long START = 1_000_000L;
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldFireOnlyAfterExpiry() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 3, START);
+    assertThat(wheel.add("a", START + 25, "a")).isTrue();
+
+    assertThat(wheel.advance(START + 20)).isEmpty();
+    assertThat(wheel.advance(START + 30)).containsExactly("a");
+    assertThat(wheel.size()).isEqualTo(0);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldCascadeFromUpperLevels() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 3, START);
+    // 8 slots of 10ms on level 0, so this lands on level 2
+    long expiry = START + 10 * 8 * 8 + 5;
+    wheel.add("far", expiry, "far");
+
+    assertThat(wheel.advance(expiry - 10)).isEmpty();
+    assertThat(wheel.advance(expiry + 10)).containsExactly("far");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldCancelAndReplace() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 3, START);
+    wheel.add("a", START + 50, "a");
+    wheel.add("b", START + 50, "b");
+    assertThat(wheel.cancel("a")).isEqualTo("a");
+    assertThat(wheel.cancel("a")).isNull();
+
+    wheel.add("b", START + 200, "b2");
+    assertThat(wheel.advance(START + 100)).isEmpty();
+    assertThat(wheel.advance(START + 300)).containsExactly("b2");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldRejectDueAndOutOfHorizonExpiries() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 2, START);
+    assertThat(wheel.add("due", START - 1, "due")).isFalse();
+    assertThat(wheel.contains("due")).isFalse();
+    assertThatThrownBy(() -> wheel.add("far", START + 10 * 8 * 8 * 2, "far"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldFireEveryRemainingEntryExactlyOnce() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 16, 3, START);
+    Random random = new Random(7);
+    Set<String> expected = new HashSet<>();
+    long now = START;
+    for (int i = 0; i < 5000; i++) {
+      String id = "t" + i;
+      wheel.add(id, now + random.nextInt((int) wheel.getHorizonMillis()), id);
+      expected.add(id);
+      if (random.nextInt(3) == 0) {
+        String cancelled = "t" + random.nextInt(i + 1);
+        if (wheel.cancel(cancelled) != null) {
+          expected.remove(cancelled);
+        }
+      }
+      now += random.nextInt(20);
+      for (String fired : wheel.advance(now)) {
+        assertThat(expected.remove(fired)).isTrue();
+      }
+    }
+    List<String> rest = new ArrayList<>(wheel.advance(now + wheel.getHorizonMillis() + 10));
+    assertThat(rest).containsExactlyInAnyOrderElementsOf(expected);
+    assertThat(wheel.size()).isEqualTo(0);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(StressTests.class)
+  @Ignore("This is a benchmark, we ignore it to not slow down the unit tests")
+  public void benchmarkRegisterCancelFire() {
+    int count = 1_000_000;
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 512, 3, START);
+    Random random = new Random(11);
+    String[] ids = new String[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = "timeout-" + i;
+    }
+
+    long begin = System.nanoTime();
+    for (int i = 0; i < count; i++) {
+      wheel.add(ids[i], START + random.nextInt(3_600_000), ids[i]);
+    }
+    long registerNanos = System.nanoTime() - begin;
+
+    begin = System.nanoTime();
+    for (int i = 0; i < count; i += 10) {
+      for (int j = i; j < i + 9; j++) {
+        wheel.cancel(ids[j]);
+      }
+    }
+    long cancelNanos = System.nanoTime() - begin;
+
+    begin = System.nanoTime();
+    int fired = 0;
+    for (long now = START; now <= START + 3_600_100; now += 1000) {
+      fired += wheel.advance(now).size();
+    }
+    long fireNanos = System.nanoTime() - begin;
+
+    log.info("register: {} ops/s, cancel: {} ops/s, fire: {} ops/s", count * 1_000_000_000L / registerNanos,
+        count * 900_000_000L / cancelNanos, fired * 1_000_000_000L / fireNanos);
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.k8s;
+
+import io.harness.annotations.dev.CodePulse;
+import io.harness.annotations.dev.HarnessModuleComponent;
+import io.harness.annotations.dev.ProductModule;
+import io.harness.threading.ThreadPool;
+import io.harness.utils.system.SystemWrapper;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the kubectl apply processes a delegate runs in parallel for batched applies of large manifests.
+ */
+@CodePulse(module = ProductModule.CDS, unitCoverageRequired = false, components = {HarnessModuleComponent.CDS_K8S})
+public class K8sApplyExecutorFactory {
+  private static final String K8S_APPLY_CORE_POOL_SIZE_ENV = "K8S_APPLY_CORE_POOL_SIZE";
+  private static final String K8S_APPLY_MAX_POOL_SIZE_ENV = "K8S_APPLY_MAX_POOL_SIZE";
+
+  private static final int DEFAULT_CORE_POOL_SIZE = 1;
+  private static final int DEFAULT_MAX_POOL_SIZE = 4;
+
+  public static ExecutorService create() {
+    return ThreadPool.create(getCorePoolSize(), getMaxPoolSize(), 5, TimeUnit.SECONDS,
+        new ThreadFactoryBuilder().setNameFormat("k8sApply-%d").setPriority(Thread.NORM_PRIORITY).build());
+  }
+
+  private static int getCorePoolSize() {
+    return SystemWrapper.getOrDefaultInt(K8S_APPLY_CORE_POOL_SIZE_ENV, DEFAULT_CORE_POOL_SIZE);
+  }
+
+  private static int getMaxPoolSize() {
+    return SystemWrapper.getOrDefaultInt(K8S_APPLY_MAX_POOL_SIZE_ENV, DEFAULT_MAX_POOL_SIZE);
+  }
+}
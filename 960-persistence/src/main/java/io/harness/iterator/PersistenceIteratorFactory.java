@@ -57,6 +57,8 @@ public final class PersistenceIteratorFactory {
     private String name;
     private int poolSize;
     private Duration interval;
+    // Lease that many entities per round trip instead of one, applies to REGULAR scheduling only
+    private int batchClaimSize;
   }
 
   @Value
@@ -111,6 +113,7 @@ public final class PersistenceIteratorFactory {
                                                   .executorService(instrumentedExecutorService)
                                                   .semaphore(new Semaphore(options.poolSize))
                                                   .iteratorName(options.name)
+                                                  .batchClaimSize(options.batchClaimSize)
                                                   .build();
     injector.injectMembers(iterator);
     long millis = options.interval.toMillis();
@@ -149,6 +152,7 @@ public final class PersistenceIteratorFactory {
                                                   .executorService(instrumentedExecutorService)
                                                   .semaphore(new Semaphore(options.poolSize))
                                                   .iteratorName(options.name)
+                                                  .batchClaimSize(options.batchClaimSize)
                                                   .build();
     injector.injectMembers(iterator);
     long millis = options.interval.toMillis();
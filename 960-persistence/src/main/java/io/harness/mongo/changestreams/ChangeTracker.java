@@ -122,7 +122,7 @@ public class ChangeTracker {
 
   private void openChangeStreams(Set<ChangeTrackingInfo<?>> changeTrackingInfos) {
     executorService =
-        Executors.newFixedThreadPool(8, new ThreadFactoryBuilder().setNameFormat("change-tracker-%d").build());
+        Executors.newFixedThreadPool(8, new ThreadFactoryBuilder().setNameFormat("change-tracker-%d").setDaemon(true).build());
     CountDownLatch latch = new CountDownLatch(changeTrackingInfos.size());
     createChangeStreamTasks(changeTrackingInfos, latch);
     changeTrackingTasksFuture = new HashSet<>();
@@ -165,10 +165,24 @@ public class ChangeTracker {
     return false;
   }
 
+  public boolean checkIfAllChangeTrackersAreAlive() {
+    if (changeTrackingTasksFuture == null) {
+      return false;
+    }
+    for (Future<?> f : changeTrackingTasksFuture) {
+      if (f.isDone()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public void stop() {
     log.info("Trying to close changeTrackingTasks");
-    for (Future<?> f : changeTrackingTasksFuture) {
-      f.cancel(true);
+    if (changeTrackingTasksFuture != null) {
+      for (Future<?> f : changeTrackingTasksFuture) {
+        f.cancel(true);
+      }
     }
     if (executorService != null) {
       executorService.shutdownNow();
@@ -8,9 +8,14 @@
 package io.harness.mongo.iterator;
 
 import static io.harness.data.structure.EmptyPredicate.isNotEmpty;
+import static io.harness.data.structure.UUIDGenerator.generateUuid;
 import static io.harness.govern.Switch.unhandled;
 import static io.harness.iterator.PersistenceIterator.ProcessMode.PUMP;
+import static io.harness.iterator.PersistenceIterator.ProcessMode.REDIS_BATCH;
 import static io.harness.logging.AutoLogContext.OverrideBehavior.OVERRIDE_ERROR;
+import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_BATCH_CLAIMED_ENTITY;
+import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_BATCH_CLAIM_TIME;
+import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_CLAIMED_ENTITY;
 import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_DELAY;
 import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_ERROR;
 import static io.harness.metrics.impl.PersistenceMetricsServiceImpl.ITERATOR_PROCESSING_TIME;
@@ -51,6 +56,8 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -74,6 +81,7 @@ public class MongoPersistenceIterator<T extends PersistentIterable, F extends Fi
       5; // The lockWaitTimeout is the duration to wait to acquire a lock
   private static final int BATCH_SIZE_MULTIPLY_FACTOR = 2; // The factor by how much the batchSize should be increased
   private static final int REDIS_BATCH_PAUSE_DURATION = 5; // The duration by which to pause if worker JobQ is full
+  private static final int CLAIM_QUEUE_BATCHES = 2; // How many claimed batches can wait for the workers
 
   @Inject private final QueueController queueController;
   @Inject private PersistenceMetricsServiceImpl iteratorMetricsService;
@@ -106,6 +114,10 @@ public class MongoPersistenceIterator<T extends PersistentIterable, F extends Fi
   private boolean isDelegateTaskMigrationEnabled;
   private PersistentLocker persistentLocker;
 
+  // When positive, LOOP/PUMP iterators with REGULAR scheduling lease up to this many entities per round trip
+  private int batchClaimSize;
+  private BlockingQueue<T> claimedEntities;
+
   public interface Handler<T> {
     void handle(T entity);
   }
@@ -129,6 +141,11 @@ public class MongoPersistenceIterator<T extends PersistentIterable, F extends Fi
   // The theory is that ERROR type exception are unrecoverable, that is not exactly true.
   @SuppressWarnings({"PMD", "squid:S1181"})
   public void process() {
+    if (isBatchClaimEnabled()) {
+      batchClaimProcess();
+      return;
+    }
+
     long movingAverage = 0;
     long previous = 0;
     while (true) {
@@ -223,6 +240,108 @@ public class MongoPersistenceIterator<T extends PersistentIterable, F extends Fi
     }
   }
 
+  /**
+   * Process method for the batch claim mode of LOOP and PUMP iterators.
+   *
+   *  1. Compute how many entities can be claimed without overflowing the bounded claim queue, so
+   *     that no lease expires while its entity is still waiting for a worker.
+   *  2. Lease up to batchClaimSize due entities with a fresh lease token in a constant number of round trips.
+   *  3. Put the claimed entities in the claim queue and let the workers drain it, instead of
+   *     handing every entity over with a synchronized wait/notify.
+   *  4. When fewer entities than requested were due, PUMP returns and LOOP sleeps until the next
+   *     entity is due or until it is woken up.
+   */
+  @SuppressWarnings({"PMD", "squid:S1181"})
+  private void batchClaimProcess() {
+    BlockingQueue<T> queue = obtainClaimedEntitiesQueue();
+    while (true) {
+      if (!shouldProcess()) {
+        if (mode == PUMP) {
+          return;
+        }
+        sleep(ofSeconds(1));
+        continue;
+      }
+      try {
+        int limit = Math.min(batchClaimSize, queue.remainingCapacity());
+        if (limit <= 0) {
+          if (mode == PUMP) {
+            return;
+          }
+          // The workers are still busy with the previous batches, do not lease what they cannot pick up
+          sleep(QUERY_TIME);
+          continue;
+        }
+
+        long base = currentTimeMillis();
+        List<T> entities = persistenceProvider.obtainNextInstancesWithLease(base, clazz, fieldName, targetInterval,
+            filterExpander, unsorted, limit, iteratorName + "-" + generateUuid(), isDelegateTaskMigrationEnabled);
+        iteratorMetricsService.recordIteratorMetricsWithDuration(
+            iteratorName, ofMillis(currentTimeMillis() - base), ITERATOR_BATCH_CLAIM_TIME);
+
+        for (T entity : entities) {
+          iteratorMetricsService.recordIteratorMetrics(iteratorName, ITERATOR_BATCH_CLAIMED_ENTITY);
+          if (entityProcessController != null && !entityProcessController.shouldProcessEntity(entity)) {
+            continue;
+          }
+          queue.put(entity);
+          try {
+            executorService.submit(this::processClaimedEntity);
+          } catch (RejectedExecutionException e) {
+            // No worker is left to poll it, the entity is processed again once its lease expires
+            queue.remove(entity);
+            log.info("The executor service has been shutdown - received exception {} ", e);
+          }
+        }
+
+        if (entities.size() == limit) {
+          continue;
+        }
+
+        if (mode == PUMP) {
+          return;
+        }
+
+        T next = persistenceProvider.findInstance(
+            clazz, fieldName, filterExpander, unsorted, isDelegateTaskMigrationEnabled);
+        long sleepMillis = calculateSleepDuration(next).toMillis();
+        // Do not sleep with 0, it is actually infinite sleep
+        if (sleepMillis > 0) {
+          synchronized (this) {
+            wait(sleepMillis);
+          }
+        }
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Throwable exception) {
+        log.debug("Exception occurred while batch claiming in iterator", exception);
+        iteratorMetricsService.recordIteratorMetrics(iteratorName, ITERATOR_ERROR);
+        sleep(ofSeconds(1));
+      }
+    }
+  }
+
+  private boolean isBatchClaimEnabled() {
+    return batchClaimSize > 0 && schedulingType == REGULAR && mode != REDIS_BATCH;
+  }
+
+  private synchronized BlockingQueue<T> obtainClaimedEntitiesQueue() {
+    if (claimedEntities == null) {
+      claimedEntities = new ArrayBlockingQueue<>(batchClaimSize * CLAIM_QUEUE_BATCHES);
+    }
+    return claimedEntities;
+  }
+
+  private void processClaimedEntity() {
+    T entity = claimedEntities.poll();
+    if (entity == null) {
+      return;
+    }
+    ((PersistentRegularIterable) entity).updateNextIteration(fieldName, 0L);
+    processEntityWithoutWaitNotify(entity);
+  }
+
   public void recoverAfterPause() {
     persistenceProvider.recoverAfterPause(clazz, fieldName);
   }
@@ -266,6 +385,7 @@ public class MongoPersistenceIterator<T extends PersistentIterable, F extends Fi
         synchronized (entity) {
           entity.notify();
         }
+        iteratorMetricsService.recordIteratorMetrics(iteratorName, ITERATOR_CLAIMED_ENTITY);
 
         // Update the iterator metrics for ITERATOR_WORKING_ON_ENTITY and ITERATOR_DELAY
         updateIteratorMetricsNosOfEntityAndDelay(entity);
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.mongo.iterator.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.experimental.UtilityClass;
+
+/**
+ * The lease of {@link PersistenceProvider#obtainNextInstancesWithLease}, shared by the providers, which run its
+ * queries through a {@link LeaseStore} of their persistence api.
+ */
+@UtilityClass
+public class BatchLeaseHelper {
+  public interface LeaseStore<T> {
+    /**
+     * Ids of up to limit due documents, in the type they are queried with.
+     */
+    List<Object> findDueIds(int limit);
+
+    /**
+     * Sets the next iteration and the owner of the documents among the ids which are still due.
+     */
+    void leaseDue(List<Object> ids, String fieldName, long leaseExpiry, String ownerField, String leaseToken);
+
+    List<T> findLeased(List<Object> ids, String ownerField, String leaseToken);
+
+    void unsetOwner(List<Object> ids, String ownerField, String leaseToken);
+  }
+
+  public <T> List<T> obtainNextInstancesWithLease(
+      LeaseStore<T> store, String fieldName, long leaseExpiry, int limit, String leaseToken) {
+    // 1. Pick the ids of the due documents
+    List<Object> ids = store.findDueIds(limit);
+    if (ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    // 2. Lease the ones that are still due with a single multi update. Moving the next iteration forward
+    //    keeps every other owner away from these documents until the lease expires.
+    String ownerField = PersistenceProvider.leaseOwnerField(fieldName);
+    store.leaseDue(ids, fieldName, leaseExpiry, ownerField, leaseToken);
+
+    // 3. Read back only what this lease token won
+    List<T> claimed = store.findLeased(ids, ownerField, leaseToken);
+
+    // 4. From now on the next iteration alone holds the lease, the owner is not left behind in the documents
+    if (!claimed.isEmpty()) {
+      store.unsetOwner(ids, ownerField, leaseToken);
+    }
+    return claimed;
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.mongo.iterator.provider;
+
+import io.harness.iterator.PersistentIterable;
+import io.harness.mongo.iterator.provider.BatchLeaseHelper.LeaseStore;
+
+import dev.morphia.AdvancedDatastore;
+import dev.morphia.DatastoreImpl;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.MorphiaIterator;
+import dev.morphia.query.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.bson.types.ObjectId;
+
+class MorphiaLeaseStore<T extends PersistentIterable> implements LeaseStore<T> {
+  private final AdvancedDatastore datastore;
+  private final Class<T> clazz;
+  // Query of the due documents, given whether it may be unsorted
+  private final Function<Boolean, Query<T>> dueQuery;
+  private final boolean unsorted;
+
+  MorphiaLeaseStore(
+      AdvancedDatastore datastore, Class<T> clazz, Function<Boolean, Query<T>> dueQuery, boolean unsorted) {
+    this.datastore = datastore;
+    this.clazz = clazz;
+    this.dueQuery = dueQuery;
+    this.unsorted = unsorted;
+  }
+
+  @Override
+  public List<Object> findDueIds(int limit) {
+    // The ids are queried in the type of the id field of the entity, as morphia queries them
+    Mapper mapper = ((DatastoreImpl) datastore).getMapper();
+    boolean objectIds = ObjectId.class.equals(mapper.getMappedClass(clazz).getIdField().getType());
+    List<Object> ids = new ArrayList<>();
+    try (MorphiaIterator<T, T> iterator =
+             dueQuery.apply(unsorted).project("_id", true).fetch(new FindOptions().limit(limit))) {
+      for (T entity : iterator) {
+        ids.add(objectIds ? new ObjectId(entity.getUuid()) : entity.getUuid());
+      }
+    }
+    return ids;
+  }
+
+  @Override
+  public void leaseDue(List<Object> ids, String fieldName, long leaseExpiry, String ownerField, String leaseToken) {
+    Query<T> leaseQuery = dueQuery.apply(true);
+    leaseQuery.field("_id").in(ids);
+    datastore.update(leaseQuery,
+        datastore.createUpdateOperations(clazz)
+            .disableValidation()
+            .set(fieldName, leaseExpiry)
+            .set(ownerField, leaseToken));
+  }
+
+  @Override
+  public List<T> findLeased(List<Object> ids, String ownerField, String leaseToken) {
+    List<T> claimed = new ArrayList<>();
+    try (MorphiaIterator<T, T> iterator =
+             ownedQuery(ids, ownerField, leaseToken).fetch(new FindOptions().limit(ids.size()))) {
+      iterator.forEach(claimed::add);
+    }
+    return claimed;
+  }
+
+  @Override
+  public void unsetOwner(List<Object> ids, String ownerField, String leaseToken) {
+    datastore.update(ownedQuery(ids, ownerField, leaseToken),
+        datastore.createUpdateOperations(clazz).disableValidation().unset(ownerField));
+  }
+
+  private Query<T> ownedQuery(List<Object> ids, String ownerField, String leaseToken) {
+    Query<T> query = datastore.createQuery(clazz);
+    query.disableValidation();
+    query.field("_id").in(ids);
+    query.filter(ownerField, leaseToken);
+    return query;
+  }
+}
@@ -24,6 +24,7 @@ import com.mongodb.BasicDBObject;
 import com.mongodb.BulkWriteOperation;
 import com.mongodb.BulkWriteResult;
 import com.mongodb.DBCollection;
+import dev.morphia.AdvancedDatastore;
 import dev.morphia.query.FilterOperator;
 import dev.morphia.query.FindOptions;
 import dev.morphia.query.MorphiaIterator;
@@ -136,6 +137,20 @@ public class MorphiaPersistenceProvider<T extends PersistentIterable>
     return query.fetch(new FindOptions().limit(limit));
   }
 
+  @Override
+  public List<T> obtainNextInstancesWithLease(long base, Class<T> clazz, String fieldName, Duration targetInterval,
+      MorphiaFilterExpander<T> filterExpander, boolean unsorted, int limit, String leaseToken,
+      boolean isDelegateTaskMigrationEnabled) {
+    long now = currentTimeMillis();
+    AdvancedDatastore datastore = persistence.getDatastore(clazz, isDelegateTaskMigrationEnabled);
+    MorphiaLeaseStore<T> store = new MorphiaLeaseStore<>(datastore, clazz,
+        unsortedQuery
+        -> createQuery(now, clazz, fieldName, filterExpander, unsortedQuery, isDelegateTaskMigrationEnabled),
+        unsorted);
+    return BatchLeaseHelper.obtainNextInstancesWithLease(
+        store, fieldName, base + targetInterval.toMillis(), limit, leaseToken);
+  }
+
   @Override
   public BulkWriteOpsResults bulkWriteDocumentsMatchingIds(
       Class<T> clazz, List<String> ids, String fieldName, long base, Duration targetInterval) {
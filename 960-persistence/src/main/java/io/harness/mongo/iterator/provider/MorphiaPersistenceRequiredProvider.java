@@ -117,6 +117,17 @@ public class MorphiaPersistenceRequiredProvider<T extends PersistentIterable>
     return query.fetch(new FindOptions().limit(limit));
   }
 
+  @Override
+  public List<T> obtainNextInstancesWithLease(long base, Class<T> clazz, String fieldName, Duration targetInterval,
+      MorphiaFilterExpander<T> filterExpander, boolean unsorted, int limit, String leaseToken,
+      boolean isDelegateTaskMigrationEnabled) {
+    long now = currentTimeMillis();
+    MorphiaLeaseStore<T> store = new MorphiaLeaseStore<>(persistence.getDatastore(clazz), clazz,
+        unsortedQuery -> createQuery(now, clazz, fieldName, filterExpander, unsortedQuery), unsorted);
+    return BatchLeaseHelper.obtainNextInstancesWithLease(
+        store, fieldName, base + targetInterval.toMillis(), limit, leaseToken);
+  }
+
   @Override
   public BulkWriteOpsResults bulkWriteDocumentsMatchingIds(
       Class<T> clazz, List<String> ids, String fieldName, long base, Duration targetInterval) {
@@ -18,6 +18,12 @@ import java.util.Iterator;
 import java.util.List;
 
 public interface PersistenceProvider<T extends PersistentIterable, F extends FilterExpander> {
+  String LEASE_OWNER_SUFFIX = "LeaseOwner";
+
+  static String leaseOwnerField(String fieldName) {
+    return fieldName + LEASE_OWNER_SUFFIX;
+  }
+
   void updateEntityField(T entity, List<Long> nextIterations, Class<T> clazz, String fieldName);
 
   T obtainNextInstance(long base, long throttled, Class<T> clazz, String fieldName, SchedulingType schedulingType,
@@ -33,4 +39,17 @@ public interface PersistenceProvider<T extends PersistentIterable, F extends Fil
 
   BulkWriteOpsResults bulkWriteDocumentsMatchingIds(
       Class<T> clazz, List<String> ids, String fieldName, long base, Duration targetInterval);
+
+  /**
+   * Leases up to limit due documents in a constant number of round trips.
+   *
+   * The due documents are moved to their next iteration (base + targetInterval), which acts as the lease expiry,
+   * and stamped with the given lease token in the {@link #leaseOwnerField(String)} field. Only the documents that
+   * still carry the token when read back are returned, so documents claimed concurrently by another owner are
+   * never processed twice. The token is unset again right after. Intended for REGULAR scheduling only.
+   *
+   * @see BatchLeaseHelper
+   */
+  List<T> obtainNextInstancesWithLease(long base, Class<T> clazz, String fieldName, Duration targetInterval,
+      F filterExpander, boolean unsorted, int limit, String leaseToken, boolean isDelegateTaskMigrationEnabled);
 }
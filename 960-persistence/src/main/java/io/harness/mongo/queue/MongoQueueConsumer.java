@@ -7,12 +7,17 @@
 
 package io.harness.mongo.queue;
 
+import static io.harness.data.structure.EmptyPredicate.isEmpty;
 import static io.harness.data.structure.EmptyPredicate.isNotEmpty;
+import static io.harness.data.structure.UUIDGenerator.generateUuid;
 import static io.harness.govern.Switch.unhandled;
 import static io.harness.persistence.HPersistence.returnOldOptions;
 import static io.harness.persistence.HQuery.excludeAuthority;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 import io.harness.exception.UnexpectedException;
 import io.harness.persistence.HPersistence;
@@ -23,13 +28,18 @@ import io.harness.queue.TopicUtils;
 
 import com.google.inject.Inject;
 import dev.morphia.AdvancedDatastore;
+import dev.morphia.Key;
+import dev.morphia.query.FindOptions;
 import dev.morphia.query.Query;
 import dev.morphia.query.Sort;
 import dev.morphia.query.UpdateOperations;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import lombok.Setter;
@@ -79,11 +89,15 @@ public class MongoQueueConsumer<T extends Queuable> implements QueueConsumer<T>
                            .lessThanOrEq(now)
                            .order(Sort.ascending(QueuableKeys.earliestGet));
 
-      UpdateOperations<T> updateOperations = persistence.createUpdateOperations(klass).set(
-          QueuableKeys.earliestGet, new Date(now.getTime() + heartbeat().toMillis()));
+      UpdateOperations<T> updateOperations =
+          persistence.createUpdateOperations(klass)
+              .set(QueuableKeys.earliestGet, new Date(now.getTime() + heartbeat().toMillis()))
+              .unset(QueuableKeys.leaseId);
 
       T message = HPersistence.retry(() -> persistence.findAndModify(query, updateOperations, returnOldOptions));
       if (message != null) {
+        // The returned document is the one before the update, drop any lease it carried from an earlier batch
+        message.setLeaseId(null);
         return message;
       }
 
@@ -102,6 +116,117 @@ public class MongoQueueConsumer<T extends Queuable> implements QueueConsumer<T>
     }
   }
 
+  /**
+   * Leases up to max messages in two round trips instead of one findAndModify per message.
+   *
+   * The oldest available messages are read first, then a single update moves all of them that are still available
+   * to the future and stamps them with a fresh lease id. Updates of single documents are atomic, so when consumers
+   * race for the same messages each one is leased by exactly one of them, which only returns the ones it won.
+   */
+  @Override
+  public List<T> get(int max, Duration wait) {
+    long endTime = System.currentTimeMillis() + wait.toMillis();
+    boolean acquired = false;
+    try {
+      acquired = semaphore.tryAcquire(wait.toMillis(), TimeUnit.MILLISECONDS);
+      if (acquired) {
+        return getBatchUnderLock(max, endTime, DEFAULT_POLL);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      if (acquired) {
+        semaphore.release();
+      }
+    }
+    return new ArrayList<>();
+  }
+
+  private List<T> getBatchUnderLock(int max, long endTime, Duration poll) {
+    while (true) {
+      List<T> messages = lease(max);
+      if (!messages.isEmpty() || System.currentTimeMillis() >= endTime) {
+        return messages;
+      }
+
+      try {
+        Thread.sleep(Math.min(poll.toMillis(), Math.max(endTime - System.currentTimeMillis(), 0)));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return messages;
+      }
+    }
+  }
+
+  private List<T> lease(int max) {
+    final Date now = new Date();
+    List<T> candidates = HPersistence.retry(() -> createQuery()
+                                                      .field(QueuableKeys.earliestGet)
+                                                      .lessThanOrEq(now)
+                                                      .order(Sort.ascending(QueuableKeys.earliestGet))
+                                                      .asList(new FindOptions().limit(max)));
+    if (candidates.isEmpty()) {
+      return candidates;
+    }
+
+    String leaseId = generateUuid();
+    List<String> candidateIds = candidates.stream().map(Queuable::getId).collect(toList());
+    Query<T> leaseQuery = createQuery()
+                              .field(QueuableKeys.id)
+                              .in(candidateIds)
+                              .field(QueuableKeys.earliestGet)
+                              .lessThanOrEq(now);
+    UpdateOperations<T> leaseOperations =
+        persistence.createUpdateOperations(klass)
+            .set(QueuableKeys.earliestGet, new Date(now.getTime() + heartbeat().toMillis()))
+            .set(QueuableKeys.leaseId, leaseId);
+    int leased = persistence.update(leaseQuery, leaseOperations).getUpdatedCount();
+
+    List<T> messages = candidates;
+    if (leased < candidates.size()) {
+      // Some of the candidates were taken by another consumer in between, keep only the ones carrying our lease
+      Set<Object> leasedIds = persistence.createQuery(klass, excludeAuthority)
+                                  .field(QueuableKeys.id)
+                                  .in(candidateIds)
+                                  .filter(QueuableKeys.leaseId, leaseId)
+                                  .asKeyList()
+                                  .stream()
+                                  .map(Key::getId)
+                                  .collect(toSet());
+      messages = candidates.stream().filter(message -> leasedIds.contains(message.getId())).collect(toList());
+    }
+    // The messages keep the earliestGet they were read with, so the listeners can still report their queueing delay
+    messages.forEach(message -> message.setLeaseId(leaseId));
+    return messages;
+  }
+
+  /**
+   * Refreshes all the messages of a lease with a single update. Messages which were requeued or whose lease expired and
+   * was taken over by another consumer do not match the lease anymore and are left alone.
+   */
+  @Override
+  public void updateHeartbeats(List<T> messages) {
+    Date earliestGet = new Date(System.currentTimeMillis() + heartbeat().toMillis());
+    Map<String, List<T>> messagesByLease = messages.stream()
+                                               .filter(message -> message.getLeaseId() != null)
+                                               .collect(groupingBy(Queuable::getLeaseId));
+    messagesByLease.forEach((leaseId, leasedMessages) -> {
+      List<String> ids = leasedMessages.stream().map(Queuable::getId).collect(toList());
+      Query<T> query = persistence.createQuery(klass, excludeAuthority)
+                           .filter(QueuableKeys.leaseId, leaseId)
+                           .field(QueuableKeys.id)
+                           .in(ids);
+      UpdateOperations<T> updateOperations =
+          persistence.createUpdateOperations(klass).set(QueuableKeys.earliestGet, earliestGet);
+      int updated = persistence.update(query, updateOperations).getUpdatedCount();
+      if (updated < ids.size()) {
+        log.warn("Update heartbeat refreshed {} of {} messages of lease {}", updated, ids.size(), leaseId);
+      }
+      leasedMessages.forEach(message -> message.setEarliestGet(earliestGet));
+    });
+    messages.stream().filter(message -> message.getLeaseId() == null).forEach(this::updateHeartbeat);
+  }
+
   @Override
   public void updateHeartbeat(T message) {
     Date earliestGet = new Date(System.currentTimeMillis() + heartbeat().toMillis());
@@ -144,6 +269,25 @@ public class MongoQueueConsumer<T extends Queuable> implements QueueConsumer<T>
     persistence.delete(klass, message.getId());
   }
 
+  @Override
+  public void ackAll(List<T> messages) {
+    if (isEmpty(messages)) {
+      return;
+    }
+    // Only the messages still held by their lease are acked, the ones requeued or taken over by another consumer stay
+    Map<String, List<T>> messagesByLease = messages.stream()
+                                               .filter(message -> message.getLeaseId() != null)
+                                               .collect(groupingBy(Queuable::getLeaseId));
+    messagesByLease.forEach((leaseId, leasedMessages) -> {
+      List<String> ids = leasedMessages.stream().map(Queuable::getId).collect(toList());
+      persistence.deleteOnServer(persistence.createQuery(klass, excludeAuthority)
+                                     .filter(QueuableKeys.leaseId, leaseId)
+                                     .field(QueuableKeys.id)
+                                     .in(ids));
+    });
+    messages.stream().filter(message -> message.getLeaseId() == null).forEach(this::ack);
+  }
+
   @Override
   public void requeue(final String id, int retries) {
     requeue(id, retries, new Date());
@@ -157,7 +301,8 @@ public class MongoQueueConsumer<T extends Queuable> implements QueueConsumer<T>
     persistence.update(persistence.createQuery(klass, excludeAuthority).filter(QueuableKeys.id, id),
         persistence.createUpdateOperations(klass)
             .set(QueuableKeys.retries, retries)
-            .set(QueuableKeys.earliestGet, earliestGet));
+            .set(QueuableKeys.earliestGet, earliestGet)
+            .unset(QueuableKeys.leaseId));
   }
 
   @Override
@@ -49,6 +49,8 @@ public abstract class Queuable implements PersistentEntity {
   @Getter @Setter private int retries;
   @Getter @Setter private String topic;
   @Getter @Setter private GlobalContext globalContext;
+  // Set on the messages leased together by a batch get, so the batch can be heartbeat and acked in one round trip
+  @Getter @Setter private String leaseId;
 
   protected Queuable() {}
 
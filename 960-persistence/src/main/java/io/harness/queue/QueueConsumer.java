@@ -8,19 +8,46 @@
 package io.harness.queue;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 /**
  * The Interface Queue.
  */
 public interface QueueConsumer<T extends Queuable> extends Queue {
+  Duration DEFAULT_POLL = Duration.ofSeconds(1);
+
   T get(Duration wait, Duration poll);
   void updateHeartbeat(T message);
 
+  /**
+   * Leases up to max messages, waiting up to wait for at least one to become available.
+   */
+  default List<T> get(int max, Duration wait) {
+    List<T> messages = new ArrayList<>();
+    T message = get(wait, DEFAULT_POLL);
+    while (message != null) {
+      messages.add(message);
+      if (messages.size() >= max) {
+        break;
+      }
+      message = get(Duration.ZERO, Duration.ZERO);
+    }
+    return messages;
+  }
+
+  default void updateHeartbeats(List<T> messages) {
+    messages.forEach(this::updateHeartbeat);
+  }
+
   enum Filter { ALL, RUNNING, NOT_RUNNING }
   long count(Filter filter);
 
   void ack(T message);
+  default void ackAll(List<T> messages) {
+    messages.forEach(this::ack);
+  }
   void requeue(String id, int retries);
   void requeue(String id, int retries, Date earliestGet);
   Duration heartbeat();
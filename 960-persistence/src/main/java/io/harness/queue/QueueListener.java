@@ -26,9 +26,16 @@ import io.harness.queue.QueueConsumer.Filter;
 
 import com.google.inject.Inject;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -45,6 +52,11 @@ public abstract class QueueListener<T extends Queuable> implements Runnable {
 
   @Getter @Setter private QueueConsumer<T> queueConsumer;
 
+  // With a batch size above one the listener leases that many messages per round trip, heartbeats and acks them
+  // together and, given an executor, processes them concurrently
+  @Setter private int batchSize = 1;
+  @Setter private ExecutorService batchExecutor;
+
   public QueueListener(QueueConsumer<T> queueConsumer, boolean primaryOnly) {
     this.queueConsumer = queueConsumer;
     this.primaryOnly = primaryOnly;
@@ -73,6 +85,9 @@ public abstract class QueueListener<T extends Queuable> implements Runnable {
       log.debug("Total event in running: [{}] and not running:[{}] - Class info [{}]",
           queueConsumer.count(Filter.RUNNING), queueConsumer.count(Filter.NOT_RUNNING), this);
     }
+    if (batchSize > 1) {
+      return executeBatch();
+    }
     T message = null;
     try {
       log.trace("Waiting for message");
@@ -92,6 +107,26 @@ public abstract class QueueListener<T extends Queuable> implements Runnable {
     return true;
   }
 
+  private boolean executeBatch() {
+    List<T> messages = Collections.emptyList();
+    try {
+      log.trace("Waiting for messages");
+      messages = queueConsumer.get(batchSize, ofSeconds(3));
+    } catch (Exception exception) {
+      if (exception.getCause() instanceof InterruptedException) {
+        log.info("Thread interrupted, shutting down for queue {}", queueConsumer.getName());
+        return false;
+      }
+      log.error("Exception happened while fetching messages from queue {}", queueConsumer.getName(), exception);
+    }
+
+    if (!messages.isEmpty()) {
+      log.debug("Consuming {} messages", messages.size());
+      processBatch(messages);
+    }
+    return true;
+  }
+
   public void pumpAll() {
     while (true) {
       T message = null;
@@ -113,16 +148,60 @@ public abstract class QueueListener<T extends Queuable> implements Runnable {
     }
   }
 
-  @SuppressWarnings({"PMD", "squid:S1181"})
   private void processMessage(T message) {
+    long timerInterval = queueConsumer.heartbeat().toMillis() - 500;
+    ScheduledFuture<?> future = timer.scheduleAtFixedRate(
+        () -> queueConsumer.updateHeartbeat(message), timerInterval, timerInterval, TimeUnit.MILLISECONDS);
+    try {
+      consumeMessage(message, queueConsumer::ack);
+    } finally {
+      future.cancel(true);
+    }
+  }
+
+  private void processBatch(List<T> messages) {
+    long timerInterval = queueConsumer.heartbeat().toMillis() - 500;
+    // Requeued messages drop their lease, so the shared heartbeat only keeps the ones still being worked on or waiting
+    // for the bulk ack
+    ScheduledFuture<?> future = timer.scheduleAtFixedRate(
+        () -> queueConsumer.updateHeartbeats(messages), timerInterval, timerInterval, TimeUnit.MILLISECONDS);
+
+    List<T> processed = Collections.synchronizedList(new ArrayList<>(messages.size()));
+    try {
+      List<Future<?>> futures = new ArrayList<>(messages.size());
+      for (T message : messages) {
+        Runnable task = () -> consumeMessage(message, processed::add);
+        if (batchExecutor == null) {
+          task.run();
+        } else {
+          futures.add(batchExecutor.submit(task));
+        }
+      }
+      for (Future<?> taskFuture : futures) {
+        taskFuture.get();
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException exception) {
+      log.error("Exception while processing a batch from queue {}", queueConsumer.getName(), exception.getCause());
+    } finally {
+      future.cancel(true);
+    }
+
+    if (!processed.isEmpty()) {
+      queueConsumer.ackAll(processed);
+    }
+  }
+
+  /**
+   * Runs onMessage for the message and hands it to onProcessed once it is done with, the heartbeat of the message is
+   * up to the caller.
+   */
+  @SuppressWarnings({"PMD", "squid:S1181"})
+  private void consumeMessage(T message, Consumer<T> onProcessed) {
     long startTime = currentTimeMillis();
 
     try (MessageLogContext ignore = new MessageLogContext(message, OVERRIDE_ERROR)) {
-      long timerInterval = queueConsumer.heartbeat().toMillis() - 500;
-      final T finalizedMessage = message;
-      ScheduledFuture<?> future = timer.scheduleAtFixedRate(
-          () -> queueConsumer.updateHeartbeat(finalizedMessage), timerInterval, timerInterval, TimeUnit.MILLISECONDS);
-
       try (GlobalContextGuard guard = initGlobalContextGuard(message.getGlobalContext())) {
         long delay = startTime - message.getEarliestGet().toInstant().toEpochMilli();
         try (DelayLogContext ignore2 = new DelayLogContext(delay, OVERRIDE_ERROR)) {
@@ -130,14 +209,12 @@ public abstract class QueueListener<T extends Queuable> implements Runnable {
         }
 
         onMessage(message);
-      } finally {
-        future.cancel(true);
       }
 
-      queueConsumer.ack(message);
+      onProcessed.accept(message);
     } catch (InstantiationError exception) {
       log.error("Critical exception happened in onMessage {}", queueConsumer.getName(), exception);
-      queueConsumer.ack(message);
+      onProcessed.accept(message);
     } catch (Throwable exception) {
       onException(exception, message);
     } finally {
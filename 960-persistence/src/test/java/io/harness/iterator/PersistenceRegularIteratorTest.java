@@ -38,6 +38,8 @@ import io.harness.threading.ThreadPool;
 
 import com.google.inject.Inject;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
@@ -65,6 +67,11 @@ public class PersistenceRegularIteratorTest extends PersistenceTestBase {
 
   public MongoPersistenceIterator<TestRegularIterableEntity, MorphiaFilterExpander<TestRegularIterableEntity>> iterator(
       PersistenceIterator.ProcessMode mode) {
+    return iterator(mode, 0);
+  }
+
+  public MongoPersistenceIterator<TestRegularIterableEntity, MorphiaFilterExpander<TestRegularIterableEntity>> iterator(
+      PersistenceIterator.ProcessMode mode, int batchClaimSize) {
     MongoPersistenceIterator<TestRegularIterableEntity, MorphiaFilterExpander<TestRegularIterableEntity>> iterator =
         MongoPersistenceIterator.<TestRegularIterableEntity, MorphiaFilterExpander<TestRegularIterableEntity>>builder()
             .mode(mode)
@@ -81,6 +88,7 @@ public class PersistenceRegularIteratorTest extends PersistenceTestBase {
             .schedulingType(REGULAR)
             .redistribute(true)
             .persistenceProvider(persistenceProvider)
+            .batchClaimSize(batchClaimSize)
             .build();
     on(iterator).set("queueController", queueController);
     on(iterator).set("iteratorMetricsService", iteratorMetricsService);
@@ -170,4 +178,30 @@ public class PersistenceRegularIteratorTest extends PersistenceTestBase {
       assertThat(updatedEntity.getNextIteration()).isGreaterThan(entity.getNextIteration());
     }
   }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testPumpBatchClaim() {
+    MongoPersistenceIterator<TestRegularIterableEntity, MorphiaFilterExpander<TestRegularIterableEntity>> iterator =
+        iterator(PUMP, 2);
+
+    try (MaintenanceGuard guard = new MaintenanceGuard(false)) {
+      long now = currentTimeMillis();
+      List<TestRegularIterableEntity> entities = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        TestRegularIterableEntity entity =
+            TestRegularIterableEntity.builder().uuid(generateUuid()).nextIteration(now - 1000).build();
+        persistence.save(entity);
+        entities.add(entity);
+      }
+
+      iterator.process();
+
+      for (TestRegularIterableEntity entity : entities) {
+        TestRegularIterableEntity updatedEntity = persistence.get(TestRegularIterableEntity.class, entity.getUuid());
+        assertThat(updatedEntity.getNextIteration()).isGreaterThanOrEqualTo(now + ofSeconds(10).toMillis());
+      }
+    }
+  }
 }
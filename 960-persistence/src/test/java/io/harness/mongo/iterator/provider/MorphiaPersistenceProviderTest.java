@@ -7,24 +7,36 @@
 
 package io.harness.mongo.iterator.provider;
 
+import static io.harness.data.structure.UUIDGenerator.generateUuid;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.GEORGE;
 
+import static java.lang.System.currentTimeMillis;
+import static java.time.Duration.ofMinutes;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.harness.PersistenceTestBase;
 import io.harness.category.element.UnitTests;
 import io.harness.iterator.TestIterableEntity;
 import io.harness.iterator.TestIterableEntity.TestIterableEntityKeys;
+import io.harness.iterator.TestRegularIterableEntity;
+import io.harness.iterator.TestRegularIterableEntity.RegularIterableEntityKeys;
 import io.harness.mongo.iterator.filter.MorphiaFilterExpander;
+import io.harness.persistence.HPersistence;
 import io.harness.rule.Owner;
 
 import com.google.inject.Inject;
+import com.mongodb.BasicDBObject;
 import dev.morphia.query.Query;
+import java.util.List;
+import org.bson.types.ObjectId;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 public class MorphiaPersistenceProviderTest extends PersistenceTestBase {
   @Inject private MorphiaPersistenceProvider<TestIterableEntity> persistenceProvider;
+  @Inject private MorphiaPersistenceProvider<TestRegularIterableEntity> regularPersistenceProvider;
+  @Inject private HPersistence persistence;
 
   @SuppressWarnings("checkstyle:RepetitiveName")
   @Test
@@ -86,4 +98,55 @@ public class MorphiaPersistenceProviderTest extends PersistenceTestBase {
         .isEqualTo(
             "{{\"$and\":[{\"name\":{\"$exists\":true}},{\"name\":\"foo\"}],\"$or\":[{\"nextIterations\":{\"$lt\":5}},{\"nextIterations\":{\"$exists\":false}}]}}");
   }
+
+  @Test
+  @Owner(developers = GEORGE)
+  @Category(UnitTests.class)
+  public void testObtainNextInstancesWithLease() {
+    long now = currentTimeMillis();
+    for (int i = 0; i < 3; i++) {
+      persistence.save(TestRegularIterableEntity.builder().uuid(generateUuid()).nextIteration(now - 1000).build());
+    }
+    TestRegularIterableEntity notDue =
+        TestRegularIterableEntity.builder().uuid(generateUuid()).nextIteration(now + ofMinutes(5).toMillis()).build();
+    persistence.save(notDue);
+
+    List<TestRegularIterableEntity> claimed = regularPersistenceProvider.obtainNextInstancesWithLease(now,
+        TestRegularIterableEntity.class, RegularIterableEntityKeys.nextIteration, ofMinutes(1), null, false, 2,
+        "owner-1", false);
+    assertThat(claimed).hasSize(2);
+
+    List<TestRegularIterableEntity> rest = regularPersistenceProvider.obtainNextInstancesWithLease(now,
+        TestRegularIterableEntity.class, RegularIterableEntityKeys.nextIteration, ofMinutes(1), null, false, 2,
+        "owner-2", false);
+    assertThat(rest).hasSize(1);
+    assertThat(rest.get(0).getUuid()).isNotIn(claimed.stream().map(TestRegularIterableEntity::getUuid).toArray());
+    assertThat(rest.get(0).getUuid()).isNotEqualTo(notDue.getUuid());
+
+    assertThat(regularPersistenceProvider.obtainNextInstancesWithLease(now, TestRegularIterableEntity.class,
+                   RegularIterableEntityKeys.nextIteration, ofMinutes(1), null, false, 2, "owner-3", false))
+        .isEmpty();
+
+    // The lease owner is not left behind in the claimed documents
+    String leaseOwnerField = PersistenceProvider.leaseOwnerField(RegularIterableEntityKeys.nextIteration);
+    assertThat(persistence.getCollection(TestRegularIterableEntity.class)
+                   .count(new BasicDBObject(leaseOwnerField, new BasicDBObject("$exists", true))))
+        .isZero();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testObtainNextInstancesWithLeaseClaimsStringIdsLookingLikeObjectIds() {
+    long now = currentTimeMillis();
+    TestRegularIterableEntity entity =
+        TestRegularIterableEntity.builder().uuid(new ObjectId().toHexString()).nextIteration(now - 1000).build();
+    persistence.save(entity);
+
+    List<TestRegularIterableEntity> claimed = regularPersistenceProvider.obtainNextInstancesWithLease(now,
+        TestRegularIterableEntity.class, RegularIterableEntityKeys.nextIteration, ofMinutes(1), null, false, 2,
+        "owner-1", false);
+
+    assertThat(claimed).extracting(TestRegularIterableEntity::getUuid).containsExactly(entity.getUuid());
+  }
 }
@@ -7,6 +7,7 @@
 
 package io.harness.queue;
 
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.BRETT;
 import static io.harness.rule.OwnerRule.GEORGE;
 import static io.harness.threading.Morpheus.sleep;
@@ -34,6 +35,7 @@ import com.google.inject.Inject;
 import java.net.UnknownHostException;
 import java.time.Duration;
 import java.util.Date;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Before;
 import org.junit.Test;
@@ -208,6 +210,62 @@ public class MongoQueueTest extends PersistenceTestBase {
     assertThat(actual).isEqualToComparingFieldByField(message);
   }
 
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldLeaseBatchInTimeOrder() {
+    for (int i = 0; i < 5; i++) {
+      topicProducer.send(new TestTopicQueuableObject(i));
+    }
+
+    List<TestTopicQueuableObject> batch = queue.get(3, DEFAULT_WAIT);
+    assertThat(batch).extracting(TestTopicQueuableObject::getData).containsExactly(0, 1, 2);
+    assertThat(batch).extracting(Queuable::getLeaseId).doesNotContainNull().containsOnly(batch.get(0).getLeaseId());
+    assertThat(queue.count(Filter.RUNNING)).isEqualTo(3);
+
+    List<TestTopicQueuableObject> rest = queue.get(3, DEFAULT_WAIT);
+    assertThat(rest).extracting(TestTopicQueuableObject::getData).containsExactly(3, 4);
+    assertThat(rest.get(0).getLeaseId()).isNotEqualTo(batch.get(0).getLeaseId());
+
+    assertThat(queue.get(3, ZERO)).isEmpty();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldUpdateHeartbeatOfLeasedBatch() {
+    queue.setHeartbeat(ofSeconds(10));
+    topicProducer.send(new TestTopicQueuableObject(0));
+    topicProducer.send(new TestTopicQueuableObject(1));
+    List<TestTopicQueuableObject> batch = queue.get(2, DEFAULT_WAIT);
+    Date leasedUntil = persistence.get(TestTopicQueuableObject.class, batch.get(0).getId()).getEarliestGet();
+
+    // A requeued message drops its lease, so refreshing the batch does not push its retry out
+    queue.requeue(batch.get(1).getId(), 1);
+    queue.setHeartbeat(ofSeconds(20));
+    queue.updateHeartbeats(batch);
+
+    assertThat(persistence.get(TestTopicQueuableObject.class, batch.get(0).getId()).getEarliestGet())
+        .isAfter(leasedUntil);
+    assertThat(persistence.get(TestTopicQueuableObject.class, batch.get(1).getId()).getEarliestGet())
+        .isBeforeOrEqualsTo(new Date());
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldAckBatch() {
+    for (int i = 0; i < 3; i++) {
+      topicProducer.send(new TestTopicQueuableObject(i));
+    }
+
+    List<TestTopicQueuableObject> batch = queue.get(2, DEFAULT_WAIT);
+    queue.ackAll(batch);
+
+    assertThat(queue.count(Filter.ALL)).isEqualTo(1);
+    assertThat(queue.get(DEFAULT_WAIT, DEFAULT_POLL).getData()).isEqualTo(2);
+  }
+
   @Test
   @Owner(developers = GEORGE)
   @Category(UnitTests.class)
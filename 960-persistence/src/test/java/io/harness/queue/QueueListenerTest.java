@@ -7,6 +7,7 @@
 
 package io.harness.queue;
 
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.GEORGE;
 
 import static java.time.Duration.ofSeconds;
@@ -14,6 +15,7 @@ import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.joor.Reflect.on;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.doAnswer;
@@ -34,6 +36,8 @@ import io.harness.rule.Owner;
 import com.google.inject.Inject;
 import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.After;
@@ -208,4 +212,54 @@ public class QueueListenerTest extends PersistenceTestBase {
       verify(listener).onException(any(Exception.class), eq(message));
     }
   }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldProcessAndAckBatchFromQueue() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (MaintenanceGuard guard = new MaintenanceGuard(false)) {
+      listener.setBatchSize(3);
+      listener.setBatchExecutor(executor);
+      TestTopicQueuableObject first = new TestTopicQueuableObject(1);
+      TestTopicQueuableObject second = new TestTopicQueuableObject(2);
+      TestTopicQueuableObject third = new TestTopicQueuableObject(3);
+      producer.send(first);
+      producer.send(second);
+      producer.send(third);
+      assertThat(consumer.count(Filter.ALL)).isEqualTo(3);
+
+      listener.run();
+
+      assertThat(consumer.count(Filter.ALL)).isEqualTo(0);
+      verify(listener).onMessage(first);
+      verify(listener).onMessage(second);
+      verify(listener).onMessage(third);
+      verify(consumer).ackAll(anyList());
+      verify(consumer, times(0)).ack(any(TestTopicQueuableObject.class));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldRequeueFailedMessageOfBatch() throws Exception {
+    try (MaintenanceGuard guard = new MaintenanceGuard(false)) {
+      listener.setBatchSize(2);
+      TestTopicQueuableObject message = new TestTopicQueuableObject(1);
+      message.setRetries(1);
+      listener.setThrowException(true);
+      producer.send(message);
+      assertThat(consumer.count(Filter.ALL)).isEqualTo(1);
+
+      listener.run();
+
+      assertThat(consumer.count(Filter.ALL)).isEqualTo(1);
+      verify(listener).onException(any(Exception.class), eq(message));
+      verify(consumer).requeue(message.getId(), 0);
+      verify(consumer, times(0)).ackAll(anyList());
+    }
+  }
 }
@@ -8,6 +8,7 @@
 package io.harness.queue;
 
 import static io.harness.queue.QueueConsumer.Filter.ALL;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.GEORGE;
 
 import static java.time.Duration.ofMillis;
@@ -23,6 +24,7 @@ import io.harness.threading.Poller;
 import com.google.inject.Inject;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -123,4 +125,37 @@ public class StressTest extends PersistenceTestBase {
       }
     }).doesNotThrowAnyException();
   }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(StressTests.class)
+  @Ignore("This is a benchmark, we ignore it to not slow down the unit tests")
+  public void batchGetPerformance() {
+    persistence.ensureIndexForTesting(TestTopicQueuableObject.class);
+    int count = 20000;
+    int batchSize = 100;
+
+    for (int i = 1; i <= count; ++i) {
+      topicPublisher.send(new TestTopicQueuableObject(i));
+    }
+    long start = System.nanoTime();
+    TestTopicQueuableObject message;
+    while ((message = topicConsumer.get(Duration.ZERO, Duration.ZERO)) != null) {
+      topicConsumer.ack(message);
+    }
+    long singleNanos = System.nanoTime() - start;
+
+    for (int i = 1; i <= count; ++i) {
+      topicPublisher.send(new TestTopicQueuableObject(i));
+    }
+    start = System.nanoTime();
+    List<TestTopicQueuableObject> batch;
+    while (!(batch = topicConsumer.get(batchSize, Duration.ZERO)).isEmpty()) {
+      topicConsumer.ackAll(batch);
+    }
+    long batchNanos = System.nanoTime() - start;
+
+    log.info("Single get: {} messages/s, batch get of {}: {} messages/s", count * 1_000_000_000L / singleNanos,
+        batchSize, count * 1_000_000_000L / batchNanos);
+  }
 }
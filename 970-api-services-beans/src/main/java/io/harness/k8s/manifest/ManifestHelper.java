@@ -13,8 +13,8 @@ import static io.harness.data.structure.EmptyPredicate.isNotEmpty;
 import static io.harness.k8s.model.Kind.Secret;
 import static io.harness.k8s.model.KubernetesResource.redactSecretValues;
 import static io.harness.k8s.utils.ObjectYamlUtils.YAML_DOCUMENT_DELIMITER;
+import static io.harness.k8s.utils.ObjectYamlUtils.forEachYamlDocument;
 import static io.harness.k8s.utils.ObjectYamlUtils.newLineRegex;
-import static io.harness.k8s.utils.ObjectYamlUtils.splitYamlFile;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
@@ -40,6 +40,9 @@ import com.esotericsoftware.yamlbeans.parser.Parser.ParserException;
 import com.esotericsoftware.yamlbeans.tokenizer.Tokenizer.TokenizerException;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -80,7 +83,11 @@ public class ManifestHelper {
   }
 
   public static List<KubernetesResource> getKubernetesResourcesFromSpec(String spec) {
-    Map map = readKubernetesSpecAsMap(spec);
+    return getKubernetesResourcesFromSpec(spec, newSpecYaml());
+  }
+
+  private static List<KubernetesResource> getKubernetesResourcesFromSpec(String spec, Yaml yaml) {
+    Map map = readKubernetesSpecAsMap(spec, yaml);
     if (map == null) {
       return emptyList();
     }
@@ -118,10 +125,17 @@ public class ManifestHelper {
   }
 
   private static Map readKubernetesSpecAsMap(String spec) {
+    return readKubernetesSpecAsMap(spec, newSpecYaml());
+  }
+
+  private static Yaml newSpecYaml() {
+    LoaderOptions loaderOptions = new LoaderOptions();
+    loaderOptions.setCodePointLimit(K8sYamlUtils.customLoadSize());
+    return new Yaml(loaderOptions);
+  }
+
+  private static Map readKubernetesSpecAsMap(String spec, Yaml yaml) {
     try {
-      LoaderOptions loaderOptions = new LoaderOptions();
-      loaderOptions.setCodePointLimit(K8sYamlUtils.customLoadSize());
-      Yaml yaml = new Yaml(loaderOptions);
       Object o = yaml.load(spec);
       if (o == null) {
         return null;
@@ -203,15 +217,18 @@ public class ManifestHelper {
   }
 
   public static List<KubernetesResource> processYaml(String yamlString) {
-    List<String> specs = splitYamlFile(yamlString);
-
     List<KubernetesResource> resources = new ArrayList<>();
-
-    for (String spec : specs) {
-      List<KubernetesResource> resourcesFromSpec = getKubernetesResourcesFromSpec(spec);
-      if (isNotEmpty(resourcesFromSpec)) {
-        resources.addAll(resourcesFromSpec);
-      }
+    // Loading a document does not keep state in the yaml instance, one is enough for the whole manifest
+    Yaml yaml = newSpecYaml();
+    try {
+      forEachYamlDocument(new StringReader(yamlString), spec -> {
+        List<KubernetesResource> resourcesFromSpec = getKubernetesResourcesFromSpec(spec, yaml);
+        if (isNotEmpty(resourcesFromSpec)) {
+          resources.addAll(resourcesFromSpec);
+        }
+      });
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
 
     return resources;
@@ -219,15 +236,25 @@ public class ManifestHelper {
 
   public static String toYaml(List<KubernetesResource> resources) {
     StringBuilder stringBuilder = new StringBuilder();
+    try {
+      writeYaml(resources, stringBuilder);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return stringBuilder.toString();
+  }
 
+  /**
+   * Writes the resources like {@link #toYaml(List)}, but straight to the output, e.g. the manifest file given to
+   * kubectl, instead of building the whole manifest as a string first.
+   */
+  public static void writeYaml(List<KubernetesResource> resources, Appendable output) throws IOException {
     for (KubernetesResource resource : resources) {
       if (!resource.getSpec().startsWith(YAML_DOCUMENT_DELIMITER)) {
-        stringBuilder.append(YAML_DOCUMENT_DELIMITER).append(System.lineSeparator());
+        output.append(YAML_DOCUMENT_DELIMITER).append(System.lineSeparator());
       }
-      stringBuilder.append(resource.getSpec()).append(System.lineSeparator());
+      output.append(resource.getSpec()).append(System.lineSeparator());
     }
-
-    return stringBuilder.toString();
   }
 
   public static String toYamlForLogs(List<KubernetesResource> resources) {
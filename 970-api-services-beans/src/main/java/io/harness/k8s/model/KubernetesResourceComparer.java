@@ -80,12 +80,17 @@ public class KubernetesResourceComparer implements Comparator<KubernetesResource
     }
   }
 
+  /**
+   * Position of the kind in the order resources are applied in. Kinds which are not known share the last position.
+   */
+  public static int kindOrder(String kind) {
+    return KindOrderMap.getOrDefault(kind, KindOrder.length);
+  }
+
   @Override
   public int compare(KubernetesResource a, KubernetesResource b) {
-    Integer aOrder = KubernetesResourceComparer.KindOrderMap.getOrDefault(
-        a.getResourceId().getKind(), Integer.valueOf(KindOrder.length));
-    Integer bOrder = KubernetesResourceComparer.KindOrderMap.getOrDefault(
-        b.getResourceId().getKind(), Integer.valueOf(KindOrder.length));
+    Integer aOrder = kindOrder(a.getResourceId().getKind());
+    Integer bOrder = kindOrder(b.getResourceId().getKind());
 
     if (aOrder.equals(bOrder)) {
       if (!StringUtils.equals(a.getResourceId().getKind(), b.getResourceId().getKind())) {
@@ -16,12 +16,17 @@ import com.esotericsoftware.yamlbeans.YamlConfig.WriteClassName;
 import com.esotericsoftware.yamlbeans.YamlException;
 import com.esotericsoftware.yamlbeans.YamlReader;
 import com.esotericsoftware.yamlbeans.YamlWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import lombok.experimental.UtilityClass;
@@ -118,27 +123,69 @@ public class ObjectYamlUtils {
 
   public static List<String> splitYamlFile(String yamlString) {
     List<String> results = new ArrayList<>();
-    String[] lines = yamlString.split(newLineRegex);
-    StringBuilder builder = new StringBuilder();
-
-    for (String line : lines) {
-      if ((line.length() >= YAML_DOCUMENT_DELIMITER.length()
-              && !line.substring(0, YAML_DOCUMENT_DELIMITER.length()).equals(YAML_DOCUMENT_DELIMITER))
-          || (line.length() < YAML_DOCUMENT_DELIMITER.length())) {
-        builder.append(line).append(System.lineSeparator());
-      } else {
-        if (!builder.toString().isEmpty()) {
-          results.add(builder.toString());
+    try {
+      forEachYamlDocument(new StringReader(yamlString), results::add);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return results;
+  }
+
+  /**
+   * Hands each document of a multi document yaml to the consumer as soon as it is split, so the documents of a large
+   * manifest are not collected into a list first. Documents are split exactly like {@link #splitYamlFile(String)}.
+   */
+  public static void forEachYamlDocument(Reader reader, Consumer<String> documentConsumer) throws IOException {
+    StringBuilder document = new StringBuilder();
+    StringBuilder line = new StringBuilder();
+    char[] buffer = new char[8192];
+    int emptyLines = 0;
+    boolean read = false;
+    int length;
+    while ((length = reader.read(buffer)) != -1) {
+      for (int i = 0; i < length; i++) {
+        read = true;
+        if (buffer[i] != '\n') {
+          line.append(buffer[i]);
+          continue;
         }
-        builder.setLength(0);
+        if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+          line.setLength(line.length() - 1);
+        }
+        emptyLines = addLine(line, document, emptyLines, documentConsumer);
+        line.setLength(0);
       }
     }
-
-    if (!builder.toString().isEmpty()) {
-      results.add(builder.toString());
+    if (!read) {
+      // An empty input is a single empty line
+      documentConsumer.accept(System.lineSeparator());
+      return;
+    }
+    // Trailing empty lines are dropped
+    addLine(line, document, emptyLines, documentConsumer);
+    if (document.length() > 0) {
+      documentConsumer.accept(document.toString());
     }
+  }
 
-    return results;
+  private static int addLine(
+      StringBuilder line, StringBuilder document, int emptyLines, Consumer<String> documentConsumer) {
+    if (line.length() == 0) {
+      return emptyLines + 1;
+    }
+    for (int i = 0; i < emptyLines; i++) {
+      document.append(System.lineSeparator());
+    }
+    if (line.length() >= YAML_DOCUMENT_DELIMITER.length()
+        && YAML_DOCUMENT_DELIMITER.contentEquals(line.subSequence(0, YAML_DOCUMENT_DELIMITER.length()))) {
+      if (document.length() > 0) {
+        documentConsumer.accept(document.toString());
+      }
+      document.setLength(0);
+    } else {
+      document.append(line).append(System.lineSeparator());
+    }
+    return 0;
   }
 
   public static Object getField(Object object, String key) {
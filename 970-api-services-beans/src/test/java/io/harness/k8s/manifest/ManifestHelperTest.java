@@ -21,6 +21,7 @@ import static io.harness.logging.LoggingInitializer.initializeLogging;
 import static io.harness.rule.OwnerRule.ABOSII;
 import static io.harness.rule.OwnerRule.ACASIAN;
 import static io.harness.rule.OwnerRule.ANSHUL;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.BUHA;
 import static io.harness.rule.OwnerRule.PUNEET;
 
@@ -30,6 +31,7 @@ import static org.assertj.core.api.Assertions.fail;
 
 import io.harness.CategoryTest;
 import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.StressTests;
 import io.harness.category.element.UnitTests;
 import io.harness.eraro.ResponseMessage;
 import io.harness.exception.ExceptionLogger;
@@ -44,11 +46,15 @@ import io.harness.rule.Owner;
 import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Resources;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.net.URL;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Before;
 import org.junit.Test;
@@ -836,4 +842,43 @@ public class ManifestHelperTest extends CategoryTest {
     String result = ManifestHelper.toYamlOutput(dryRunOutputList);
     assertThat(result).isEqualTo(expectedYaml);
   }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(StressTests.class)
+  public void testSyntheticChartWith5000Resources() throws Exception {
+    StringBuilder chart = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      chart.append("---\n")
+          .append("apiVersion: v1\n")
+          .append("kind: ")
+          .append(i % 2 == 0 ? "ConfigMap" : "Service")
+          .append("\nmetadata:\n  name: resource-")
+          .append(i)
+          .append("\n  namespace: default\n")
+          .append("data:\n  key: value-")
+          .append(i)
+          .append('\n');
+    }
+
+    List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans()
+                                           .stream()
+                                           .filter(pool -> pool.getType() == MemoryType.HEAP)
+                                           .collect(Collectors.toList());
+    heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+    long start = System.nanoTime();
+    List<KubernetesResource> resources = processYaml(chart.toString());
+    StringBuilder manifest = new StringBuilder();
+    ManifestHelper.writeYaml(resources, manifest);
+    long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+    long peakHeapMb = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum() / (1024 * 1024);
+    log.info("Parsed and wrote 5000 resources in {} ms with a peak heap of {} MB", elapsedMs, peakHeapMb);
+
+    assertThat(resources).hasSize(5000);
+    assertThat(resources.get(4999).getResourceId())
+        .isEqualTo(KubernetesResourceId.builder().kind("Service").name("resource-4999").namespace("default").build());
+    assertThat(processYaml(manifest.toString()))
+        .extracting(KubernetesResource::getValue)
+        .isEqualTo(resources.stream().map(KubernetesResource::getValue).collect(Collectors.toList()));
+  }
 }
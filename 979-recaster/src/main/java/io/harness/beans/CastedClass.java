@@ -7,6 +7,7 @@
 
 package io.harness.beans;
 
+import io.harness.core.CastedClassCodec;
 import io.harness.core.Recaster;
 import io.harness.utils.RecastReflectionUtils;
 
@@ -15,6 +16,7 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Getter;
+import lombok.Setter;
 
 @Getter
 public class CastedClass {
@@ -22,6 +24,7 @@ public class CastedClass {
   private CastedClass superClass;
   private final List<CastedClass> interfaces = new ArrayList<>();
   private final List<CastedField> persistenceFields = new ArrayList<>();
+  @Setter private volatile CastedClassCodec codec;
 
   public CastedClass(Class<?> entityClass, Recaster recaster) {
     this.clazz = entityClass;
@@ -16,6 +16,9 @@ import io.harness.exceptions.RecasterException;
 import io.harness.utils.RecastReflectionUtils;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -53,6 +56,9 @@ public class CastedField {
   private boolean isArray; // indicated if it is an Array
   private boolean isCollection; // indicated if the collection is a list)
   private Type genericType;
+  // bound by the generated codec path, reflective access is used while these are null
+  private volatile MethodHandle getter;
+  private volatile MethodHandle setter;
 
   CastedField(final Field f, final Class<?> clazz, final Recaster recaster) {
     f.setAccessible(true);
@@ -358,7 +364,42 @@ public class CastedField {
     return !isSingleValue;
   }
 
+  /**
+   * Binds method handle accessors for the field so that {@link #getFieldValue(Object)} and
+   * {@link #setFieldValue(Object, Object)} skip the reflective access checks. Accessors which cannot be bound (for
+   * example setters of static final fields) keep using reflection.
+   */
+  public void bindAccessors() {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodType getterType = MethodType.methodType(Object.class, Object.class);
+    MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+    try {
+      if (getter == null) {
+        getter = lookup.unreflectGetter(field).asType(getterType);
+      }
+    } catch (IllegalAccessException | RuntimeException e) {
+      log.debug("Could not bind getter for {}, falling back to reflection", getFullName(), e);
+    }
+    try {
+      if (setter == null) {
+        setter = lookup.unreflectSetter(field).asType(setterType);
+      }
+    } catch (IllegalAccessException | RuntimeException e) {
+      log.debug("Could not bind setter for {}, falling back to reflection", getFullName(), e);
+    }
+  }
+
   public Object getFieldValue(final Object instance) {
+    MethodHandle boundGetter = getter;
+    if (boundGetter != null) {
+      try {
+        return (Object) boundGetter.invokeExact(instance);
+      } catch (ClassCastException | NullPointerException e) {
+        // Let reflection raise the same exception the reflective path would have raised
+      } catch (Throwable t) {
+        throw new RuntimeException(t);
+      }
+    }
     try {
       return field.get(instance);
     } catch (IllegalAccessException e) {
@@ -367,6 +408,17 @@ public class CastedField {
   }
 
   public void setFieldValue(final Object instance, final Object value) {
+    MethodHandle boundSetter = setter;
+    if (boundSetter != null) {
+      try {
+        boundSetter.invokeExact(instance, value);
+        return;
+      } catch (ClassCastException | NullPointerException e) {
+        // Let reflection raise the same exception the reflective path would have raised
+      } catch (Throwable t) {
+        throw new RuntimeException(t);
+      }
+    }
     try {
       field.set(instance, value);
     } catch (IllegalAccessException e) {
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.core;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.CastedClass;
+import io.harness.beans.CastedField;
+import io.harness.fieldrecaster.FieldRecaster;
+
+import java.util.List;
+
+/**
+ * Per class reader/writer generated once from a {@link CastedClass} and cached on it.
+ *
+ * The codec binds method handle accessors for every persistence field and resolves, per field, whether the simple
+ * value or the complex field recaster applies, which the reflective path looks up on every call. Transformer lookups
+ * depend on the registered custom transformers, so a codec is only valid for the transformer version it was generated
+ * against.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+public class CastedClassCodec {
+  private final int transformerVersion;
+  private final CastedField[] fields;
+  private final FieldRecaster[] fieldRecasters;
+
+  private CastedClassCodec(int transformerVersion, CastedField[] fields, FieldRecaster[] fieldRecasters) {
+    this.transformerVersion = transformerVersion;
+    this.fields = fields;
+    this.fieldRecasters = fieldRecasters;
+  }
+
+  static CastedClassCodec generate(Recaster recaster, CastedClass castedClass) {
+    int version = recaster.getTransformer().getVersion();
+    List<CastedField> persistenceFields = castedClass.getPersistenceFields();
+    CastedField[] fields = new CastedField[persistenceFields.size()];
+    FieldRecaster[] fieldRecasters = new FieldRecaster[fields.length];
+    for (int i = 0; i < fields.length; i++) {
+      CastedField cf = persistenceFields.get(i);
+      cf.bindAccessors();
+      fields[i] = cf;
+      fieldRecasters[i] = recaster.getTransformer().hasSimpleValueTransformer(cf.getType())
+          ? recaster.getSimpleValueFieldRecaster()
+          : recaster.getDefaultFieldRecaster();
+    }
+    return new CastedClassCodec(version, fields, fieldRecasters);
+  }
+
+  boolean isValidFor(int version) {
+    return transformerVersion == version;
+  }
+
+  int size() {
+    return fields.length;
+  }
+
+  CastedField field(int index) {
+    return fields[index];
+  }
+
+  FieldRecaster fieldRecaster(int index) {
+    return fieldRecasters[index];
+  }
+}
@@ -146,6 +146,17 @@ public class Recaster {
       populateCollectionInternal(recasterMap, entity);
     } else if (newRecastFlow && transformer.hasSimpleValueTransformer(entity.getClass())) {
       entity = (T) transformer.decode(entity.getClass(), recasterMap, null);
+    } else if (options.isGeneratedCodecs()) {
+      final CastedClassCodec codec = getCodec(getCastedClass(entity));
+      for (int i = 0; i < codec.size(); i++) {
+        final CastedField cf = codec.field(i);
+        try {
+          codec.fieldRecaster(i).fromMap(this, recasterMap, cf, entity);
+        } catch (final Exception e) {
+          throwErrorBasedOnException(
+              e, (String) recasterMap.getIdentifier(), entity.getClass().getSimpleName(), cf.getField().getName());
+        }
+      }
     } else {
       final CastedClass castedClass = getCastedClass(entity);
       for (final CastedField cf : castedClass.getPersistenceFields()) {
@@ -271,6 +282,21 @@ public class Recaster {
       }
     }
 
+    if (options.isGeneratedCodecs()) {
+      final CastedClassCodec codec = getCodec(cc);
+      for (int i = 0; i < codec.size(); i++) {
+        final CastedField cf = codec.field(i);
+        try {
+          codec.fieldRecaster(i).toMap(this, entity, cf, recasterMap);
+        } catch (Exception e) {
+          throw new CastedFieldException(format("Cannot map [%s] to [%s] class for field [%s]",
+                                             recasterMap.getIdentifier(), entity.getClass(), cf.getField().getName()),
+              e);
+        }
+      }
+      return recasterMap;
+    }
+
     for (final CastedField cf : cc.getPersistenceFields()) {
       try {
         writeCastedField(entity, cf, recasterMap);
@@ -284,6 +310,15 @@ public class Recaster {
     return recasterMap;
   }
 
+  private CastedClassCodec getCodec(CastedClass castedClass) {
+    CastedClassCodec codec = castedClass.getCodec();
+    if (codec == null || !codec.isValidFor(transformer.getVersion())) {
+      codec = CastedClassCodec.generate(this, castedClass);
+      castedClass.setCodec(codec);
+    }
+    return codec;
+  }
+
   private Map<String, Object> writeMapInternal(RecasterMap recasterMap, Object entity) {
     Object encoded = transformer.getTransformer(entity.getClass()).encode(entity);
     if (encoded == null) {
@@ -19,4 +19,7 @@ public class RecasterOptions {
 
   // to be removed when migration to map is finished
   boolean workWithMaps;
+
+  // use the per class codecs cached on CastedClass instead of resolving every field reflectively
+  boolean generatedCodecs;
 }
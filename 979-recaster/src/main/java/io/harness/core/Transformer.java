@@ -28,6 +28,8 @@ public abstract class Transformer {
   Recaster recaster;
   Map<Class<?>, RecastTransformer> converterMap = new HashMap<>();
   private final List<RecastTransformer> untypedTypeTransformers = new LinkedList<>();
+  // bumped whenever a transformer is registered so that cached codecs re-resolve their field recasters
+  private volatile int version;
 
   public Transformer(Recaster recaster) {
     this.recaster = recaster;
@@ -51,6 +53,11 @@ public abstract class Transformer {
       untypedTypeTransformers.add(recastTransformer);
     }
     recastTransformer.setRecaster(recaster);
+    version++;
+  }
+
+  int getVersion() {
+    return version;
   }
 
   private void addTypedConverter(final Class<?> type, final RecastTransformer rc) {
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.core;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.RecasterTestBase;
+import io.harness.annotation.RecasterFieldName;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.StressTests;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import com.google.common.collect.ImmutableSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+@Slf4j
+public class RecasterCodecConformanceTest extends RecasterTestBase {
+  private Recast reflectiveRecast;
+  private Recast codecRecast;
+
+  @Before
+  public void setup() {
+    reflectiveRecast =
+        new Recast(new Recaster(RecasterOptions.builder().workWithMaps(true).build()), ImmutableSet.of());
+    codecRecast = new Recast(
+        new Recaster(RecasterOptions.builder().workWithMaps(true).generatedCodecs(true).build()), ImmutableSet.of());
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldProduceIdenticalDocuments() {
+    for (Object entity : Arrays.asList(sampleStepParameters(), StepParameters.builder().build(), sampleChild())) {
+      Map<String, Object> reflectiveDocument = reflectiveRecast.toMap(entity);
+      Map<String, Object> codecDocument = codecRecast.toMap(entity);
+
+      assertThat(codecDocument).isEqualTo(reflectiveDocument);
+      // toString walks keys in insertion order, so this also checks the documents are laid out identically
+      assertThat(codecDocument.toString()).isEqualTo(reflectiveDocument.toString());
+    }
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldReadIdenticalObjects() {
+    StepParameters stepParameters = sampleStepParameters();
+    Map<String, Object> document = reflectiveRecast.toMap(stepParameters);
+
+    StepParameters reflective = reflectiveRecast.fromMap(document, StepParameters.class);
+    StepParameters codec = codecRecast.fromMap(document, StepParameters.class);
+    assertThat(codec).isEqualTo(reflective);
+
+    Map<String, Object> childDocument = reflectiveRecast.toMap(sampleChild());
+    assertThat(codecRecast.fromMap(childDocument, ChildStepParameters.class))
+        .isEqualTo(reflectiveRecast.fromMap(childDocument, ChildStepParameters.class));
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void shouldCacheCodecOnCastedClass() {
+    Recaster recaster = new Recaster(RecasterOptions.builder().workWithMaps(true).generatedCodecs(true).build());
+    recaster.toMap(sampleStepParameters());
+
+    CastedClassCodec codec = recaster.getCastedClass(StepParameters.class).getCodec();
+    assertThat(codec).isNotNull();
+    assertThat(codec.size()).isEqualTo(recaster.getCastedClass(StepParameters.class).getPersistenceFields().size());
+
+    recaster.toMap(sampleStepParameters());
+    assertThat(recaster.getCastedClass(StepParameters.class).getCodec()).isSameAs(codec);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(StressTests.class)
+  @Ignore("This is a benchmark, we ignore it to not slow down the unit tests")
+  public void benchmarkCodecs() {
+    StepParameters stepParameters = sampleStepParameters();
+    int iterations = 200000;
+    for (int i = 0; i < iterations; i++) {
+      reflectiveRecast.fromMap(reflectiveRecast.toMap(stepParameters), StepParameters.class);
+      codecRecast.fromMap(codecRecast.toMap(stepParameters), StepParameters.class);
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      reflectiveRecast.fromMap(reflectiveRecast.toMap(stepParameters), StepParameters.class);
+    }
+    long reflectiveNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      codecRecast.fromMap(codecRecast.toMap(stepParameters), StepParameters.class);
+    }
+    long codecNanos = System.nanoTime() - start;
+
+    log.info("Reflective: {} ns/op, codecs: {} ns/op", reflectiveNanos / iterations, codecNanos / iterations);
+  }
+
+  private StepParameters sampleStepParameters() {
+    Map<String, Object> environmentVariables = new LinkedHashMap<>();
+    environmentVariables.put("FOO", "bar");
+    environmentVariables.put("COUNT", 3);
+    Set<String> delegateSelectors = new HashSet<>(Arrays.asList("primary", "secondary"));
+    List<Output> outputs = new ArrayList<>();
+    outputs.add(Output.builder().name("out1").value("v1").build());
+    outputs.add(Output.builder().name("out2").value("v2").build());
+    return StepParameters.builder()
+        .name("shell")
+        .identifier("shell_1")
+        .timeoutMillis(600000L)
+        .retryCount(3)
+        .failOnError(true)
+        .type(StepType.SHELL)
+        .createdAt(Instant.ofEpochMilli(1672531200000L))
+        .environmentVariables(environmentVariables)
+        .delegateSelectors(delegateSelectors)
+        .outputs(outputs)
+        .tags(Arrays.asList("a", "b"))
+        .script(Script.builder().type("Bash").content("echo hello").build())
+        .renamedField("renamed")
+        .build();
+  }
+
+  private ChildStepParameters sampleChild() {
+    ChildStepParameters child = new ChildStepParameters();
+    child.setIdentifier("child");
+    child.setTimeoutMillis(10L);
+    child.setRetryCount(1);
+    child.setChildOnly("only");
+    child.setLabels(new HashMap<>());
+    return child;
+  }
+
+  private enum StepType { SHELL, HTTP }
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  private static class Script {
+    private String type;
+    private String content;
+  }
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  private static class Output {
+    private String name;
+    private String value;
+  }
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  private static class StepParameters {
+    private String name;
+    private String identifier;
+    private Long timeoutMillis;
+    private int retryCount;
+    private boolean failOnError;
+    private StepType type;
+    private Instant createdAt;
+    private Map<String, Object> environmentVariables;
+    private Set<String> delegateSelectors;
+    private List<Output> outputs;
+    private List<String> tags;
+    private Script script;
+    @RecasterFieldName(name = "alias") private String renamedField;
+  }
+
+  @Data
+  @NoArgsConstructor
+  @EqualsAndHashCode(callSuper = true)
+  private static class ChildStepParameters extends StepParameters {
+    private String childOnly;
+    private Map<String, String> labels;
+  }
+}
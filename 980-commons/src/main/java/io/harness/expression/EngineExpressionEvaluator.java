@@ -48,12 +48,9 @@ import javax.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.jexl3.JexlBuilder;
 import org.apache.commons.jexl3.JexlEngine;
 import org.apache.commons.jexl3.JexlException;
-import org.apache.commons.jexl3.JexlExpression;
 import org.apache.commons.lang3.RandomStringUtils;
-import org.apache.commons.logging.impl.NoOpLog;
 import org.hibernate.validator.constraints.NotEmpty;
 
 @CodePulse(module = ProductModule.CDS, unitCoverageRequired = true,
@@ -83,7 +80,7 @@ public class EngineExpressionEvaluator {
   private boolean initialized;
 
   public EngineExpressionEvaluator(VariableResolverTracker variableResolverTracker) {
-    this.engine = new JexlBuilder().logger(new NoOpLog()).create();
+    this.engine = JexlScriptCache.engine();
     this.variableResolverTracker =
         variableResolverTracker == null ? new VariableResolverTracker() : variableResolverTracker;
     this.contextMap = new LateBindingMap();
@@ -650,10 +647,9 @@ public class EngineExpressionEvaluator {
 
   protected Object evaluateByCreatingExpression(@NotNull String expression, @NotNull EngineJexlContext ctx) {
     if (ctx.isFeatureFlagEnabled(PIE_EXECUTION_JSON_SUPPORT)) {
-      return engine.createScript(expression).execute(ctx);
+      return JexlScriptCache.execute(expression, ctx);
     }
-    JexlExpression jexlExpression = engine.createExpression(expression);
-    return jexlExpression.evaluate(ctx);
+    return JexlScriptCache.evaluate(expression, ctx);
   }
 
   /**
@@ -672,7 +668,7 @@ public class EngineExpressionEvaluator {
 
     if (ctx.isFeatureFlagEnabled(PIE_EXECUTION_JSON_SUPPORT)) {
       try {
-        return engine.createScript(expression).execute(ctx);
+        return JexlScriptCache.execute(expression, ctx);
       } catch (Exception e) {
         if (response.isOnlyRenderedExpressions()) {
           return null;
@@ -681,8 +677,7 @@ public class EngineExpressionEvaluator {
       }
     }
     try {
-      JexlExpression jexlExpression = engine.createExpression(expression);
-      return jexlExpression.evaluate(ctx);
+      return JexlScriptCache.evaluate(expression, ctx);
     } catch (Exception e) {
       if (response.isOnlyRenderedExpressions()) {
         return null;
@@ -692,7 +687,7 @@ public class EngineExpressionEvaluator {
   }
 
   protected Object evaluateByCreatingScript(@NotNull String expression, @NotNull EngineJexlContext ctx) {
-    return engine.createScript(expression).execute(ctx);
+    return JexlScriptCache.execute(expression, ctx);
   }
 
   private EngineJexlContext prepareContext(Map<String, Object> ctx) {
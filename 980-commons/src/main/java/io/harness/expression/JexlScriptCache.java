@@ -0,0 +1,170 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.expression;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.jexl3.JexlBuilder;
+import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.jexl3.JexlEngine;
+import org.apache.commons.jexl3.JexlExpression;
+import org.apache.commons.jexl3.JexlScript;
+import org.apache.commons.logging.impl.NoOpLog;
+
+/**
+ * Process wide cache of parsed jexl scripts and expressions.
+ *
+ * JexlEngine, JexlScript and JexlExpression are thread safe, so the same parsed object can be executed concurrently
+ * against different contexts. Parse failures are not cached, the JexlException propagates to the caller unchanged.
+ *
+ * Partially evaluated expressions refer to values by randomly named {@link
+ * EngineExpressionEvaluator#HARNESS_INTERNAL_VARIABLE_PREFIX} variables. {@link #execute} and {@link #evaluate} rename
+ * them by order of appearance before looking the expression up, and resolve the renamed variables from the context by
+ * their original names, so that such expressions share one cache entry.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+@UtilityClass
+public class JexlScriptCache {
+  private static final int MAX_SIZE = 20000;
+  private static final Pattern INTERNAL_VARIABLE = Pattern.compile(
+      "\\b" + EngineExpressionEvaluator.HARNESS_INTERNAL_VARIABLE_PREFIX + "[a-zA-Z]{12}\\b");
+
+  private static final JexlEngine ENGINE = new JexlBuilder().logger(new NoOpLog()).create();
+
+  private static final Cache<String, JexlScript> scripts =
+      CacheBuilder.newBuilder().maximumSize(MAX_SIZE).recordStats().build();
+  private static final Cache<String, JexlExpression> expressions =
+      CacheBuilder.newBuilder().maximumSize(MAX_SIZE).recordStats().build();
+
+  public JexlEngine engine() {
+    return ENGINE;
+  }
+
+  public JexlScript script(@NotNull String expression) {
+    String key = expression.trim();
+    JexlScript script = scripts.getIfPresent(key);
+    if (script == null) {
+      script = ENGINE.createScript(key);
+      scripts.put(key, script);
+    }
+    return script;
+  }
+
+  public JexlExpression expression(@NotNull String expression) {
+    String key = expression.trim();
+    JexlExpression jexlExpression = expressions.getIfPresent(key);
+    if (jexlExpression == null) {
+      jexlExpression = ENGINE.createExpression(key);
+      expressions.put(key, jexlExpression);
+    }
+    return jexlExpression;
+  }
+
+  /**
+   * Executes the expression as a script, sharing the parsed script with expressions that differ only in the names of
+   * internal variables.
+   */
+  public Object execute(@NotNull String expression, @NotNull JexlContext ctx) {
+    NormalizedExpression normalized = normalize(expression);
+    return script(normalized.getText()).execute(normalized.context(ctx));
+  }
+
+  /**
+   * Evaluates the expression, sharing the parsed expression with expressions that differ only in the names of
+   * internal variables.
+   */
+  public Object evaluate(@NotNull String expression, @NotNull JexlContext ctx) {
+    NormalizedExpression normalized = normalize(expression);
+    return expression(normalized.getText()).evaluate(normalized.context(ctx));
+  }
+
+  public CacheStats scriptStats() {
+    return scripts.stats();
+  }
+
+  public CacheStats expressionStats() {
+    return expressions.stats();
+  }
+
+  public long size() {
+    return scripts.size() + expressions.size();
+  }
+
+  public void invalidateAll() {
+    scripts.invalidateAll();
+    expressions.invalidateAll();
+  }
+
+  @VisibleForTesting
+  NormalizedExpression normalize(String expression) {
+    Matcher matcher = INTERNAL_VARIABLE.matcher(expression);
+    if (!matcher.find()) {
+      return new NormalizedExpression(expression, Collections.emptyMap());
+    }
+    Map<String, String> normalizedNames = new HashMap<>();
+    Map<String, String> originalNames = new HashMap<>();
+    StringBuilder text = new StringBuilder();
+    do {
+      String normalizedName = normalizedNames.get(matcher.group());
+      if (normalizedName == null) {
+        // digits never match the random names, so renamed variables cannot clash with the remaining ones
+        normalizedName = EngineExpressionEvaluator.HARNESS_INTERNAL_VARIABLE_PREFIX + normalizedNames.size();
+        normalizedNames.put(matcher.group(), normalizedName);
+        originalNames.put(normalizedName, matcher.group());
+      }
+      matcher.appendReplacement(text, normalizedName);
+    } while (matcher.find());
+    matcher.appendTail(text);
+    return new NormalizedExpression(text.toString(), originalNames);
+  }
+
+  @Value
+  static class NormalizedExpression {
+    String text;
+    Map<String, String> originalNames;
+
+    JexlContext context(JexlContext ctx) {
+      return originalNames.isEmpty() ? ctx : new RenamedVariablesContext(ctx, originalNames);
+    }
+  }
+
+  @AllArgsConstructor
+  private static class RenamedVariablesContext implements JexlContext {
+    private final JexlContext ctx;
+    private final Map<String, String> originalNames;
+
+    @Override
+    public Object get(String name) {
+      return ctx.get(originalNames.getOrDefault(name, name));
+    }
+
+    @Override
+    public void set(String name, Object value) {
+      ctx.set(originalNames.getOrDefault(name, name), value);
+    }
+
+    @Override
+    public boolean has(String name) {
+      return ctx.has(originalNames.getOrDefault(name, name));
+    }
+  }
+}
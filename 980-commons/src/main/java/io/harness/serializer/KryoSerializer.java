@@ -8,10 +8,13 @@
 package io.harness.serializer;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 
 import io.harness.reflection.CodeUtils;
 
 import com.esotericsoftware.kryo.Registration;
+import com.esotericsoftware.kryo.io.ByteBufferInput;
+import com.esotericsoftware.kryo.io.ByteBufferOutput;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import com.esotericsoftware.kryo.pool.KryoPool;
@@ -20,15 +23,18 @@ import com.google.api.client.util.Base64;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import java.io.ByteArrayOutputStream;
-import java.io.OutputStream;
+import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Set;
+import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
 import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
 
 @Singleton
 @Slf4j
@@ -51,6 +57,15 @@ public class KryoSerializer {
     }
   }
 
+  private static final int BUFFER_SIZE = 4096;
+  // Buffers that grew past this while serializing a large object are not kept for the thread
+  private static final int MAX_POOLED_BUFFER_SIZE = 256 * 1024;
+  // Every block written by LZ4BlockOutputStream starts with this magic, deflated payloads start with a zlib header
+  private static final byte[] LZ4_MAGIC = "LZ4Block".getBytes(US_ASCII);
+
+  private static final ThreadLocal<SerializationBuffers> serializationBuffers =
+      ThreadLocal.withInitial(SerializationBuffers::new);
+
   private final KryoPool pool;
   private final boolean skipHarnessClassOriginRegistrarCheck;
 
@@ -104,27 +119,67 @@ public class KryoSerializer {
   }
 
   public byte[] asBytes(Object obj) {
-    try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-      writeToStream(obj, outputStream);
-      return outputStream.toByteArray();
-    } catch (Exception e) {
-      throw new RuntimeException(e);
+    SerializationBuffers buffers = SerializationBuffers.acquire();
+    try {
+      write(obj, buffers.output);
+      return buffers.output.toBytes();
+    } finally {
+      buffers.release();
     }
   }
 
   public byte[] asDeflatedBytes(Object obj) {
-    try (ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-         DeflaterOutputStream outputStream = new DeflaterOutputStream(byteStream)) {
-      writeToStream(obj, outputStream);
-      outputStream.finish();
-      return byteStream.toByteArray();
+    SerializationBuffers buffers = SerializationBuffers.acquire();
+    try {
+      write(obj, buffers.output);
+      try (DeflaterOutputStream outputStream =
+               new DeflaterOutputStream(buffers.compressedOutput, buffers.deflater(), BUFFER_SIZE)) {
+        outputStream.write(buffers.output.getBuffer(), 0, buffers.output.position());
+        outputStream.finish();
+      }
+      return buffers.compressedOutput.toBytes();
     } catch (Exception exception) {
       throw new RuntimeException(exception);
+    } finally {
+      buffers.release();
     }
   }
 
-  private void writeToStream(Object obj, OutputStream outputStream) {
-    try (Output output = new Output(outputStream)) {
+  /**
+   * Same as {@link #asDeflatedBytes(Object)} but compressed with LZ4, which is several times faster at a lower ratio.
+   * The payload is read back by {@link #asInflatedObject(byte[])}, which recognizes the LZ4 header.
+   */
+  public byte[] asLz4Bytes(Object obj) {
+    SerializationBuffers buffers = SerializationBuffers.acquire();
+    try {
+      write(obj, buffers.output);
+      try (LZ4BlockOutputStream outputStream = new LZ4BlockOutputStream(buffers.compressedOutput)) {
+        outputStream.write(buffers.output.getBuffer(), 0, buffers.output.position());
+        outputStream.finish();
+      }
+      return buffers.compressedOutput.toBytes();
+    } catch (Exception exception) {
+      throw new RuntimeException(exception);
+    } finally {
+      buffers.release();
+    }
+  }
+
+  /**
+   * Serializes into the caller's buffer from its position on and advances the position past the written bytes.
+   * Fails with a buffer overflow if the object does not fit in the remaining bytes.
+   * @return the number of bytes written
+   */
+  public int writeTo(Object obj, ByteBuffer buffer) {
+    int start = buffer.position();
+    ByteBufferOutput output = new ByteBufferOutput(buffer);
+    write(obj, output);
+    buffer.position(output.position());
+    return output.position() - start;
+  }
+
+  private void write(Object obj, Output output) {
+    try {
       pool.run(kryo -> {
         kryo.writeClassAndObject(output, obj);
         return null;
@@ -145,8 +200,29 @@ public class KryoSerializer {
     }
   }
 
+  /**
+   * Reads from the buffer's position on and advances the position past the object.
+   */
+  public Object asObject(ByteBuffer buffer) {
+    ByteBufferInput input = new ByteBufferInput(buffer);
+    Object object = pool.run(kryo -> kryo.readClassAndObject(input));
+    buffer.position(input.position());
+    return object;
+  }
+
+  /**
+   * Reads one object from the stream, which is left open. The stream is read ahead, so nothing should be read from it
+   * afterwards.
+   */
+  public Object asObject(InputStream inputStream) {
+    Input input = new Input(inputStream, BUFFER_SIZE);
+    return pool.run(kryo -> kryo.readClassAndObject(input));
+  }
+
   public Object asInflatedObject(byte[] bytes) {
-    try (Input input = new Input(new InflaterInputStream(new Input(bytes)))) {
+    InputStream decompressed =
+        isLz4(bytes) ? new LZ4BlockInputStream(new Input(bytes)) : new InflaterInputStream(new Input(bytes));
+    try (Input input = new Input(decompressed)) {
       return pool.run(kryo -> kryo.readClassAndObject(input));
     } catch (Exception exception) {
       throw new RuntimeException(exception);
@@ -160,4 +236,72 @@ public class KryoSerializer {
   public boolean isRegistered(Class cls) {
     return pool.run(kryo -> kryo.getClassResolver().getRegistration(cls) != null);
   }
+
+  private static boolean isLz4(byte[] bytes) {
+    if (bytes.length < LZ4_MAGIC.length) {
+      return false;
+    }
+    for (int i = 0; i < LZ4_MAGIC.length; i++) {
+      if (bytes[i] != LZ4_MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Per thread buffers reused across calls. A serializer that calls back into the kryo serializer while the buffers
+   * are in use gets fresh ones, which are discarded on release. The deflater is only created by the threads that
+   * deflate, and the native memory of a discarded one is freed right away instead of when it is garbage collected.
+   */
+  private static class SerializationBuffers {
+    private final Output output = new Output(BUFFER_SIZE, -1);
+    private final Output compressedOutput = new Output(BUFFER_SIZE, -1);
+    private Deflater deflater;
+    private final boolean pooled;
+    private boolean inUse;
+
+    SerializationBuffers() {
+      this(true);
+    }
+
+    private SerializationBuffers(boolean pooled) {
+      this.pooled = pooled;
+    }
+
+    static SerializationBuffers acquire() {
+      SerializationBuffers buffers = serializationBuffers.get();
+      if (buffers.inUse) {
+        buffers = new SerializationBuffers(false);
+      }
+      buffers.inUse = true;
+      return buffers;
+    }
+
+    Deflater deflater() {
+      if (deflater == null) {
+        deflater = new Deflater();
+      }
+      return deflater;
+    }
+
+    void release() {
+      inUse = false;
+      if (!pooled || output.getBuffer().length > MAX_POOLED_BUFFER_SIZE
+          || compressedOutput.getBuffer().length > MAX_POOLED_BUFFER_SIZE) {
+        if (deflater != null) {
+          deflater.end();
+        }
+        if (pooled) {
+          serializationBuffers.remove();
+        }
+        return;
+      }
+      output.clear();
+      compressedOutput.clear();
+      if (deflater != null) {
+        deflater.reset();
+      }
+    }
+  }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.threading;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Virtual thread factories for processes that run on a jdk which has them. The code base is compiled for java 17, so
+ * the java 21 thread builder api is looked up at runtime.
+ */
+@OwnedBy(HarnessTeam.DEL)
+@UtilityClass
+public class VirtualThreads {
+  private static final Method OF_VIRTUAL = lookup();
+
+  private static Method lookup() {
+    try {
+      Method ofVirtual = Thread.class.getMethod("ofVirtual");
+      // Fails on jdks where virtual threads are a preview feature which is not enabled
+      ofVirtual.invoke(null);
+      return ofVirtual;
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+      return null;
+    }
+  }
+
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * Creates a factory of virtual threads named with the given prefix followed by a sequence number.
+   *
+   * @throws UnsupportedOperationException if the jdk has no virtual threads
+   */
+  public static ThreadFactory factory(String namePrefix) {
+    if (OF_VIRTUAL == null) {
+      throw new UnsupportedOperationException("Virtual threads are not available on java " + Runtime.version());
+    }
+    try {
+      Object builder = OF_VIRTUAL.invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (InvocationTargetException ex) {
+      throw new UnsupportedOperationException("Unable to create virtual thread factory", ex.getCause());
+    } catch (ReflectiveOperationException ex) {
+      throw new UnsupportedOperationException("Unable to create virtual thread factory", ex);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.expression;
+
+import static io.harness.rule.OwnerRule.GARVIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.jexl3.JexlException;
+import org.apache.commons.jexl3.JexlExpression;
+import org.apache.commons.jexl3.JexlScript;
+import org.apache.commons.jexl3.MapContext;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+public class JexlScriptCacheTest extends CategoryTest {
+  @Test
+  @Owner(developers = GARVIT)
+  @Category(UnitTests.class)
+  public void testParsedObjectsAreReused() {
+    JexlExpression expression = JexlScriptCache.expression("a.b == 1");
+    assertThat(JexlScriptCache.expression(" a.b == 1 ")).isSameAs(expression);
+    assertThat(expression.evaluate(new MapContext(ImmutableMap.of("a", ImmutableMap.of("b", 1))))).isEqualTo(true);
+
+    JexlScript script = JexlScriptCache.script("var x = a.b; x + 1");
+    assertThat(JexlScriptCache.script("var x = a.b; x + 1")).isSameAs(script);
+    assertThat(script.execute(new MapContext(ImmutableMap.of("a", ImmutableMap.of("b", 1))))).isEqualTo(2);
+  }
+
+  @Test
+  @Owner(developers = GARVIT)
+  @Category(UnitTests.class)
+  public void testParseFailureIsNotWrapped() {
+    assertThatThrownBy(() -> JexlScriptCache.expression("a.b ==")).isInstanceOf(JexlException.class);
+    assertThatThrownBy(() -> JexlScriptCache.expression("a.b ==")).isInstanceOf(JexlException.class);
+  }
+
+  @Test
+  @Owner(developers = GARVIT)
+  @Category(UnitTests.class)
+  public void testInternalVariablesShareCacheEntry() {
+    assertThat(JexlScriptCache.normalize("__HVAR_abcdefghijkl + __HVAR_mnopqrstuvwx == __HVAR_abcdefghijkl").getText())
+        .isEqualTo("__HVAR_0 + __HVAR_1 == __HVAR_0");
+    assertThat(JexlScriptCache.normalize("__HVAR_abcdefghijklm + a").getText()).isEqualTo("__HVAR_abcdefghijklm + a");
+
+    long size = JexlScriptCache.size();
+    MapContext first = new MapContext(ImmutableMap.of("__HVAR_abcdefghijkl", 5, "__HVAR_mnopqrstuvwx", 2));
+    assertThat(JexlScriptCache.evaluate("__HVAR_abcdefghijkl - __HVAR_mnopqrstuvwx", first)).isEqualTo(3);
+    MapContext second = new MapContext(ImmutableMap.of("__HVAR_ABCDEFGHIJKL", 7, "__HVAR_MNOPQRSTUVWX", 4));
+    assertThat(JexlScriptCache.evaluate("__HVAR_ABCDEFGHIJKL - __HVAR_MNOPQRSTUVWX", second)).isEqualTo(3);
+    MapContext script = new MapContext(ImmutableMap.of("__HVAR_zyxwvutsrqpo", ImmutableMap.of("b", 1)));
+    assertThat(JexlScriptCache.execute("__HVAR_zyxwvutsrqpo.b", script)).isEqualTo(1);
+    assertThat(JexlScriptCache.size()).isLessThanOrEqualTo(size + 2);
+  }
+
+  @Test
+  @Owner(developers = GARVIT)
+  @Category(UnitTests.class)
+  public void testStatsAreRecorded() {
+    long hits = JexlScriptCache.expressionStats().hitCount();
+    JexlScriptCache.expression("c.d");
+    JexlScriptCache.expression("c.d");
+    assertThat(JexlScriptCache.expressionStats().hitCount()).isGreaterThan(hits);
+  }
+}
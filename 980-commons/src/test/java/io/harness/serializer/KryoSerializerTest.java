@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.serializer;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.harness.CommonsTestBase;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import com.google.common.base.Strings;
+import com.google.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class KryoSerializerTest extends CommonsTestBase {
+  @Inject KryoSerializer kryoSerializer;
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testAsBytesReusesBuffersAcrossCalls() {
+    String large = Strings.repeat("payload", 200_000);
+    assertThat(kryoSerializer.asObject(kryoSerializer.asBytes(large))).isEqualTo(large);
+    assertThat(kryoSerializer.asObject(kryoSerializer.asBytes("small"))).isEqualTo("small");
+    assertThat(kryoSerializer.asObject(kryoSerializer.asBytes(42))).isEqualTo(42);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testCompressedPayloads() {
+    String value = Strings.repeat("compressible", 1000);
+    byte[] deflated = kryoSerializer.asDeflatedBytes(value);
+    byte[] lz4 = kryoSerializer.asLz4Bytes(value);
+
+    assertThat(kryoSerializer.asInflatedObject(deflated)).isEqualTo(value);
+    assertThat(kryoSerializer.asInflatedObject(lz4)).isEqualTo(value);
+    assertThat(lz4.length).isLessThan(kryoSerializer.asBytes(value).length);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testByteBufferRoundTrip() {
+    ByteBuffer buffer = ByteBuffer.allocate(1024);
+    int first = kryoSerializer.writeTo("first", buffer);
+    int second = kryoSerializer.writeTo(7, buffer);
+    assertThat(buffer.position()).isEqualTo(first + second);
+
+    buffer.flip();
+    assertThat(kryoSerializer.asObject(buffer)).isEqualTo("first");
+    assertThat(buffer.position()).isEqualTo(first);
+    assertThat(kryoSerializer.asObject(buffer)).isEqualTo(7);
+    assertThat(buffer.hasRemaining()).isFalse();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testWriteToFailsWhenBufferIsTooSmall() {
+    ByteBuffer buffer = ByteBuffer.allocate(8);
+    assertThatThrownBy(() -> kryoSerializer.writeTo(Strings.repeat("x", 100), buffer))
+        .isInstanceOf(RuntimeException.class);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testAsObjectFromStream() {
+    byte[] bytes = kryoSerializer.asBytes("streamed");
+    assertThat(kryoSerializer.asObject(new ByteArrayInputStream(bytes))).isEqualTo("streamed");
+  }
+}
@@ -24,6 +24,7 @@ import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import org.apache.commons.lang3.tuple.Pair;
@@ -33,6 +34,7 @@ import org.apache.commons.lang3.tuple.Pair;
 @OwnedBy(PL)
 public class ACLGeneratorServiceFactory implements Provider<ACLGeneratorService> {
   public static final String SECONDARY_ACL_GENERATOR_SERVICE = "secondary_acl_generator_service";
+  public static final String ACL_WRITER_EXECUTOR_SERVICE = "aclWriterExecutorService";
 
   private final RoleService roleService;
   private final UserGroupService userGroupService;
@@ -42,11 +44,14 @@ public class ACLGeneratorServiceFactory implements Provider<ACLGeneratorService>
   private final ACLRepository aclRepository;
   private final InMemoryPermissionRepository inMemoryPermissionRepository;
   private final int batchSizeForACLCreation;
+  private final int concurrentWritersForACLCreation;
+  private final ExecutorService aclWriterExecutorService;
 
   public ACLGeneratorServiceFactory(RoleService roleService, UserGroupService userGroupService,
       ResourceGroupService resourceGroupService, ScopeService scopeService,
       Map<Pair<ScopeLevel, Boolean>, Set<String>> implicitPermissionsByScope, ACLRepository aclRepository,
-      InMemoryPermissionRepository inMemoryPermissionRepository, int batchSizeForACLCreation) {
+      InMemoryPermissionRepository inMemoryPermissionRepository, int batchSizeForACLCreation,
+      int concurrentWritersForACLCreation, ExecutorService aclWriterExecutorService) {
     this.roleService = roleService;
     this.userGroupService = userGroupService;
     this.resourceGroupService = resourceGroupService;
@@ -55,11 +60,14 @@ public class ACLGeneratorServiceFactory implements Provider<ACLGeneratorService>
     this.aclRepository = aclRepository;
     this.inMemoryPermissionRepository = inMemoryPermissionRepository;
     this.batchSizeForACLCreation = batchSizeForACLCreation;
+    this.concurrentWritersForACLCreation = concurrentWritersForACLCreation;
+    this.aclWriterExecutorService = aclWriterExecutorService;
   }
 
   @Override
   public ACLGeneratorService get() {
     return new ACLGeneratorServiceImpl(roleService, userGroupService, resourceGroupService, scopeService,
-        implicitPermissionsByScope, aclRepository, inMemoryPermissionRepository, batchSizeForACLCreation);
+        implicitPermissionsByScope, aclRepository, inMemoryPermissionRepository, batchSizeForACLCreation,
+        concurrentWritersForACLCreation, aclWriterExecutorService);
   }
 }
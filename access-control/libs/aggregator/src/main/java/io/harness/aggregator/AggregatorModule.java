@@ -7,6 +7,7 @@
 
 package io.harness.aggregator;
 
+import static io.harness.aggregator.ACLGeneratorServiceFactory.ACL_WRITER_EXECUTOR_SERVICE;
 import static io.harness.aggregator.ACLGeneratorServiceFactory.SECONDARY_ACL_GENERATOR_SERVICE;
 import static io.harness.annotations.dev.HarnessTeam.PL;
 
@@ -20,6 +21,7 @@ import io.harness.accesscontrol.roles.RoleService;
 import io.harness.accesscontrol.scopes.core.ScopeLevel;
 import io.harness.accesscontrol.scopes.core.ScopeService;
 import io.harness.aggregator.consumers.ACLGeneratorService;
+import io.harness.aggregator.consumers.ACLGeneratorServiceImpl;
 import io.harness.aggregator.consumers.AccessControlChangeConsumer;
 import io.harness.aggregator.consumers.ChangeEventFailureHandler;
 import io.harness.aggregator.consumers.ResourceGroupChangeConsumer;
@@ -44,6 +46,7 @@ import com.google.inject.name.Named;
 import com.google.inject.name.Names;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -90,6 +93,14 @@ public class AggregatorModule extends AbstractModule {
         .in(Scopes.SINGLETON);
   }
 
+  @Provides
+  @Named(ACL_WRITER_EXECUTOR_SERVICE)
+  @Singleton
+  private ExecutorService aclWriterExecutorService(
+      @Named("concurrentWritersForACLCreation") int concurrentWritersForACLCreation) {
+    return ACLGeneratorServiceImpl.newACLWriterExecutorService(concurrentWritersForACLCreation);
+  }
+
   @Provides
   @Singleton
   private ACLGeneratorServiceFactory primaryACLGenearatorFactory(RoleService roleService,
@@ -97,9 +108,12 @@ public class AggregatorModule extends AbstractModule {
       Map<Pair<ScopeLevel, Boolean>, Set<String>> implicitPermissionsByScope,
       @Named(ACL.PRIMARY_COLLECTION) ACLRepository aclRepository,
       InMemoryPermissionRepository inMemoryPermissionRepository,
-      @Named("batchSizeForACLCreation") int batchSizeForACLCreation) {
+      @Named("batchSizeForACLCreation") int batchSizeForACLCreation,
+      @Named("concurrentWritersForACLCreation") int concurrentWritersForACLCreation,
+      @Named(ACL_WRITER_EXECUTOR_SERVICE) ExecutorService aclWriterExecutorService) {
     return new ACLGeneratorServiceFactory(roleService, userGroupService, resourceGroupService, scopeService,
-        implicitPermissionsByScope, aclRepository, inMemoryPermissionRepository, batchSizeForACLCreation);
+        implicitPermissionsByScope, aclRepository, inMemoryPermissionRepository, batchSizeForACLCreation,
+        concurrentWritersForACLCreation, aclWriterExecutorService);
   }
 
   @Provides
@@ -110,9 +124,12 @@ public class AggregatorModule extends AbstractModule {
       Map<Pair<ScopeLevel, Boolean>, Set<String>> implicitPermissionsByScope,
       @Named(ACL.SECONDARY_COLLECTION) ACLRepository aclRepository,
       InMemoryPermissionRepository inMemoryPermissionRepository,
-      @Named("batchSizeForACLCreation") int batchSizeForACLCreation) {
+      @Named("batchSizeForACLCreation") int batchSizeForACLCreation,
+      @Named("concurrentWritersForACLCreation") int concurrentWritersForACLCreation,
+      @Named(ACL_WRITER_EXECUTOR_SERVICE) ExecutorService aclWriterExecutorService) {
     return new ACLGeneratorServiceFactory(roleService, userGroupService, resourceGroupService, scopeService,
-        implicitPermissionsByScope, aclRepository, inMemoryPermissionRepository, batchSizeForACLCreation);
+        implicitPermissionsByScope, aclRepository, inMemoryPermissionRepository, batchSizeForACLCreation,
+        concurrentWritersForACLCreation, aclWriterExecutorService);
   }
 
   private void registerRequiredBindings() {
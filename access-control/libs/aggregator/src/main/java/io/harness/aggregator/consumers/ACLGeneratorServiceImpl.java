@@ -35,17 +35,20 @@ import io.harness.accesscontrol.scopes.core.ScopeService;
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
 
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
 @Slf4j
@@ -60,12 +63,23 @@ public class ACLGeneratorServiceImpl implements ACLGeneratorService {
   private final ACLRepository aclRepository;
   private final InMemoryPermissionRepository inMemoryPermissionRepository;
   private final int batchSizeForACLCreation;
+  private final int concurrentWritersForACLCreation;
+  private final ExecutorService aclWriterExecutorService;
 
   public ACLGeneratorServiceImpl(RoleService roleService, UserGroupService userGroupService,
       ResourceGroupService resourceGroupService, ScopeService scopeService,
       Map<Pair<ScopeLevel, Boolean>, Set<String>> implicitPermissionsByScope, ACLRepository aclRepository,
       InMemoryPermissionRepository inMemoryPermissionRepository,
       @Named("batchSizeForACLCreation") int batchSizeForACLCreation) {
+    this(roleService, userGroupService, resourceGroupService, scopeService, implicitPermissionsByScope, aclRepository,
+        inMemoryPermissionRepository, batchSizeForACLCreation, 1, MoreExecutors.newDirectExecutorService());
+  }
+
+  public ACLGeneratorServiceImpl(RoleService roleService, UserGroupService userGroupService,
+      ResourceGroupService resourceGroupService, ScopeService scopeService,
+      Map<Pair<ScopeLevel, Boolean>, Set<String>> implicitPermissionsByScope, ACLRepository aclRepository,
+      InMemoryPermissionRepository inMemoryPermissionRepository, int batchSizeForACLCreation,
+      int concurrentWritersForACLCreation, ExecutorService aclWriterExecutorService) {
     this.roleService = roleService;
     this.userGroupService = userGroupService;
     this.resourceGroupService = resourceGroupService;
@@ -74,6 +88,24 @@ public class ACLGeneratorServiceImpl implements ACLGeneratorService {
     this.aclRepository = aclRepository;
     this.inMemoryPermissionRepository = inMemoryPermissionRepository;
     this.batchSizeForACLCreation = batchSizeForACLCreation;
+    this.concurrentWritersForACLCreation = Math.max(1, concurrentWritersForACLCreation);
+    this.aclWriterExecutorService = aclWriterExecutorService;
+  }
+
+  /**
+   * Creates the executor running the bulk inserts of the ACL writers, it is meant to be shared by all generator
+   * services. Writes run on the calling thread when there is a single writer.
+   */
+  public static ExecutorService newACLWriterExecutorService(int concurrentWritersForACLCreation) {
+    int concurrentWriters = Math.max(1, concurrentWritersForACLCreation);
+    if (concurrentWriters == 1) {
+      return MoreExecutors.newDirectExecutorService();
+    }
+    ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(concurrentWriters, concurrentWriters, 60,
+        TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("acl-writer-%d").setDaemon(true).build());
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+    return threadPoolExecutor;
   }
 
   @Override
@@ -107,45 +139,47 @@ public class ACLGeneratorServiceImpl implements ACLGeneratorService {
   @Override
   public long createImplicitACLsForRoleAssignment(
       RoleAssignmentDBO roleAssignment, Set<String> addedUsers, Set<String> addedPermissions) {
-    List<ACL> acls = getImplicitACLsForRoleAssignment(roleAssignment);
+    Set<String> principals = getPrincipalsFromRoleAssignment(roleAssignment);
+    Set<String> permissions = getPermissionsFromRole(roleAssignment);
     if (isNotEmpty(addedPermissions)) {
-      acls = acls.stream()
-                 .filter(acl -> addedPermissions.contains(acl.getPermissionIdentifier()))
-                 .collect(Collectors.toList());
+      permissions = permissions.stream().filter(addedPermissions::contains).collect(Collectors.toSet());
     }
     if (isNotEmpty(addedUsers)) {
-      acls = acls.stream()
-                 .filter(acl
-                     -> addedUsers.contains(acl.getPrincipalIdentifier()) && USER.name().equals(acl.getPrincipalType()))
-                 .collect(Collectors.toList());
+      if (SERVICE_ACCOUNT.equals(roleAssignment.getPrincipalType())) {
+        return 0;
+      }
+      principals = principals.stream().filter(addedUsers::contains).collect(Collectors.toSet());
     }
-    return createImplicitACLs(acls);
+    return createImplicitACLs(roleAssignment, principals, permissions);
   }
 
   @Override
   public long createImplicitACLsFromPermissions(RoleAssignmentDBO roleAssignment, Set<String> permissions) {
     Set<String> principals = getPrincipalsFromRoleAssignment(roleAssignment);
-    List<ACL> acls = getImplicitACLsForRoleAssignment(roleAssignment, principals, permissions);
-    return createImplicitACLs(acls);
+    return createImplicitACLs(roleAssignment, principals, permissions);
   }
 
   @Override
   public long createImplicitACLs(RoleAssignmentDBO roleAssignment, Set<String> addedUsers) {
     Set<String> permissions = getPermissionsFromRole(roleAssignment);
-    List<ACL> acls = getImplicitACLsForRoleAssignment(roleAssignment, addedUsers, permissions);
-    return createImplicitACLs(acls);
+    return createImplicitACLs(roleAssignment, addedUsers, permissions);
+  }
+
+  private long createImplicitACLs(RoleAssignmentDBO roleAssignment, Set<String> principals, Set<String> permissions) {
+    ACLWriter aclWriter = newACLWriter(roleAssignment);
+    generateImplicitACLsForRoleAssignment(roleAssignment, principals, permissions, aclWriter);
+    return aclWriter.finish();
   }
 
-  private long createImplicitACLs(List<ACL> acls) {
-    List<List<ACL>> listOfSublists = ListUtils.partition(acls, batchSizeForACLCreation);
-    return listOfSublists.stream().mapToLong(aclRepository::insertAllIgnoringDuplicates).sum();
+  private ACLWriter newACLWriter(RoleAssignmentDBO roleAssignment) {
+    return new ACLWriter(aclRepository, aclWriterExecutorService, roleAssignment.getId(), batchSizeForACLCreation,
+        concurrentWritersForACLCreation);
   }
 
   @Override
   public long createACLs(RoleAssignmentDBO roleAssignmentDBO, Set<String> principals, Set<String> permissions,
       Set<ResourceSelector> resourceSelectors) {
-    long numberOfACLsCreated = 0;
-    List<ACL> acls = new ArrayList<>();
+    ACLWriter aclWriter = newACLWriter(roleAssignmentDBO);
     for (String permission : permissions) {
       for (ResourceSelector resourceSelector : resourceSelectors) {
         if (!inMemoryPermissionRepository.isPermissionCompatibleWithResourceSelector(
@@ -154,24 +188,16 @@ public class ACLGeneratorServiceImpl implements ACLGeneratorService {
         }
         for (String principalIdentifier : principals) {
           if (SERVICE_ACCOUNT.equals(roleAssignmentDBO.getPrincipalType())) {
-            acls.add(buildACL(permission, Principal.of(SERVICE_ACCOUNT, principalIdentifier), roleAssignmentDBO,
+            aclWriter.add(buildACL(permission, Principal.of(SERVICE_ACCOUNT, principalIdentifier), roleAssignmentDBO,
                 resourceSelector, false, isEnabled(roleAssignmentDBO)));
           } else {
-            acls.add(buildACL(permission, Principal.of(USER, principalIdentifier), roleAssignmentDBO, resourceSelector,
-                false, isEnabled(roleAssignmentDBO)));
-          }
-          if (acls.size() >= batchSizeForACLCreation) {
-            numberOfACLsCreated += aclRepository.insertAllIgnoringDuplicates(acls);
-            acls.clear();
+            aclWriter.add(buildACL(permission, Principal.of(USER, principalIdentifier), roleAssignmentDBO,
+                resourceSelector, false, isEnabled(roleAssignmentDBO)));
           }
         }
       }
     }
-    if (acls.size() > 0) {
-      numberOfACLsCreated += aclRepository.insertAllIgnoringDuplicates(acls);
-      acls.clear();
-    }
-    return numberOfACLsCreated;
+    return aclWriter.finish();
   }
 
   private boolean isEnabled(RoleAssignmentDBO roleAssignmentDBO) {
@@ -179,24 +205,18 @@ public class ACLGeneratorServiceImpl implements ACLGeneratorService {
   }
 
   public long createImplicitACLsForRoleAssignment(RoleAssignmentDBO roleAssignment) {
-    List<ACL> acls = getImplicitACLsForRoleAssignment(roleAssignment);
-    return aclRepository.insertAllIgnoringDuplicates(acls);
-  }
-
-  private List<ACL> getImplicitACLsForRoleAssignment(RoleAssignmentDBO roleAssignment) {
     Set<String> principals = getPrincipalsFromRoleAssignment(roleAssignment);
     Set<String> permissionsFromRole = getPermissionsFromRole(roleAssignment);
-    return getImplicitACLsForRoleAssignment(roleAssignment, principals, permissionsFromRole);
+    return createImplicitACLs(roleAssignment, principals, permissionsFromRole);
   }
 
-  private List<ACL> getImplicitACLsForRoleAssignment(
-      RoleAssignmentDBO roleAssignment, Set<String> principals, Set<String> permissions) {
+  private void generateImplicitACLsForRoleAssignment(
+      RoleAssignmentDBO roleAssignment, Set<String> principals, Set<String> permissions, ACLWriter aclWriter) {
     Optional<ResourceGroup> resourceGroup = resourceGroupService.get(
         roleAssignment.getResourceGroupIdentifier(), roleAssignment.getScopeIdentifier(), ManagedFilter.NO_FILTER);
     if (!resourceGroup.isPresent() || resourceGroup.get().getScopeSelectors() == null) {
-      return new ArrayList<>();
+      return;
     }
-    List<ACL> acls = new ArrayList<>();
     for (ScopeSelector scopeSelector : resourceGroup.get().getScopeSelectors()) {
       Scope currentScope = scopeSelector.getScopeIdentifier() == null
           ? scopeService.buildScopeFromScopeIdentifier(roleAssignment.getScopeIdentifier())
@@ -213,11 +233,11 @@ public class ACLGeneratorServiceImpl implements ACLGeneratorService {
           }
           for (String principalIdentifier : principals) {
             if (SERVICE_ACCOUNT.equals(roleAssignment.getPrincipalType())) {
-              acls.add(buildACL(permission, Principal.of(SERVICE_ACCOUNT, principalIdentifier), roleAssignment,
+              aclWriter.add(buildACL(permission, Principal.of(SERVICE_ACCOUNT, principalIdentifier), roleAssignment,
                   resourceSelector, true, isEnabled(roleAssignment)));
             } else {
-              acls.add(buildACL(permission, Principal.of(USER, principalIdentifier), roleAssignment, resourceSelector,
-                  true, isEnabled(roleAssignment)));
+              aclWriter.add(buildACL(permission, Principal.of(USER, principalIdentifier), roleAssignment,
+                  resourceSelector, true, isEnabled(roleAssignment)));
             }
           }
         }
@@ -225,7 +245,6 @@ public class ACLGeneratorServiceImpl implements ACLGeneratorService {
         currentScope = currentScope.getParentScope();
       }
     }
-    return acls;
   }
 
   private Set<String> getPermissionsFromRole(RoleAssignmentDBO roleAssignment) {
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.aggregator.consumers;
+
+import io.harness.accesscontrol.acl.persistence.ACL;
+import io.harness.accesscontrol.acl.persistence.SourceMetadata;
+import io.harness.accesscontrol.acl.persistence.repositories.ACLRepository;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.exception.GeneralException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the ACLs of one role assignment as they are generated, in batches of unordered bulk inserts which run
+ * concurrently on the executor. Adding blocks while as many batches as there are writers are in flight, so generation
+ * never holds more than that many batches. When the role assignment already has ACLs, the ones which exist are
+ * dropped from a batch before it is inserted, regenerating the ACLs of an unchanged role assignment then only reads.
+ * ACLs of a role assignment which has none yet are inserted without that lookup.
+ */
+@Slf4j
+@OwnedBy(HarnessTeam.PL)
+class ACLWriter {
+  private final ACLRepository aclRepository;
+  private final ExecutorService executorService;
+  private final String roleAssignmentId;
+  private final int batchSize;
+  private final Semaphore writers;
+  private final List<Future<Long>> writes = new ArrayList<>();
+  private List<ACL> batch;
+  private long generated;
+  // Whether the role assignment had ACLs before this writer, decided before its first write
+  private Boolean hadACLs;
+
+  ACLWriter(ACLRepository aclRepository, ExecutorService executorService, String roleAssignmentId, int batchSize,
+      int concurrentWriters) {
+    this.aclRepository = aclRepository;
+    this.executorService = executorService;
+    this.roleAssignmentId = roleAssignmentId;
+    this.batchSize = batchSize;
+    this.writers = new Semaphore(concurrentWriters);
+    this.batch = new ArrayList<>(batchSize);
+  }
+
+  void add(ACL acl) {
+    batch.add(acl);
+    generated++;
+    if (batch.size() >= batchSize) {
+      flush();
+    }
+  }
+
+  /**
+   * Waits for all ACLs to be written, returns the number of ACLs inserted.
+   */
+  long finish() {
+    flush();
+    long numberOfACLsCreated = 0;
+    try {
+      for (Future<Long> write : writes) {
+        numberOfACLsCreated += write.get();
+      }
+    } catch (ExecutionException ex) {
+      throw new GeneralException(
+          String.format("Failed to write the ACLs of role assignment %s", roleAssignmentId), ex.getCause());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new GeneralException(
+          String.format("Interrupted while writing the ACLs of role assignment %s", roleAssignmentId), ex);
+    }
+    log.debug("Generated {} ACLs, inserted {}", generated, numberOfACLsCreated);
+    return numberOfACLsCreated;
+  }
+
+  private void flush() {
+    if (batch.isEmpty()) {
+      return;
+    }
+    if (hadACLs == null) {
+      hadACLs = aclRepository.existsByRoleAssignmentId(roleAssignmentId);
+    }
+    boolean insertMissingOnly = hadACLs;
+    List<ACL> acls = batch;
+    batch = new ArrayList<>(batchSize);
+    writers.acquireUninterruptibly();
+    try {
+      writes.add(executorService.submit(() -> {
+        try {
+          return insertMissingOnly ? insertMissing(acls) : aclRepository.insertAllIgnoringDuplicates(acls);
+        } finally {
+          writers.release();
+        }
+      }));
+    } catch (RuntimeException ex) {
+      writers.release();
+      throw ex;
+    }
+  }
+
+  private long insertMissing(List<ACL> acls) {
+    Set<String> aclQueryStrings = acls.stream().map(ACL::getAclQueryString).collect(Collectors.toSet());
+    Set<List<Object>> existingACLs =
+        aclRepository.getByRoleAssignmentIdAndAclQueryStringIn(roleAssignmentId, aclQueryStrings)
+            .stream()
+            .map(ACLWriter::getUniqueKey)
+            .collect(Collectors.toSet());
+    List<ACL> missingACLs =
+        acls.stream().filter(acl -> !existingACLs.contains(getUniqueKey(acl))).collect(Collectors.toList());
+    return aclRepository.insertAllIgnoringDuplicates(missingACLs);
+  }
+
+  // Fields of the unique index of ACLs
+  private static List<Object> getUniqueKey(ACL acl) {
+    SourceMetadata sourceMetadata =
+        acl.getSourceMetadata() == null ? SourceMetadata.builder().build() : acl.getSourceMetadata();
+    return Arrays.asList(acl.getScopeIdentifier(), sourceMetadata.getRoleAssignmentIdentifier(),
+        sourceMetadata.getUserGroupIdentifier(), sourceMetadata.getRoleIdentifier(),
+        sourceMetadata.getResourceGroupIdentifier(), acl.getResourceSelector(), acl.getPermissionIdentifier(),
+        acl.getPrincipalIdentifier(), acl.getPrincipalType(), acl.getAclQueryString(), acl.getCondition(),
+        acl.isConditional(), sourceMetadata.getImplicitlyCreatedForScopeAccess());
+  }
+}
@@ -8,6 +8,7 @@
 package io.harness.aggregator;
 
 import static io.harness.accesscontrol.resources.resourcegroups.ResourceSelector.builder;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.ASHISHSANODIA;
 import static io.harness.rule.OwnerRule.JIMIT_GANDHI;
 
@@ -17,6 +18,7 @@ import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -48,6 +50,9 @@ import io.harness.rule.Owner;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -55,9 +60,14 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Before;
 import org.junit.Test;
@@ -67,6 +77,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
 @RunWith(MockitoJUnitRunner.class)
+@Slf4j
 @OwnedBy(HarnessTeam.PL)
 public class ACLGeneratorServiceImplTest extends AggregatorTestBase {
   public static final String CORE_USERGROUP_MANAGE_PERMISSION = "core_usergroup_manage";
@@ -291,6 +302,73 @@ public class ACLGeneratorServiceImplTest extends AggregatorTestBase {
     assertEquals(1L, aclsCreated);
   }
 
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void createACLs_LargeUserGroup_WritesConcurrentlyAndOnlyMissingACLs() {
+    int concurrentWriters = 4;
+    int batchSize = 5000;
+    ExecutorService aclWriterExecutorService = ACLGeneratorServiceImpl.newACLWriterExecutorService(concurrentWriters);
+    aclGeneratorService = new ACLGeneratorServiceImpl(roleService, userGroupService, resourceGroupService, scopeService,
+        new HashMap<>(), aclRepository, inMemoryPermissionRepository, batchSize, concurrentWriters,
+        aclWriterExecutorService);
+    Set<String> principals = getRandomStrings(50000);
+    Set<ResourceSelector> resourceSelectors = Set.of(builder().selector(ALL_RESOURCE_SELECTOR).build(),
+        builder().selector(USERGROUP_RESOURCE_SELECTOR).build(),
+        builder().selector(RESOURCEGROUP_RESOURCE_SELECTOR).build());
+    Set<String> permissions = Set.of(CORE_USERGROUP_MANAGE_PERMISSION, CORE_RESOURCEGROUP_MANAGE_PERMISSION);
+    RoleAssignmentDBO roleAssignmentDBO = getRoleAssignment(PrincipalType.USER_GROUP);
+
+    Map<String, ACL> aclsInDB = new ConcurrentHashMap<>();
+    AtomicInteger writing = new AtomicInteger();
+    AtomicInteger maxWriting = new AtomicInteger();
+    when(aclRepository.existsByRoleAssignmentId(any())).thenAnswer(invocation -> !aclsInDB.isEmpty());
+    when(aclRepository.getByRoleAssignmentIdAndAclQueryStringIn(any(), any())).thenAnswer(invocation -> {
+      Collection<String> aclQueryStrings = invocation.getArgument(1);
+      return aclQueryStrings.stream().map(aclsInDB::get).filter(Objects::nonNull).collect(Collectors.toList());
+    });
+    when(aclRepository.insertAllIgnoringDuplicates(any())).thenAnswer(invocation -> {
+      List<ACL> acls = invocation.getArgument(0);
+      maxWriting.accumulateAndGet(writing.incrementAndGet(), Math::max);
+      try {
+        // latency of a bulk insert
+        Thread.sleep(acls.isEmpty() ? 0 : 20);
+        acls.forEach(acl -> aclsInDB.put(acl.getAclQueryString(), acl));
+        return (long) acls.size();
+      } finally {
+        writing.decrementAndGet();
+      }
+    });
+
+    List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans()
+                                           .stream()
+                                           .filter(pool -> pool.getType() == MemoryType.HEAP)
+                                           .collect(Collectors.toList());
+    heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+    long start = System.nanoTime();
+    long aclCount;
+    long millis;
+    long regeneratedCount;
+    try {
+      aclCount = aclGeneratorService.createACLs(roleAssignmentDBO, principals, permissions, resourceSelectors);
+      millis = Math.max(1, (System.nanoTime() - start) / 1000000);
+      // A role assignment without ACLs has nothing to compare against
+      verify(aclRepository, never()).getByRoleAssignmentIdAndAclQueryStringIn(any(), any());
+      regeneratedCount = aclGeneratorService.createACLs(roleAssignmentDBO, principals, permissions, resourceSelectors);
+    } finally {
+      aclWriterExecutorService.shutdownNow();
+    }
+    long peakHeapUsed = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    log.info("Generated {} ACLs for a group of {} users in {} ms, {} ACLs/sec, peak heap {} MB", aclCount,
+        principals.size(), millis, aclCount * 1000 / millis, peakHeapUsed / (1024 * 1024));
+
+    assertThat(aclCount).isEqualTo(200000);
+    assertThat(aclsInDB).hasSize(200000);
+    assertThat(maxWriting.get()).isGreaterThan(1).isLessThanOrEqualTo(concurrentWriters);
+    assertThat(regeneratedCount).isEqualTo(0);
+    assertThat(aclsInDB).hasSize(200000);
+  }
+
   private Set<String> getRandomStrings(int count) {
     Set<String> randomStrings = new HashSet<>();
     for (int i = 0; i < count; i++) {
@@ -26,6 +26,7 @@ import io.harness.accesscontrol.resources.resourcegroups.ResourceGroupService;
 import io.harness.accesscontrol.roles.RoleService;
 import io.harness.accesscontrol.scopes.core.ScopeLevel;
 import io.harness.accesscontrol.scopes.core.ScopeService;
+import io.harness.aggregator.consumers.ACLGeneratorServiceImpl;
 import io.harness.annotations.dev.OwnedBy;
 import io.harness.factory.ClosingFactory;
 import io.harness.factory.ClosingFactoryModule;
@@ -129,6 +130,7 @@ public class AccessControlAggregatorRule implements MethodRule, InjectorRuleMixi
         implicitPermissionsByScope.addBinding(Pair.of(TEST_SCOPE, false))
             .toInstance(Collections.singleton("test_permission_1"));
         bind(Integer.class).annotatedWith(Names.named("batchSizeForACLCreation")).toInstance(50000);
+        bind(Integer.class).annotatedWith(Names.named("concurrentWritersForACLCreation")).toInstance(1);
       }
     });
 
@@ -184,9 +186,12 @@ public class AccessControlAggregatorRule implements MethodRule, InjectorRuleMixi
       Map<Pair<ScopeLevel, Boolean>, Set<String>> implicitPermissionsByScope,
       @Named(ACL.PRIMARY_COLLECTION) ACLRepository aclRepository,
       InMemoryPermissionRepository inMemoryPermissionRepository,
-      @Named("batchSizeForACLCreation") int batchSizeForACLCreation) {
+      @Named("batchSizeForACLCreation") int batchSizeForACLCreation,
+      @Named("concurrentWritersForACLCreation") int concurrentWritersForACLCreation) {
     return new ACLGeneratorServiceFactory(roleService, userGroupService, resourceGroupService, scopeService,
-        implicitPermissionsByScope, aclRepository, inMemoryPermissionRepository, batchSizeForACLCreation);
+        implicitPermissionsByScope, aclRepository, inMemoryPermissionRepository, batchSizeForACLCreation,
+        concurrentWritersForACLCreation,
+        ACLGeneratorServiceImpl.newACLWriterExecutorService(concurrentWritersForACLCreation));
   }
 
   @Override
@@ -129,6 +129,13 @@ public class ACL implements PersistentEntity {
                  .field(ACLKeys.aclQueryString)
                  .field(ACLKeys.enabled)
                  .build())
+        .add(CompoundMongoIndex.builder()
+                 .name("principalAclQueryStringEnabledIdx")
+                 .field(ACLKeys.principalIdentifier)
+                 .field(ACLKeys.principalType)
+                 .field(ACLKeys.aclQueryString)
+                 .field(ACLKeys.enabled)
+                 .build())
         .build();
   }
 }
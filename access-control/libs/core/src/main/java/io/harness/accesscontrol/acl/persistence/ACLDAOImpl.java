@@ -43,10 +43,13 @@ public class ACLDAOImpl implements ACLDAO {
   public static final String ALL_AUTHENTICATED_USERS = "ALL_AUTHENTICATED_USERS";
   private final ACLRepository aclRepository;
   private final Set<String> scopeResourceTypes;
+  private final InMemoryACLIndex inMemoryACLIndex;
 
   @Inject
-  public ACLDAOImpl(@Named(ACL.PRIMARY_COLLECTION) ACLRepository aclRepository, Map<String, ScopeLevel> scopeLevels) {
+  public ACLDAOImpl(@Named(ACL.PRIMARY_COLLECTION) ACLRepository aclRepository, Map<String, ScopeLevel> scopeLevels,
+      InMemoryACLIndex inMemoryACLIndex) {
     this.aclRepository = aclRepository;
+    this.inMemoryACLIndex = inMemoryACLIndex;
     this.scopeResourceTypes =
         scopeLevels.values().stream().map(ScopeLevel::getResourceType).collect(Collectors.toSet());
   }
@@ -164,6 +167,13 @@ public class ACLDAOImpl implements ACLDAO {
       aclQueryStrings.addAll(queryStrings);
     });
 
+    if (inMemoryACLIndex.isAvailable()) {
+      List<List<ACL>> matchingACLs = inMemoryACLIndex.getMatchingACLs(principal, aclQueryStringsPerPermission);
+      if (matchingACLs != null) {
+        return matchingACLs;
+      }
+    }
+
     List<ACL> aclsPresentInDB = aclRepository.getByAclQueryStringInAndEnabled(aclQueryStrings, true);
     return aclQueryStringsPerPermission.stream()
         .map(queryStringsForPermission
@@ -0,0 +1,384 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.accesscontrol.acl.persistence;
+
+import static io.harness.accesscontrol.acl.persistence.ACLDAOImpl.ALL_AUTHENTICATED_USERS;
+import static io.harness.accesscontrol.scopes.core.Scope.PATH_DELIMITER;
+import static io.harness.accesscontrol.scopes.core.Scope.SCOPE_DELIMITER;
+import static io.harness.annotations.dev.HarnessTeam.PL;
+
+import io.harness.accesscontrol.acl.api.Principal;
+import io.harness.accesscontrol.acl.persistence.ACL.ACLKeys;
+import io.harness.accesscontrol.acl.persistence.repositories.ACLRepository;
+import io.harness.accesscontrol.principals.PrincipalType;
+import io.harness.accesscontrol.scopes.HarnessScopeLevel;
+import io.harness.annotations.dev.OwnedBy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+
+/**
+ * Enabled ACLs of recently checked principals, by account and ACL query string, so that permission checks can be
+ * answered without querying the acl collection. The ACLs of a principal in an account are loaded with one query on
+ * first use. Inserted, updated and deleted ACLs reported by the change stream of the collection are applied to the
+ * loaded entries, so entries are not read again while the stream stays open. The index only serves checks while the
+ * change stream is open, it is emptied whenever the stream fails or the collection is swapped. The ACLs of all
+ * authenticated users, which every check of an account reads, are loaded for all accounts each time the stream opens.
+ */
+@OwnedBy(PL)
+@Singleton
+@Slf4j
+public class InMemoryACLIndex {
+  private static final String ACCOUNT_SCOPE_PREFIX =
+      PATH_DELIMITER + HarnessScopeLevel.ACCOUNT.getResourceType() + PATH_DELIMITER;
+  // Entries are weighed by their number of ACLs, an indexed ACL takes a few hundred bytes
+  private static final long MAX_INDEXED_ACLS = 1000000;
+  private static final long RETRY_INTERVAL_MILLIS = 5000;
+
+  private final ACLRepository aclRepository;
+  private final Cache<Key, Entry> entries;
+  // Key of the entry holding each indexed ACL, as delete events carry only the id of the ACL
+  private final Map<String, Key> aclKeys = new ConcurrentHashMap<>();
+  // Incremented before changes are applied, loads that overlap a change are not kept
+  private final AtomicLong changes = new AtomicLong();
+  private volatile boolean running;
+  private volatile boolean available;
+  private ExecutorService executorService;
+
+  @Inject
+  public InMemoryACLIndex(@Named(ACL.PRIMARY_COLLECTION) ACLRepository aclRepository) {
+    this.aclRepository = aclRepository;
+    this.entries = CacheBuilder.newBuilder()
+                       .maximumWeight(MAX_INDEXED_ACLS)
+                       .weigher((Key key, Entry entry) -> entry.getAclIds().size() + 1)
+                       .expireAfterAccess(1, TimeUnit.HOURS)
+                       .removalListener(this::onRemoval)
+                       .build();
+  }
+
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    executorService = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat("in-memory-acl-index-thread").setDaemon(true).build());
+    executorService.submit(this::watch);
+  }
+
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    executorService.shutdownNow();
+    try {
+      // the next start must not race with the old watch emptying the index
+      executorService.awaitTermination(RETRY_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public boolean isAvailable() {
+    return available;
+  }
+
+  /**
+   * Enabled ACLs with any of the query strings, for each set of query strings. Returns null when the index is not
+   * available or a query string is not indexed, the ACLs have to be read from the collection then.
+   */
+  public List<List<ACL>> getMatchingACLs(Principal principal, List<Set<String>> aclQueryStringsPerPermission) {
+    if (!available) {
+      return null;
+    }
+    Map<Key, Entry> entriesForCheck = new HashMap<>();
+    List<List<ACL>> matchingACLs = new ArrayList<>(aclQueryStringsPerPermission.size());
+    for (Set<String> aclQueryStrings : aclQueryStringsPerPermission) {
+      List<ACL> matchingACLsForPermission = new ArrayList<>();
+      for (String aclQueryString : aclQueryStrings) {
+        Key key = getKey(principal, aclQueryString);
+        if (key == null) {
+          return null;
+        }
+        Entry entry = entriesForCheck.computeIfAbsent(key, this::getOrLoad);
+        matchingACLsForPermission.addAll(
+            entry.getAclsByQueryString().getOrDefault(aclQueryString, Collections.emptyList()));
+      }
+      matchingACLs.add(matchingACLsForPermission);
+    }
+    return matchingACLs;
+  }
+
+  private Entry getOrLoad(Key key) {
+    Entry entry = entries.getIfPresent(key);
+    if (entry != null) {
+      return entry;
+    }
+    long changesBeforeLoad = changes.get();
+    List<ACL> acls = aclRepository.getByPrincipalAndAclQueryStringPrefixAndEnabled(
+        key.getPrincipalType(), key.getPrincipalIdentifier(), key.getAccountScope(), true);
+    entry = index(key,
+        acls.stream()
+            .filter(acl -> key.getAccountScope().equals(getAccountScope(acl.getAclQueryString())))
+            .collect(Collectors.toList()));
+    if (changes.get() != changesBeforeLoad) {
+      entries.invalidate(key);
+    }
+    return entry;
+  }
+
+  /**
+   * Loads the ACLs of all authenticated users of every account with one query, on the watch thread before the index
+   * becomes available. Changes reported meanwhile are applied once the stream is read, the cache weight bounds what
+   * stays indexed.
+   */
+  @VisibleForTesting
+  void loadAllAuthenticatedUsers() {
+    long startTime = System.currentTimeMillis();
+    List<ACL> acls = aclRepository.getByPrincipalAndAclQueryStringPrefixAndEnabled(
+        PrincipalType.USER.name(), ALL_AUTHENTICATED_USERS, ACCOUNT_SCOPE_PREFIX, true);
+    Map<Key, List<ACL>> aclsByKey = new HashMap<>();
+    for (ACL acl : acls) {
+      Key key = getKey(PrincipalType.USER.name(), ALL_AUTHENTICATED_USERS, acl.getAclQueryString());
+      if (key != null) {
+        aclsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(acl);
+      }
+    }
+    aclsByKey.forEach(this::index);
+    log.info("Loaded {} ACLs of all authenticated users in {} accounts into the in memory ACL index in {} ms",
+        acls.size(), aclsByKey.size(), System.currentTimeMillis() - startTime);
+  }
+
+  private Entry index(Key key, List<ACL> acls) {
+    Map<String, List<ACL>> aclsByQueryString = acls.stream().collect(Collectors.groupingBy(ACL::getAclQueryString));
+    Set<String> aclIds = acls.stream().map(ACL::getId).collect(Collectors.toSet());
+    Entry entry = new Entry(aclsByQueryString, aclIds);
+    aclIds.forEach(aclId -> aclKeys.put(aclId, key));
+    entries.asMap().putIfAbsent(key, entry);
+    return entry;
+  }
+
+  private void watch() {
+    while (running) {
+      boolean invalidated = false;
+      try (MongoCursor<ChangeStreamDocument<Document>> cursor = aclRepository.watchChanges().iterator()) {
+        loadAllAuthenticatedUsers();
+        available = true;
+        log.info("Serving permission checks from the in memory ACL index");
+        while (running && !invalidated) {
+          ChangeStreamDocument<Document> changeStreamDocument = cursor.tryNext();
+          if (changeStreamDocument != null) {
+            onChange(changeStreamDocument);
+            invalidated = changeStreamDocument.getOperationType() == OperationType.INVALIDATE;
+          }
+        }
+      } catch (Exception e) {
+        if (running) {
+          log.error("Change stream of the acl collection failed, in memory ACL index is not available", e);
+        }
+      } finally {
+        available = false;
+        invalidateAll();
+      }
+      if (running && !invalidated) {
+        try {
+          Thread.sleep(RETRY_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  @VisibleForTesting
+  void onChange(ChangeStreamDocument<Document> changeStreamDocument) {
+    switch (changeStreamDocument.getOperationType()) {
+      case INSERT:
+      case UPDATE:
+      case REPLACE:
+      case DELETE:
+        changes.incrementAndGet();
+        String aclId = getId(changeStreamDocument.getDocumentKey());
+        Document fullDocument = changeStreamDocument.getFullDocument();
+        if (aclId == null) {
+          log.warn("Emptying in memory ACL index on {} without ACL id", changeStreamDocument.getOperationType());
+          invalidateAll();
+          return;
+        }
+        // full document is null for deletes, and for updates of ACLs deleted before the update was looked up
+        Key key = null;
+        if (fullDocument != null) {
+          key = getKey(fullDocument.getString(ACLKeys.principalType),
+              fullDocument.getString(ACLKeys.principalIdentifier), fullDocument.getString(ACLKeys.aclQueryString));
+        }
+        Key previousKey = aclKeys.get(aclId);
+        if (previousKey != null && !previousKey.equals(key)) {
+          entries.asMap().computeIfPresent(previousKey, (k, entry) -> entry.withoutACL(aclId));
+          aclKeys.remove(aclId, previousKey);
+        }
+        if (key != null) {
+          boolean enabled = Boolean.TRUE.equals(fullDocument.getBoolean(ACLKeys.enabled));
+          ACL acl = toACL(aclId, fullDocument);
+          Entry entry = entries.asMap().computeIfPresent(
+              key, (k, cached) -> enabled ? cached.withACL(acl) : cached.withoutACL(aclId));
+          if (entry != null && enabled) {
+            aclKeys.put(aclId, key);
+          } else {
+            aclKeys.remove(aclId, key);
+          }
+        }
+        break;
+      default:
+        // invalidate, rename or drop, e.g. when the collection is swapped after ACLs are regenerated
+        log.info("Emptying in memory ACL index on {} of the acl collection", changeStreamDocument.getOperationType());
+        invalidateAll();
+    }
+  }
+
+  private void invalidateAll() {
+    changes.incrementAndGet();
+    entries.invalidateAll();
+    aclKeys.clear();
+  }
+
+  private void onRemoval(RemovalNotification<Key, Entry> notification) {
+    // replaced entries are updated by changes, which map the ACL ids of the new entry themselves
+    if (notification.getValue() != null && notification.getCause() != RemovalCause.REPLACED) {
+      notification.getValue().getAclIds().forEach(aclId -> aclKeys.remove(aclId, notification.getKey()));
+    }
+  }
+
+  private static Key getKey(Principal principal, String aclQueryString) {
+    String principalType = principal.getPrincipalType().name();
+    if (aclQueryString.endsWith(getPrincipalSuffix(principalType, principal.getPrincipalIdentifier()))) {
+      return getKey(principalType, principal.getPrincipalIdentifier(), aclQueryString);
+    }
+    if (aclQueryString.endsWith(getPrincipalSuffix(PrincipalType.USER.name(), ALL_AUTHENTICATED_USERS))) {
+      return getKey(PrincipalType.USER.name(), ALL_AUTHENTICATED_USERS, aclQueryString);
+    }
+    return null;
+  }
+
+  private static Key getKey(String principalType, String principalIdentifier, String aclQueryString) {
+    String accountScope = getAccountScope(aclQueryString);
+    if (principalType == null || principalIdentifier == null || accountScope == null) {
+      return null;
+    }
+    return new Key(principalType, principalIdentifier, accountScope);
+  }
+
+  private static String getPrincipalSuffix(String principalType, String principalIdentifier) {
+    return SCOPE_DELIMITER + principalType + SCOPE_DELIMITER + principalIdentifier;
+  }
+
+  @VisibleForTesting
+  static String getAccountScope(String aclQueryString) {
+    if (aclQueryString == null || !aclQueryString.startsWith(ACCOUNT_SCOPE_PREFIX)) {
+      return null;
+    }
+    int end = ACCOUNT_SCOPE_PREFIX.length();
+    while (end < aclQueryString.length() && aclQueryString.charAt(end) != PATH_DELIMITER.charAt(0)
+        && aclQueryString.charAt(end) != SCOPE_DELIMITER.charAt(0)) {
+      end++;
+    }
+    return end == ACCOUNT_SCOPE_PREFIX.length() ? null : aclQueryString.substring(0, end);
+  }
+
+  // Only the fields read by getOrLoad, so that applied changes match loaded entries
+  private static ACL toACL(String aclId, Document document) {
+    return ACL.builder()
+        .id(aclId)
+        .aclQueryString(document.getString(ACLKeys.aclQueryString))
+        .condition(document.getString(ACLKeys.condition))
+        .conditional(document.getBoolean(ACLKeys.conditional))
+        .build();
+  }
+
+  private static String getId(BsonDocument documentKey) {
+    BsonValue id = documentKey == null ? null : documentKey.get("_id");
+    if (id == null) {
+      return null;
+    }
+    if (id.isObjectId()) {
+      return id.asObjectId().getValue().toHexString();
+    }
+    return id.isString() ? id.asString().getValue() : null;
+  }
+
+  @Value
+  private static class Key {
+    String principalType;
+    String principalIdentifier;
+    String accountScope;
+  }
+
+  @Value
+  private static class Entry {
+    Map<String, List<ACL>> aclsByQueryString;
+    Set<String> aclIds;
+
+    Entry withACL(ACL acl) {
+      Entry entry = withoutACL(acl.getId());
+      Map<String, List<ACL>> updatedAclsByQueryString = new HashMap<>(entry.getAclsByQueryString());
+      List<ACL> acls = new ArrayList<>(
+          updatedAclsByQueryString.getOrDefault(acl.getAclQueryString(), Collections.emptyList()));
+      acls.add(acl);
+      updatedAclsByQueryString.put(acl.getAclQueryString(), acls);
+      Set<String> updatedAclIds = new HashSet<>(entry.getAclIds());
+      updatedAclIds.add(acl.getId());
+      return new Entry(updatedAclsByQueryString, updatedAclIds);
+    }
+
+    Entry withoutACL(String aclId) {
+      if (!aclIds.contains(aclId)) {
+        return this;
+      }
+      Map<String, List<ACL>> updatedAclsByQueryString = new HashMap<>();
+      aclsByQueryString.forEach((aclQueryString, acls) -> {
+        List<ACL> remainingAcls =
+            acls.stream().filter(acl -> !aclId.equals(acl.getId())).collect(Collectors.toList());
+        if (!remainingAcls.isEmpty()) {
+          updatedAclsByQueryString.put(aclQueryString, remainingAcls);
+        }
+      });
+      Set<String> updatedAclIds = new HashSet<>(aclIds);
+      updatedAclIds.remove(aclId);
+      return new Entry(updatedAclsByQueryString, updatedAclIds);
+    }
+  }
+}
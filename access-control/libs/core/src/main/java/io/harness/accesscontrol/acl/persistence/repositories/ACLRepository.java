@@ -12,9 +12,11 @@ import io.harness.accesscontrol.resources.resourcegroups.ResourceSelector;
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
 
+import com.mongodb.client.ChangeStreamIterable;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import org.bson.Document;
 
 @OwnedBy(HarnessTeam.PL)
 public interface ACLRepository {
@@ -43,6 +45,15 @@ public interface ACLRepository {
 
   List<ACL> getByAclQueryStringIn(Collection<String> aclQueryStrings);
 
+  List<ACL> getByRoleAssignmentIdAndAclQueryStringIn(String roleAssignmentId, Collection<String> aclQueryStrings);
+
+  boolean existsByRoleAssignmentId(String roleAssignmentId);
+
+  List<ACL> getByPrincipalAndAclQueryStringPrefixAndEnabled(
+      String principalType, String principalIdentifier, String aclQueryStringPrefix, boolean enabled);
+
+  ChangeStreamIterable<Document> watchChanges();
+
   void cleanCollection();
 
   void renameCollection(String newCollectionName);
@@ -27,18 +27,23 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoNamespace;
+import com.mongodb.client.ChangeStreamIterable;
 import com.mongodb.client.model.IndexModel;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.RenameCollectionOptions;
+import com.mongodb.client.model.changestream.FullDocument;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.validation.executable.ValidateOnExecution;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.hibernate.validator.constraints.NotEmpty;
 import org.springframework.data.mongodb.BulkOperationException;
@@ -227,6 +232,57 @@ public abstract class BaseACLRepositoryImpl implements ACLRepository {
     return mongoTemplate.find(query, ACL.class);
   }
 
+  @Override
+  public List<ACL> getByRoleAssignmentIdAndAclQueryStringIn(
+      String roleAssignmentId, Collection<String> aclQueryStrings) {
+    Query query = new Query(
+        Criteria.where(ACLKeys.aclQueryString).in(aclQueryStrings).and(ACLKeys.roleAssignmentId).is(roleAssignmentId));
+    query.fields()
+        .include(ACLKeys.scopeIdentifier)
+        .include(ACLKeys.sourceMetadata)
+        .include(ACLKeys.resourceSelector)
+        .include(ACLKeys.permissionIdentifier)
+        .include(ACLKeys.principalType)
+        .include(ACLKeys.principalIdentifier)
+        .include(ACLKeys.aclQueryString)
+        .include(ACLKeys.condition)
+        .include(ACLKeys.conditional);
+    return mongoTemplate.find(query, ACL.class, getCollectionName());
+  }
+
+  @Override
+  public boolean existsByRoleAssignmentId(String roleAssignmentId) {
+    return mongoTemplate.exists(
+        new Query(Criteria.where(ACLKeys.roleAssignmentId).is(roleAssignmentId)), ACL.class, getCollectionName());
+  }
+
+  @Override
+  public List<ACL> getByPrincipalAndAclQueryStringPrefixAndEnabled(
+      String principalType, String principalIdentifier, String aclQueryStringPrefix, boolean enabled) {
+    Query query = new Query(Criteria.where(ACLKeys.principalIdentifier)
+                                .is(principalIdentifier)
+                                .and(ACLKeys.principalType)
+                                .is(principalType)
+                                .and(ACLKeys.aclQueryString)
+                                .regex("^" + Pattern.quote(aclQueryStringPrefix))
+                                .and(ACLKeys.enabled)
+                                .is(enabled));
+    query.fields()
+        .include(ACLKeys.id)
+        .include(ACLKeys.aclQueryString)
+        .include(ACLKeys.condition)
+        .include(ACLKeys.conditional);
+    return mongoTemplate.find(query, ACL.class, getCollectionName());
+  }
+
+  @Override
+  public ChangeStreamIterable<Document> watchChanges() {
+    return mongoTemplate.getCollection(getCollectionName())
+        .watch()
+        .fullDocument(FullDocument.UPDATE_LOOKUP)
+        .maxAwaitTime(1, TimeUnit.SECONDS);
+  }
+
   @Override
   public void cleanCollection() {
     mongoTemplate.dropCollection(getCollectionName());
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.accesscontrol.acl.persistence;
+
+import static io.harness.accesscontrol.acl.persistence.ACL.getAclQueryString;
+import static io.harness.accesscontrol.acl.persistence.ACLDAOImpl.ALL_AUTHENTICATED_USERS;
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.harness.accesscontrol.AccessControlCoreTestBase;
+import io.harness.accesscontrol.acl.PermissionCheck;
+import io.harness.accesscontrol.acl.api.Principal;
+import io.harness.accesscontrol.acl.persistence.repositories.ACLRepository;
+import io.harness.accesscontrol.principals.PrincipalType;
+import io.harness.accesscontrol.scopes.HarnessScopeLevel;
+import io.harness.accesscontrol.scopes.core.Scope;
+import io.harness.accesscontrol.scopes.core.ScopeLevel;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Slf4j
+public class InMemoryACLIndexTest extends AccessControlCoreTestBase {
+  private static final String ACCOUNT = "acc";
+  private static final String[] PERMISSIONS = {"core_pipeline_view", "core_pipeline_execute", "core_service_view",
+      "core_environment_view", "core_connector_edit", "core_secret_view"};
+  private static final String[] RESOURCE_TYPES = {"PIPELINE", "SERVICE", "ENVIRONMENT", "CONNECTOR", "SECRET"};
+
+  private ACLRepository aclRepository;
+  private InMemoryACLIndex inMemoryACLIndex;
+  private ACLDAOImpl aclDAO;
+  private ACLDAOImpl databaseACLDAO;
+  private List<ACL> acls;
+
+  @Before
+  public void setup() throws Exception {
+    acls = generateACLs(200);
+    aclRepository = mock(ACLRepository.class);
+    when(aclRepository.getByAclQueryStringInAndEnabled(any(), anyBoolean())).thenAnswer(invocation -> {
+      Collection<String> aclQueryStrings = invocation.getArgument(0);
+      return acls.stream()
+          .filter(acl -> aclQueryStrings.contains(acl.getAclQueryString()))
+          .collect(Collectors.toList());
+    });
+    when(aclRepository.getByPrincipalAndAclQueryStringPrefixAndEnabled(anyString(), anyString(), anyString(), eq(true)))
+        .thenAnswer(invocation
+            -> acls.stream()
+                   .filter(acl -> acl.getPrincipalType().equals(invocation.getArgument(0)))
+                   .filter(acl -> acl.getPrincipalIdentifier().equals(invocation.getArgument(1)))
+                   .filter(acl -> acl.getAclQueryString().startsWith(invocation.getArgument(2)))
+                   .collect(Collectors.toList()));
+
+    ChangeStreamIterable<Document> changeStreamIterable = mock(ChangeStreamIterable.class);
+    MongoCursor<ChangeStreamDocument<Document>> cursor = mock(MongoCursor.class);
+    when(aclRepository.watchChanges()).thenReturn(changeStreamIterable);
+    when(changeStreamIterable.iterator()).thenReturn(cursor);
+    when(cursor.tryNext()).thenAnswer(invocation -> {
+      Thread.sleep(10);
+      return null;
+    });
+
+    Map<String, ScopeLevel> scopeLevels = new HashMap<>();
+    Arrays.stream(HarnessScopeLevel.values()).forEach(scopeLevel -> scopeLevels.put(scopeLevel.toString(), scopeLevel));
+    inMemoryACLIndex = new InMemoryACLIndex(aclRepository);
+    aclDAO = new ACLDAOImpl(aclRepository, scopeLevels, inMemoryACLIndex);
+    databaseACLDAO = new ACLDAOImpl(aclRepository, scopeLevels, new InMemoryACLIndex(aclRepository));
+    inMemoryACLIndex.start();
+    while (!inMemoryACLIndex.isAvailable()) {
+      Thread.sleep(10);
+    }
+  }
+
+  @After
+  public void tearDown() {
+    inMemoryACLIndex.stop();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testAnswersPermissionChecksWithoutDatabaseReads() {
+    Random random = new Random(11);
+    int checks = 10000;
+    long[] latencies = new long[checks];
+    for (int i = 0; i < checks; i++) {
+      Principal principal = Principal.of(PrincipalType.USER, "user" + random.nextInt(200));
+      List<PermissionCheck> permissionChecks = generatePermissionChecks(random);
+      long start = System.nanoTime();
+      List<List<ACL>> fromIndex = aclDAO.getMatchingACLs(principal, permissionChecks);
+      latencies[i] = System.nanoTime() - start;
+
+      if (i % 100 == 0) {
+        List<List<ACL>> fromDatabase = databaseACLDAO.getMatchingACLs(principal, permissionChecks);
+        assertThat(fromIndex).hasSameSizeAs(fromDatabase);
+        for (int j = 0; j < fromIndex.size(); j++) {
+          assertThat(fromIndex.get(j)).containsExactlyInAnyOrderElementsOf(fromDatabase.get(j));
+        }
+      }
+    }
+
+    Arrays.sort(latencies);
+    long p99Micros = latencies[checks * 99 / 100] / 1000;
+    log.info("{} batched permission checks, p50 {} us, p99 {} us", checks, latencies[checks / 2] / 1000, p99Micros);
+    // 10k checks/sec leaves 100 us per check for the whole request
+    assertThat(p99Micros).isLessThan(5000);
+    verify(aclRepository, times(checks / 100)).getByAclQueryStringInAndEnabled(any(), anyBoolean());
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testReportsColdLoadCost() {
+    Random random = new Random(13);
+    int principals = 200;
+    long[] coldLatencies = new long[principals];
+    long[] warmLatencies = new long[principals];
+    for (int i = 0; i < principals; i++) {
+      Principal principal = Principal.of(PrincipalType.USER, "user" + i);
+      List<PermissionCheck> permissionChecks = generatePermissionChecks(random);
+      long start = System.nanoTime();
+      aclDAO.getMatchingACLs(principal, permissionChecks);
+      coldLatencies[i] = System.nanoTime() - start;
+      start = System.nanoTime();
+      aclDAO.getMatchingACLs(principal, permissionChecks);
+      warmLatencies[i] = System.nanoTime() - start;
+    }
+
+    Arrays.sort(coldLatencies);
+    Arrays.sort(warmLatencies);
+    log.info("First check of a principal p50 {} us, p99 {} us, later checks p50 {} us, p99 {} us",
+        coldLatencies[principals / 2] / 1000, coldLatencies[principals * 99 / 100] / 1000,
+        warmLatencies[principals / 2] / 1000, warmLatencies[principals * 99 / 100] / 1000);
+    // Each principal is loaded once, all authenticated users were loaded for all accounts on start
+    verify(aclRepository, times(principals))
+        .getByPrincipalAndAclQueryStringPrefixAndEnabled(eq("USER"), startsWith("user"), anyString(), eq(true));
+    verify(aclRepository, times(1))
+        .getByPrincipalAndAclQueryStringPrefixAndEnabled("USER", ALL_AUTHENTICATED_USERS, "/ACCOUNT/", true);
+    verify(aclRepository, never()).getByAclQueryStringInAndEnabled(any(), anyBoolean());
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testChangeStreamEventsAreAppliedToIndexedACLs() {
+    Principal principal = Principal.of(PrincipalType.USER, "user1");
+    ACL deleted = acls.stream().filter(acl -> acl.getPrincipalIdentifier().equals("user1")).findFirst().get();
+    String aclQueryString = deleted.getAclQueryString();
+    List<Set<String>> aclQueryStrings = List.of(Set.of(aclQueryString));
+    assertThat(aclIds(inMemoryACLIndex.getMatchingACLs(principal, aclQueryStrings))).contains(deleted.getId());
+
+    inMemoryACLIndex.onChange(changeStreamDocument(OperationType.DELETE, deleted.getId(), null));
+    assertThat(aclIds(inMemoryACLIndex.getMatchingACLs(principal, aclQueryStrings))).doesNotContain(deleted.getId());
+
+    String insertedId = new ObjectId().toHexString();
+    inMemoryACLIndex.onChange(
+        changeStreamDocument(OperationType.INSERT, insertedId, aclDocument("user1", aclQueryString, true)));
+    assertThat(aclIds(inMemoryACLIndex.getMatchingACLs(principal, aclQueryStrings))).contains(insertedId);
+
+    inMemoryACLIndex.onChange(
+        changeStreamDocument(OperationType.UPDATE, insertedId, aclDocument("user1", aclQueryString, false)));
+    assertThat(aclIds(inMemoryACLIndex.getMatchingACLs(principal, aclQueryStrings))).doesNotContain(insertedId);
+    verify(aclRepository, times(1))
+        .getByPrincipalAndAclQueryStringPrefixAndEnabled("USER", "user1", "/ACCOUNT/" + ACCOUNT, true);
+
+    // changes of principals which are not indexed are not loaded
+    inMemoryACLIndex.onChange(changeStreamDocument(OperationType.INSERT, new ObjectId().toHexString(),
+        aclDocument("user2", aclQueryString.replace("user1", "user2"), true)));
+    verify(aclRepository, never())
+        .getByPrincipalAndAclQueryStringPrefixAndEnabled("USER", "user2", "/ACCOUNT/" + ACCOUNT, true);
+
+    inMemoryACLIndex.onChange(changeStreamDocument(OperationType.INVALIDATE, null, null));
+    inMemoryACLIndex.getMatchingACLs(principal, aclQueryStrings);
+    verify(aclRepository, times(2))
+        .getByPrincipalAndAclQueryStringPrefixAndEnabled("USER", "user1", "/ACCOUNT/" + ACCOUNT, true);
+    verify(aclRepository, never()).getByAclQueryStringInAndEnabled(any(), anyBoolean());
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testGetAccountScope() {
+    assertThat(InMemoryACLIndex.getAccountScope("/ACCOUNT/acc$core_user_view$/USER/*$USER$u1"))
+        .isEqualTo("/ACCOUNT/acc");
+    assertThat(InMemoryACLIndex.getAccountScope("/ACCOUNT/acc/ORGANIZATION/org$p$/*/*$USER$u1"))
+        .isEqualTo("/ACCOUNT/acc");
+    assertThat(InMemoryACLIndex.getAccountScope("$core_user_view$/ACCOUNT/acc$USER$u1")).isNull();
+  }
+
+  private static List<PermissionCheck> generatePermissionChecks(Random random) {
+    Scope account = Scope.builder().level(HarnessScopeLevel.ACCOUNT).instanceId(ACCOUNT).build();
+    Scope org = Scope.builder().level(HarnessScopeLevel.ORGANIZATION).instanceId("org").parentScope(account).build();
+    Scope project = Scope.builder()
+                        .level(HarnessScopeLevel.PROJECT)
+                        .instanceId("proj" + random.nextInt(5))
+                        .parentScope(org)
+                        .build();
+    List<PermissionCheck> permissionChecks = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      permissionChecks.add(PermissionCheck.builder()
+                               .resourceScope(project)
+                               .resourceType(RESOURCE_TYPES[random.nextInt(RESOURCE_TYPES.length)])
+                               .resourceIdentifier(random.nextBoolean() ? "resource" + random.nextInt(10) : null)
+                               .permission(PERMISSIONS[random.nextInt(PERMISSIONS.length)])
+                               .build());
+    }
+    return permissionChecks;
+  }
+
+  private static List<ACL> generateACLs(int users) {
+    Random random = new Random(7);
+    List<ACL> acls = new ArrayList<>();
+    List<String> principals = new ArrayList<>();
+    for (int i = 0; i < users; i++) {
+      principals.add("user" + i);
+    }
+    principals.add(ALL_AUTHENTICATED_USERS);
+    for (String principal : principals) {
+      for (int i = 0; i < 20; i++) {
+        String scope = "/ACCOUNT/" + ACCOUNT + "/ORGANIZATION/org/PROJECT/proj" + random.nextInt(5);
+        String resourceType = RESOURCE_TYPES[random.nextInt(RESOURCE_TYPES.length)];
+        String resourceSelector = random.nextBoolean() ? "/" + resourceType + "/*"
+                                                       : "/" + resourceType + "/resource" + random.nextInt(10);
+        acls.add(ACL.builder()
+                     .id(new ObjectId().toHexString())
+                     .principalType("USER")
+                     .principalIdentifier(principal)
+                     .aclQueryString(getAclQueryString(scope, resourceSelector, "USER", principal,
+                         PERMISSIONS[random.nextInt(PERMISSIONS.length)]))
+                     .conditional(random.nextInt(10) == 0)
+                     .enabled(true)
+                     .build());
+      }
+    }
+    return acls;
+  }
+
+  private static Set<String> aclIds(List<List<ACL>> matchingACLs) {
+    return matchingACLs.stream().flatMap(List::stream).map(ACL::getId).collect(Collectors.toSet());
+  }
+
+  private static Document aclDocument(String principalIdentifier, String aclQueryString, boolean enabled) {
+    return new Document(ACL.ACLKeys.principalType, "USER")
+        .append(ACL.ACLKeys.principalIdentifier, principalIdentifier)
+        .append(ACL.ACLKeys.aclQueryString, aclQueryString)
+        .append(ACL.ACLKeys.enabled, enabled);
+  }
+
+  private static ChangeStreamDocument<Document> changeStreamDocument(
+      OperationType operationType, String id, Document fullDocument) {
+    ChangeStreamDocument<Document> changeStreamDocument = mock(ChangeStreamDocument.class);
+    when(changeStreamDocument.getOperationType()).thenReturn(operationType);
+    when(changeStreamDocument.getFullDocument()).thenReturn(fullDocument);
+    when(changeStreamDocument.getDocumentKey())
+        .thenReturn(id == null ? null : new BsonDocument("_id", new BsonString(id)));
+    return changeStreamDocument;
+  }
+}
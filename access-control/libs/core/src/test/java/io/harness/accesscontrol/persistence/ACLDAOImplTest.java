@@ -20,6 +20,7 @@ import io.harness.accesscontrol.AccessControlCoreTestBase;
 import io.harness.accesscontrol.acl.PermissionCheck;
 import io.harness.accesscontrol.acl.api.Principal;
 import io.harness.accesscontrol.acl.persistence.ACLDAOImpl;
+import io.harness.accesscontrol.acl.persistence.InMemoryACLIndex;
 import io.harness.accesscontrol.acl.persistence.repositories.ACLRepository;
 import io.harness.accesscontrol.principals.PrincipalType;
 import io.harness.accesscontrol.scopes.core.ScopeLevel;
@@ -49,7 +50,7 @@ public class ACLDAOImplTest extends AccessControlCoreTestBase {
   @Owner(developers = ASHISHSANODIA)
   @Category(UnitTests.class)
   public void testOnlyEnabledACLMatch() {
-    aclDaoImpl = new ACLDAOImpl(aclRepository, scopeLevels);
+    aclDaoImpl = new ACLDAOImpl(aclRepository, scopeLevels, new InMemoryACLIndex(aclRepository));
     Principal principal = Principal.of(PrincipalType.USER, randomAlphabetic(10));
     List<PermissionCheck> permissionChecks = new ArrayList<>();
     permissionChecks.add(PermissionCheck.builder().resourceType("user").permission("core_user_view").build());
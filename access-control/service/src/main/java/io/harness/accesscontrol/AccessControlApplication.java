@@ -28,6 +28,7 @@ import static com.google.common.collect.ImmutableMap.of;
 import static io.serializer.HObjectMapper.configureObjectMapperForNG;
 
 import io.harness.Microservice;
+import io.harness.accesscontrol.acl.worker.InMemoryACLIndexService;
 import io.harness.accesscontrol.acl.worker.RemoveRedundantACLService;
 import io.harness.accesscontrol.commons.bootstrap.AccessControlManagementJob;
 import io.harness.accesscontrol.commons.events.EntityCrudEventListenerService;
@@ -291,6 +292,9 @@ public class AccessControlApplication extends Application<AccessControlConfigura
     environment.lifecycle().manage(injector.getInstance(UserRoleAssignmentRemovalService.class));
     environment.lifecycle().manage(injector.getInstance(ProjectOrgBasicRoleCreationService.class));
     environment.lifecycle().manage(injector.getInstance(RemoveRedundantACLService.class));
+    if (configuration.isEnableInMemoryACLIndex()) {
+      environment.lifecycle().manage(injector.getInstance(InMemoryACLIndexService.class));
+    }
   }
 
   private void registerJerseyProviders(Environment environment) {
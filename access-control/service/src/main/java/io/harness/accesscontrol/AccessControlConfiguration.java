@@ -126,6 +126,8 @@ public class AccessControlConfiguration extends Configuration {
   private boolean enableParallelProcessingOfUserGroupUpdates;
   @JsonProperty("enableAclProcessingThroughOutbox") private boolean enableAclProcessingThroughOutbox;
   @JsonProperty("batchSizeForACLCreation") private int batchSizeForACLCreation;
+  @JsonProperty("concurrentWritersForACLCreation") private int concurrentWritersForACLCreation;
+  @JsonProperty("enableInMemoryACLIndex") private boolean enableInMemoryACLIndex;
 
   public static final Collection<Class<?>> ALL_ACCESS_CONTROL_RESOURCES = getResourceClasses();
 
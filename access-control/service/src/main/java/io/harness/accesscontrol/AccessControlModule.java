@@ -431,5 +431,8 @@ public class AccessControlModule extends AbstractModule {
     bind(Integer.class)
         .annotatedWith(Names.named("batchSizeForACLCreation"))
         .toInstance(config.getBatchSizeForACLCreation());
+    bind(Integer.class)
+        .annotatedWith(Names.named("concurrentWritersForACLCreation"))
+        .toInstance(config.getConcurrentWritersForACLCreation());
   }
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.accesscontrol.acl.worker;
+
+import io.harness.accesscontrol.acl.persistence.InMemoryACLIndex;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+
+import com.google.inject.Inject;
+import io.dropwizard.lifecycle.Managed;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@OwnedBy(HarnessTeam.PL)
+public class InMemoryACLIndexService implements Managed {
+  private static final String DEBUG_MESSAGE = "InMemoryACLIndexService: ";
+  private final InMemoryACLIndex inMemoryACLIndex;
+
+  @Inject
+  public InMemoryACLIndexService(InMemoryACLIndex inMemoryACLIndex) {
+    this.inMemoryACLIndex = inMemoryACLIndex;
+  }
+
+  @Override
+  public void start() throws Exception {
+    log.info(DEBUG_MESSAGE + "started...");
+    inMemoryACLIndex.start();
+  }
+
+  @Override
+  public void stop() throws Exception {
+    log.info(DEBUG_MESSAGE + "stopping...");
+    inMemoryACLIndex.stop();
+  }
+}
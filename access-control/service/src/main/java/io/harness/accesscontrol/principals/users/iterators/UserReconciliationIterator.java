@@ -61,6 +61,7 @@ public class UserReconciliationIterator implements Handler<UserDBO> {
               .name("UserReconciliationIterator")
               .poolSize(5)
               .interval(ofSeconds(5))
+              .batchClaimSize(10)
               .build(),
           UserDBO.class,
           MongoPersistenceIterator.<UserDBO, SpringFilterExpander>builder()
@@ -137,6 +137,7 @@ public class AccessControlApplicationRule implements MethodRule, InjectorRuleMix
         implicitPermissionsByScope.addBinding(Pair.of(PROJECT, false))
             .toInstance(Collections.singleton(VIEW_PROJECT_PERMISSION));
         bind(Integer.class).annotatedWith(Names.named("batchSizeForACLCreation")).toInstance(50000);
+        bind(Integer.class).annotatedWith(Names.named("concurrentWritersForACLCreation")).toInstance(1);
       }
     });
 
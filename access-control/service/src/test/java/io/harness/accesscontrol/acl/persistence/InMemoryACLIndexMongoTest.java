@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.accesscontrol.acl.persistence;
+
+import static io.harness.accesscontrol.acl.persistence.ACL.getAclQueryString;
+import static io.harness.annotations.dev.HarnessTeam.PL;
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.accesscontrol.AccessControlTestBase;
+import io.harness.accesscontrol.acl.api.Principal;
+import io.harness.accesscontrol.acl.persistence.ACL.ACLKeys;
+import io.harness.accesscontrol.acl.persistence.repositories.ACLRepository;
+import io.harness.accesscontrol.principals.PrincipalType;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.bson.types.ObjectId;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@OwnedBy(PL)
+public class InMemoryACLIndexMongoTest extends AccessControlTestBase {
+  private static final String ACCOUNT_SCOPE = "/ACCOUNT/acc.1";
+  private static final String PROJECT_SCOPE = ACCOUNT_SCOPE + "/ORGANIZATION/org/PROJECT/proj";
+  private static final long CHANGE_TIMEOUT_MILLIS = 10000;
+
+  @Inject private MongoTemplate mongoTemplate;
+  @Inject @Named(ACL.PRIMARY_COLLECTION) private ACLRepository aclRepository;
+  private InMemoryACLIndex inMemoryACLIndex;
+
+  @After
+  public void tearDown() {
+    if (inMemoryACLIndex != null) {
+      inMemoryACLIndex.stop();
+    }
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testPrincipalAndAclQueryStringPrefixQuery() {
+    ACL acl = acl("u1", PROJECT_SCOPE, true);
+    aclRepository.insertAllIgnoringDuplicates(List.of(acl, acl("u1", ACCOUNT_SCOPE, true),
+        acl("u1", PROJECT_SCOPE, false), acl("u2", PROJECT_SCOPE, true), acl("u1", "/ACCOUNT/accx1", true),
+        acl("u1", "/ACCOUNT/acc.12", true)));
+
+    List<ACL> acls = aclRepository.getByPrincipalAndAclQueryStringPrefixAndEnabled(
+        PrincipalType.USER.name(), "u1", ACCOUNT_SCOPE, true);
+
+    // the prefix is matched literally, accounts sharing the prefix are filtered out by the index
+    assertThat(acls.stream().map(ACL::getAclQueryString).collect(Collectors.toList()))
+        .containsExactlyInAnyOrder(acl.getAclQueryString(), acl("u1", ACCOUNT_SCOPE, true).getAclQueryString(),
+            acl("u1", "/ACCOUNT/acc.12", true).getAclQueryString());
+    ACL loaded = acls.stream().filter(a -> a.getId().equals(acl.getId())).findFirst().get();
+    assertThat(loaded.getAclQueryString()).isEqualTo(acl.getAclQueryString());
+    assertThat(loaded.getCondition()).isEqualTo(acl.getCondition());
+    assertThat(loaded.isConditional()).isTrue();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testChangeStreamUpdatesIndexedACLs() throws InterruptedException {
+    ACL existing = acl("u1", PROJECT_SCOPE, true);
+    aclRepository.insertAllIgnoringDuplicates(List.of(existing, acl("u1", "/ACCOUNT/acc.12", true)));
+    inMemoryACLIndex = new InMemoryACLIndex(aclRepository);
+    inMemoryACLIndex.start();
+    awaitIndex(InMemoryACLIndex::isAvailable);
+    Principal principal = Principal.of(PrincipalType.USER, "u1");
+    List<Set<String>> aclQueryStrings = List.of(Set.of(existing.getAclQueryString()));
+    assertThat(aclIds(inMemoryACLIndex.getMatchingACLs(principal, aclQueryStrings))).containsExactly(existing.getId());
+
+    ACL inserted = acl("u1", PROJECT_SCOPE, true);
+    aclRepository.insertAllIgnoringDuplicates(List.of(inserted));
+    awaitIndex(index -> aclIds(index.getMatchingACLs(principal, aclQueryStrings)).contains(inserted.getId()));
+
+    mongoTemplate.updateFirst(new Query(Criteria.where(ACLKeys.id).is(existing.getId())),
+        new Update().set(ACLKeys.enabled, false), ACL.class, ACL.PRIMARY_COLLECTION);
+    awaitIndex(index -> !aclIds(index.getMatchingACLs(principal, aclQueryStrings)).contains(existing.getId()));
+
+    mongoTemplate.remove(new Query(Criteria.where(ACLKeys.id).is(inserted.getId())), ACL.class, ACL.PRIMARY_COLLECTION);
+    awaitIndex(index -> aclIds(index.getMatchingACLs(principal, aclQueryStrings)).isEmpty());
+  }
+
+  private void awaitIndex(Predicate<InMemoryACLIndex> condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + CHANGE_TIMEOUT_MILLIS;
+    while (!condition.test(inMemoryACLIndex)) {
+      assertThat(System.currentTimeMillis()).isLessThan(deadline);
+      Thread.sleep(50);
+    }
+  }
+
+  private static Set<String> aclIds(List<List<ACL>> matchingACLs) {
+    return matchingACLs.stream().flatMap(List::stream).map(ACL::getId).collect(Collectors.toSet());
+  }
+
+  private static ACL acl(String principalIdentifier, String scope, boolean enabled) {
+    return ACL.builder()
+        .id(new ObjectId().toHexString())
+        .principalType(PrincipalType.USER.name())
+        .principalIdentifier(principalIdentifier)
+        .aclQueryString(getAclQueryString(
+            scope, "/PIPELINE/*", PrincipalType.USER.name(), principalIdentifier, "core_pipeline_view"))
+        .condition("<+resource.tags.env> == \"prod\"")
+        .conditional(true)
+        .enabled(enabled)
+        .build();
+  }
+}
@@ -124,6 +124,14 @@ if [[ "" != "$AWS_MAXIMUM_HISTORICAL_MONTHS_FOR_VERIFICATION_JOB" ]]; then
   export AWS_MAXIMUM_HISTORICAL_MONTHS_FOR_VERIFICATION_JOB; yq -i '.billingDataVerificationJobConfig.awsMaximumHistoricalMonthsForVerificationJob=env(AWS_MAXIMUM_HISTORICAL_MONTHS_FOR_VERIFICATION_JOB)' $CONFIG_FILE
 fi
 
+if [[ "" != "$INSTANCE_BILLING_PARTITION_ENABLED" ]]; then
+  export INSTANCE_BILLING_PARTITION_ENABLED; yq -i '.instanceBillingPartitionConfig.enabled=env(INSTANCE_BILLING_PARTITION_ENABLED)' $CONFIG_FILE
+fi
+
+if [[ "" != "$INSTANCE_BILLING_PARTITION_GRID_SIZE" ]]; then
+  export INSTANCE_BILLING_PARTITION_GRID_SIZE; yq -i '.instanceBillingPartitionConfig.gridSize=env(INSTANCE_BILLING_PARTITION_GRID_SIZE)' $CONFIG_FILE
+fi
+
 if [[ "" != "$DATA_PIPELINE_CONFIG_GCP_PROJECT_ID" ]]; then
   export DATA_PIPELINE_CONFIG_GCP_PROJECT_ID; yq -i '.billingDataPipelineConfig.gcpProjectId=env(DATA_PIPELINE_CONFIG_GCP_PROJECT_ID)' $CONFIG_FILE
 fi
@@ -164,6 +172,22 @@ if [[ "" != "$BUFFER_SIZE_IN_MB" ]]; then
   export BUFFER_SIZE_IN_MB; yq -i '.billingDataPipelineConfig.bufferSizeInMB=env(BUFFER_SIZE_IN_MB)' $CONFIG_FILE
 fi
 
+if [[ "" != "$STREAM_CLUSTER_DATA_TO_GCS" ]]; then
+  export STREAM_CLUSTER_DATA_TO_GCS; yq -i '.billingDataPipelineConfig.streamClusterDataToGcs=env(STREAM_CLUSTER_DATA_TO_GCS)' $CONFIG_FILE
+fi
+
+if [[ "" != "$CLUSTER_DATA_AVRO_CODEC" ]]; then
+  export CLUSTER_DATA_AVRO_CODEC; yq -i '.billingDataPipelineConfig.clusterDataAvroCodec=env(CLUSTER_DATA_AVRO_CODEC)' $CONFIG_FILE
+fi
+
+if [[ "" != "$CLUSTER_DATA_AVRO_SYNC_INTERVAL_IN_KB" ]]; then
+  export CLUSTER_DATA_AVRO_SYNC_INTERVAL_IN_KB; yq -i '.billingDataPipelineConfig.clusterDataAvroSyncIntervalInKB=env(CLUSTER_DATA_AVRO_SYNC_INTERVAL_IN_KB)' $CONFIG_FILE
+fi
+
+if [[ "" != "$CLUSTER_DATA_PARALLEL_WRITERS" ]]; then
+  export CLUSTER_DATA_PARALLEL_WRITERS; yq -i '.billingDataPipelineConfig.clusterDataParallelWriters=env(CLUSTER_DATA_PARALLEL_WRITERS)' $CONFIG_FILE
+fi
+
 if [[ "" != "$SMTP_HOST" ]]; then
   export SMTP_HOST; yq -i '.smtp.host=env(SMTP_HOST)' $CONFIG_FILE
 fi
@@ -22,6 +22,7 @@ import static com.google.common.base.MoreObjects.firstNonNull;
 
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
+import io.harness.batch.processing.BatchProcessingException;
 import io.harness.batch.processing.billing.reader.InstanceDataReader;
 import io.harness.batch.processing.billing.service.BillingCalculationService;
 import io.harness.batch.processing.billing.service.BillingData;
@@ -34,6 +35,8 @@ import io.harness.batch.processing.ccm.BatchJobType;
 import io.harness.batch.processing.ccm.CCMJobConstants;
 import io.harness.batch.processing.cloudevents.aws.ecs.service.CEClusterDao;
 import io.harness.batch.processing.config.BatchMainConfig;
+import io.harness.batch.processing.config.InstanceBillingPartitionConfig;
+import io.harness.batch.processing.dao.intfc.CompletedBillingPartitionDao;
 import io.harness.batch.processing.dao.intfc.InstanceDataDao;
 import io.harness.batch.processing.pricing.service.intfc.AwsCustomBillingService;
 import io.harness.batch.processing.pricing.service.intfc.AzureCustomBillingService;
@@ -52,6 +55,7 @@ import io.harness.ccm.commons.beans.JobConstants;
 import io.harness.ccm.commons.beans.Resource;
 import io.harness.ccm.commons.constants.CloudProvider;
 import io.harness.ccm.commons.constants.InstanceMetaDataConstants;
+import io.harness.ccm.commons.entities.batch.CompletedBillingPartition;
 import io.harness.ccm.commons.entities.batch.InstanceData;
 import io.harness.ccm.commons.entities.billing.CECluster;
 import io.harness.ccm.commons.service.intf.ClusterRecordService;
@@ -62,6 +66,7 @@ import software.wings.service.intfc.instance.CloudToHarnessMappingService;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Singleton;
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -74,6 +79,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.mutable.MutableInt;
@@ -103,6 +113,7 @@ public class InstanceBillingDataTasklet implements Tasklet {
   @Autowired private ClusterRecordService eventsClusterRecordService;
   @Autowired private FeatureFlagService featureFlagService;
   @Autowired private CEClusterDao ceClusterDao;
+  @Autowired private CompletedBillingPartitionDao completedBillingPartitionDao;
 
   private static final String CLAIM_REF_SEPARATOR = "/";
   private int batchSize;
@@ -123,6 +134,10 @@ public class InstanceBillingDataTasklet implements Tasklet {
 
     BatchJobType batchJobType = CCMJobConstants.getBatchJobTypeFromJobParams(
         chunkContext.getStepContext().getStepExecution().getJobParameters());
+    if (isClusterQueryEnabled && isPartitioned()) {
+      billClusterPartitions(accountId, startTime, endTime, batchJobType, clusterIds);
+      return null;
+    }
     // bill PV first
     List<InstanceBillingData> pvInstanceBillingDataList =
         billPVInstances(batchJobType, accountId, startTime, endTime, clusterIds, isClusterQueryEnabled);
@@ -146,9 +161,111 @@ public class InstanceBillingDataTasklet implements Tasklet {
     return null;
   }
 
-  private void billAllInstances(String accountId, Instant startTime, Instant endTime, BatchJobType batchJobType,
+  private boolean isPartitioned() {
+    InstanceBillingPartitionConfig partitionConfig = config.getInstanceBillingPartitionConfig();
+    return partitionConfig != null && partitionConfig.isEnabled();
+  }
+
+  /**
+   * Bills each cluster as a partition, with as many partitions running in parallel as the grid size. A cluster whose
+   * partition completed is recorded, a rerun of the interval after a failure only bills the remaining clusters. PVs
+   * and PVC claims are still collected for all clusters, as pods are billed for the PVs they claim.
+   */
+  private void billClusterPartitions(
+      String accountId, Instant startTime, Instant endTime, BatchJobType batchJobType, Set<String> clusterIds) {
+    ExecutorService executorService = Executors.newFixedThreadPool(
+        Math.max(1, config.getInstanceBillingPartitionConfig().getGridSize()),
+        new ThreadFactoryBuilder().setNameFormat("instance-billing-partition-%d").build());
+    try {
+      List<InstanceBillingData> pvInstanceBillingDataList = new ArrayList<>();
+      runPartitions(executorService, clusterIds, clusterId -> {
+        List<InstanceBillingData> clusterPvInstanceBillingDataList = new ArrayList<>();
+        getPvInstanceBillingData(
+            batchJobType, accountId, startTime, endTime, clusterPvInstanceBillingDataList, clusterId);
+        return clusterPvInstanceBillingDataList;
+      }).forEach(pvInstanceBillingDataList::addAll);
+      Map<String, InstanceBillingData> claimRefToPVInstanceBillingData =
+          pvInstanceBillingDataList.stream().collect(Collectors.toMap(e
+              -> e.getNamespace() + CLAIM_REF_SEPARATOR + e.getWorkloadName(),
+              e -> e, (e1, e2) -> e1.getStartTimestamp() > e2.getStartTimestamp() ? e1 : e2));
+
+      Map<String, MutableInt> pvcClaimCount = new HashMap<>();
+      List<Map<String, MutableInt>> clusterPvcClaimCounts = runPartitions(executorService, clusterIds, clusterId -> {
+        Map<String, MutableInt> clusterPvcClaimCount = new HashMap<>();
+        fetchPvcClaimCount(accountId, startTime, endTime, clusterPvcClaimCount, clusterId);
+        return clusterPvcClaimCount;
+      });
+      for (Map<String, MutableInt> clusterPvcClaimCount : clusterPvcClaimCounts) {
+        clusterPvcClaimCount.forEach(
+            (claimRef, count) -> pvcClaimCount.computeIfAbsent(claimRef, k -> new MutableInt(0)).add(count));
+      }
+
+      Set<String> completedClusterIds =
+          completedBillingPartitionDao.fetchCompletedClusterIds(accountId, batchJobType, startTime);
+      Set<String> remainingClusterIds =
+          clusterIds.stream().filter(clusterId -> !completedClusterIds.contains(clusterId)).collect(Collectors.toSet());
+      log.info("Billing {} of {} cluster partitions for accountId: {}", remainingClusterIds.size(), clusterIds.size(),
+          accountId);
+      runPartitions(executorService, remainingClusterIds,
+          clusterId
+          -> billPartition(
+              accountId, startTime, endTime, batchJobType, claimRefToPVInstanceBillingData, pvcClaimCount, clusterId));
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  private CompletedBillingPartition billPartition(String accountId, Instant startTime, Instant endTime,
+      BatchJobType batchJobType, Map<String, InstanceBillingData> claimRefToPVInstanceBillingData,
+      Map<String, MutableInt> pvcClaimCount, String clusterId) {
+    long partitionStartTime = System.currentTimeMillis();
+    long instanceCount = billAllInstances(
+        accountId, startTime, endTime, batchJobType, claimRefToPVInstanceBillingData, pvcClaimCount, clusterId);
+    long durationMillis = System.currentTimeMillis() - partitionStartTime;
+    CompletedBillingPartition completedBillingPartition = CompletedBillingPartition.builder()
+                                                              .accountId(accountId)
+                                                              .batchJobType(batchJobType.name())
+                                                              .startTime(startTime.toEpochMilli())
+                                                              .clusterId(clusterId)
+                                                              .instanceCount(instanceCount)
+                                                              .durationMillis(durationMillis)
+                                                              .build();
+    completedBillingPartitionDao.create(completedBillingPartition);
+    log.info("Billed partition of clusterId: {} accountId: {}, {} instances in {} ms, {} instances/sec", clusterId,
+        accountId, instanceCount, durationMillis, instanceCount * 1000 / Math.max(1, durationMillis));
+    return completedBillingPartition;
+  }
+
+  // Runs all partitions even when some fail, so that a rerun does not redo the ones which completed
+  private static <T> List<T> runPartitions(
+      ExecutorService executorService, Set<String> clusterIds, Function<String, T> partition) {
+    List<Future<T>> futures = new ArrayList<>();
+    for (String clusterId : clusterIds) {
+      futures.add(executorService.submit(() -> partition.apply(clusterId)));
+    }
+    List<T> results = new ArrayList<>();
+    Exception failure = null;
+    for (Future<T> future : futures) {
+      try {
+        results.add(future.get());
+      } catch (ExecutionException ex) {
+        log.error("Exception in billing partition", ex.getCause());
+        failure = failure == null ? ex : failure;
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new BatchProcessingException("Interrupted while waiting for billing partitions", ex);
+      }
+    }
+    if (failure != null) {
+      throw new BatchProcessingException("Billing partition failed", failure.getCause());
+    }
+    return results;
+  }
+
+  private long billAllInstances(String accountId, Instant startTime, Instant endTime, BatchJobType batchJobType,
       Map<String, InstanceBillingData> claimRefToPVInstanceBillingData, Map<String, MutableInt> pvcClaimCount,
       String clusterId) {
+    long instanceCount = 0;
     List<InstanceData> instanceDataLists;
     InstanceDataReader instanceDataReader = new InstanceDataReader(instanceDataDao, accountId, clusterId,
         ImmutableList.of(
@@ -163,7 +280,9 @@ public class InstanceBillingDataTasklet implements Tasklet {
         log.error("Exception in billing step", ex);
         throw ex;
       }
+      instanceCount += instanceDataLists.size();
     } while (instanceDataLists.size() == batchSize);
+    return instanceCount;
   }
 
   private boolean isClusterIdFilterQueryEnabled(String accountId) {
@@ -50,6 +50,7 @@ public class BatchMainConfig {
   private BillingDataVerificationJobConfig billingDataVerificationJobConfig;
   @JsonProperty("podInfo") private PodInfoConfig podInfoConfig;
   @JsonProperty("billingDataPipelineConfig") private BillingDataPipelineConfig billingDataPipelineConfig;
+  @JsonProperty("instanceBillingPartitionConfig") private InstanceBillingPartitionConfig instanceBillingPartitionConfig;
   @JsonProperty("smtp") private SmtpConfig smtpConfig;
   @JsonProperty("segmentConfig") private SegmentConfig segmentConfig;
   @JsonProperty("reportScheduleConfig") private ReportScheduleConfig reportScheduleConfig;
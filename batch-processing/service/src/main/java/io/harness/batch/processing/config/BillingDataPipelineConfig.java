@@ -26,6 +26,10 @@ public class BillingDataPipelineConfig {
   private boolean awsUseNewPipeline;
   private String awsRoleName;
   private int bufferSizeInMB;
+  private boolean streamClusterDataToGcs;
+  private String clusterDataAvroCodec;
+  private int clusterDataAvroSyncIntervalInKB;
+  private int clusterDataParallelWriters;
 
   public String getGcpPipelinePubSubTopic() {
     return "projects/" + gcpProjectId + "/topics/" + gcpPipelinePubSubTopic;
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.batch.processing.dao.impl;
+
+import io.harness.batch.processing.ccm.BatchJobType;
+import io.harness.batch.processing.dao.intfc.CompletedBillingPartitionDao;
+import io.harness.ccm.commons.entities.batch.CompletedBillingPartition;
+import io.harness.ccm.commons.entities.batch.CompletedBillingPartition.CompletedBillingPartitionKeys;
+import io.harness.persistence.HPersistence;
+
+import com.google.inject.Inject;
+import dev.morphia.query.Query;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Slf4j
+public class CompletedBillingPartitionDaoImpl implements CompletedBillingPartitionDao {
+  @Autowired @Inject private HPersistence hPersistence;
+
+  @Override
+  public boolean create(CompletedBillingPartition completedBillingPartition) {
+    // a concurrent run of the same interval may have completed the partition as well
+    return hPersistence.insertIgnoringDuplicateKeys(completedBillingPartition) != null;
+  }
+
+  @Override
+  public Set<String> fetchCompletedClusterIds(String accountId, BatchJobType batchJobType, Instant startTime) {
+    return hPersistence.createQuery(CompletedBillingPartition.class)
+        .filter(CompletedBillingPartitionKeys.accountId, accountId)
+        .filter(CompletedBillingPartitionKeys.batchJobType, batchJobType.name())
+        .filter(CompletedBillingPartitionKeys.startTime, startTime.toEpochMilli())
+        .project(CompletedBillingPartitionKeys.clusterId, true)
+        .asList()
+        .stream()
+        .map(CompletedBillingPartition::getClusterId)
+        .collect(Collectors.toSet());
+  }
+
+  @Override
+  public boolean deleteCompletedPartitions(String accountId, List<String> batchJobTypes, Instant startTime) {
+    Query<CompletedBillingPartition> query = hPersistence.createQuery(CompletedBillingPartition.class)
+                                                 .field(CompletedBillingPartitionKeys.batchJobType)
+                                                 .in(batchJobTypes);
+    if (accountId != null) {
+      query.filter(CompletedBillingPartitionKeys.accountId, accountId);
+    }
+    if (startTime != null) {
+      query.field(CompletedBillingPartitionKeys.startTime).greaterThanOrEq(startTime.toEpochMilli());
+    }
+    return hPersistence.delete(query);
+  }
+}
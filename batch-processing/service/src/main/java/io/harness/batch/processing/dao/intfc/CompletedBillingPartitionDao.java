@@ -0,0 +1,23 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.batch.processing.dao.intfc;
+
+import io.harness.batch.processing.ccm.BatchJobType;
+import io.harness.ccm.commons.entities.batch.CompletedBillingPartition;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+public interface CompletedBillingPartitionDao {
+  boolean create(CompletedBillingPartition completedBillingPartition);
+
+  Set<String> fetchCompletedClusterIds(String accountId, BatchJobType batchJobType, Instant startTime);
+
+  boolean deleteCompletedPartitions(String accountId, List<String> batchJobTypes, Instant startTime);
+}
@@ -10,6 +10,7 @@ package io.harness.batch.processing.service.impl;
 import io.harness.batch.processing.ccm.BatchJobBucket;
 import io.harness.batch.processing.ccm.BatchJobType;
 import io.harness.batch.processing.dao.intfc.BatchJobScheduledDataDao;
+import io.harness.batch.processing.dao.intfc.CompletedBillingPartitionDao;
 import io.harness.batch.processing.service.intfc.BatchJobScheduledDataService;
 import io.harness.ccm.commons.entities.batch.BatchJobScheduledData;
 import io.harness.ccm.commons.entities.batch.CEDataCleanupRequest;
@@ -17,6 +18,7 @@ import io.harness.ccm.health.LastReceivedPublishedMessageDao;
 
 import software.wings.service.intfc.instance.CloudToHarnessMappingService;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -33,6 +35,7 @@ import org.springframework.stereotype.Service;
 public class BatchJobScheduledDataServiceImpl implements BatchJobScheduledDataService {
   public static final String UTC = "UTC";
   @Autowired private BatchJobScheduledDataDao batchJobScheduledDataDao;
+  @Autowired private CompletedBillingPartitionDao completedBillingPartitionDao;
   @Autowired private CloudToHarnessMappingService cloudToHarnessMappingService;
   @Autowired protected LastReceivedPublishedMessageDao lastReceivedPublishedMessageDao;
 
@@ -207,10 +210,14 @@ public class BatchJobScheduledDataServiceImpl implements BatchJobScheduledDataSe
   @Override
   public void invalidateJobs(CEDataCleanupRequest ceDataCleanupRequest) {
     batchJobScheduledDataDao.invalidateJobs(ceDataCleanupRequest);
+    completedBillingPartitionDao.deleteCompletedPartitions(ceDataCleanupRequest.getAccountId(),
+        ImmutableList.of(ceDataCleanupRequest.getBatchJobType()), ceDataCleanupRequest.getStartAt());
   }
 
   @Override
   public void invalidateJobs(String accountId, List<String> batchJobTypes, Instant instant) {
     batchJobScheduledDataDao.invalidateJobs(accountId, batchJobTypes, instant);
+    // the billing data of the invalidated intervals is cleaned, their clusters must be billed again on rerun
+    completedBillingPartitionDao.deleteCompletedPartitions(accountId, batchJobTypes, instant);
   }
 }
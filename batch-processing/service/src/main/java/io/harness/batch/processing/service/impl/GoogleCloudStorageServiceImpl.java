@@ -14,9 +14,11 @@ import io.harness.batch.processing.config.BillingDataPipelineConfig;
 import io.harness.ff.FeatureFlagService;
 
 import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.Storage.CopyRequest;
 import com.google.cloud.storage.StorageOptions;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -33,6 +35,8 @@ public class GoogleCloudStorageServiceImpl {
   private static final String GOOGLE_CREDENTIALS_PATH = "GOOGLE_CREDENTIALS_PATH";
   private BatchMainConfig config;
   @Autowired private FeatureFlagService featureFlagService;
+  // Storage clients are thread safe and refresh their credentials, one is shared by all uploads
+  private volatile Storage storage;
 
   @Autowired
   public GoogleCloudStorageServiceImpl(BatchMainConfig config) {
@@ -41,21 +45,9 @@ public class GoogleCloudStorageServiceImpl {
 
   public void uploadObject(String objectName, String filePath, String accountId) throws IOException {
     BillingDataPipelineConfig dataPipelineConfig = config.getBillingDataPipelineConfig();
-    boolean usingWorkloadIdentity = Boolean.parseBoolean(System.getenv("USE_WORKLOAD_IDENTITY"));
-    GoogleCredentials sourceCredentials;
-
-    if (!usingWorkloadIdentity) {
-      log.info("WI: In uploadObject. using older way");
-      sourceCredentials = getCredentials(GOOGLE_CREDENTIALS_PATH);
-    } else {
-      log.info("WI: In uploadObject. using Google ADC");
-      sourceCredentials = GoogleCredentials.getApplicationDefault();
-    }
-    String projectId = dataPipelineConfig.getGcpProjectId();
     String bucketName = dataPipelineConfig.getClusterDataGcsBucketName();
     String backupBucketName = dataPipelineConfig.getClusterDataGcsBackupBucketName();
-    Storage storage =
-        StorageOptions.newBuilder().setProjectId(projectId).setCredentials(sourceCredentials).build().getService();
+    Storage storage = getStorage();
     for (String bucket : new String[] {bucketName, backupBucketName}) {
       BlobId blobId = BlobId.of(bucket, objectName);
       BlobInfo blobInfo = BlobInfo.newBuilder(blobId).build();
@@ -77,4 +69,60 @@ public class GoogleCloudStorageServiceImpl {
           "File " + filePath + " uploaded to bucket " + bucket + " as " + objectName + " for accountId:: " + accountId);
     }
   }
+
+  /**
+   * Opens a resumable upload of the object to the cluster data bucket. The object is only created once the channel is
+   * closed, a channel which is abandoned leaves no object behind.
+   */
+  public WritableByteChannel openObjectWriter(String objectName) throws IOException {
+    BillingDataPipelineConfig dataPipelineConfig = config.getBillingDataPipelineConfig();
+    BlobInfo blobInfo =
+        BlobInfo.newBuilder(BlobId.of(dataPipelineConfig.getClusterDataGcsBucketName(), objectName)).build();
+    WriteChannel writeChannel = getStorage().writer(blobInfo);
+    if (dataPipelineConfig.getBufferSizeInMB() > 0) {
+      writeChannel.setChunkSize(dataPipelineConfig.getBufferSizeInMB() * 1024 * 1024);
+    }
+    return writeChannel;
+  }
+
+  /**
+   * Copies an object written with {@link #openObjectWriter(String)} to the backup bucket, within GCS.
+   */
+  public void copyObjectToBackupBucket(String objectName, String accountId) throws IOException {
+    BillingDataPipelineConfig dataPipelineConfig = config.getBillingDataPipelineConfig();
+    String bucketName = dataPipelineConfig.getClusterDataGcsBucketName();
+    String backupBucketName = dataPipelineConfig.getClusterDataGcsBackupBucketName();
+    getStorage().copy(CopyRequest.of(bucketName, objectName, BlobId.of(backupBucketName, objectName))).getResult();
+    log.info("Object " + objectName + " copied from bucket " + bucketName + " to bucket " + backupBucketName
+        + " for accountId:: " + accountId);
+  }
+
+  private Storage getStorage() throws IOException {
+    Storage current = storage;
+    if (current == null) {
+      synchronized (this) {
+        current = storage;
+        if (current == null) {
+          current = createStorage();
+          storage = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  private Storage createStorage() throws IOException {
+    boolean usingWorkloadIdentity = Boolean.parseBoolean(System.getenv("USE_WORKLOAD_IDENTITY"));
+    GoogleCredentials sourceCredentials;
+
+    if (!usingWorkloadIdentity) {
+      log.info("WI: In createStorage. using older way");
+      sourceCredentials = getCredentials(GOOGLE_CREDENTIALS_PATH);
+    } else {
+      log.info("WI: In createStorage. using Google ADC");
+      sourceCredentials = GoogleCredentials.getApplicationDefault();
+    }
+    String projectId = config.getBillingDataPipelineConfig().getGcpProjectId();
+    return StorageOptions.newBuilder().setProjectId(projectId).setCredentials(sourceCredentials).build().getService();
+  }
 }
@@ -7,6 +7,7 @@
 
 package io.harness.batch.processing.tasklet;
 
+import static io.harness.data.structure.EmptyPredicate.isEmpty;
 import static io.harness.filesystem.FileIo.createDirectoryIfDoesNotExist;
 
 import io.harness.avro.ClusterBillingData;
@@ -17,6 +18,7 @@ import io.harness.batch.processing.billing.timeseries.service.impl.ClickHouseClu
 import io.harness.batch.processing.ccm.BatchJobType;
 import io.harness.batch.processing.ccm.CCMJobConstants;
 import io.harness.batch.processing.config.BatchMainConfig;
+import io.harness.batch.processing.config.BillingDataPipelineConfig;
 import io.harness.batch.processing.service.impl.GoogleCloudStorageServiceImpl;
 import io.harness.batch.processing.service.intfc.WorkloadRepository;
 import io.harness.batch.processing.tasklet.dto.HarnessTags;
@@ -39,10 +41,18 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Singleton;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -54,12 +64,20 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileStream;
 import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.io.DatumWriter;
+import org.apache.avro.specific.SpecificDatumReader;
 import org.apache.avro.specific.SpecificDatumWriter;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.batch.core.JobParameters;
@@ -153,6 +171,8 @@ public class ClusterDataToBigQueryTasklet implements Tasklet {
     if (DeployMode.isOnPrem(config.getDeployMode().name()) && config.isClickHouseEnabled()) {
       handleDataForClickHouse(batchJobType, jobConstants, batchSize, billingDataReader, zdt, clusterDataTableName,
           clusterDataAggregatedTableName);
+    } else if (isStreamClusterDataToGcs()) {
+      streamDataForBigQuery(batchJobType, jobConstants, batchSize, billingDataReader, billingDataFileName);
     } else {
       handleDataForBigQuery(batchJobType, jobConstants, batchSize, billingDataReader, billingDataFileName);
     }
@@ -183,6 +203,126 @@ public class ClusterDataToBigQueryTasklet implements Tasklet {
     Files.delete(billingDataFile.toPath());
   }
 
+  private boolean isStreamClusterDataToGcs() {
+    BillingDataPipelineConfig pipelineConfig = config.getBillingDataPipelineConfig();
+    return pipelineConfig != null && pipelineConfig.isStreamClusterDataToGcs();
+  }
+
+  /**
+   * Writes the Avro file straight to the GCS object instead of staging it on local disk. The clusters of a batch are
+   * converted and compressed by parallel writers, each into its own in memory Avro file, whose blocks are then copied
+   * into the object without being decoded again.
+   */
+  private void streamDataForBigQuery(BatchJobType batchJobType, JobConstants jobConstants, int batchSize,
+      BillingDataReader billingDataReader, String billingDataFileName) throws IOException {
+    BillingDataPipelineConfig pipelineConfig = config.getBillingDataPipelineConfig();
+    String accountId = jobConstants.getAccountId();
+    CodecFactory codec = getAvroCodec(pipelineConfig);
+    int syncInterval = getAvroSyncInterval(pipelineConfig);
+    final String gcsObjectName = String.format(gcsObjectNameFormat, accountId, billingDataFileName);
+    DetachableOutputStream objectStream =
+        new DetachableOutputStream(Channels.newOutputStream(googleCloudStorageService.openObjectWriter(gcsObjectName)));
+    DataFileWriter<ClusterBillingData> dataFileWriter = getInstanceBillingDataDataFileWriter(codec, syncInterval);
+    ExecutorService executorService = getWriterExecutorService(pipelineConfig.getClusterDataParallelWriters());
+    boolean uploaded = false;
+    try {
+      dataFileWriter.create(ClusterBillingData.getClassSchema(), objectStream);
+      List<InstanceBillingData> instanceBillingDataList;
+      long rowCount = 0;
+      do {
+        instanceBillingDataList = billingDataReader.getNext();
+        List<byte[]> clusterAvroFiles = getClusterAvroFilesForBatch(
+            accountId, batchJobType, instanceBillingDataList, codec, syncInterval, executorService);
+        for (byte[] clusterAvroFile : clusterAvroFiles) {
+          try (DataFileStream<ClusterBillingData> dataFileStream = new DataFileStream<>(
+                   new ByteArrayInputStream(clusterAvroFile), new SpecificDatumReader<>(ClusterBillingData.class))) {
+            dataFileWriter.appendAllFrom(dataFileStream, false);
+          }
+        }
+        rowCount += instanceBillingDataList.size();
+      } while (instanceBillingDataList.size() == batchSize);
+      // Closing the writer finalizes the upload, which creates the object
+      dataFileWriter.close();
+      uploaded = true;
+      log.info("Streamed {} rows to {} with codec {}", rowCount, gcsObjectName, codec);
+    } finally {
+      executorService.shutdownNow();
+      if (!uploaded) {
+        // Releases the buffers of the writer and the codec, the upload is not finalized so no partial file gets loaded
+        objectStream.detach();
+        closeDetached(dataFileWriter, gcsObjectName);
+      }
+    }
+    googleCloudStorageService.copyObjectToBackupBucket(gcsObjectName, accountId);
+  }
+
+  private static void closeDetached(DataFileWriter<ClusterBillingData> dataFileWriter, String gcsObjectName) {
+    try {
+      dataFileWriter.close();
+    } catch (IOException | RuntimeException e) {
+      log.warn("Failed to release the Avro writer of {}", gcsObjectName, e);
+    }
+  }
+
+  private List<byte[]> getClusterAvroFilesForBatch(String accountId, BatchJobType batchJobType,
+      List<InstanceBillingData> instanceBillingDataList, CodecFactory codec, int syncInterval,
+      ExecutorService executorService) throws IOException {
+    Map<String, Map<String, String>> instanceIdToLabelMapping =
+        getInstanceIdToLabelMapping(accountId, instanceBillingDataList);
+    List<Future<byte[]>> clusterAvroFiles = new ArrayList<>();
+    for (Map.Entry<AccountClusterKey, List<InstanceBillingData>> entry :
+        groupByAccountCluster(instanceBillingDataList).entrySet()) {
+      clusterAvroFiles.add(executorService.submit(() -> {
+        List<ClusterBillingData> clusterBillingDataList =
+            getClusterBillingDataForClusterGroup(entry.getKey(), entry.getValue(), instanceIdToLabelMapping);
+        return writeAvroFile(clusterBillingDataList, codec, syncInterval);
+      }));
+    }
+    List<byte[]> result = new ArrayList<>(clusterAvroFiles.size());
+    try {
+      for (Future<byte[]> clusterAvroFile : clusterAvroFiles) {
+        result.add(clusterAvroFile.get());
+      }
+    } catch (ExecutionException e) {
+      throw new IOException("Failed to write cluster data of batch for " + batchJobType, e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while writing cluster data of batch for " + batchJobType);
+    }
+    return result;
+  }
+
+  private static byte[] writeAvroFile(List<ClusterBillingData> clusterBillingDataList, CodecFactory codec,
+      int syncInterval) throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (DataFileWriter<ClusterBillingData> dataFileWriter =
+             getInstanceBillingDataDataFileWriter(codec, syncInterval)) {
+      dataFileWriter.create(ClusterBillingData.getClassSchema(), outputStream);
+      for (ClusterBillingData row : clusterBillingDataList) {
+        dataFileWriter.append(row);
+      }
+    }
+    return outputStream.toByteArray();
+  }
+
+  private static CodecFactory getAvroCodec(BillingDataPipelineConfig pipelineConfig) {
+    String codec = pipelineConfig.getClusterDataAvroCodec();
+    return isEmpty(codec) ? CodecFactory.nullCodec() : CodecFactory.fromString(codec);
+  }
+
+  private static int getAvroSyncInterval(BillingDataPipelineConfig pipelineConfig) {
+    int syncIntervalInKB = pipelineConfig.getClusterDataAvroSyncIntervalInKB();
+    return syncIntervalInKB > 0 ? syncIntervalInKB * 1024 : DataFileConstants.DEFAULT_SYNC_INTERVAL;
+  }
+
+  private static ExecutorService getWriterExecutorService(int parallelWriters) {
+    if (parallelWriters <= 1) {
+      return MoreExecutors.newDirectExecutorService();
+    }
+    return Executors.newFixedThreadPool(
+        parallelWriters, new ThreadFactoryBuilder().setNameFormat("cluster-data-writer-%d").build());
+  }
+
   private void handleDataForClickHouse(BatchJobType batchJobType, JobConstants jobConstants, int batchSize,
       BillingDataReader billingDataReader, ZonedDateTime zdt, String clusterDataTableName,
       String clusterDataAggregatedTableName) throws Exception {
@@ -243,6 +383,12 @@ public class ClusterDataToBigQueryTasklet implements Tasklet {
   @VisibleForTesting
   public List<ClusterBillingData> getClusterBillingDataForBatch(
       String accountId, BatchJobType batchJobType, List<InstanceBillingData> instanceBillingDataList) {
+    return getClusterBillingDataForBatchWorkloadUid(
+        instanceBillingDataList, getInstanceIdToLabelMapping(accountId, instanceBillingDataList));
+  }
+
+  private Map<String, Map<String, String>> getInstanceIdToLabelMapping(
+      String accountId, List<InstanceBillingData> instanceBillingDataList) {
     Map<String, Map<String, String>> instanceIdToLabelMapping = new HashMap<>();
     List<String> instanceIdList =
         instanceBillingDataList.stream()
@@ -256,36 +402,46 @@ public class ClusterDataToBigQueryTasklet implements Tasklet {
     if (!instanceIdList.isEmpty()) {
       instanceIdToLabelMapping = instanceDataService.fetchLabelsForGivenInstances(accountId, instanceIdList);
     }
-
-    return getClusterBillingDataForBatchWorkloadUid(instanceBillingDataList, instanceIdToLabelMapping);
+    return instanceIdToLabelMapping;
   }
 
   public List<ClusterBillingData> getClusterBillingDataForBatchWorkloadUid(
       List<InstanceBillingData> instanceBillingDataList, Map<String, Map<String, String>> instanceIdToLabelMapping) {
     List<ClusterBillingData> clusterBillingDataList = new ArrayList<>();
     Map<AccountClusterKey, List<InstanceBillingData>> instanceBillingDataGrouped =
-        instanceBillingDataList.stream().collect(
-            Collectors.groupingBy(AccountClusterKey::getAccountClusterKeyFromInstanceData));
+        groupByAccountCluster(instanceBillingDataList);
 
     log.info("Started Querying data {}", instanceBillingDataGrouped.size());
     for (AccountClusterKey accountClusterKey : instanceBillingDataGrouped.keySet()) {
-      List<InstanceBillingData> instances = instanceBillingDataGrouped.get(accountClusterKey);
-      Map<K8SWorkloadService.WorkloadUidCacheKey, Map<String, String>> labelMap =
-          getLabelMapForClusterGroup(instances, accountClusterKey);
-
-      for (InstanceBillingData instanceBillingData : instances) {
-        Map<String, String> labels = labelMap.get(new K8SWorkloadService.WorkloadUidCacheKey(
-            instanceBillingData.getAccountId(), instanceBillingData.getClusterId(), instanceBillingData.getTaskId()));
-        ClusterBillingData clusterBillingData = convertInstanceBillingDataToAVROObjects(
-            instanceBillingData, labels, instanceIdToLabelMapping.get(instanceBillingData.getInstanceId()));
-        clusterBillingDataList.add(clusterBillingData);
-      }
+      clusterBillingDataList.addAll(getClusterBillingDataForClusterGroup(
+          accountClusterKey, instanceBillingDataGrouped.get(accountClusterKey), instanceIdToLabelMapping));
     }
     log.info("Finished Querying data");
 
     return clusterBillingDataList;
   }
 
+  private static Map<AccountClusterKey, List<InstanceBillingData>> groupByAccountCluster(
+      List<InstanceBillingData> instanceBillingDataList) {
+    return instanceBillingDataList.stream().collect(
+        Collectors.groupingBy(AccountClusterKey::getAccountClusterKeyFromInstanceData));
+  }
+
+  private List<ClusterBillingData> getClusterBillingDataForClusterGroup(AccountClusterKey accountClusterKey,
+      List<InstanceBillingData> instances, Map<String, Map<String, String>> instanceIdToLabelMapping) {
+    Map<K8SWorkloadService.WorkloadUidCacheKey, Map<String, String>> labelMap =
+        getLabelMapForClusterGroup(instances, accountClusterKey);
+    List<ClusterBillingData> clusterBillingDataList = new ArrayList<>(instances.size());
+    for (InstanceBillingData instanceBillingData : instances) {
+      Map<String, String> labels = labelMap.get(new K8SWorkloadService.WorkloadUidCacheKey(
+          instanceBillingData.getAccountId(), instanceBillingData.getClusterId(), instanceBillingData.getTaskId()));
+      ClusterBillingData clusterBillingData = convertInstanceBillingDataToAVROObjects(
+          instanceBillingData, labels, instanceIdToLabelMapping.get(instanceBillingData.getInstanceId()));
+      clusterBillingDataList.add(clusterBillingData);
+    }
+    return clusterBillingDataList;
+  }
+
   @VisibleForTesting
   public Map<K8SWorkloadService.WorkloadUidCacheKey, Map<String, String>> getLabelMapForClusterGroup(
       List<InstanceBillingData> instanceBillingDataList, AccountClusterKey accountClusterKey) {
@@ -471,10 +627,59 @@ public class ClusterDataToBigQueryTasklet implements Tasklet {
     return new DataFileWriter<>(userDatumWriter);
   }
 
+  private static DataFileWriter<ClusterBillingData> getInstanceBillingDataDataFileWriter(
+      CodecFactory codec, int syncInterval) {
+    return getInstanceBillingDataDataFileWriter().setCodec(codec).setSyncInterval(syncInterval);
+  }
+
   private static double getDoubleValueFromBigDecimal(BigDecimal value) {
     if (value != null) {
       return value.doubleValue();
     }
     return 0D;
   }
+
+  /**
+   * Stream of the object upload which can be detached from it, writes and the close of a detached stream are dropped,
+   * so closing the Avro writer after a failure does not finalize the upload.
+   */
+  private static class DetachableOutputStream extends FilterOutputStream {
+    private boolean detached;
+
+    DetachableOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    void detach() {
+      detached = true;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (!detached) {
+        out.write(b);
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (!detached) {
+        out.write(b, off, len);
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (!detached) {
+        out.flush();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!detached) {
+        out.close();
+      }
+    }
+  }
 }
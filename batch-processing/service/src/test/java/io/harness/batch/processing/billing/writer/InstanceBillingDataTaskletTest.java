@@ -10,13 +10,17 @@ package io.harness.batch.processing.billing.writer;
 import static io.harness.batch.processing.tasklet.util.InstanceMetaDataUtils.getValueForKeyFromInstanceMetaData;
 import static io.harness.batch.processing.writer.constants.K8sCCMConstants.AWS_FARGATE_COMPUTE_TYPE;
 import static io.harness.batch.processing.writer.constants.K8sCCMConstants.VIRTUAL_KUBELET;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.HITESH;
 import static io.harness.rule.OwnerRule.ROHIT;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,18 +37,24 @@ import io.harness.batch.processing.billing.timeseries.service.impl.UtilizationDa
 import io.harness.batch.processing.billing.writer.support.BillingDataGenerationValidator;
 import io.harness.batch.processing.ccm.BatchJobType;
 import io.harness.batch.processing.ccm.CCMJobConstants;
+import io.harness.batch.processing.cloudevents.aws.ecs.service.CEClusterDao;
 import io.harness.batch.processing.config.BatchMainConfig;
+import io.harness.batch.processing.config.InstanceBillingPartitionConfig;
+import io.harness.batch.processing.dao.intfc.CompletedBillingPartitionDao;
 import io.harness.batch.processing.dao.intfc.InstanceDataDao;
 import io.harness.batch.processing.pricing.PricingSource;
 import io.harness.batch.processing.service.intfc.CustomBillingMetaDataService;
 import io.harness.batch.processing.service.intfc.InstanceDataService;
+import io.harness.beans.FeatureName;
 import io.harness.category.element.UnitTests;
 import io.harness.ccm.commons.beans.HarnessServiceInfo;
 import io.harness.ccm.commons.beans.InstanceType;
 import io.harness.ccm.commons.beans.Resource;
 import io.harness.ccm.commons.constants.CloudProvider;
 import io.harness.ccm.commons.constants.InstanceMetaDataConstants;
+import io.harness.ccm.commons.entities.batch.CompletedBillingPartition;
 import io.harness.ccm.commons.entities.batch.InstanceData;
+import io.harness.ccm.commons.entities.billing.CECluster;
 import io.harness.ccm.commons.service.intf.ClusterRecordService;
 import io.harness.ff.FeatureFlagService;
 import io.harness.rule.Owner;
@@ -53,14 +63,18 @@ import software.wings.security.authentication.BatchQueryConfig;
 import software.wings.service.intfc.instance.CloudToHarnessMappingService;
 
 import com.amazonaws.services.ecs.model.LaunchType;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -123,6 +137,8 @@ public class InstanceBillingDataTaskletTest extends CategoryTest {
   @Mock private CloudToHarnessMappingService cloudToHarnessMappingService;
 
   @Mock private FeatureFlagService featureFlagService;
+  @Mock private CEClusterDao ceClusterDao;
+  @Mock private CompletedBillingPartitionDao completedBillingPartitionDao;
 
   @Captor private ArgumentCaptor<List<InstanceBillingData>> instanceBillingDataArgumentCaptor;
 
@@ -343,6 +359,57 @@ public class InstanceBillingDataTaskletTest extends CategoryTest {
     assertThat(repeatStatus).isNull();
   }
 
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testExecutePartitionedSkipsCompletedClusters() {
+    ChunkContext chunkContext = mock(ChunkContext.class);
+    StepContext stepContext = mock(StepContext.class);
+    StepExecution stepExecution = mock(StepExecution.class);
+    JobParameters parameters = mock(JobParameters.class);
+
+    when(chunkContext.getStepContext()).thenReturn(stepContext);
+    when(stepContext.getStepExecution()).thenReturn(stepExecution);
+    when(stepExecution.getJobParameters()).thenReturn(parameters);
+
+    when(parameters.getString(CCMJobConstants.JOB_START_DATE)).thenReturn(String.valueOf(START_TIME_MILLIS));
+    when(parameters.getString(CCMJobConstants.ACCOUNT_ID)).thenReturn(ACCOUNT_ID);
+    when(parameters.getString(CCMJobConstants.JOB_END_DATE)).thenReturn(String.valueOf(END_TIME_MILLIS));
+    when(parameters.getString(CCMJobConstants.BATCH_JOB_TYPE)).thenReturn(BatchJobType.INSTANCE_BILLING.name());
+
+    List<String> clusterIds = ImmutableList.of("cluster_0", "cluster_1", "cluster_2", "cluster_3");
+    when(config.getInstanceBillingPartitionConfig())
+        .thenReturn(InstanceBillingPartitionConfig.builder().enabled(true).gridSize(2).build());
+    when(featureFlagService.isEnabled(FeatureName.CCM_INSTANCE_DATA_CLUSTERID_FILTER, ACCOUNT_ID)).thenReturn(true);
+    when(cloudToHarnessMappingService.listCeEnabledClusters(ACCOUNT_ID)).thenReturn(Collections.emptyList());
+    when(eventsClusterRecordService.getByAccountId(ACCOUNT_ID)).thenReturn(Collections.emptyList());
+    when(ceClusterDao.getCECluster(ACCOUNT_ID))
+        .thenReturn(clusterIds.stream().map(this::getCECluster).collect(Collectors.toList()));
+    when(billingDataGenerationValidator.shouldGenerateBillingData(eq(ACCOUNT_ID), any(), any())).thenReturn(true);
+    when(completedBillingPartitionDao.fetchCompletedClusterIds(
+             ACCOUNT_ID, BatchJobType.INSTANCE_BILLING, Instant.ofEpochMilli(START_TIME_MILLIS)))
+        .thenReturn(ImmutableSet.of("cluster_0"));
+    when(instanceDataDao.getInstanceDataListsOfTypesAndClusterId(any(), anyInt(), any(), any(), any(), any()))
+        .thenReturn(Collections.emptyList());
+
+    RepeatStatus repeatStatus = instanceBillingDataTasklet.execute(null, chunkContext);
+
+    assertThat(repeatStatus).isNull();
+    ArgumentCaptor<CompletedBillingPartition> completedBillingPartitionArgumentCaptor =
+        ArgumentCaptor.forClass(CompletedBillingPartition.class);
+    verify(completedBillingPartitionDao, times(3)).create(completedBillingPartitionArgumentCaptor.capture());
+    assertThat(completedBillingPartitionArgumentCaptor.getAllValues())
+        .extracting(CompletedBillingPartition::getClusterId)
+        .containsExactlyInAnyOrder("cluster_1", "cluster_2", "cluster_3");
+    // PVs and PVC claims are still read for the completed cluster, its instances are not billed again
+    List<InstanceType> billedInstanceTypes = ImmutableList.of(InstanceType.ECS_TASK_FARGATE, InstanceType.ECS_TASK_EC2,
+        InstanceType.ECS_CONTAINER_INSTANCE, InstanceType.K8S_POD, InstanceType.K8S_POD_FARGATE, InstanceType.K8S_NODE,
+        InstanceType.K8S_PVC);
+    verify(instanceDataDao, never())
+        .getInstanceDataListsOfTypesAndClusterId(
+            any(), anyInt(), any(), any(), eq(billedInstanceTypes), eq("cluster_0"));
+  }
+
   @Test
   @Owner(developers = HITESH)
   @Category(UnitTests.class)
@@ -411,6 +478,12 @@ public class InstanceBillingDataTaskletTest extends CategoryTest {
     assertThat(instanceBillingData.getAvgMemoryUtilization()).isEqualTo(MEMORY_UTILIZATION);
   }
 
+  private CECluster getCECluster(String clusterId) {
+    CECluster ceCluster = CECluster.builder().accountId(ACCOUNT_ID).clusterName(clusterId).build();
+    ceCluster.setUuid(clusterId);
+    return ceCluster;
+  }
+
   private HarnessServiceInfo getHarnessServiceInfo() {
     return new HarnessServiceInfo(
         SERVICE_ID, APP_ID, CLOUD_PROVIDER_ID, ENV_ID, INFRA_MAPPING_ID, DEPLOYMENT_SUMMARY_ID);
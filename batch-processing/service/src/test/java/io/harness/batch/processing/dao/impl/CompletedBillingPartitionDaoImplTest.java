@@ -0,0 +1,85 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.batch.processing.dao.impl;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.batch.processing.BatchProcessingTestBase;
+import io.harness.batch.processing.ccm.BatchJobType;
+import io.harness.category.element.UnitTests;
+import io.harness.ccm.commons.entities.batch.CompletedBillingPartition;
+import io.harness.rule.Owner;
+
+import com.google.common.collect.ImmutableList;
+import com.google.inject.Inject;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class CompletedBillingPartitionDaoImplTest extends BatchProcessingTestBase {
+  @Inject private CompletedBillingPartitionDaoImpl completedBillingPartitionDao;
+
+  private final String ACCOUNT_ID = "ACCOUNT_ID_" + this.getClass().getSimpleName();
+  private final Instant START_INSTANT = Instant.now().truncatedTo(ChronoUnit.DAYS);
+  private final Instant PREV_START_INSTANT = START_INSTANT.minus(1, ChronoUnit.DAYS);
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testRerunAfterCleanBillsClustersAgain() {
+    assertThat(completedBillingPartitionDao.create(completedPartition(PREV_START_INSTANT, "cluster_0"))).isTrue();
+    assertThat(completedBillingPartitionDao.create(completedPartition(START_INSTANT, "cluster_0"))).isTrue();
+    assertThat(completedBillingPartitionDao.create(completedPartition(START_INSTANT, "cluster_1"))).isTrue();
+    assertThat(completedBillingPartitionDao.fetchCompletedClusterIds(
+                   ACCOUNT_ID, BatchJobType.INSTANCE_BILLING, START_INSTANT))
+        .containsExactlyInAnyOrder("cluster_0", "cluster_1");
+
+    // the rerun job invalidates and cleans the billing data of the intervals starting at START_INSTANT
+    completedBillingPartitionDao.deleteCompletedPartitions(
+        ACCOUNT_ID, ImmutableList.of(BatchJobType.INSTANCE_BILLING.name()), START_INSTANT);
+
+    assertThat(completedBillingPartitionDao.fetchCompletedClusterIds(
+                   ACCOUNT_ID, BatchJobType.INSTANCE_BILLING, START_INSTANT))
+        .isEmpty();
+    assertThat(completedBillingPartitionDao.fetchCompletedClusterIds(
+                   ACCOUNT_ID, BatchJobType.INSTANCE_BILLING, PREV_START_INSTANT))
+        .containsExactly("cluster_0");
+
+    // the rerun bills the cluster again and records it as completed
+    assertThat(completedBillingPartitionDao.create(completedPartition(START_INSTANT, "cluster_0"))).isTrue();
+    assertThat(completedBillingPartitionDao.fetchCompletedClusterIds(
+                   ACCOUNT_ID, BatchJobType.INSTANCE_BILLING, START_INSTANT))
+        .containsExactly("cluster_0");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testDeleteOnlyMatchesInvalidatedJobTypes() {
+    completedBillingPartitionDao.create(completedPartition(START_INSTANT, "cluster_0"));
+
+    completedBillingPartitionDao.deleteCompletedPartitions(
+        null, ImmutableList.of(BatchJobType.INSTANCE_BILLING_HOURLY.name()), null);
+
+    assertThat(completedBillingPartitionDao.fetchCompletedClusterIds(
+                   ACCOUNT_ID, BatchJobType.INSTANCE_BILLING, START_INSTANT))
+        .containsExactly("cluster_0");
+  }
+
+  private CompletedBillingPartition completedPartition(Instant startInstant, String clusterId) {
+    return CompletedBillingPartition.builder()
+        .accountId(ACCOUNT_ID)
+        .batchJobType(BatchJobType.INSTANCE_BILLING.name())
+        .startTime(startInstant.toEpochMilli())
+        .clusterId(clusterId)
+        .build();
+  }
+}
@@ -8,13 +8,20 @@
 package io.harness.batch.processing.tasklet;
 
 import static io.harness.beans.FeatureName.CCM_WORKLOAD_LABELS_OPTIMISATION;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.HITESH;
 import static io.harness.rule.OwnerRule.ROHIT;
 import static io.harness.rule.OwnerRule.TRUNAPUSHPA;
 
 import static junit.framework.TestCase.assertEquals;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -26,6 +33,7 @@ import io.harness.batch.processing.billing.timeseries.service.impl.BillingDataSe
 import io.harness.batch.processing.ccm.BatchJobType;
 import io.harness.batch.processing.ccm.CCMJobConstants;
 import io.harness.batch.processing.config.BatchMainConfig;
+import io.harness.batch.processing.config.BillingDataPipelineConfig;
 import io.harness.batch.processing.service.impl.GoogleCloudStorageServiceImpl;
 import io.harness.batch.processing.service.intfc.WorkloadRepository;
 import io.harness.batch.processing.tasklet.support.K8SWorkloadService;
@@ -40,7 +48,15 @@ import io.harness.testsupport.BaseTaskletTest;
 import software.wings.security.authentication.BatchQueryConfig;
 
 import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -48,8 +64,14 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.specific.SpecificDatumReader;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -63,6 +85,7 @@ import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.scope.context.StepContext;
 import org.springframework.batch.repeat.RepeatStatus;
 
+@Slf4j
 @RunWith(MockitoJUnitRunner.class)
 public class ClusterDataToBigQueryTaskletTest extends BaseTaskletTest {
   public static final String BILLING_DATA = "billing_data";
@@ -174,6 +197,125 @@ public class ClusterDataToBigQueryTaskletTest extends BaseTaskletTest {
     assertEquals(labels.size(), 2);
   }
 
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testStreamedAvroFileAgainstLocalAvroFile() throws Exception {
+    when(chunkContext.getStepContext()).thenReturn(stepContext);
+    when(stepContext.getStepExecution()).thenReturn(stepExecution);
+    when(stepExecution.getJobParameters()).thenReturn(parameters);
+    when(parameters.getString(CCMJobConstants.BATCH_JOB_TYPE))
+        .thenReturn(BatchJobType.CLUSTER_DATA_TO_BIG_QUERY.name());
+    when(parameters.getString(CCMJobConstants.ACCOUNT_ID)).thenReturn(ACCOUNT_ID);
+    when(parameters.getString(CCMJobConstants.JOB_START_DATE)).thenReturn(String.valueOf(START_INSTANT.toEpochMilli()));
+    when(parameters.getString(CCMJobConstants.JOB_END_DATE)).thenReturn(String.valueOf(END_INSTANT.toEpochMilli()));
+    Random random = new Random(7);
+    List<InstanceBillingData> instances = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      instances.add(
+          createBillingData("pod-" + i, "cluster-" + (i % 40), BigDecimal.valueOf(random.nextInt(100000), 4)));
+    }
+    when(billingDataService.read(eq(ACCOUNT_ID), any(), any(), eq(BATCH_SIZE), anyInt(),
+             eq(BatchJobType.CLUSTER_DATA_TO_BIG_QUERY)))
+        .thenAnswer(invocation -> {
+          int offset = invocation.getArgument(4);
+          return instances.subList(
+              Math.min(offset, instances.size()), Math.min(offset + BATCH_SIZE, instances.size()));
+        });
+
+    AtomicLong localFileSize = new AtomicLong();
+    doAnswer(invocation -> {
+      localFileSize.set(Files.size(Paths.get((String) invocation.getArgument(1))));
+      return null;
+    })
+        .when(googleCloudStorageService)
+        .uploadObject(anyString(), anyString(), eq(ACCOUNT_ID));
+    long localStart = System.nanoTime();
+    clusterDataToBigQueryTasklet.execute(null, chunkContext);
+    long localMillis = (System.nanoTime() - localStart) / 1000000;
+
+    ByteArrayOutputStream streamedFile = new ByteArrayOutputStream();
+    when(config.getBillingDataPipelineConfig())
+        .thenReturn(BillingDataPipelineConfig.builder()
+                        .streamClusterDataToGcs(true)
+                        .clusterDataAvroCodec("zstandard")
+                        .clusterDataAvroSyncIntervalInKB(1024)
+                        .clusterDataParallelWriters(4)
+                        .build());
+    when(googleCloudStorageService.openObjectWriter(anyString())).thenReturn(Channels.newChannel(streamedFile));
+    long streamedStart = System.nanoTime();
+    clusterDataToBigQueryTasklet.execute(null, chunkContext);
+    long streamedMillis = (System.nanoTime() - streamedStart) / 1000000;
+
+    log.info("{} rows: local avro file {} bytes in {} ms, streamed zstandard avro file {} bytes in {} ms",
+        instances.size(), localFileSize.get(), localMillis, streamedFile.size(), streamedMillis);
+    verify(googleCloudStorageService).copyObjectToBackupBucket(anyString(), eq(ACCOUNT_ID));
+    try (DataFileStream<ClusterBillingData> dataFileStream =
+             new DataFileStream<>(new ByteArrayInputStream(streamedFile.toByteArray()),
+                 new SpecificDatumReader<>(ClusterBillingData.class))) {
+      assertThat(dataFileStream.getMetaString("avro.codec")).isEqualTo("zstandard");
+      Set<String> taskIds = new HashSet<>();
+      dataFileStream.forEach(clusterBillingData -> taskIds.add(clusterBillingData.getTaskid().toString()));
+      assertThat(taskIds).hasSize(instances.size());
+    }
+    assertThat((long) streamedFile.size()).isLessThan(localFileSize.get());
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testFailedStreamDoesNotFinalizeUpload() throws Exception {
+    when(chunkContext.getStepContext()).thenReturn(stepContext);
+    when(stepContext.getStepExecution()).thenReturn(stepExecution);
+    when(stepExecution.getJobParameters()).thenReturn(parameters);
+    when(parameters.getString(CCMJobConstants.BATCH_JOB_TYPE))
+        .thenReturn(BatchJobType.CLUSTER_DATA_TO_BIG_QUERY.name());
+    when(parameters.getString(CCMJobConstants.ACCOUNT_ID)).thenReturn(ACCOUNT_ID);
+    when(parameters.getString(CCMJobConstants.JOB_START_DATE)).thenReturn(String.valueOf(START_INSTANT.toEpochMilli()));
+    when(parameters.getString(CCMJobConstants.JOB_END_DATE)).thenReturn(String.valueOf(END_INSTANT.toEpochMilli()));
+    List<InstanceBillingData> batch = new ArrayList<>();
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      batch.add(createBillingData("pod-" + i));
+    }
+    when(billingDataService.read(eq(ACCOUNT_ID), any(), any(), eq(BATCH_SIZE), anyInt(),
+             eq(BatchJobType.CLUSTER_DATA_TO_BIG_QUERY)))
+        .thenReturn(batch)
+        .thenThrow(new IllegalStateException("timescale unavailable"));
+    when(config.getBillingDataPipelineConfig())
+        .thenReturn(BillingDataPipelineConfig.builder()
+                        .streamClusterDataToGcs(true)
+                        .clusterDataAvroCodec("deflate")
+                        .clusterDataParallelWriters(2)
+                        .build());
+    AtomicBoolean closed = new AtomicBoolean();
+    WritableByteChannel objectWriter = new WritableByteChannel() {
+      private final WritableByteChannel channel = Channels.newChannel(new ByteArrayOutputStream());
+
+      @Override
+      public int write(ByteBuffer src) throws IOException {
+        return channel.write(src);
+      }
+
+      @Override
+      public boolean isOpen() {
+        return !closed.get();
+      }
+
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+    when(googleCloudStorageService.openObjectWriter(anyString())).thenReturn(objectWriter);
+
+    assertThatThrownBy(() -> clusterDataToBigQueryTasklet.execute(null, chunkContext))
+        .hasMessage("timescale unavailable");
+
+    // Closing the channel would finalize the upload and create a partial object
+    assertThat(closed.get()).isFalse();
+    verify(googleCloudStorageService, never()).copyObjectToBackupBucket(anyString(), anyString());
+  }
+
   private void mockGetWorkload() {
     K8sWorkload workload = K8sWorkload.builder()
                                .accountId(ACCOUNT_ID)
@@ -190,15 +332,19 @@ public class ClusterDataToBigQueryTaskletTest extends BaseTaskletTest {
   }
 
   private InstanceBillingData createBillingData(@NotNull String name) {
+    return createBillingData(name, CLUSTER_ID, BigDecimal.ZERO);
+  }
+
+  private InstanceBillingData createBillingData(@NotNull String name, String clusterId, BigDecimal billingAmount) {
     return InstanceBillingData.builder()
         .startTimestamp(START_TIME_MILLIS)
         .endTimestamp(END_TIME_MILLIS)
         .accountId(ACCOUNT_ID)
         .instanceId(INSTANCE_ID)
         .taskId(name)
-        .clusterId(CLUSTER_ID)
+        .clusterId(clusterId)
         .instanceType(InstanceType.K8S_POD.name())
-        .billingAmount(BigDecimal.ZERO)
+        .billingAmount(billingAmount)
         .cpuBillingAmount(BigDecimal.ZERO)
         .memoryBillingAmount(BigDecimal.ZERO)
         .idleCost(BigDecimal.ZERO)
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.beans;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.internal.EdgeListInternal;
+import io.harness.pms.contracts.execution.Status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Changes applied to an {@link OrchestrationGraph} by a single graph update. Vertices and edge lists are replaced
+ * wholesale, ids in removedIds are dropped from both maps.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+@Value
+@Builder
+public class OrchestrationGraphDelta {
+  long lastUpdatedAt;
+  Long endTs;
+  Status status;
+  List<String> rootNodeIds;
+
+  Map<String, GraphVertex> graphVertexMap;
+  Map<String, EdgeListInternal> adjacencyMap;
+  Set<String> removedIds;
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.beans;
+
+import static java.time.Duration.ofDays;
+
+import io.harness.annotations.StoreIn;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.mongo.index.CompoundMongoIndex;
+import io.harness.mongo.index.FdTtlIndex;
+import io.harness.mongo.index.MongoIndex;
+import io.harness.ng.DbAliases;
+import io.harness.persistence.PersistentEntity;
+import io.harness.persistence.UuidAware;
+
+import com.google.common.collect.ImmutableList;
+import dev.morphia.annotations.Entity;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.List;
+import lombok.Builder;
+import lombok.Setter;
+import lombok.Value;
+import lombok.experimental.FieldNameConstants;
+import lombok.experimental.NonFinal;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.TypeAlias;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Append only log of {@link OrchestrationGraphDelta}s written on top of the cached {@link OrchestrationGraph}. Entries
+ * are folded over the cached graph on read and removed once the graph is compacted.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+@Value
+@Builder
+@FieldNameConstants(innerTypeName = "OrchestrationGraphDeltaEntityKeys")
+@StoreIn(DbAliases.PMS)
+@Entity(value = "orchestrationGraphDeltas", noClassnameStored = true)
+@Document("orchestrationGraphDeltas")
+@TypeAlias("orchestrationGraphDelta")
+public class OrchestrationGraphDeltaEntity implements PersistentEntity, UuidAware {
+  // Same retention as the cached graph the deltas are applied to
+  public static final Duration TTL = ofDays(183);
+
+  @Setter @NonFinal @Id @dev.morphia.annotations.Id String uuid;
+  String planExecutionId;
+  long lastUpdatedAt;
+  byte[] delta;
+
+  @Builder.Default @FdTtlIndex Date validUntil = Date.from(OffsetDateTime.now().plus(TTL).toInstant());
+
+  public static List<MongoIndex> mongoIndexes() {
+    return ImmutableList.<MongoIndex>builder()
+        .add(CompoundMongoIndex.builder()
+                 .name("planExecutionId_lastUpdatedAt")
+                 .field(OrchestrationGraphDeltaEntityKeys.planExecutionId)
+                 .field(OrchestrationGraphDeltaEntityKeys.lastUpdatedAt)
+                 .build())
+        .build();
+  }
+}
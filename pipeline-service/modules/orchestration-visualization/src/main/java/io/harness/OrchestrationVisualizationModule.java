@@ -42,6 +42,7 @@ public class OrchestrationVisualizationModule extends AbstractModule {
   private final ThreadPoolConfig visualizationThreadPoolConfig;
   private final MetricRegistry threadPoolMetricRegistry;
   private final Integer graphConsumerSleepMs;
+  private final int graphDeltaCompactionThreshold;
 
   public static OrchestrationVisualizationModule getInstance(EventsFrameworkConfiguration eventsFrameworkConfiguration,
       ThreadPoolConfig visualizationThreadPoolConfig, Integer graphConsumerSleepMs) {
@@ -62,21 +63,36 @@ public class OrchestrationVisualizationModule extends AbstractModule {
     return instance;
   }
 
+  public static OrchestrationVisualizationModule getInstance(EventsFrameworkConfiguration eventsFrameworkConfiguration,
+      ThreadPoolConfig visualizationThreadPoolConfig, Integer graphConsumerSleepMs,
+      MetricRegistry threadPoolMetricRegistry, Integer graphDeltaCompactionThreshold) {
+    if (instance == null) {
+      instance = new OrchestrationVisualizationModule(eventsFrameworkConfiguration, visualizationThreadPoolConfig,
+          graphConsumerSleepMs, threadPoolMetricRegistry, graphDeltaCompactionThreshold);
+    }
+    return instance;
+  }
+
   OrchestrationVisualizationModule(EventsFrameworkConfiguration eventsFrameworkConfiguration,
       ThreadPoolConfig visualizationThreadPoolConfig, Integer graphConsumerSleepMs) {
-    this.eventsFrameworkConfiguration = eventsFrameworkConfiguration;
-    this.visualizationThreadPoolConfig = visualizationThreadPoolConfig;
-    this.graphConsumerSleepMs = graphConsumerSleepMs == null ? 0 : graphConsumerSleepMs;
-    this.threadPoolMetricRegistry = new MetricRegistry();
+    this(eventsFrameworkConfiguration, visualizationThreadPoolConfig, graphConsumerSleepMs, new MetricRegistry());
   }
 
   OrchestrationVisualizationModule(EventsFrameworkConfiguration eventsFrameworkConfiguration,
       ThreadPoolConfig visualizationThreadPoolConfig, Integer graphConsumerSleepMs,
       MetricRegistry threadPoolMetricRegistry) {
+    this(eventsFrameworkConfiguration, visualizationThreadPoolConfig, graphConsumerSleepMs, threadPoolMetricRegistry,
+        null);
+  }
+
+  OrchestrationVisualizationModule(EventsFrameworkConfiguration eventsFrameworkConfiguration,
+      ThreadPoolConfig visualizationThreadPoolConfig, Integer graphConsumerSleepMs,
+      MetricRegistry threadPoolMetricRegistry, Integer graphDeltaCompactionThreshold) {
     this.eventsFrameworkConfiguration = eventsFrameworkConfiguration;
     this.visualizationThreadPoolConfig = visualizationThreadPoolConfig;
     this.graphConsumerSleepMs = graphConsumerSleepMs == null ? 0 : graphConsumerSleepMs;
     this.threadPoolMetricRegistry = threadPoolMetricRegistry;
+    this.graphDeltaCompactionThreshold = graphDeltaCompactionThreshold == null ? 0 : graphDeltaCompactionThreshold;
   }
 
   @Override
@@ -113,4 +129,11 @@ public class OrchestrationVisualizationModule extends AbstractModule {
   public int graphConsumerSleepMs() {
     return graphConsumerSleepMs;
   }
+
+  @Provides
+  @Singleton
+  @Named("GraphDeltaCompactionThreshold")
+  public int graphDeltaCompactionThreshold() {
+    return graphDeltaCompactionThreshold;
+  }
 }
@@ -18,6 +18,8 @@ import io.harness.beans.EphemeralOrchestrationGraph;
 import io.harness.beans.GraphVertex;
 import io.harness.beans.OrchestrationEventLog;
 import io.harness.beans.OrchestrationGraph;
+import io.harness.beans.OrchestrationGraphDelta;
+import io.harness.beans.OrchestrationGraphDeltaEntity;
 import io.harness.beans.converter.EphemeralOrchestrationGraphConverter;
 import io.harness.beans.internal.OrchestrationAdjacencyListInternal;
 import io.harness.cache.SpringCacheEntity;
@@ -46,15 +48,19 @@ import io.harness.pms.execution.utils.StatusUtils;
 import io.harness.pms.plan.execution.beans.PipelineExecutionSummaryEntity;
 import io.harness.pms.plan.execution.beans.PipelineExecutionSummaryEntity.PlanExecutionSummaryKeys;
 import io.harness.pms.plan.execution.service.PmsExecutionSummaryService;
+import io.harness.repositories.graph.OrchestrationGraphDeltaRepository;
 import io.harness.repositories.orchestrationEventLog.OrchestrationEventLogRepository;
+import io.harness.serializer.KryoSerializer;
 import io.harness.service.GraphGenerationService;
 import io.harness.skip.service.VertexSkipperService;
 import io.harness.utils.PmsFeatureFlagService;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -64,6 +70,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.util.CloseableIterator;
@@ -78,6 +85,10 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
   private static final String GRAPH_LOCK = "GRAPH_LOCK_";
   private static final int MAX_EXPECTED_GRAPH_UPDATE_TIME = 1000;
 
+  static final String GRAPH_DELTA_BYTES_WRITTEN = "graph_delta_bytes_written";
+  static final String GRAPH_COMPACTION_BYTES_WRITTEN = "graph_compaction_bytes_written";
+  static final String GRAPH_FULL_WRITE_EQUIVALENT_BYTES = "graph_full_write_equivalent_bytes";
+
   @Inject private PlanExecutionService planExecutionService;
   @Inject private NodeExecutionService nodeExecutionService;
   @Inject private SpringMongoStore mongoStore;
@@ -92,6 +103,11 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
   @Inject private OrchestrationLogPublisher orchestrationLogPublisher;
   @Inject private PmsFeatureFlagService pmsFeatureFlagService;
   @Inject private PlanExecutionModuleInfoUpdateEventHandler planExecutionModuleInfoUpdateEventHandler;
+  @Inject private OrchestrationGraphDeltaRepository orchestrationGraphDeltaRepository;
+  @Inject @Named("referenceFalseKryoSerializer") private KryoSerializer referenceFalseKryoSerializer;
+  @Inject private MetricRegistry metricRegistry;
+  // Number of graph deltas after which the cached graph is rewritten in full, delta mode is off when not positive
+  @Inject @Named("GraphDeltaCompactionThreshold") private int graphDeltaCompactionThreshold;
 
   @Override
   public boolean updateGraph(String planExecutionId) {
@@ -137,12 +153,13 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
   // This must always be called after acquiring the lock
   @VisibleForTesting
   boolean updateGraphUnderLock(String planExecutionId) {
-    OrchestrationGraph orchestrationGraph = getCachedOrchestrationGraph(planExecutionId);
-    if (orchestrationGraph == null) {
+    CachedOrchestrationGraph cachedGraph = applyGraphDeltas(planExecutionId,
+        mongoStore.get(OrchestrationGraph.ALGORITHM_ID, OrchestrationGraph.STRUCTURE_HASH, planExecutionId, null));
+    if (cachedGraph == null) {
       log.warn("[PMS_GRAPH] Graph not yet generated. Passing on to next iteration");
       return true;
     }
-    return updateGraphUnderLock(orchestrationGraph);
+    return updateGraphUnderLock(cachedGraph);
   }
 
   // This must always be called after acquiring the lock
@@ -151,6 +168,11 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
     if (orchestrationGraph == null) {
       return false;
     }
+    return updateGraphUnderLock(new CachedOrchestrationGraph(orchestrationGraph, 0, 0));
+  }
+
+  private boolean updateGraphUnderLock(CachedOrchestrationGraph cachedGraph) {
+    OrchestrationGraph orchestrationGraph = cachedGraph.getOrchestrationGraph();
     boolean shouldAck = true;
     String planExecutionId = orchestrationGraph.getPlanExecutionId();
     long startTs = System.currentTimeMillis();
@@ -167,6 +189,8 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
       // Re-emit if there are too many logs
       shouldAck = false;
     }
+    OrchestrationGraphDeltaTracker deltaTracker =
+        isGraphDeltaModeEnabled() ? OrchestrationGraphDeltaTracker.track(orchestrationGraph) : null;
     boolean updateRequired = false;
     Update executionSummaryUpdate = new Update();
     Set<String> nodeExecutionIds = new HashSet<>();
@@ -190,11 +214,13 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
           updateRequired = true;
           break;
         case STEP_DETAILS_UPDATE:
+          touchVertex(deltaTracker, nodeExecutionId);
           orchestrationGraph = stepDetailsUpdateEventHandler.handleEvent(
               planExecutionId, nodeExecutionId, orchestrationGraph, executionSummaryUpdate);
           updateRequired = true;
           break;
         case STEP_INPUTS_UPDATE:
+          touchVertex(deltaTracker, nodeExecutionId);
           orchestrationGraph =
               stepDetailsUpdateEventHandler.handleStepInputEvent(planExecutionId, nodeExecutionId, orchestrationGraph);
           updateRequired = true;
@@ -223,7 +249,11 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
       }
     }
 
-    cachePartialOrchestrationGraph(orchestrationGraph.withLastUpdatedAt(lastUpdatedAt), lastUpdatedAt);
+    if (deltaTracker == null) {
+      cachePartialOrchestrationGraph(orchestrationGraph.withLastUpdatedAt(lastUpdatedAt), lastUpdatedAt);
+    } else {
+      persistGraphDelta(cachedGraph, orchestrationGraph.withLastUpdatedAt(lastUpdatedAt), deltaTracker);
+    }
     if (updateRequired) {
       executionSummaryUpdate.set(PlanExecutionSummaryKeys.lastUpdatedAt, lastUpdatedAt);
       pmsExecutionSummaryService.update(planExecutionId, executionSummaryUpdate);
@@ -238,13 +268,17 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
 
   @Override
   public OrchestrationGraph getCachedOrchestrationGraph(String planExecutionId) {
-    return mongoStore.get(OrchestrationGraph.ALGORITHM_ID, OrchestrationGraph.STRUCTURE_HASH, planExecutionId, null);
+    CachedOrchestrationGraph cachedGraph = applyGraphDeltas(planExecutionId,
+        mongoStore.get(OrchestrationGraph.ALGORITHM_ID, OrchestrationGraph.STRUCTURE_HASH, planExecutionId, null));
+    return cachedGraph == null ? null : cachedGraph.getOrchestrationGraph();
   }
 
   @Override
   public OrchestrationGraph getCachedOrchestrationGraphFromSecondary(String planExecutionId) {
-    return mongoStore.getFromSecondary(
-        OrchestrationGraph.ALGORITHM_ID, OrchestrationGraph.STRUCTURE_HASH, planExecutionId, null);
+    CachedOrchestrationGraph cachedGraph = applyGraphDeltas(planExecutionId,
+        mongoStore.getFromSecondary(
+            OrchestrationGraph.ALGORITHM_ID, OrchestrationGraph.STRUCTURE_HASH, planExecutionId, null));
+    return cachedGraph == null ? null : cachedGraph.getOrchestrationGraph();
   }
 
   @Override
@@ -256,6 +290,74 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
     mongoStore.upsert(orchestrationGraph, SpringCacheEntity.TTL, entityUpdatedAt);
   }
 
+  private boolean isGraphDeltaModeEnabled() {
+    return graphDeltaCompactionThreshold > 0;
+  }
+
+  private void touchVertex(OrchestrationGraphDeltaTracker deltaTracker, String nodeExecutionId) {
+    if (deltaTracker != null) {
+      deltaTracker.touch(nodeExecutionId);
+    }
+  }
+
+  // Folds the deltas written after the cached graph on top of it. Deltas are read from primary, a lagging secondary
+  // graph only results in more deltas being applied. Without delta mode there are no deltas to read; deltas left
+  // from before delta mode was switched off are superseded, their events are reprocessed from the cached graph.
+  private CachedOrchestrationGraph applyGraphDeltas(String planExecutionId, OrchestrationGraph orchestrationGraph) {
+    if (orchestrationGraph == null) {
+      return null;
+    }
+    if (!isGraphDeltaModeEnabled()) {
+      return new CachedOrchestrationGraph(orchestrationGraph, 0, 0);
+    }
+    List<OrchestrationGraphDeltaEntity> deltaEntities =
+        orchestrationGraphDeltaRepository.findByPlanExecutionIdAndLastUpdatedAtGreaterThanOrderByLastUpdatedAtAsc(
+            planExecutionId, orchestrationGraph.getLastUpdatedAt());
+    long deltaBytes = 0;
+    for (OrchestrationGraphDeltaEntity deltaEntity : deltaEntities) {
+      OrchestrationGraphDelta delta =
+          (OrchestrationGraphDelta) referenceFalseKryoSerializer.asInflatedObject(deltaEntity.getDelta());
+      orchestrationGraph = OrchestrationGraphDeltaTracker.apply(orchestrationGraph, delta);
+      deltaBytes += deltaEntity.getDelta().length;
+    }
+    return new CachedOrchestrationGraph(orchestrationGraph, deltaEntities.size(), deltaBytes);
+  }
+
+  private void persistGraphDelta(CachedOrchestrationGraph cachedGraph, OrchestrationGraph orchestrationGraph,
+      OrchestrationGraphDeltaTracker deltaTracker) {
+    int pendingDeltas = cachedGraph.getPendingDeltas();
+    if (pendingDeltas + 1 >= graphDeltaCompactionThreshold
+        || (orchestrationGraph.getStatus() != null && StatusUtils.isFinalStatus(orchestrationGraph.getStatus()))) {
+      compactOrchestrationGraph(orchestrationGraph, pendingDeltas, cachedGraph.getPendingDeltaBytes());
+      return;
+    }
+
+    byte[] delta = referenceFalseKryoSerializer.asDeflatedBytes(deltaTracker.delta(orchestrationGraph));
+    orchestrationGraphDeltaRepository.save(OrchestrationGraphDeltaEntity.builder()
+                                               .planExecutionId(orchestrationGraph.getPlanExecutionId())
+                                               .lastUpdatedAt(orchestrationGraph.getLastUpdatedAt())
+                                               .delta(delta)
+                                               .build());
+    metricRegistry.counter(GRAPH_DELTA_BYTES_WRITTEN).inc(delta.length);
+  }
+
+  private void compactOrchestrationGraph(OrchestrationGraph orchestrationGraph, int pendingDeltas, long deltaBytes) {
+    String planExecutionId = orchestrationGraph.getPlanExecutionId();
+    long lastUpdatedAt = orchestrationGraph.getLastUpdatedAt();
+    cachePartialOrchestrationGraph(orchestrationGraph, lastUpdatedAt);
+    orchestrationGraphDeltaRepository.deleteAllByPlanExecutionIdAndLastUpdatedAtLessThanEqual(
+        planExecutionId, lastUpdatedAt);
+
+    // The store does not expose the size it wrote, serialise once more to account for the write amplification
+    long graphBytes = referenceFalseKryoSerializer.asDeflatedBytes(orchestrationGraph).length;
+    long fullWriteBytes = graphBytes * (pendingDeltas + 1);
+    metricRegistry.counter(GRAPH_COMPACTION_BYTES_WRITTEN).inc(graphBytes);
+    metricRegistry.counter(GRAPH_FULL_WRITE_EQUIVALENT_BYTES).inc(fullWriteBytes);
+    log.info("[PMS_GRAPH] Compacted [{}] graph deltas for planExecutionId [{}]. Written [{}] bytes, full graph writes "
+            + "would have written [{}] bytes",
+        pendingDeltas, planExecutionId, deltaBytes + graphBytes, fullWriteBytes);
+  }
+
   @Override
   public OrchestrationGraphDTO generateOrchestrationGraphV2(String planExecutionId) {
     OrchestrationGraph cachedOrchestrationGraph = getCachedOrchestrationGraphFromSecondary(planExecutionId);
@@ -308,6 +410,7 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
         cacheEntities.add(graph);
       }
       mongoStore.delete(cacheEntities);
+      orchestrationGraphDeltaRepository.deleteAllByPlanExecutionIdIn(planExecutionIds);
     }
   }
 
@@ -439,4 +542,12 @@ public class GraphGenerationServiceImpl implements GraphGenerationService {
         .orElseThrow(() -> new InvalidRequestException("Starting node is not found"))
         .getUuid();
   }
+
+  @Value
+  private static class CachedOrchestrationGraph {
+    OrchestrationGraph orchestrationGraph;
+    // Deltas written since the cached graph was last compacted
+    int pendingDeltas;
+    long pendingDeltaBytes;
+  }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.service.impl;
+
+import static io.harness.data.structure.CollectionUtils.emptyIfNull;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.beans.GraphVertex;
+import io.harness.beans.OrchestrationGraph;
+import io.harness.beans.OrchestrationGraphDelta;
+import io.harness.beans.internal.EdgeListInternal;
+import io.harness.beans.internal.OrchestrationAdjacencyListInternal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Records which adjacency list entries of an {@link OrchestrationGraph} are changed by a graph update.
+ *
+ * Graph event handlers either replace vertices or change the id lists of existing edge lists in place, so vertices
+ * are snapshot by identity and edge lists by a copy of their ids. Handlers which mutate a vertex in place must mark it
+ * with {@link #touch(String)}.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+public class OrchestrationGraphDeltaTracker {
+  private final Map<String, GraphVertex> graphVertexMap;
+  private final Map<String, EdgeListState> adjacencyMap;
+  private final Set<String> touchedIds = new HashSet<>();
+
+  private OrchestrationGraphDeltaTracker(OrchestrationAdjacencyListInternal adjacencyList) {
+    this.graphVertexMap = new HashMap<>(adjacencyList.getGraphVertexMap());
+    this.adjacencyMap = new HashMap<>();
+    adjacencyList.getAdjacencyMap().forEach((id, edgeList) -> adjacencyMap.put(id, new EdgeListState(edgeList)));
+  }
+
+  public static OrchestrationGraphDeltaTracker track(OrchestrationGraph orchestrationGraph) {
+    return new OrchestrationGraphDeltaTracker(orchestrationGraph.getAdjacencyList());
+  }
+
+  public void touch(String nodeExecutionId) {
+    if (nodeExecutionId != null) {
+      touchedIds.add(nodeExecutionId);
+    }
+  }
+
+  public OrchestrationGraphDelta delta(OrchestrationGraph orchestrationGraph) {
+    OrchestrationAdjacencyListInternal adjacencyList = orchestrationGraph.getAdjacencyList();
+
+    Map<String, GraphVertex> changedVertices = new HashMap<>();
+    adjacencyList.getGraphVertexMap().forEach((id, vertex) -> {
+      if (graphVertexMap.get(id) != vertex || touchedIds.contains(id)) {
+        changedVertices.put(id, vertex);
+      }
+    });
+
+    Map<String, EdgeListInternal> changedEdgeLists = new HashMap<>();
+    adjacencyList.getAdjacencyMap().forEach((id, edgeList) -> {
+      EdgeListState state = adjacencyMap.get(id);
+      if (state == null || !state.matches(edgeList)) {
+        changedEdgeLists.put(id, edgeList);
+      }
+    });
+
+    Set<String> removedIds = new HashSet<>();
+    graphVertexMap.keySet().stream().filter(id -> !adjacencyList.getGraphVertexMap().containsKey(id)).forEach(
+        removedIds::add);
+    adjacencyMap.keySet().stream().filter(id -> !adjacencyList.getAdjacencyMap().containsKey(id)).forEach(
+        removedIds::add);
+
+    return OrchestrationGraphDelta.builder()
+        .lastUpdatedAt(orchestrationGraph.getLastUpdatedAt())
+        .endTs(orchestrationGraph.getEndTs())
+        .status(orchestrationGraph.getStatus())
+        .rootNodeIds(new ArrayList<>(emptyIfNull(orchestrationGraph.getRootNodeIds())))
+        .graphVertexMap(changedVertices)
+        .adjacencyMap(changedEdgeLists)
+        .removedIds(removedIds)
+        .build();
+  }
+
+  /**
+   * Applies the delta on top of the given graph. The adjacency list of the given graph is updated in place.
+   */
+  public static OrchestrationGraph apply(OrchestrationGraph orchestrationGraph, OrchestrationGraphDelta delta) {
+    OrchestrationAdjacencyListInternal adjacencyList = orchestrationGraph.getAdjacencyList();
+    for (String removedId : emptyIfNull(delta.getRemovedIds())) {
+      adjacencyList.getGraphVertexMap().remove(removedId);
+      adjacencyList.getAdjacencyMap().remove(removedId);
+    }
+    if (delta.getGraphVertexMap() != null) {
+      adjacencyList.getGraphVertexMap().putAll(delta.getGraphVertexMap());
+    }
+    if (delta.getAdjacencyMap() != null) {
+      adjacencyList.getAdjacencyMap().putAll(delta.getAdjacencyMap());
+    }
+
+    List<String> rootNodeIds =
+        delta.getRootNodeIds() == null ? orchestrationGraph.getRootNodeIds() : new ArrayList<>(delta.getRootNodeIds());
+    return OrchestrationGraph.builder()
+        .cacheContextOrder(orchestrationGraph.getCacheContextOrder())
+        .cacheKey(orchestrationGraph.getCacheKey())
+        .cacheParams(orchestrationGraph.getCacheParams())
+        .lastUpdatedAt(delta.getLastUpdatedAt())
+        .planExecutionId(orchestrationGraph.getPlanExecutionId())
+        .startTs(orchestrationGraph.getStartTs())
+        .endTs(delta.getEndTs())
+        .status(delta.getStatus())
+        .rootNodeIds(rootNodeIds)
+        .adjacencyList(adjacencyList)
+        .build();
+  }
+
+  // Edge lists are mutated in place, so their ids are copied to find out whether they changed
+  private static class EdgeListState {
+    private final String parentId;
+    private final List<String> prevIds;
+    private final List<String> nextIds;
+    private final List<String> edges;
+
+    EdgeListState(EdgeListInternal edgeList) {
+      this.parentId = edgeList.getParentId();
+      this.prevIds = new ArrayList<>(emptyIfNull(edgeList.getPrevIds()));
+      this.nextIds = new ArrayList<>(emptyIfNull(edgeList.getNextIds()));
+      this.edges = new ArrayList<>(emptyIfNull(edgeList.getEdges()));
+    }
+
+    boolean matches(EdgeListInternal other) {
+      return Objects.equals(parentId, other.getParentId()) && prevIds.equals(emptyIfNull(other.getPrevIds()))
+          && nextIds.equals(emptyIfNull(other.getNextIds())) && edges.equals(emptyIfNull(other.getEdges()));
+    }
+  }
+}
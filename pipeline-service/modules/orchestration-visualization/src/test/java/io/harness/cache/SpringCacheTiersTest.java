@@ -0,0 +1,188 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.cache;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.rule.Owner;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.invocation.InvocationOnMock;
+import org.redisson.api.RScript;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+public class SpringCacheTiersTest extends CategoryTest {
+  private static final String KEY = "planExecutionId/1/2/3";
+  private static final String REDIS_KEY = "springCache:" + KEY;
+
+  private final List<ScriptCall> scriptCalls = new ArrayList<>();
+  private Long writeResult = 1L;
+  private RTopic invalidationTopic;
+  private SpringCacheTiers cacheTiers;
+
+  @Before
+  public void setUp() {
+    RedissonClient redissonClient = mock(RedissonClient.class);
+    invalidationTopic = mock(RTopic.class);
+    when(redissonClient.getTopic(anyString(), any())).thenReturn(invalidationTopic);
+    RScript script = mock(RScript.class, this::eval);
+    when(redissonClient.getScript(ByteArrayCodec.INSTANCE)).thenReturn(script);
+    cacheTiers = new SpringCacheTiers(
+        SpringCacheTierConfig.builder().enabled(true).redisTtlSeconds(3600).tombstoneTtlSeconds(30).build(),
+        redissonClient, null);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testInvalidateWritesTombstone() {
+    cacheTiers.put(entity(10L, validFor(60_000)));
+    assertThat(cacheTiers.localSize()).isEqualTo(1);
+
+    cacheTiers.invalidate(List.of(KEY));
+
+    ScriptCall tombstone = lastCall();
+    assertThat(tombstone.script).isEqualTo(SpringCacheTiers.TOMBSTONE_SCRIPT);
+    assertThat(tombstone.keys).containsExactly(REDIS_KEY);
+    assertThat(tombstone.values).containsExactly("30000");
+    assertThat(cacheTiers.localSize()).isZero();
+    verify(invalidationTopic).publish(Long.MAX_VALUE + ":" + KEY);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testWriteBackBlockedByTombstoneIsNotCached() {
+    AtomicInteger mongoReads = new AtomicInteger();
+    // The entity was read from mongo before the delete, redis refuses it because of the tombstone
+    writeResult = 0L;
+
+    cacheTiers.get(KEY, key -> {
+      mongoReads.incrementAndGet();
+      return entity(10L, validFor(60_000));
+    });
+    cacheTiers.get(KEY, key -> {
+      mongoReads.incrementAndGet();
+      return null;
+    });
+
+    ScriptCall writeBack = writeCalls().get(0);
+    assertThat(writeBack.values.get(4)).isEqualTo("1");
+    assertThat(cacheTiers.localSize()).isZero();
+    assertThat(mongoReads.get()).isEqualTo(2);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testUpsertIsWrittenOverTombstone() {
+    cacheTiers.put(entity(10L, validFor(60_000)));
+
+    ScriptCall write = lastCall();
+    assertThat(write.script).isEqualTo(SpringCacheTiers.WRITE_SCRIPT);
+    assertThat(write.values.get(4)).isEqualTo("0");
+    verify(invalidationTopic).publish("10:" + KEY);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testRedisTtlHonoursValidUntil() {
+    cacheTiers.put(entity(10L, validFor(60_000)));
+    long ttlMillis = Long.parseLong(lastCall().values.get(3));
+    assertThat(ttlMillis).isPositive().isLessThanOrEqualTo(60_000);
+
+    cacheTiers.put(entity(20L, new Date(System.currentTimeMillis() + 7_200_000)));
+    assertThat(Long.parseLong(lastCall().values.get(3))).isEqualTo(3_600_000);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testExpiredEntityIsNotCached() {
+    cacheTiers.put(entity(10L, validFor(-1000)));
+
+    assertThat(writeCalls()).isEmpty();
+    assertThat(cacheTiers.localSize()).isZero();
+  }
+
+  private Object eval(InvocationOnMock invocation) {
+    if (!"eval".equals(invocation.getMethod().getName())) {
+      return null;
+    }
+    Object[] arguments = invocation.getRawArguments();
+    List<String> values = new ArrayList<>();
+    for (Object value : (Object[]) arguments[4]) {
+      values.add(value instanceof byte[] ? new String((byte[]) value, UTF_8) : String.valueOf(value));
+    }
+    scriptCalls.add(new ScriptCall((String) arguments[1], (List<Object>) arguments[3], values));
+    // The read script finds nothing in redis
+    return SpringCacheTiers.WRITE_SCRIPT.equals(arguments[1]) ? writeResult : null;
+  }
+
+  private ScriptCall lastCall() {
+    return scriptCalls.get(scriptCalls.size() - 1);
+  }
+
+  private List<ScriptCall> writeCalls() {
+    List<ScriptCall> writeCalls = new ArrayList<>();
+    for (ScriptCall scriptCall : scriptCalls) {
+      if (SpringCacheTiers.WRITE_SCRIPT.equals(scriptCall.script)) {
+        writeCalls.add(scriptCall);
+      }
+    }
+    return writeCalls;
+  }
+
+  private static Date validFor(long millis) {
+    return new Date(System.currentTimeMillis() + millis);
+  }
+
+  private static SpringCacheEntity entity(long entityUpdatedAt, Date validUntil) {
+    return SpringCacheEntity.builder()
+        .canonicalKey(KEY)
+        .entityUpdatedAt(entityUpdatedAt)
+        .usingKryoWithoutReference(true)
+        .entity(new byte[] {1, 2, 3})
+        .validUntil(validUntil)
+        .build();
+  }
+
+  private static class ScriptCall {
+    private final String script;
+    private final List<Object> keys;
+    private final List<String> values;
+
+    ScriptCall(String script, List<Object> keys, List<String> values) {
+      this.script = script;
+      this.keys = keys;
+      this.values = values;
+    }
+  }
+}
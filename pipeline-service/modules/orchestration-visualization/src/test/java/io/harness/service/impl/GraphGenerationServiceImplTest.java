@@ -16,6 +16,7 @@ import static io.harness.rule.OwnerRule.YUVRAJ;
 import static io.harness.steps.StepUtils.PIE_SIMPLIFY_LOG_BASE_KEY;
 
 import static junit.framework.TestCase.assertTrue;
+import static org.joor.Reflect.on;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
@@ -26,6 +27,7 @@ import io.harness.OrchestrationVisualizationTestBase;
 import io.harness.beans.GraphVertex;
 import io.harness.beans.OrchestrationEventLog;
 import io.harness.beans.OrchestrationGraph;
+import io.harness.beans.OrchestrationGraphDeltaEntity;
 import io.harness.beans.converter.GraphVertexConverter;
 import io.harness.beans.internal.EdgeListInternal;
 import io.harness.beans.internal.OrchestrationAdjacencyListInternal;
@@ -52,6 +54,7 @@ import io.harness.pms.contracts.steps.SkipType;
 import io.harness.pms.contracts.steps.StepCategory;
 import io.harness.pms.contracts.steps.StepType;
 import io.harness.pms.plan.execution.service.PmsExecutionSummaryService;
+import io.harness.repositories.graph.OrchestrationGraphDeltaRepository;
 import io.harness.repositories.orchestrationEventLog.OrchestrationEventLogRepository;
 import io.harness.rule.Owner;
 import io.harness.service.GraphGenerationService;
@@ -89,12 +92,14 @@ public class GraphGenerationServiceImplTest extends OrchestrationVisualizationTe
   @Mock private PlanExecutionModuleInfoUpdateEventHandler planExecutionModuleInfoUpdateEventHandler;
   @Mock private PmsExecutionSummaryService pmsExecutionSummaryService;
   @Inject @InjectMocks GraphGenerationServiceImpl graphGenerationServiceImpl;
+  @Inject private OrchestrationGraphDeltaRepository orchestrationGraphDeltaRepository;
 
   @Before
   public void setup() {
     Mockito.doNothing().when(eventEmitter).emitEvent(any());
     Mockito.when(planExecutionMetadataService.findByPlanExecutionId(any()))
         .thenReturn(Optional.of(PlanExecutionMetadata.builder().build()));
+    on(graphGenerationServiceImpl).set("graphDeltaCompactionThreshold", 0);
   }
 
   @Test
@@ -436,4 +441,108 @@ public class GraphGenerationServiceImplTest extends OrchestrationVisualizationTe
     verify(planExecutionModuleInfoUpdateEventHandler, times(1)).handleStageInfoUpdate(any(), any(), any());
     verify(pmsExecutionSummaryService, times(1)).update(any(), any());
   }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testUpdateGraphUnderLockInDeltaMode() {
+    on(graphGenerationServiceImpl).set("graphDeltaCompactionThreshold", 2);
+    String planExecutionId = generateUuid();
+    String nodeExecutionId = generateUuid();
+    mongoStore.upsert(OrchestrationGraph.builder()
+                          .cacheKey(planExecutionId)
+                          .planExecutionId(planExecutionId)
+                          .rootNodeIds(new ArrayList<>())
+                          .lastUpdatedAt(1222L)
+                          .status(Status.RUNNING)
+                          .adjacencyList(OrchestrationAdjacencyListInternal.builder()
+                                             .adjacencyMap(new HashMap<>())
+                                             .graphVertexMap(new HashMap<>())
+                                             .build())
+                          .build(),
+        SpringCacheEntity.TTL);
+    doReturn(Collections.singletonList(OrchestrationEventLog.builder()
+                                           .nodeExecutionId(nodeExecutionId)
+                                           .orchestrationEventType(OrchestrationEventType.NODE_EXECUTION_START)
+                                           .createdAt(1550L)
+                                           .build()))
+        .when(orchestrationEventLogRepository)
+        .findUnprocessedEvents(planExecutionId, 1222L, 1000);
+    doReturn(Collections.singletonList(OrchestrationEventLog.builder()
+                                           .nodeExecutionId(nodeExecutionId)
+                                           .orchestrationEventType(OrchestrationEventType.NODE_EXECUTION_STATUS_UPDATE)
+                                           .createdAt(1660L)
+                                           .build()))
+        .when(orchestrationEventLogRepository)
+        .findUnprocessedEvents(planExecutionId, 1550L, 1000);
+    nodeExecutionService.save(
+        NodeExecution.builder()
+            .uuid(nodeExecutionId)
+            .stepType(StepType.newBuilder().setStepCategory(StepCategory.STEP).build())
+            .status(Status.RUNNING)
+            .ambiance(Ambiance.newBuilder()
+                          .addLevels(Level.newBuilder().setNodeType(NodeType.PLAN_NODE.toString()).build())
+                          .setMetadata(ExecutionMetadata.newBuilder()
+                                           .putFeatureFlagToValueMap(PIE_SIMPLIFY_LOG_BASE_KEY, false)
+                                           .build())
+                          .build())
+            .module("cd")
+            .resolvedStepParameters(new HashMap<>())
+            .build());
+
+    // First update is appended as a delta, the cached graph itself is left untouched
+    assertTrue(graphGenerationServiceImpl.updateGraphUnderLock(planExecutionId));
+    OrchestrationGraph cachedGraph =
+        mongoStore.get(OrchestrationGraph.ALGORITHM_ID, OrchestrationGraph.STRUCTURE_HASH, planExecutionId, null);
+    assertThat(cachedGraph.getLastUpdatedAt()).isEqualTo(1222L);
+    assertThat(cachedGraph.getAdjacencyList().getGraphVertexMap()).isEmpty();
+    assertThat(graphDeltas(planExecutionId))
+        .hasSize(1);
+
+    OrchestrationGraph foldedGraph = graphGenerationServiceImpl.getCachedOrchestrationGraph(planExecutionId);
+    assertThat(foldedGraph.getLastUpdatedAt()).isEqualTo(1550L);
+    assertThat(foldedGraph.getRootNodeIds()).containsExactly(nodeExecutionId);
+    assertThat(foldedGraph.getAdjacencyList().getGraphVertexMap()).containsOnlyKeys(nodeExecutionId);
+
+    // Second update reaches the compaction threshold and rewrites the cached graph
+    assertTrue(graphGenerationServiceImpl.updateGraphUnderLock(planExecutionId));
+    cachedGraph =
+        mongoStore.get(OrchestrationGraph.ALGORITHM_ID, OrchestrationGraph.STRUCTURE_HASH, planExecutionId, null);
+    assertThat(cachedGraph.getLastUpdatedAt()).isEqualTo(1660L);
+    assertThat(cachedGraph.getAdjacencyList().getGraphVertexMap()).containsOnlyKeys(nodeExecutionId);
+    assertThat(graphDeltas(planExecutionId)).isEmpty();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testGraphDeltasAreNotReadWithoutDeltaMode() {
+    String planExecutionId = generateUuid();
+    mongoStore.upsert(OrchestrationGraph.builder()
+                          .cacheKey(planExecutionId)
+                          .planExecutionId(planExecutionId)
+                          .rootNodeIds(new ArrayList<>())
+                          .lastUpdatedAt(1222L)
+                          .adjacencyList(OrchestrationAdjacencyListInternal.builder()
+                                             .adjacencyMap(new HashMap<>())
+                                             .graphVertexMap(new HashMap<>())
+                                             .build())
+                          .build(),
+        SpringCacheEntity.TTL);
+    // Left from before delta mode was switched off, it can not even be deserialized
+    orchestrationGraphDeltaRepository.save(OrchestrationGraphDeltaEntity.builder()
+                                               .planExecutionId(planExecutionId)
+                                               .lastUpdatedAt(1550L)
+                                               .delta(new byte[] {1})
+                                               .build());
+
+    OrchestrationGraph cachedGraph = graphGenerationServiceImpl.getCachedOrchestrationGraph(planExecutionId);
+
+    assertThat(cachedGraph.getLastUpdatedAt()).isEqualTo(1222L);
+  }
+
+  private List<OrchestrationGraphDeltaEntity> graphDeltas(String planExecutionId) {
+    return orchestrationGraphDeltaRepository.findByPlanExecutionIdAndLastUpdatedAtGreaterThanOrderByLastUpdatedAtAsc(
+        planExecutionId, 0L);
+  }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Shield 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/06/PolyForm-Shield-1.0.0.txt.
+ */
+
+package io.harness.service.impl;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.harness.CategoryTest;
+import io.harness.beans.GraphVertex;
+import io.harness.beans.OrchestrationGraph;
+import io.harness.beans.OrchestrationGraphDelta;
+import io.harness.beans.internal.EdgeListInternal;
+import io.harness.beans.internal.OrchestrationAdjacencyListInternal;
+import io.harness.category.element.UnitTests;
+import io.harness.pms.contracts.execution.Status;
+import io.harness.rule.Owner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+public class OrchestrationGraphDeltaTrackerTest extends CategoryTest {
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testDeltaContainsOnlyChangedEntries() {
+    OrchestrationGraph graph = graph("root", "child", "removed");
+    OrchestrationGraphDeltaTracker tracker = OrchestrationGraphDeltaTracker.track(graph);
+
+    Map<String, GraphVertex> graphVertexMap = graph.getAdjacencyList().getGraphVertexMap();
+    Map<String, EdgeListInternal> adjacencyMap = graph.getAdjacencyList().getAdjacencyMap();
+    graphVertexMap.put("child", GraphVertex.builder().uuid("child").status(Status.SUCCEEDED).build());
+    graphVertexMap.put("added", GraphVertex.builder().uuid("added").build());
+    adjacencyMap.put("added", edgeList());
+    adjacencyMap.get("root").getEdges().add("added");
+    graphVertexMap.remove("removed");
+    adjacencyMap.remove("removed");
+    tracker.touch("touched");
+
+    OrchestrationGraphDelta delta = tracker.delta(graph.withLastUpdatedAt(20L).withStatus(Status.RUNNING));
+
+    assertThat(delta.getLastUpdatedAt()).isEqualTo(20L);
+    assertThat(delta.getStatus()).isEqualTo(Status.RUNNING);
+    assertThat(delta.getRootNodeIds()).containsExactly("root");
+    assertThat(delta.getGraphVertexMap()).containsOnlyKeys("child", "added");
+    assertThat(delta.getAdjacencyMap()).containsOnlyKeys("root", "added");
+    assertThat(delta.getRemovedIds()).containsExactly("removed");
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testTouchedVertexIsIncluded() {
+    OrchestrationGraph graph = graph("root", "child");
+    OrchestrationGraphDeltaTracker tracker = OrchestrationGraphDeltaTracker.track(graph);
+
+    graph.getAdjacencyList().getGraphVertexMap().get("child").setStepDetails(new HashMap<>());
+    tracker.touch("child");
+
+    OrchestrationGraphDelta delta = tracker.delta(graph);
+    assertThat(delta.getGraphVertexMap()).containsOnlyKeys("child");
+    assertThat(delta.getAdjacencyMap()).isEmpty();
+    assertThat(delta.getRemovedIds()).isEmpty();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testEdgeListChangedInPlaceWithSameSizeIsIncluded() {
+    OrchestrationGraph graph = graph("root", "child", "other");
+    graph.getAdjacencyList().getAdjacencyMap().get("root").getNextIds().add("child");
+    OrchestrationGraphDeltaTracker tracker = OrchestrationGraphDeltaTracker.track(graph);
+
+    graph.getAdjacencyList().getAdjacencyMap().get("root").getNextIds().set(0, "other");
+
+    OrchestrationGraphDelta delta = tracker.delta(graph);
+    assertThat(delta.getAdjacencyMap()).containsOnlyKeys("root");
+    assertThat(delta.getAdjacencyMap().get("root").getNextIds()).containsExactly("other");
+    assertThat(delta.getGraphVertexMap()).isEmpty();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testApplyReproducesUpdatedGraph() {
+    OrchestrationGraph graph = graph("root", "child", "removed");
+    OrchestrationGraph base = graph("root", "child", "removed");
+    OrchestrationGraphDeltaTracker tracker = OrchestrationGraphDeltaTracker.track(graph);
+
+    graph.getAdjacencyList().getGraphVertexMap().put(
+        "child", GraphVertex.builder().uuid("child").status(Status.FAILED).build());
+    graph.getAdjacencyList().getGraphVertexMap().remove("removed");
+    graph.getAdjacencyList().getAdjacencyMap().remove("removed");
+    graph.getAdjacencyList().getAdjacencyMap().get("root").getNextIds().add("child");
+    OrchestrationGraph updated = graph.withLastUpdatedAt(30L).withStatus(Status.FAILED).withEndTs(40L);
+
+    OrchestrationGraph folded = OrchestrationGraphDeltaTracker.apply(base, tracker.delta(updated));
+
+    assertThat(folded.getLastUpdatedAt()).isEqualTo(30L);
+    assertThat(folded.getStatus()).isEqualTo(Status.FAILED);
+    assertThat(folded.getEndTs()).isEqualTo(40L);
+    assertThat(folded.getPlanExecutionId()).isEqualTo(base.getPlanExecutionId());
+    assertThat(folded.getAdjacencyList().getGraphVertexMap()).containsOnlyKeys("root", "child");
+    assertThat(folded.getAdjacencyList().getGraphVertexMap().get("child").getStatus()).isEqualTo(Status.FAILED);
+    assertThat(folded.getAdjacencyList().getAdjacencyMap()).containsOnlyKeys("root", "child");
+    assertThat(folded.getAdjacencyList().getAdjacencyMap().get("root").getNextIds()).containsExactly("child");
+  }
+
+  private OrchestrationGraph graph(String rootId, String... ids) {
+    Map<String, GraphVertex> graphVertexMap = new HashMap<>();
+    Map<String, EdgeListInternal> adjacencyMap = new HashMap<>();
+    List<String> allIds = new ArrayList<>(List.of(ids));
+    allIds.add(rootId);
+    for (String id : allIds) {
+      graphVertexMap.put(id, GraphVertex.builder().uuid(id).status(Status.RUNNING).build());
+      adjacencyMap.put(id, edgeList());
+    }
+    List<String> rootNodeIds = new ArrayList<>();
+    rootNodeIds.add(rootId);
+    return OrchestrationGraph.builder()
+        .planExecutionId("planExecutionId")
+        .cacheKey("planExecutionId")
+        .lastUpdatedAt(10L)
+        .rootNodeIds(rootNodeIds)
+        .adjacencyList(OrchestrationAdjacencyListInternal.builder()
+                           .graphVertexMap(graphVertexMap)
+                           .adjacencyMap(adjacencyMap)
+                           .build())
+        .build();
+  }
+
+  private EdgeListInternal edgeList() {
+    return EdgeListInternal.builder().prevIds(new ArrayList<>()).nextIds(new ArrayList<>()).build();
+  }
+}
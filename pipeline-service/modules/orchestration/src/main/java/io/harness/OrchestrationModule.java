@@ -155,7 +155,10 @@ public class OrchestrationModule extends AbstractModule implements ServersModule
     install(new AbstractWaiterModule() {
       @Override
       public WaiterConfiguration waiterConfiguration() {
-        return WaiterConfiguration.builder().persistenceLayer(PersistenceLayer.SPRING).build();
+        return WaiterConfiguration.builder()
+            .persistenceLayer(PersistenceLayer.SPRING)
+            .notifyBatchConfig(config.getNotifyBatchConfig())
+            .build();
       }
     });
     install(new AbstractOrchestrationDelayModule() {
@@ -17,6 +17,7 @@ import io.harness.eventsframework.EventsFrameworkConfiguration;
 import io.harness.redis.RedisConfig;
 import io.harness.remote.client.ServiceHttpClientConfig;
 import io.harness.repositories.planExecutionJson.ExpandedJsonLockConfig;
+import io.harness.waiter.NotifyBatchConfig;
 
 import javax.annotation.Nullable;
 import lombok.Builder;
@@ -57,4 +58,5 @@ public class OrchestrationModuleConfig {
   String licenseClientId;
 
   ExpandedJsonLockConfig expandedJsonLockConfig;
+  @Default NotifyBatchConfig notifyBatchConfig = NotifyBatchConfig.builder().build();
 }
@@ -23,12 +23,12 @@ import io.harness.pms.execution.utils.NodeProjectionUtils;
 import io.harness.pms.execution.utils.StatusUtils;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.Value;
@@ -41,38 +41,56 @@ public class NodeExecutionsCache {
 
   NodeExecutionService nodeExecutionService;
   PlanService planService;
+  PlanExecutionNodeCache planExecutionNodeCache;
   Ambiance ambiance;
   Map<String, NodeExecution> map;
   Map<String, List<String>> childrenMap;
   Map<String, Node> nodeMap;
   Map<String, Ambiance> ambianceMap;
 
-  @Builder
   public NodeExecutionsCache(NodeExecutionService nodeExecutionService, PlanService planService, Ambiance ambiance) {
+    this(nodeExecutionService, planService, null, ambiance);
+  }
+
+  /**
+   * @param planExecutionNodeCache optional pod wide cache shared by all the evaluations of the plan execution
+   */
+  @Builder
+  public NodeExecutionsCache(NodeExecutionService nodeExecutionService, PlanService planService,
+      PlanExecutionNodeCache planExecutionNodeCache, Ambiance ambiance) {
     this.nodeExecutionService = nodeExecutionService;
     this.planService = planService;
+    this.planExecutionNodeCache = planExecutionNodeCache;
     this.ambiance = ambiance;
-    this.nodeMap = new HashMap<>();
-    this.map = new HashMap<>();
-    this.childrenMap = new HashMap<>();
-    this.ambianceMap = new HashMap<>();
+    this.nodeMap = new ConcurrentHashMap<>();
+    this.map = new ConcurrentHashMap<>();
+    this.childrenMap = new ConcurrentHashMap<>();
+    this.ambianceMap = new ConcurrentHashMap<>();
   }
 
-  public synchronized NodeExecution fetch(String nodeExecutionId) {
+  // Concurrent callers may both miss and fetch the same entity, the later put wins which is harmless
+  public NodeExecution fetch(String nodeExecutionId) {
     if (nodeExecutionId == null) {
       return null;
     }
-    if (map.containsKey(nodeExecutionId)) {
-      return map.get(nodeExecutionId);
+    NodeExecution nodeExecution = map.get(nodeExecutionId);
+    if (nodeExecution != null) {
+      return nodeExecution;
     }
 
-    NodeExecution nodeExecution;
-    if (AmbianceUtils.checkIfFeatureFlagEnabled(ambiance, FeatureName.CDS_USE_AMBIANCE_IN_EXPRESSION_ENGINE.name())) {
-      nodeExecution = nodeExecutionService.getWithFieldsIncluded(
-          nodeExecutionId, NodeProjectionUtils.fieldsForExpressionEngineWithAmbiance);
-    } else {
+    boolean withAmbiance = useAmbianceInExpressionEngine();
+    if (planExecutionNodeCache != null) {
       nodeExecution =
-          nodeExecutionService.getWithFieldsIncluded(nodeExecutionId, NodeProjectionUtils.fieldsForExpressionEngine);
+          planExecutionNodeCache.getNodeExecution(ambiance.getPlanExecutionId(), nodeExecutionId, withAmbiance);
+    }
+    if (nodeExecution == null) {
+      nodeExecution = nodeExecutionService.getWithFieldsIncluded(nodeExecutionId, fieldsForExpressionEngine());
+      if (nodeExecution == null) {
+        return null;
+      }
+      if (planExecutionNodeCache != null) {
+        planExecutionNodeCache.putNodeExecution(ambiance.getPlanExecutionId(), nodeExecution, withAmbiance);
+      }
     }
     map.put(nodeExecutionId, nodeExecution);
     return nodeExecution;
@@ -88,10 +106,10 @@ public class NodeExecutionsCache {
    * {@link NodeExecutionsCache#childrenMap} with parentId => List#childIds
    *
    */
-  public synchronized List<NodeExecution> fetchChildren(String parentId) {
+  public List<NodeExecution> fetchChildren(String parentId) {
     String childrenMapKey = parentId == null ? NULL_PARENT_ID : parentId;
-    if (childrenMap.containsKey(childrenMapKey)) {
-      List<String> ids = childrenMap.get(childrenMapKey);
+    List<String> ids = childrenMap.get(childrenMapKey);
+    if (ids != null) {
       if (EmptyPredicate.isEmpty(ids)) {
         return Collections.emptyList();
       }
@@ -99,26 +117,31 @@ public class NodeExecutionsCache {
       return ids.stream().map(map::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
-    List<NodeExecution> childExecutions = new LinkedList<>();
-    Set<String> fieldsForExpressionEngine;
-    if (AmbianceUtils.checkIfFeatureFlagEnabled(ambiance, FeatureName.CDS_USE_AMBIANCE_IN_EXPRESSION_ENGINE.name())) {
-      fieldsForExpressionEngine = NodeProjectionUtils.fieldsForExpressionEngineWithAmbiance;
-    } else {
-      fieldsForExpressionEngine = NodeProjectionUtils.fieldsForExpressionEngine;
+    boolean withAmbiance = useAmbianceInExpressionEngine();
+    List<NodeExecution> childExecutions = null;
+    if (planExecutionNodeCache != null) {
+      childExecutions = planExecutionNodeCache.getChildren(ambiance.getPlanExecutionId(), parentId, withAmbiance);
     }
-    try (CloseableIterator<NodeExecution> iterator = nodeExecutionService.fetchChildrenNodeExecutionsIterator(
-             ambiance.getPlanExecutionId(), parentId, fieldsForExpressionEngine)) {
-      while (iterator.hasNext()) {
-        childExecutions.add(iterator.next());
+    if (childExecutions == null) {
+      childExecutions = new LinkedList<>();
+      try (CloseableIterator<NodeExecution> iterator = nodeExecutionService.fetchChildrenNodeExecutionsIterator(
+               ambiance.getPlanExecutionId(), parentId, fieldsForExpressionEngine())) {
+        while (iterator.hasNext()) {
+          childExecutions.add(iterator.next());
+        }
+      }
+      if (planExecutionNodeCache != null) {
+        planExecutionNodeCache.putChildren(ambiance.getPlanExecutionId(), parentId, childExecutions, withAmbiance);
       }
     }
     if (EmptyPredicate.isEmpty(childExecutions)) {
-      childrenMap.put(parentId, Collections.emptyList());
+      childrenMap.put(childrenMapKey, Collections.emptyList());
       return Collections.emptyList();
     }
 
     childExecutions.forEach(childExecution -> map.put(childExecution.getUuid(), childExecution));
-    childrenMap.put(parentId, childExecutions.stream().map(NodeExecution::getUuid).collect(Collectors.toList()));
+    childrenMap.put(
+        childrenMapKey, childExecutions.stream().map(NodeExecution::getUuid).collect(Collectors.toList()));
     return childExecutions;
   }
 
@@ -133,29 +156,62 @@ public class NodeExecutionsCache {
         .collect(Collectors.toList());
   }
 
-  public synchronized Node fetchNode(String nodeId) {
+  public Node fetchNode(String nodeId) {
     if (nodeId == null) {
       return null;
     }
-    if (nodeMap.containsKey(nodeId)) {
-      return nodeMap.get(nodeId);
+    Node node = nodeMap.get(nodeId);
+    if (node != null) {
+      return node;
     }
 
-    Node node = planService.fetchNode(ambiance.getPlanId(), nodeId);
+    if (planExecutionNodeCache != null) {
+      node = planExecutionNodeCache.getNode(ambiance.getPlanExecutionId(), nodeId);
+    }
+    if (node == null) {
+      node = planService.fetchNode(ambiance.getPlanId(), nodeId);
+      if (node == null) {
+        return null;
+      }
+      if (planExecutionNodeCache != null) {
+        planExecutionNodeCache.putNode(ambiance.getPlanExecutionId(), nodeId, node);
+      }
+    }
     nodeMap.put(nodeId, node);
     return node;
   }
 
-  public synchronized Ambiance getAmbiance(String nodeExecutionId) {
+  public Ambiance getAmbiance(String nodeExecutionId) {
     if (nodeExecutionId == null) {
       return null;
     }
-    if (ambianceMap.containsKey(nodeExecutionId)) {
-      return ambianceMap.get(nodeExecutionId);
+    Ambiance nodeAmbiance = ambianceMap.get(nodeExecutionId);
+    if (nodeAmbiance != null) {
+      return nodeAmbiance;
+    }
+
+    if (planExecutionNodeCache != null) {
+      nodeAmbiance = planExecutionNodeCache.getAmbiance(ambiance.getPlanExecutionId(), nodeExecutionId);
+    }
+    if (nodeAmbiance == null) {
+      nodeAmbiance =
+          nodeExecutionService.getWithFieldsIncluded(nodeExecutionId, NodeProjectionUtils.withAmbiance).getAmbiance();
+      if (planExecutionNodeCache != null) {
+        planExecutionNodeCache.putAmbiance(ambiance.getPlanExecutionId(), nodeExecutionId, nodeAmbiance);
+      }
     }
-    Ambiance ambiance =
-        nodeExecutionService.getWithFieldsIncluded(nodeExecutionId, NodeProjectionUtils.withAmbiance).getAmbiance();
-    ambianceMap.put(nodeExecutionId, ambiance);
-    return ambiance;
+    if (nodeAmbiance != null) {
+      ambianceMap.put(nodeExecutionId, nodeAmbiance);
+    }
+    return nodeAmbiance;
+  }
+
+  private boolean useAmbianceInExpressionEngine() {
+    return AmbianceUtils.checkIfFeatureFlagEnabled(ambiance, FeatureName.CDS_USE_AMBIANCE_IN_EXPRESSION_ENGINE.name());
+  }
+
+  private Set<String> fieldsForExpressionEngine() {
+    return useAmbianceInExpressionEngine() ? NodeProjectionUtils.fieldsForExpressionEngineWithAmbiance
+                                           : NodeProjectionUtils.fieldsForExpressionEngine;
   }
 }
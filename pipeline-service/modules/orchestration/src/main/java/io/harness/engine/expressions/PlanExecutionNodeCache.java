@@ -0,0 +1,254 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.engine.expressions;
+
+import static io.harness.data.structure.EmptyPredicate.isEmpty;
+
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.engine.observers.NodeStatusUpdateObserver;
+import io.harness.engine.observers.NodeUpdateInfo;
+import io.harness.engine.observers.OrchestrationEndObserver;
+import io.harness.execution.NodeExecution;
+import io.harness.plan.Node;
+import io.harness.pms.contracts.ambiance.Ambiance;
+import io.harness.pms.contracts.execution.Status;
+import io.harness.pms.execution.utils.StatusUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+/**
+ * Pod wide cache backing the per evaluation {@link NodeExecutionsCache}s of a plan execution.
+ *
+ * Only entries which can not change anymore are shared: plan nodes, ambiances, node executions in a final status and
+ * the children of a finished parent whose children all finished. Node status updates invalidate the node and the
+ * children of its parent, the whole plan execution is dropped when it ends. Once cross pod invalidation is enabled,
+ * both are also published on a redis topic, so the other pods drop their copies too. Entries are weighted by their
+ * approximate size in bytes and evicted in least recently used order once {@link #MAX_WEIGHT} is reached.
+ */
+@OwnedBy(HarnessTeam.PIPELINE)
+@Singleton
+@Slf4j
+public class PlanExecutionNodeCache implements NodeStatusUpdateObserver, OrchestrationEndObserver {
+  static final long MAX_WEIGHT = 64L * 1024 * 1024;
+  // Approximate footprint of a node execution projected for the expression engine, without its ambiance
+  private static final int NODE_EXECUTION_WEIGHT = 1024;
+  private static final int NODE_WEIGHT = 4096;
+  // Invalidations published while redis was unavailable are lost, the entries still expire
+  private static final Duration EXPIRE_AFTER_ACCESS = Duration.ofHours(1);
+  private static final String INVALIDATION_TOPIC = "planExecutionNodeCache:invalidations";
+  private static final String NODE_INVALIDATION = "node";
+  private static final String PLAN_INVALIDATION = "plan";
+
+  private final Cache<CacheKey, Object> cache;
+  private volatile RTopic invalidationTopic;
+
+  public PlanExecutionNodeCache() {
+    this(MAX_WEIGHT);
+  }
+
+  @VisibleForTesting
+  PlanExecutionNodeCache(long maxWeight) {
+    this.cache = CacheBuilder.newBuilder()
+                     .maximumWeight(maxWeight)
+                     .weigher(PlanExecutionNodeCache::weigh)
+                     .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+                     .recordStats()
+                     .build();
+  }
+
+  /**
+   * Subscribes to the invalidations published by the other pods and publishes the ones of this pod.
+   */
+  public void enableCrossPodInvalidation(RedissonClient redissonClient, String envNamespace) {
+    RTopic topic = redissonClient.getTopic(
+        isEmpty(envNamespace) ? INVALIDATION_TOPIC : envNamespace + ":" + INVALIDATION_TOPIC, StringCodec.INSTANCE);
+    topic.addListener(String.class, (channel, message) -> onInvalidation(message));
+    invalidationTopic = topic;
+  }
+
+  public NodeExecution getNodeExecution(String planExecutionId, String nodeExecutionId, boolean withAmbiance) {
+    return (NodeExecution) cache.getIfPresent(nodeExecutionKey(planExecutionId, nodeExecutionId, withAmbiance));
+  }
+
+  public void putNodeExecution(String planExecutionId, NodeExecution nodeExecution, boolean withAmbiance) {
+    if (nodeExecution != null && isFinal(nodeExecution.getStatus())) {
+      cache.put(nodeExecutionKey(planExecutionId, nodeExecution.getUuid(), withAmbiance), nodeExecution);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<NodeExecution> getChildren(String planExecutionId, String parentId, boolean withAmbiance) {
+    return (List<NodeExecution>) cache.getIfPresent(childrenKey(planExecutionId, parentId, withAmbiance));
+  }
+
+  /**
+   * Children are only shared once nothing can be added to the list, which is the case when the parent is already
+   * known to be finished.
+   */
+  public void putChildren(
+      String planExecutionId, String parentId, List<NodeExecution> children, boolean withAmbiance) {
+    if (parentId == null || getNodeExecution(planExecutionId, parentId, withAmbiance) == null) {
+      return;
+    }
+    if (children.stream().allMatch(child -> isFinal(child.getStatus()))) {
+      cache.put(childrenKey(planExecutionId, parentId, withAmbiance),
+          Collections.unmodifiableList(new ArrayList<>(children)));
+    }
+  }
+
+  public Node getNode(String planExecutionId, String nodeId) {
+    return (Node) cache.getIfPresent(new CacheKey(planExecutionId, EntryType.NODE, nodeId));
+  }
+
+  public void putNode(String planExecutionId, String nodeId, Node node) {
+    if (node != null) {
+      cache.put(new CacheKey(planExecutionId, EntryType.NODE, nodeId), node);
+    }
+  }
+
+  public Ambiance getAmbiance(String planExecutionId, String nodeExecutionId) {
+    return (Ambiance) cache.getIfPresent(new CacheKey(planExecutionId, EntryType.AMBIANCE, nodeExecutionId));
+  }
+
+  public void putAmbiance(String planExecutionId, String nodeExecutionId, Ambiance ambiance) {
+    if (ambiance != null) {
+      cache.put(new CacheKey(planExecutionId, EntryType.AMBIANCE, nodeExecutionId), ambiance);
+    }
+  }
+
+  @Override
+  public void onNodeStatusUpdate(NodeUpdateInfo nodeUpdateInfo) {
+    String planExecutionId = nodeUpdateInfo.getPlanExecutionId();
+    NodeExecution nodeExecution = nodeUpdateInfo.getNodeExecution();
+    String parentId = nodeExecution.getParentId() == null ? "" : nodeExecution.getParentId();
+    invalidateNode(planExecutionId, nodeExecution.getUuid(), parentId);
+    publish(String.join(":", NODE_INVALIDATION, planExecutionId, nodeExecution.getUuid(), parentId));
+  }
+
+  @Override
+  public void onEnd(Ambiance ambiance, Status endStatus) {
+    invalidatePlanExecution(ambiance.getPlanExecutionId());
+    publish(PLAN_INVALIDATION + ":" + ambiance.getPlanExecutionId());
+  }
+
+  public void invalidatePlanExecution(String planExecutionId) {
+    cache.asMap().keySet().removeIf(key -> key.getPlanExecutionId().equals(planExecutionId));
+  }
+
+  private void invalidateNode(String planExecutionId, String nodeExecutionId, String parentId) {
+    for (boolean withAmbiance : new boolean[] {false, true}) {
+      cache.invalidate(nodeExecutionKey(planExecutionId, nodeExecutionId, withAmbiance));
+      cache.invalidate(childrenKey(planExecutionId, nodeExecutionId, withAmbiance));
+      if (!parentId.isEmpty()) {
+        cache.invalidate(childrenKey(planExecutionId, parentId, withAmbiance));
+      }
+    }
+  }
+
+  private void publish(String invalidation) {
+    RTopic topic = invalidationTopic;
+    if (topic == null) {
+      return;
+    }
+    try {
+      topic.publish(invalidation);
+    } catch (RuntimeException ex) {
+      log.warn("Failed to publish the plan execution node cache invalidation {}", invalidation, ex);
+    }
+  }
+
+  /**
+   * Applies an invalidation published by any pod, this one included, which is harmless as invalidating is idempotent.
+   */
+  @VisibleForTesting
+  void onInvalidation(String invalidation) {
+    String[] parts = invalidation.split(":", -1);
+    if (parts.length == 2 && PLAN_INVALIDATION.equals(parts[0])) {
+      invalidatePlanExecution(parts[1]);
+    } else if (parts.length == 4 && NODE_INVALIDATION.equals(parts[0])) {
+      invalidateNode(parts[1], parts[2], parts[3]);
+    } else {
+      log.warn("Ignoring malformed plan execution node cache invalidation {}", invalidation);
+    }
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  private static boolean isFinal(Status status) {
+    return status != null && StatusUtils.isFinalStatus(status);
+  }
+
+  private static CacheKey nodeExecutionKey(String planExecutionId, String nodeExecutionId, boolean withAmbiance) {
+    return new CacheKey(planExecutionId,
+        withAmbiance ? EntryType.NODE_EXECUTION_WITH_AMBIANCE : EntryType.NODE_EXECUTION, nodeExecutionId);
+  }
+
+  private static CacheKey childrenKey(String planExecutionId, String parentId, boolean withAmbiance) {
+    return new CacheKey(
+        planExecutionId, withAmbiance ? EntryType.CHILDREN_WITH_AMBIANCE : EntryType.CHILDREN, parentId);
+  }
+
+  private static int weigh(CacheKey key, Object value) {
+    return weigh(value);
+  }
+
+  @VisibleForTesting
+  static int weigh(Object value) {
+    if (value instanceof List) {
+      int weight = 0;
+      for (Object element : (List<?>) value) {
+        weight += weigh(element);
+      }
+      return Math.max(1, weight);
+    }
+    if (value instanceof NodeExecution) {
+      Ambiance ambiance = ((NodeExecution) value).getAmbiance();
+      return NODE_EXECUTION_WEIGHT + (ambiance == null ? 0 : ambiance.getSerializedSize());
+    }
+    if (value instanceof Ambiance) {
+      return Math.max(1, ((Ambiance) value).getSerializedSize());
+    }
+    return NODE_WEIGHT;
+  }
+
+  private enum EntryType {
+    NODE_EXECUTION,
+    NODE_EXECUTION_WITH_AMBIANCE,
+    CHILDREN,
+    CHILDREN_WITH_AMBIANCE,
+    NODE,
+    AMBIANCE
+  }
+
+  @Value
+  private static class CacheKey {
+    String planExecutionId;
+    EntryType type;
+    String id;
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2023 Harness Inc. All rights reserved.
+ * Use of this source code is governed by the PolyForm Free Trial 1.0.0 license
+ * that can be found in the licenses directory at the root of this repository, also available at
+ * https://polyformproject.org/wp-content/uploads/2020/05/PolyForm-Free-Trial-1.0.0.txt.
+ */
+
+package io.harness.engine.expressions;
+
+import static io.harness.rule.OwnerRule.ARCHIT;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.harness.CategoryTest;
+import io.harness.annotations.dev.HarnessTeam;
+import io.harness.annotations.dev.OwnedBy;
+import io.harness.category.element.UnitTests;
+import io.harness.engine.OrchestrationTestHelper;
+import io.harness.engine.executions.node.NodeExecutionService;
+import io.harness.engine.executions.plan.PlanService;
+import io.harness.engine.observers.NodeUpdateInfo;
+import io.harness.execution.NodeExecution;
+import io.harness.pms.contracts.ambiance.Ambiance;
+import io.harness.pms.contracts.execution.Status;
+import io.harness.rule.Owner;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+
+@OwnedBy(HarnessTeam.PIPELINE)
+public class PlanExecutionNodeCacheTest extends CategoryTest {
+  private static final String PLAN_EXECUTION_ID = "PLAN_EXECUTION_ID";
+
+  @Mock NodeExecutionService nodeExecutionService;
+  @Mock PlanService planService;
+  PlanExecutionNodeCache planExecutionNodeCache;
+  Ambiance ambiance;
+
+  @Before
+  public void setup() {
+    MockitoAnnotations.initMocks(this);
+    planExecutionNodeCache = new PlanExecutionNodeCache();
+    ambiance = Ambiance.newBuilder().setPlanExecutionId(PLAN_EXECUTION_ID).build();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testOnlyFinishedNodeExecutionsAreShared() {
+    doReturn(nodeExecution("finished", null, Status.SUCCEEDED))
+        .when(nodeExecutionService)
+        .getWithFieldsIncluded(eq("finished"), any());
+    doReturn(nodeExecution("running", null, Status.RUNNING))
+        .when(nodeExecutionService)
+        .getWithFieldsIncluded(eq("running"), any());
+
+    for (int i = 0; i < 3; i++) {
+      NodeExecutionsCache nodeExecutionsCache = newNodeExecutionsCache();
+      assertThat(nodeExecutionsCache.fetch("finished").getStatus()).isEqualTo(Status.SUCCEEDED);
+      assertThat(nodeExecutionsCache.fetch("running").getStatus()).isEqualTo(Status.RUNNING);
+    }
+
+    verify(nodeExecutionService, times(1)).getWithFieldsIncluded(eq("finished"), any());
+    verify(nodeExecutionService, times(3)).getWithFieldsIncluded(eq("running"), any());
+    assertThat(planExecutionNodeCache.stats().hitCount()).isEqualTo(2);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testChildrenOfFinishedParentAreShared() {
+    List<NodeExecution> children = Arrays.asList(
+        nodeExecution("child1", "parent", Status.SUCCEEDED), nodeExecution("child2", "parent", Status.FAILED));
+    doAnswer(invocation -> OrchestrationTestHelper.createCloseableIterator(children.iterator()))
+        .when(nodeExecutionService)
+        .fetchChildrenNodeExecutionsIterator(eq(PLAN_EXECUTION_ID), eq("parent"), any());
+    doReturn(nodeExecution("parent", null, Status.FAILED))
+        .when(nodeExecutionService)
+        .getWithFieldsIncluded(eq("parent"), any());
+
+    // Parent is not known to be finished yet, children can not be shared
+    assertThat(newNodeExecutionsCache().fetchChildren("parent")).hasSize(2);
+    verify(nodeExecutionService, times(1)).fetchChildrenNodeExecutionsIterator(any(), any(), any());
+
+    NodeExecutionsCache nodeExecutionsCache = newNodeExecutionsCache();
+    nodeExecutionsCache.fetch("parent");
+    assertThat(nodeExecutionsCache.fetchChildren("parent")).hasSize(2);
+    assertThat(newNodeExecutionsCache().fetchChildren("parent")).extracting(NodeExecution::getUuid)
+        .containsExactly("child1", "child2");
+    verify(nodeExecutionService, times(2)).fetchChildrenNodeExecutionsIterator(any(), any(), any());
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testNodeStatusUpdateInvalidatesNodeAndParentChildren() {
+    NodeExecution parent = nodeExecution("parent", null, Status.SUCCEEDED);
+    NodeExecution child = nodeExecution("child", "parent", Status.SUCCEEDED);
+    planExecutionNodeCache.putNodeExecution(PLAN_EXECUTION_ID, parent, false);
+    planExecutionNodeCache.putNodeExecution(PLAN_EXECUTION_ID, child, false);
+    planExecutionNodeCache.putChildren(PLAN_EXECUTION_ID, "parent", Arrays.asList(child), false);
+    assertThat(planExecutionNodeCache.getChildren(PLAN_EXECUTION_ID, "parent", false)).containsExactly(child);
+
+    planExecutionNodeCache.onNodeStatusUpdate(NodeUpdateInfo.builder().nodeExecution(child).build());
+
+    assertThat(planExecutionNodeCache.getNodeExecution(PLAN_EXECUTION_ID, "child", false)).isNull();
+    assertThat(planExecutionNodeCache.getChildren(PLAN_EXECUTION_ID, "parent", false)).isNull();
+    assertThat(planExecutionNodeCache.getNodeExecution(PLAN_EXECUTION_ID, "parent", false)).isNotNull();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testOrchestrationEndInvalidatesPlanExecution() {
+    planExecutionNodeCache.putNodeExecution(PLAN_EXECUTION_ID, nodeExecution("node", null, Status.SUCCEEDED), false);
+    planExecutionNodeCache.putNodeExecution("OTHER", nodeExecution("node", null, Status.SUCCEEDED), false);
+    planExecutionNodeCache.putAmbiance(PLAN_EXECUTION_ID, "node", ambiance);
+
+    planExecutionNodeCache.onEnd(ambiance, Status.SUCCEEDED);
+
+    assertThat(planExecutionNodeCache.getNodeExecution(PLAN_EXECUTION_ID, "node", false)).isNull();
+    assertThat(planExecutionNodeCache.getAmbiance(PLAN_EXECUTION_ID, "node")).isNull();
+    assertThat(planExecutionNodeCache.getNodeExecution("OTHER", "node", false)).isNotNull();
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testWeightIsBounded() {
+    planExecutionNodeCache =
+        new PlanExecutionNodeCache(10L * PlanExecutionNodeCache.weigh(nodeExecution("node", null, Status.SUCCEEDED)));
+    for (int i = 0; i < 100; i++) {
+      planExecutionNodeCache.putNodeExecution(
+          PLAN_EXECUTION_ID, nodeExecution("node" + i, null, Status.SUCCEEDED), false);
+    }
+    assertThat(planExecutionNodeCache.size()).isLessThanOrEqualTo(10);
+    assertThat(planExecutionNodeCache.stats().evictionCount()).isGreaterThanOrEqualTo(90);
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testEntriesAreWeighedBySize() {
+    NodeExecution small = nodeExecution("small", null, Status.SUCCEEDED);
+    NodeExecution large = NodeExecution.builder()
+                              .uuid("large")
+                              .status(Status.SUCCEEDED)
+                              .ambiance(Ambiance.newBuilder()
+                                            .setPlanExecutionId(PLAN_EXECUTION_ID)
+                                            .putSetupAbstractions("large", "x".repeat(10000))
+                                            .build())
+                              .build();
+
+    assertThat(PlanExecutionNodeCache.weigh(large)).isGreaterThan(PlanExecutionNodeCache.weigh(small) + 10000);
+    assertThat(PlanExecutionNodeCache.weigh(Arrays.asList(small, large)))
+        .isEqualTo(PlanExecutionNodeCache.weigh(small) + PlanExecutionNodeCache.weigh(large));
+  }
+
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testInvalidationsArePublishedAndApplied() {
+    RedissonClient redissonClient = mock(RedissonClient.class);
+    RTopic invalidationTopic = mock(RTopic.class);
+    when(redissonClient.getTopic(anyString(), any())).thenReturn(invalidationTopic);
+    planExecutionNodeCache.enableCrossPodInvalidation(redissonClient, "ns");
+    verify(redissonClient).getTopic(eq("ns:planExecutionNodeCache:invalidations"), any());
+
+    NodeExecution child = nodeExecution("child", "parent", Status.SUCCEEDED);
+    planExecutionNodeCache.onNodeStatusUpdate(NodeUpdateInfo.builder().nodeExecution(child).build());
+    planExecutionNodeCache.onEnd(ambiance, Status.SUCCEEDED);
+    verify(invalidationTopic).publish("node:" + PLAN_EXECUTION_ID + ":child:parent");
+    verify(invalidationTopic).publish("plan:" + PLAN_EXECUTION_ID);
+
+    // Invalidations published by another pod
+    NodeExecution parent = nodeExecution("parent", null, Status.SUCCEEDED);
+    planExecutionNodeCache.putNodeExecution(PLAN_EXECUTION_ID, parent, false);
+    planExecutionNodeCache.putNodeExecution(PLAN_EXECUTION_ID, child, true);
+    planExecutionNodeCache.putChildren(PLAN_EXECUTION_ID, "parent", Arrays.asList(child), false);
+    planExecutionNodeCache.onInvalidation("node:" + PLAN_EXECUTION_ID + ":child:parent");
+    assertThat(planExecutionNodeCache.getNodeExecution(PLAN_EXECUTION_ID, "child", true)).isNull();
+    assertThat(planExecutionNodeCache.getChildren(PLAN_EXECUTION_ID, "parent", false)).isNull();
+    assertThat(planExecutionNodeCache.getNodeExecution(PLAN_EXECUTION_ID, "parent", false)).isNotNull();
+
+    planExecutionNodeCache.onInvalidation("plan:" + PLAN_EXECUTION_ID);
+    assertThat(planExecutionNodeCache.size()).isZero();
+  }
+
+  private NodeExecutionsCache newNodeExecutionsCache() {
+    return NodeExecutionsCache.builder()
+        .nodeExecutionService(nodeExecutionService)
+        .planService(planService)
+        .planExecutionNodeCache(planExecutionNodeCache)
+        .ambiance(ambiance)
+        .build();
+  }
+
+  private NodeExecution nodeExecution(String uuid, String parentId, Status status) {
+    return NodeExecution.builder()
+        .uuid(uuid)
+        .parentId(parentId)
+        .status(status)
+        .ambiance(Ambiance.newBuilder().setPlanExecutionId(PLAN_EXECUTION_ID).build())
+        .build();
+  }
+}
@@ -25,6 +25,7 @@ import io.harness.OrchestrationTestBase;
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
 import io.harness.beans.FeatureName;
+import io.harness.category.element.StressTests;
 import io.harness.category.element.UnitTests;
 import io.harness.data.structure.EmptyPredicate;
 import io.harness.engine.executions.plan.PlanExecutionService;
@@ -62,13 +63,16 @@ import java.util.Map;
 import javax.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Before;
+import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.mockito.Mock;
 
 @OwnedBy(HarnessTeam.PIPELINE)
+@Slf4j
 public class AmbianceExpressionEvaluatorTest extends OrchestrationTestBase {
   private static final String ACCOUNT_ID = generateUuid();
   private static final String ORG_ID = generateUuid();
@@ -290,6 +294,43 @@ public class AmbianceExpressionEvaluatorTest extends OrchestrationTestBase {
     validateSingleExpression(evaluator, "strategy.iterations", 0, false);
   }
 
+  @Test
+  @Owner(developers = GARVIT)
+  @Category(StressTests.class)
+  @Ignore("This is a benchmark, we ignore it to not slow down the unit tests")
+  public void benchmarkParsedExpressionCache() {
+    DummyB dummyB = DummyB.builder()
+                        .cVal1(DummyC.builder().strVal("c11").build())
+                        .strVal1("b11")
+                        .strVal2(DummyOrchestrationField.createValueField("b12"))
+                        .intVal1(11)
+                        .build();
+    EngineExpressionEvaluator evaluator = prepareEngineExpressionEvaluator(ImmutableMap.of("obj",
+        DummyOrchestrationField.createValueField(DummyA.builder().bVal1(dummyB).strVal1("a1").build())));
+    List<String> expressions = ImmutableList.of("<+obj.bVal1.cVal1.strVal>", "<+obj.bVal1.strVal1>",
+        "<+obj.bVal1.strVal2>", "<+obj.bVal1.intVal1>", "<+obj.strVal1> == \"a1\"");
+    int iterations = 20000;
+
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      // Simulates the previous behaviour where every evaluation parsed the expression again
+      JexlScriptCache.invalidateAll();
+      expressions.forEach(evaluator::evaluateExpression);
+    }
+    long parseEveryTime = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      expressions.forEach(evaluator::evaluateExpression);
+    }
+    long cached = System.nanoTime() - start;
+
+    log.info("Evaluated {} expressions: parsing every time {} ms, cached {} ms, expression cache {}",
+        iterations * expressions.size(), parseEveryTime / 1000000, cached / 1000000,
+        JexlScriptCache.expressionStats());
+    assertThat(cached).isLessThan(parseEveryTime);
+  }
+
   private void validateExpression(EngineExpressionEvaluator evaluator, String expression, Object expected) {
     validateExpression(evaluator, expression, expected, false);
   }
@@ -28,6 +28,9 @@ import io.harness.annotations.dev.OwnedBy;
 import io.harness.annotations.dev.ProductModule;
 import io.harness.authorization.AuthorizationServiceHeader;
 import io.harness.cache.CacheModule;
+import io.harness.cache.SpringCacheTierConfig;
+import io.harness.cache.SpringCacheTiers;
+import io.harness.cache.SpringMongoStore;
 import io.harness.cf.AbstractCfModule;
 import io.harness.cf.CfClientConfig;
 import io.harness.cf.CfMigrationConfig;
@@ -48,6 +51,7 @@ import io.harness.engine.executions.node.NodeExecutionServiceImpl;
 import io.harness.engine.executions.plan.PlanExecutionService;
 import io.harness.engine.executions.plan.PlanExecutionServiceImpl;
 import io.harness.engine.expressions.OrchestrationConstants;
+import io.harness.engine.expressions.PlanExecutionNodeCache;
 import io.harness.engine.interrupts.InterruptMonitor;
 import io.harness.engine.interrupts.OrchestrationEndInterruptHandler;
 import io.harness.engine.pms.execution.strategy.plan.PlanExecutionStrategy;
@@ -66,6 +70,7 @@ import io.harness.execution.consumers.InitiateNodeEventRedisConsumer;
 import io.harness.execution.consumers.sdk.response.SdkResponseEventRedisConsumer;
 import io.harness.execution.consumers.sdk.response.SdkResponseSpawnEventRedisConsumer;
 import io.harness.execution.consumers.sdk.response.SdkStepResponseEventRedisConsumer;
+import io.harness.expression.JexlScriptCache;
 import io.harness.ff.FeatureFlagConfig;
 import io.harness.gitsync.AbstractGitSyncSdkModule;
 import io.harness.gitsync.GitSdkConfiguration;
@@ -209,6 +214,7 @@ import io.harness.telemetry.filter.TerraformTelemetryFilter;
 import io.harness.threading.ExecutorModule;
 import io.harness.threading.ThreadPool;
 import io.harness.timeout.TimeoutEngine;
+import io.harness.timeout.wheel.TimeoutWheelScheduler;
 import io.harness.token.remote.TokenClient;
 import io.harness.tracing.MongoRedisTracer;
 import io.harness.waiter.NotifierScheduledExecutorService;
@@ -219,9 +225,11 @@ import io.harness.waiter.PmsNotifyEventConsumerRedis;
 import io.harness.waiter.PmsNotifyEventListener;
 import io.harness.waiter.PmsNotifyEventPublisher;
 import io.harness.waiter.ProgressUpdateService;
+import io.harness.waiter.WaitNotifyEngine;
 import io.harness.yaml.YamlSdkConfiguration;
 import io.harness.yaml.YamlSdkInitHelper;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.InstrumentedExecutorService;
 import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -274,6 +282,7 @@ import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.eclipse.jetty.servlets.CrossOriginFilter;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
+import org.redisson.api.RedissonClient;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
 @CodePulse(module = ProductModule.CDS, unitCoverageRequired = true, components = {HarnessModuleComponent.CDS_TRIGGERS})
@@ -429,6 +438,10 @@ public class PipelineServiceApplication extends Application<PipelineServiceConfi
     initializeEnforcementSdk(injector);
 
     harnessMetricRegistry = injector.getInstance(HarnessMetricRegistry.class);
+    registerExpressionCacheMetrics(injector);
+    registerWaitEngineMetrics(injector);
+    enableSpringCacheTiers(appConfig, injector);
+    enablePlanExecutionNodeCacheInvalidation(appConfig, injector);
     PipelineServiceIteratorsConfig iteratorsConfig = appConfig.getIteratorsConfig();
     injector.getInstance(TriggerWebhookExecutionService.class)
         .registerIterators(iteratorsConfig.getTriggerWebhookConfig());
@@ -492,6 +505,58 @@ public class PipelineServiceApplication extends Application<PipelineServiceConfi
     MaintenanceController.forceMaintenance(false);
   }
 
+  private void registerExpressionCacheMetrics(Injector injector) {
+    metricRegistry.register(
+        "jexl_script_cache_hit_rate", (Gauge<Double>) () -> JexlScriptCache.scriptStats().hitRate());
+    metricRegistry.register(
+        "jexl_expression_cache_hit_rate", (Gauge<Double>) () -> JexlScriptCache.expressionStats().hitRate());
+    metricRegistry.register("jexl_cache_size", (Gauge<Long>) JexlScriptCache::size);
+    metricRegistry.register("jexl_cache_eviction_count",
+        (Gauge<Long>) ()
+            -> JexlScriptCache.scriptStats().evictionCount() + JexlScriptCache.expressionStats().evictionCount());
+
+    PlanExecutionNodeCache planExecutionNodeCache = injector.getInstance(PlanExecutionNodeCache.class);
+    metricRegistry.register(
+        "plan_execution_node_cache_hit_count", (Gauge<Long>) () -> planExecutionNodeCache.stats().hitCount());
+    metricRegistry.register(
+        "plan_execution_node_cache_miss_count", (Gauge<Long>) () -> planExecutionNodeCache.stats().missCount());
+    metricRegistry.register("plan_execution_node_cache_eviction_count",
+        (Gauge<Long>) () -> planExecutionNodeCache.stats().evictionCount());
+    metricRegistry.register("plan_execution_node_cache_size", (Gauge<Long>) planExecutionNodeCache::size);
+  }
+
+  private void enableSpringCacheTiers(PipelineServiceConfiguration appConfig, Injector injector) {
+    SpringCacheTierConfig springCacheTierConfig = appConfig.getSpringCacheTierConfig();
+    if (springCacheTierConfig == null || !springCacheTierConfig.isEnabled()) {
+      return;
+    }
+    SpringMongoStore springMongoStore = injector.getInstance(SpringMongoStore.class);
+    springMongoStore.enableCacheTiers(springCacheTierConfig,
+        injector.getInstance(Key.get(RedissonClient.class, Names.named("cacheRedissonClient"))),
+        appConfig.getRedisLockConfig().getEnvNamespace());
+
+    SpringCacheTiers cacheTiers = springMongoStore.getCacheTiers();
+    metricRegistry.register("spring_cache_local_hit_ratio", (Gauge<Double>) cacheTiers::localHitRatio);
+    metricRegistry.register("spring_cache_redis_hit_ratio", (Gauge<Double>) cacheTiers::redisHitRatio);
+    metricRegistry.register("spring_cache_mongo_read_count", (Gauge<Long>) cacheTiers::mongoReadCount);
+    metricRegistry.register("spring_cache_local_size", (Gauge<Long>) cacheTiers::localSize);
+  }
+
+  private void enablePlanExecutionNodeCacheInvalidation(PipelineServiceConfiguration appConfig, Injector injector) {
+    injector.getInstance(PlanExecutionNodeCache.class)
+        .enableCrossPodInvalidation(
+            injector.getInstance(Key.get(RedissonClient.class, Names.named("cacheRedissonClient"))),
+            appConfig.getRedisLockConfig().getEnvNamespace());
+  }
+
+  private void registerWaitEngineMetrics(Injector injector) {
+    WaitNotifyEngine waitNotifyEngine = injector.getInstance(WaitNotifyEngine.class);
+    metricRegistry.register("wait_notify_batch_size_mean",
+        (Gauge<Double>) () -> waitNotifyEngine.getNotifyBatchSizes().getSnapshot().getMean());
+    metricRegistry.register("wait_notify_latency_p99",
+        (Gauge<Double>) () -> waitNotifyEngine.getNotifyLatencies().getSnapshot().get99thPercentile());
+  }
+
   private void initializeSdkInstanceCacheSync(Injector injector) {
     injector.getInstance(PmsSdkInstanceCacheMonitor.class).scheduleCacheSync();
   }
@@ -568,6 +633,8 @@ public class PipelineServiceApplication extends Application<PipelineServiceConfi
         injector.getInstance(Key.get(PodCleanupUpdateEventHandler.class)));
     nodeExecutionService.getNodeStatusUpdateSubject().register(
         injector.getInstance(Key.get(StepExecutionMetricsObserver.class)));
+    nodeExecutionService.getNodeStatusUpdateSubject().register(
+        injector.getInstance(Key.get(PlanExecutionNodeCache.class)));
 
     // NodeExecutionDeleteObserver
     nodeExecutionService.getNodeDeleteObserverSubject().register(
@@ -633,6 +700,8 @@ public class PipelineServiceApplication extends Application<PipelineServiceConfi
         injector.getInstance(Key.get(ResourceRestraintObserver.class)));
     planExecutionStrategy.getOrchestrationEndSubject().register(
         injector.getInstance(Key.get(PipelineExecutionMetricsObserver.class)));
+    planExecutionStrategy.getOrchestrationEndSubject().register(
+        injector.getInstance(Key.get(PlanExecutionNodeCache.class)));
 
     SpawnChildrenRequestProcessor spawnChildrenRequestProcessor =
         injector.getInstance(Key.get(SpawnChildrenRequestProcessor.class));
@@ -961,6 +1030,11 @@ public class PipelineServiceApplication extends Application<PipelineServiceConfi
     if (appConfig.isUseQueueServiceForWebhookTriggers()) {
       environment.lifecycle().manage(injector.getInstance(WebhookEventQueueProcessor.class));
     }
+    TimeoutWheelScheduler timeoutWheelScheduler =
+        injector.getInstance(TimeoutEngine.class).enableTimeoutWheel(appConfig.getTimeoutWheelConfig());
+    if (timeoutWheelScheduler != null) {
+      environment.lifecycle().manage(timeoutWheelScheduler);
+    }
     // Do not remove as it's used for MaintenanceController for shutdown mode
     environment.lifecycle().manage(injector.getInstance(MaintenanceController.class));
   }
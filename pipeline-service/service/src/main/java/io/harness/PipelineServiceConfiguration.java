@@ -18,6 +18,7 @@ import io.harness.annotations.dev.HarnessModuleComponent;
 import io.harness.annotations.dev.OwnedBy;
 import io.harness.annotations.dev.ProductModule;
 import io.harness.cache.CacheConfig;
+import io.harness.cache.SpringCacheTierConfig;
 import io.harness.cf.CfClientConfig;
 import io.harness.enforcement.client.EnforcementClientConfiguration;
 import io.harness.event.OrchestrationLogConfiguration;
@@ -45,7 +46,9 @@ import io.harness.ssca.beans.entities.SSCAServiceConfig;
 import io.harness.steps.container.execution.ContainerExecutionConfig;
 import io.harness.telemetry.segment.SegmentConfiguration;
 import io.harness.threading.ThreadPoolConfig;
+import io.harness.timeout.wheel.TimeoutWheelConfig;
 import io.harness.timescaledb.TimeScaleDBConfig;
+import io.harness.waiter.NotifyBatchConfig;
 import io.harness.yaml.schema.client.config.YamlSchemaClientConfig;
 
 import ch.qos.logback.access.spi.IAccessEvent;
@@ -182,9 +185,13 @@ public class PipelineServiceConfiguration extends Configuration {
 
   @JsonProperty("staticSchemaFileURL") private String staticSchemaFileURL;
   @JsonProperty("timeoutIteratorMode") private String timeoutIteratorMode;
+  @JsonProperty("timeoutWheelConfig") private TimeoutWheelConfig timeoutWheelConfig;
+  @JsonProperty("notifyBatchConfig") private NotifyBatchConfig notifyBatchConfig;
+  @JsonProperty("springCacheTierConfig") private SpringCacheTierConfig springCacheTierConfig;
   @JsonProperty("webhookEventHsqsDequeueConfig") private HsqsDequeueConfig webhookEventHsqsDequeueConfig;
   @JsonProperty("maxMultiArtifactTriggerSources") private Integer maxMultiArtifactTriggerSources;
   @JsonProperty("graphConsumerSleepIntervalMs") private Integer graphConsumerSleepIntervalMs;
+  @JsonProperty("graphDeltaCompactionThreshold") private Integer graphDeltaCompactionThreshold;
   @JsonProperty("asyncFilterCreationConsumerSleepIntervalMs")
   private Integer asyncFilterCreationConsumerSleepIntervalMs;
   @JsonProperty("publishAdviserEventForCustomAdvisers") private Boolean publishAdviserEventForCustomAdvisers;
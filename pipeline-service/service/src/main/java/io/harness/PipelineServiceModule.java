@@ -350,13 +350,14 @@ public class PipelineServiceModule extends AbstractModule {
             .licenseClientConfig(configuration.getNgManagerServiceHttpClientConfig())
             .licenseClientId(PIPELINE_SERVICE.getServiceId())
             .expandedJsonLockConfig(configuration.getExpandedJsonLockConfig())
+            .notifyBatchConfig(configuration.getNotifyBatchConfig())
             .build(),
         threadPoolMetricRegistry));
     install(OrchestrationStepsModule.getInstance(configuration.getOrchestrationStepConfig()));
     install(FeatureFlagModule.getInstance());
     install(OrchestrationVisualizationModule.getInstance(configuration.getEventsFrameworkConfiguration(),
         configuration.getOrchestrationVisualizationThreadPoolConfig(), configuration.getGraphConsumerSleepIntervalMs(),
-        threadPoolMetricRegistry));
+        threadPoolMetricRegistry, configuration.getGraphDeltaCompactionThreshold()));
     install(PodCleanUpModule.getInstance(configuration.getPodCleanUpThreadPoolConfig(), threadPoolMetricRegistry));
     install(PrimaryVersionManagerModule.getInstance());
     install(new DelegateServiceDriverGrpcClientModule(configuration.getManagerServiceSecret(),
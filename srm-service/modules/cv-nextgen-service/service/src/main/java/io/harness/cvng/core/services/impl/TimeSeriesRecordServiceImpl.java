@@ -18,6 +18,7 @@ import static java.util.Comparator.comparingLong;
 
 import io.harness.annotations.dev.HarnessTeam;
 import io.harness.annotations.dev.OwnedBy;
+import io.harness.cvng.CVConstants;
 import io.harness.cvng.analysis.beans.TimeSeriesRecordDTO;
 import io.harness.cvng.analysis.beans.TimeSeriesTestDataDTO;
 import io.harness.cvng.analysis.beans.TimeSeriesTestDataDTO.MetricData;
@@ -48,6 +49,7 @@ import io.harness.cvng.core.services.api.MetricPackService;
 import io.harness.cvng.core.services.api.TimeSeriesRecordService;
 import io.harness.cvng.core.services.api.demo.CVNGDemoDataIndexService;
 import io.harness.cvng.core.utils.DateTimeUtils;
+import io.harness.cvng.utils.CVNGParallelExecutor;
 import io.harness.persistence.HPersistence;
 import io.harness.serializer.JsonUtils;
 
@@ -57,12 +59,16 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.io.Resources;
 import com.google.inject.Inject;
+import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.BulkWriteResult;
 import com.mongodb.ReadPreference;
-import dev.morphia.UpdateOptions;
+import dev.morphia.Morphia;
+import dev.morphia.mapping.MappedField;
+import dev.morphia.mapping.Mapper;
 import dev.morphia.query.FindOptions;
 import dev.morphia.query.Query;
 import dev.morphia.query.Sort;
-import dev.morphia.query.UpdateOperations;
 import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -76,6 +82,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -83,13 +90,16 @@ import lombok.Builder;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.reflections.Reflections;
 import org.reflections.scanners.ResourcesScanner;
 
 @OwnedBy(HarnessTeam.CV)
 @Slf4j
 public class TimeSeriesRecordServiceImpl implements TimeSeriesRecordService {
+  private static final int TIME_SERIES_UPSERT_BATCH_SIZE = 500;
+  private static final String SET_ON_INSERT_KEY = "$setOnInsert";
+  private static final String ADD_TO_SET_KEY = "$addToSet";
+  private static final String EACH_KEY = "$each";
   private static final List<Integer> DEMO_DATA =
       Arrays.asList(30, 81, 70, 43, 20, 20, 41, 51, 10, 80, 50, 40, 30, 70, 80);
   @Inject private HPersistence hPersistence;
@@ -98,6 +108,8 @@ public class TimeSeriesRecordServiceImpl implements TimeSeriesRecordService {
   @Inject private HostRecordService hostRecordService;
   @Inject private TimeSeriesAnalysisService timeSeriesAnalysisService;
   @Inject private CVNGDemoDataIndexService cvngDemoDataIndexService;
+  @Inject private CVNGParallelExecutor cvngParallelExecutor;
+  @Inject private Morphia morphia;
 
   @Override
   public boolean save(List<TimeSeriesDataCollectionRecord> dataRecords) {
@@ -106,48 +118,77 @@ public class TimeSeriesRecordServiceImpl implements TimeSeriesRecordService {
       return true;
     }
     log.info("Saving {} data records", validDataRecords.size());
-    log.info("Records being saved: {}", StringUtils.join(validDataRecords, ","));
-    UpdateOptions options = new UpdateOptions();
-    options.upsert(true);
-    Map<TimeSeriesRecordBucketKey, TimeSeriesRecord> timeSeriesRecordMap = bucketTimeSeriesRecords(validDataRecords);
-    timeSeriesRecordMap.forEach((timeSeriesRecordBucketKey, timeSeriesRecord) -> {
-      List<TimeSeriesMetricDefinition> metricTemplates =
-          timeSeriesAnalysisService.getMetricTemplate(timeSeriesRecord.getVerificationTaskId());
-      TimeSeriesMetricDefinition timeSeriesMetricDefinition =
-          metricTemplates.stream()
-              .filter(metricTemplate -> metricTemplate.getMetricName().equals(timeSeriesRecord.getMetricName()))
-              .findFirst()
-              .orElse(null);
-      TimeSeriesMetricType metricType =
-          timeSeriesMetricDefinition != null ? timeSeriesMetricDefinition.getMetricType() : null;
+    log.debug("Records being saved: {}", validDataRecords);
+    Map<String, TimeSeriesMetricType> metricTypeMap =
+        getMetricTypes(validDataRecords.get(0).getVerificationTaskId());
+    Map<TimeSeriesRecordBucketKey, TimeSeriesRecord> timeSeriesRecordMap =
+        bucketTimeSeriesRecords(validDataRecords, metricTypeMap);
+    List<List<TimeSeriesRecord>> batches =
+        Lists.partition(new ArrayList<>(timeSeriesRecordMap.values()), TIME_SERIES_UPSERT_BATCH_SIZE);
+    if (batches.size() == 1) {
+      upsertTimeSeriesRecords(batches.get(0), metricTypeMap);
+    } else {
+      List<Callable<BulkWriteResult>> upserts = new ArrayList<>();
+      batches.forEach(batch -> upserts.add(() -> upsertTimeSeriesRecords(batch, metricTypeMap)));
+      cvngParallelExecutor.executeParallel(upserts);
+    }
+    saveHosts(validDataRecords);
+    return true;
+  }
+
+  private Map<String, TimeSeriesMetricType> getMetricTypes(String verificationTaskId) {
+    Map<String, TimeSeriesMetricType> metricTypeMap = new HashMap<>();
+    timeSeriesAnalysisService.getMetricTemplate(verificationTaskId)
+        .forEach(timeSeriesMetricDefinition
+            -> metricTypeMap.put(timeSeriesMetricDefinition.getMetricName(), timeSeriesMetricDefinition.getMetricType()));
+    return metricTypeMap;
+  }
+
+  // One unordered bulk upsert for the buckets, the buckets of a save never share a key
+  private BulkWriteResult upsertTimeSeriesRecords(
+      List<TimeSeriesRecord> timeSeriesRecords, Map<String, TimeSeriesMetricType> metricTypeMap) {
+    long startTime = System.currentTimeMillis();
+    BulkWriteOperation bulkWriteOperation =
+        hPersistence.getCollection(TimeSeriesRecord.class).initializeUnorderedBulkOperation();
+    Mapper mapper = morphia.getMapper();
+    MappedField timeSeriesGroupValuesField =
+        mapper.getMappedClass(TimeSeriesRecord.class).getMappedField(TimeSeriesRecordKeys.timeSeriesGroupValues);
+    for (TimeSeriesRecord timeSeriesRecord : timeSeriesRecords) {
       Query<TimeSeriesRecord> query =
           hPersistence.createQuery(TimeSeriesRecord.class)
-              .filter(
-                  TimeSeriesRecordKeys.bucketStartTime, Instant.ofEpochMilli(timeSeriesRecordBucketKey.getTimestamp()))
-              .filter(TimeSeriesRecordKeys.metricName, timeSeriesRecordBucketKey.getMetricName())
+              .filter(TimeSeriesRecordKeys.bucketStartTime, timeSeriesRecord.getBucketStartTime())
+              .filter(TimeSeriesRecordKeys.metricName, timeSeriesRecord.getMetricName())
               .filter(TimeSeriesRecordKeys.verificationTaskId, timeSeriesRecord.getVerificationTaskId());
       if (timeSeriesRecord.getHost() != null) {
         query = query.filter(TimeSeriesRecordKeys.host, timeSeriesRecord.getHost());
       }
 
-      UpdateOperations<TimeSeriesRecord> updateOperations =
-          hPersistence.createUpdateOperations(TimeSeriesRecord.class)
-              .setOnInsert(TimeSeriesRecordKeys.uuid, generateUuid())
-              .setOnInsert(VerificationTaskBaseKeys.createdAt, Instant.now().toEpochMilli())
-              .setOnInsert(TimeSeriesRecordKeys.validUntil, TimeSeriesRecord.builder().build().getValidUntil())
-              .set(TimeSeriesRecordKeys.accountId, timeSeriesRecord.getAccountId())
-              .addToSet(TimeSeriesRecordKeys.timeSeriesGroupValues,
-                  Lists.newArrayList(timeSeriesRecord.getTimeSeriesGroupValues()));
+      BasicDBObject setOnInsert =
+          new BasicDBObject(TimeSeriesRecordKeys.uuid, generateUuid())
+              .append(VerificationTaskBaseKeys.createdAt, Instant.now().toEpochMilli())
+              .append(TimeSeriesRecordKeys.validUntil, TimeSeriesRecord.builder().build().getValidUntil());
+      TimeSeriesMetricType metricType = metricTypeMap.get(timeSeriesRecord.getMetricName());
       if (Objects.nonNull(metricType)) {
-        updateOperations.setOnInsert(TimeSeriesRecordKeys.metricType, metricType);
+        setOnInsert.append(TimeSeriesRecordKeys.metricType, metricType.name());
       }
+      BasicDBObject set = new BasicDBObject(TimeSeriesRecordKeys.accountId, timeSeriesRecord.getAccountId());
       if (Objects.nonNull(timeSeriesRecord.getMetricIdentifier())) {
-        updateOperations.set(TimeSeriesRecordKeys.metricIdentifier, timeSeriesRecord.getMetricIdentifier());
+        set.append(TimeSeriesRecordKeys.metricIdentifier, timeSeriesRecord.getMetricIdentifier());
       }
-      hPersistence.getDatastore(TimeSeriesRecord.class).update(query, updateOperations, options);
-    });
-    saveHosts(validDataRecords);
-    return true;
+      // The group values are mapped the way morphia maps them for the field, so that $addToSet matches stored values
+      Object timeSeriesGroupValues = mapper.toMongoObject(timeSeriesGroupValuesField, null,
+          Lists.newArrayList(timeSeriesRecord.getTimeSeriesGroupValues()));
+      BasicDBObject update = new BasicDBObject(SET_ON_INSERT_KEY, setOnInsert)
+                                 .append(CVConstants.SET_KEY, set)
+                                 .append(ADD_TO_SET_KEY,
+                                     new BasicDBObject(TimeSeriesRecordKeys.timeSeriesGroupValues,
+                                         new BasicDBObject(EACH_KEY, timeSeriesGroupValues)));
+      bulkWriteOperation.find(query.getQueryObject()).upsert().updateOne(update);
+    }
+    BulkWriteResult bulkWriteResult = bulkWriteOperation.execute();
+    log.info("Upserted {} time series records in {} ms, matched {}, inserted {}", timeSeriesRecords.size(),
+        System.currentTimeMillis() - startTime, bulkWriteResult.getMatchedCount(), bulkWriteResult.getUpserts().size());
+    return bulkWriteResult;
   }
 
   private List<TimeSeriesDataCollectionRecord> filterValidDataRecords(
@@ -216,12 +257,7 @@ public class TimeSeriesRecordServiceImpl implements TimeSeriesRecordService {
   }
 
   private Map<TimeSeriesRecordBucketKey, TimeSeriesRecord> bucketTimeSeriesRecords(
-      List<TimeSeriesDataCollectionRecord> dataRecords) {
-    Map<String, TimeSeriesMetricType> metricTypeMap = new HashMap<>();
-    List<TimeSeriesMetricDefinition> metricDefinitions =
-        timeSeriesAnalysisService.getMetricTemplate(dataRecords.get(0).getVerificationTaskId());
-    metricDefinitions.forEach(timeSeriesMetricDefinition
-        -> metricTypeMap.put(timeSeriesMetricDefinition.getMetricName(), timeSeriesMetricDefinition.getMetricType()));
+      List<TimeSeriesDataCollectionRecord> dataRecords, Map<String, TimeSeriesMetricType> metricTypeMap) {
     populatePercent(metricTypeMap, dataRecords);
     Map<TimeSeriesRecordBucketKey, TimeSeriesRecord> rv = new HashMap<>();
     dataRecords.forEach(dataRecord -> {
@@ -13,6 +13,7 @@ import static io.harness.cvng.core.services.CVNextGenConstants.CV_ANALYSIS_WINDO
 import static io.harness.cvng.core.services.CVNextGenConstants.PERFORMANCE_PACK_IDENTIFIER;
 import static io.harness.data.structure.UUIDGenerator.generateUuid;
 import static io.harness.persistence.HQuery.excludeAuthority;
+import static io.harness.rule.OwnerRule.ARCHIT;
 import static io.harness.rule.OwnerRule.DHRUVX;
 import static io.harness.rule.OwnerRule.KAMAL;
 import static io.harness.rule.OwnerRule.PRAVEEN;
@@ -23,6 +24,8 @@ import static io.harness.rule.TestUserProvider.testUserProvider;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.data.Offset.offset;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.harness.CvNextGenTestBase;
@@ -87,6 +90,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.junit.Before;
@@ -95,6 +99,7 @@ import org.junit.experimental.categories.Category;
 import org.mockito.Mock;
 
 @OwnedBy(HarnessTeam.CV)
+@Slf4j
 public class TimeSeriesRecordServiceImplTest extends CvNextGenTestBase {
   private String accountId;
   private String connectorIdentifier;
@@ -130,6 +135,59 @@ public class TimeSeriesRecordServiceImplTest extends CvNextGenTestBase {
     when(timeSeriesAnalysisService.getMetricTemplate(anyString())).thenReturn(definitions);
   }
 
+  @Test
+  @Owner(developers = ARCHIT)
+  @Category(UnitTests.class)
+  public void testSave_bulkUpsertsBucketsOfManyHosts() {
+    int numOfHosts = 50;
+    int numOfMetrics = 4;
+    int numOfTxns = 5;
+    long numOfMins = 3 * CV_ANALYSIS_WINDOW_MINUTES;
+    List<TimeSeriesDataCollectionRecord> collectionRecords = new ArrayList<>();
+    for (int h = 0; h < numOfHosts; h++) {
+      for (int i = 0; i < numOfMins; i++) {
+        Set<TimeSeriesDataRecordMetricValue> metricValues = new HashSet<>();
+        for (int j = 0; j < numOfMetrics; j++) {
+          Set<TimeSeriesDataRecordGroupValue> groupValues = new HashSet<>();
+          for (int k = 0; k < numOfTxns; k++) {
+            groupValues.add(
+                TimeSeriesDataRecordGroupValue.builder().value(random.nextDouble()).groupName("group-" + k).build());
+          }
+          metricValues.add(TimeSeriesDataRecordMetricValue.builder()
+                               .metricName("metric-" + j)
+                               .metricIdentifier("metricIdentifier-" + j)
+                               .timeSeriesValues(groupValues)
+                               .build());
+        }
+        collectionRecords.add(TimeSeriesDataCollectionRecord.builder()
+                                  .accountId(accountId)
+                                  .verificationTaskId(verificationTaskId)
+                                  .host("host-" + h)
+                                  .timeStamp(TimeUnit.MINUTES.toMillis(i))
+                                  .metricValues(metricValues)
+                                  .build());
+      }
+    }
+    int numOfBuckets = (int) (numOfHosts * numOfMetrics * numOfMins / CV_ANALYSIS_WINDOW_MINUTES);
+
+    for (int run = 1; run <= 2; run++) {
+      long startTime = System.currentTimeMillis();
+      timeSeriesRecordService.save(collectionRecords);
+      log.info("Saved {} data records into {} buckets in {} ms", collectionRecords.size(), numOfBuckets,
+          System.currentTimeMillis() - startTime);
+
+      // the second save upserts into the same buckets
+      List<TimeSeriesRecord> timeSeriesRecords =
+          hPersistence.createQuery(TimeSeriesRecord.class, excludeAuthority).asList();
+      assertThat(timeSeriesRecords).hasSize(numOfBuckets);
+      timeSeriesRecords.forEach(timeSeriesRecord -> {
+        assertThat(timeSeriesRecord.getMetricType()).isNotNull();
+        assertThat(timeSeriesRecord.getTimeSeriesGroupValues()).hasSize(numOfTxns * (int) CV_ANALYSIS_WINDOW_MINUTES);
+      });
+      verify(timeSeriesAnalysisService, times(run)).getMetricTemplate(verificationTaskId);
+    }
+  }
+
   @Test
   @Owner(developers = RAGHU)
   @Category(UnitTests.class)